@@ -16,20 +16,31 @@
 package io.esastack.servicekeeper.adapter.jaxrs;
 
 import io.esastack.servicekeeper.adapter.spring.aop.AbstractServiceKeeperAop;
+import io.esastack.servicekeeper.core.common.Priority;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
 
+import javax.ws.rs.HeaderParam;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.function.Function;
+
 @Aspect
 public class JaxRsAutoSupportAop extends AbstractServiceKeeperAop {
 
+    private static final Function<Annotation, String[]> HEADER_NAMES = annotation ->
+            annotation instanceof HeaderParam
+                    ? new String[]{((HeaderParam) annotation).value()} : null;
+
     @Pointcut("@annotation(javax.ws.rs.Path)")
     private void path() {
     }
 
     @Around("path() && !(concurrentLimit() || rateLimit() || circuitBreaker() ||" +
-            " enableServiceKeeper() || retry() || group() || fallback())")
+            " enableServiceKeeper() || retry() || group() || fallback() || isolation() || hedged() || timeout()" +
+            " || resultCache() || singleFlight())")
     public Object doInvoke0(ProceedingJoinPoint pjp) throws Throwable {
         if (logger.isDebugEnabled()) {
             logger.debug("ServiceKeeper's Jax-RS(@Path) aop is surrounding method: {}",
@@ -38,4 +49,15 @@ public class JaxRsAutoSupportAop extends AbstractServiceKeeperAop {
         return super.doInvoke(pjp);
     }
 
+    @Override
+    protected Priority resolvePriority(Method method, Object[] args) {
+        final Priority priority = priorityFromHeader(method, args, HEADER_NAMES);
+        return priority == null ? super.resolvePriority(method, args) : priority;
+    }
+
+    @Override
+    protected long resolveArrivalTime(Method method, Object[] args) {
+        final long arrivalTime = arrivalTimeFromHeader(method, args, HEADER_NAMES);
+        return arrivalTime < 0L ? super.resolveArrivalTime(method, args) : arrivalTime;
+    }
 }
@@ -23,7 +23,10 @@ import io.esastack.servicekeeper.core.annotation.RateLimiter;
 import io.esastack.servicekeeper.core.annotation.Retryable;
 import io.esastack.servicekeeper.core.asynchandle.AsyncResultHandler;
 import io.esastack.servicekeeper.core.common.OriginalInvocation;
+import io.esastack.servicekeeper.core.common.Priority;
+import io.esastack.servicekeeper.core.common.PriorityHolder;
 import io.esastack.servicekeeper.core.entry.CompositeServiceKeeperConfig;
+import io.esastack.servicekeeper.core.utils.MethodUtils;
 
 import java.lang.reflect.Method;
 import java.util.List;
@@ -50,7 +53,16 @@ public final class ServiceKeeperInvoker {
      * @throws Throwable any throwable
      */
     public static Object invoke(Method method, Object delegate, Object[] args) throws Throwable {
-        return Bootstrap.entry().invoke(method, delegate, args);
+        final Priority priority = MethodUtils.getPriority(method, args);
+        if (priority == null) {
+            return Bootstrap.entry().invoke(method, delegate, args);
+        }
+        final Priority previous = PriorityHolder.replace(priority);
+        try {
+            return Bootstrap.entry().invoke(method, delegate, args);
+        } finally {
+            PriorityHolder.set(previous);
+        }
     }
 
     /**
@@ -64,7 +76,16 @@ public final class ServiceKeeperInvoker {
      * @throws Throwable any throwable
      */
     public static Object invoke(String aliasName, Method method, Object delegate, Object[] args) throws Throwable {
-        return Bootstrap.entry().invoke(aliasName, method, delegate, args);
+        final Priority priority = MethodUtils.getPriority(method, args);
+        if (priority == null) {
+            return Bootstrap.entry().invoke(aliasName, method, delegate, args);
+        }
+        final Priority previous = PriorityHolder.replace(priority);
+        try {
+            return Bootstrap.entry().invoke(aliasName, method, delegate, args);
+        } finally {
+            PriorityHolder.set(previous);
+        }
     }
 
     /**
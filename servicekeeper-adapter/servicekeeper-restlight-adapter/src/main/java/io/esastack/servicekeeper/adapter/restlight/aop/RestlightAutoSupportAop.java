@@ -15,15 +15,25 @@
  */
 package io.esastack.servicekeeper.adapter.restlight.aop;
 
+import esa.restlight.spring.shaded.org.springframework.web.bind.annotation.RequestHeader;
 import io.esastack.servicekeeper.adapter.spring.aop.AbstractServiceKeeperAop;
+import io.esastack.servicekeeper.core.common.Priority;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
 
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.function.Function;
+
 @Aspect
 public class RestlightAutoSupportAop extends AbstractServiceKeeperAop {
 
+    private static final Function<Annotation, String[]> HEADER_NAMES = annotation ->
+            annotation instanceof RequestHeader
+                    ? new String[]{((RequestHeader) annotation).value(), ((RequestHeader) annotation).name()} : null;
+
     @Pointcut("@annotation(esa.restlight.spring.shaded.org.springframework.web.bind.annotation.RequestMapping)")
     private void request() {
     }
@@ -50,7 +60,8 @@ public class RestlightAutoSupportAop extends AbstractServiceKeeperAop {
 
     @Around("(request() || get0() || post() || put() || delete() || path())" +
             "&& !(concurrentLimit() || rateLimit() || circuitBreaker() " +
-            "|| enableServiceKeeper() || retry() || group() || fallback())")
+            "|| enableServiceKeeper() || retry() || group() || fallback() || isolation() || hedged() || timeout()" +
+            " || resultCache() || singleFlight())")
     public Object doInvoke0(ProceedingJoinPoint pjp) throws Throwable {
         if (logger.isDebugEnabled()) {
             logger.debug("ServiceKeeper's restlight aop is surrounding method: {}",
@@ -58,4 +69,16 @@ public class RestlightAutoSupportAop extends AbstractServiceKeeperAop {
         }
         return super.doInvoke(pjp);
     }
+
+    @Override
+    protected Priority resolvePriority(Method method, Object[] args) {
+        final Priority priority = priorityFromHeader(method, args, HEADER_NAMES);
+        return priority == null ? super.resolvePriority(method, args) : priority;
+    }
+
+    @Override
+    protected long resolveArrivalTime(Method method, Object[] args) {
+        final long arrivalTime = arrivalTimeFromHeader(method, args, HEADER_NAMES);
+        return arrivalTime < 0L ? super.resolveArrivalTime(method, args) : arrivalTime;
+    }
 }
@@ -24,7 +24,10 @@ import io.esastack.servicekeeper.core.annotation.EnableServiceKeeper;
 import io.esastack.servicekeeper.core.annotation.RateLimiter;
 import io.esastack.servicekeeper.core.annotation.Retryable;
 import io.esastack.servicekeeper.core.asynchandle.AsyncResultHandler;
+import io.esastack.servicekeeper.core.common.ArrivalTimeHolder;
 import io.esastack.servicekeeper.core.common.OriginalInvocation;
+import io.esastack.servicekeeper.core.common.Priority;
+import io.esastack.servicekeeper.core.common.PriorityHolder;
 import io.esastack.servicekeeper.core.exception.ServiceKeeperWrapException;
 import io.esastack.servicekeeper.core.utils.LogUtils;
 import io.esastack.servicekeeper.core.utils.MethodUtils;
@@ -35,10 +38,14 @@ import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.Ordered;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * The abstract aop of service keeper, the method which annotated with {@link ConcurrentLimiter},
@@ -52,6 +59,9 @@ public abstract class AbstractServiceKeeperAop implements Ordered, InitializingB
 
     protected static final Logger logger = LogUtils.logger();
 
+    private final Map<Method, Integer> priorityHeaderIndexes = new ConcurrentHashMap<>();
+    private final Map<Method, Integer> arrivalTimeHeaderIndexes = new ConcurrentHashMap<>();
+
     private int order = LOWEST_PRECEDENCE;
 
     @Autowired(required = false)
@@ -91,6 +101,26 @@ public abstract class AbstractServiceKeeperAop implements Ordered, InitializingB
     protected void group() {
     }
 
+    @Pointcut("@annotation(io.esastack.servicekeeper.core.annotation.Isolation)")
+    protected void isolation() {
+    }
+
+    @Pointcut("@annotation(io.esastack.servicekeeper.core.annotation.Hedged)")
+    protected void hedged() {
+    }
+
+    @Pointcut("@annotation(io.esastack.servicekeeper.core.annotation.Timeout)")
+    protected void timeout() {
+    }
+
+    @Pointcut("@annotation(io.esastack.servicekeeper.core.annotation.ResultCache)")
+    protected void resultCache() {
+    }
+
+    @Pointcut("@annotation(io.esastack.servicekeeper.core.annotation.SingleFlight)")
+    protected void singleFlight() {
+    }
+
     protected final String getQualifiedName(ProceedingJoinPoint pjp) {
         final Method method = ((MethodSignature) pjp.getSignature()).getMethod();
         return method.getDeclaringClass().getName() + "." + method.getName();
@@ -109,6 +139,111 @@ public abstract class AbstractServiceKeeperAop implements Ordered, InitializingB
         };
 
         final Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        final Priority priority = resolvePriority(method, pjp.getArgs());
+        final long arrivalTime = resolveArrivalTime(method, pjp.getArgs());
+        if (priority == null && arrivalTime < 0L) {
+            return doInvoke(pjp, method, callable);
+        }
+        final Priority previous = priority == null ? PriorityHolder.get() : PriorityHolder.replace(priority);
+        final long previousArrivalTime = arrivalTime < 0L ? ArrivalTimeHolder.get()
+                : ArrivalTimeHolder.replace(arrivalTime);
+        try {
+            return doInvoke(pjp, method, callable);
+        } finally {
+            PriorityHolder.set(previous);
+            ArrivalTimeHolder.set(previousArrivalTime);
+        }
+    }
+
+    /**
+     * Resolves the {@link Priority} of current call, the priority of current thread will be used if absent.
+     *
+     * @param method method
+     * @param args   arguments
+     * @return priority, null if absent
+     */
+    protected Priority resolvePriority(Method method, Object[] args) {
+        return MethodUtils.getPriority(method, args);
+    }
+
+    /**
+     * Resolves the arrival time of the request which current call belongs to, the arrival time of current thread
+     * will be used if absent.
+     *
+     * @param method method
+     * @param args   arguments
+     * @return the epoch millis of the arrival time, -1 if absent
+     */
+    protected long resolveArrivalTime(Method method, Object[] args) {
+        return -1L;
+    }
+
+    /**
+     * Obtains the priority from the argument which is annotated with the http header annotation that matches
+     * {@link Priority#HEADER_NAME}, the index of the argument is cached for each method.
+     *
+     * @param method      method
+     * @param args        arguments
+     * @param headerNames function to obtain the header names of the annotation, null if the annotation is not a
+     *                    http header annotation
+     * @return priority, null if absent
+     */
+    protected final Priority priorityFromHeader(Method method, Object[] args,
+                                                Function<Annotation, String[]> headerNames) {
+        if (args == null || args.length == 0) {
+            return null;
+        }
+        final int index = priorityHeaderIndexes.computeIfAbsent(method,
+                key -> headerIndex(key, Priority.HEADER_NAME, headerNames));
+        if (index < 0 || index >= args.length || args[index] == null) {
+            return null;
+        }
+        return Priority.parse(args[index].toString());
+    }
+
+    /**
+     * Obtains the arrival time from the argument which is annotated with the http header annotation that matches
+     * {@link ArrivalTimeHolder#HEADER_NAME}, the index of the argument is cached for each method.
+     *
+     * @param method      method
+     * @param args        arguments
+     * @param headerNames function to obtain the header names of the annotation, null if the annotation is not a
+     *                    http header annotation
+     * @return the epoch millis of the arrival time, -1 if absent
+     */
+    protected final long arrivalTimeFromHeader(Method method, Object[] args,
+                                               Function<Annotation, String[]> headerNames) {
+        if (args == null || args.length == 0) {
+            return -1L;
+        }
+        final int index = arrivalTimeHeaderIndexes.computeIfAbsent(method,
+                key -> headerIndex(key, ArrivalTimeHolder.HEADER_NAME, headerNames));
+        if (index < 0 || index >= args.length || args[index] == null) {
+            return -1L;
+        }
+        return ArrivalTimeHolder.parse(args[index].toString());
+    }
+
+    private static int headerIndex(Method method, String headerName,
+                                   Function<Annotation, String[]> headerNames) {
+        final Annotation[][] annotations = method.getParameterAnnotations();
+        for (int i = 0; i < annotations.length; i++) {
+            for (Annotation annotation : annotations[i]) {
+                final String[] names = headerNames.apply(annotation);
+                if (names == null) {
+                    continue;
+                }
+                for (String name : names) {
+                    if (headerName.equalsIgnoreCase(name)) {
+                        return i;
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    private Object doInvoke(ProceedingJoinPoint pjp, Method method, Callable<Object> callable) throws Throwable {
         return Bootstrap.entry().call(MethodUtils.getMethodAlias(method),
                 () -> MethodUtils.getCompositeConfig(method),
                 () -> new OriginalInvocation(pjp.getTarget(), method),
@@ -23,7 +23,8 @@ import org.aspectj.lang.annotation.Aspect;
 public class DefaultServiceKeeperAop extends AbstractServiceKeeperAop {
 
     @Around("concurrentLimit() || rateLimit() || circuitBreaker() " +
-            "|| enableServiceKeeper() || retry() || group() || fallback()")
+            "|| enableServiceKeeper() || retry() || group() || fallback() || isolation() || hedged() || timeout()" +
+            " || resultCache() || singleFlight()")
     public Object doAround(ProceedingJoinPoint pjp) throws Throwable {
         if (logger.isDebugEnabled()) {
             logger.debug("ServiceKeeper's default aop is surrounding method: {}", getQualifiedName(pjp));
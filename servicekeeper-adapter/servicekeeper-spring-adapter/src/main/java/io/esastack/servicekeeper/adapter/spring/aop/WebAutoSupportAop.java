@@ -15,14 +15,24 @@
  */
 package io.esastack.servicekeeper.adapter.spring.aop;
 
+import io.esastack.servicekeeper.core.common.Priority;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.function.Function;
 
 @Aspect
 public class WebAutoSupportAop extends AbstractServiceKeeperAop {
 
+    private static final Function<Annotation, String[]> HEADER_NAMES = annotation ->
+            annotation instanceof RequestHeader
+                    ? new String[]{((RequestHeader) annotation).value(), ((RequestHeader) annotation).name()} : null;
+
     @Pointcut("@annotation(org.springframework.web.bind.annotation.RequestMapping)")
     private void request() {
     }
@@ -49,11 +59,24 @@ public class WebAutoSupportAop extends AbstractServiceKeeperAop {
 
     @Around("(request() || get0() || post() || put() || delete() || path())" +
             "&& !(concurrentLimit() || rateLimit() || circuitBreaker() ||" +
-            " enableServiceKeeper() || retry() || group() || fallback())")
+            " enableServiceKeeper() || retry() || group() || fallback() || isolation() || hedged() || timeout()" +
+            " || resultCache() || singleFlight())")
     public Object doInvoke0(ProceedingJoinPoint pjp) throws Throwable {
         if (logger.isDebugEnabled()) {
             logger.debug("ServiceKeeper's spring-web aop is surrounding method: {}", getQualifiedName(pjp));
         }
         return super.doInvoke(pjp);
     }
+
+    @Override
+    protected Priority resolvePriority(Method method, Object[] args) {
+        final Priority priority = priorityFromHeader(method, args, HEADER_NAMES);
+        return priority == null ? super.resolvePriority(method, args) : priority;
+    }
+
+    @Override
+    protected long resolveArrivalTime(Method method, Object[] args) {
+        final long arrivalTime = arrivalTimeFromHeader(method, args, HEADER_NAMES);
+        return arrivalTime < 0L ? super.resolveArrivalTime(method, args) : arrivalTime;
+    }
 }
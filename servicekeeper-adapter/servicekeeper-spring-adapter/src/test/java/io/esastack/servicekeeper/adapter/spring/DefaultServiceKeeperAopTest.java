@@ -20,12 +20,17 @@ import io.esastack.servicekeeper.adapter.spring.aop.WebAutoSupportAop;
 import io.esastack.servicekeeper.core.annotation.CircuitBreaker;
 import io.esastack.servicekeeper.core.annotation.ConcurrentLimiter;
 import io.esastack.servicekeeper.core.annotation.Fallback;
+import io.esastack.servicekeeper.core.annotation.Hedged;
 import io.esastack.servicekeeper.core.annotation.RateLimiter;
+import io.esastack.servicekeeper.core.annotation.ResultCache;
 import io.esastack.servicekeeper.core.annotation.Retryable;
+import io.esastack.servicekeeper.core.annotation.SingleFlight;
+import io.esastack.servicekeeper.core.annotation.Timeout;
 import io.esastack.servicekeeper.core.exception.CircuitBreakerNotPermittedException;
 import io.esastack.servicekeeper.core.exception.ConcurrentOverflowException;
 import io.esastack.servicekeeper.core.exception.RateLimitOverflowException;
 import io.esastack.servicekeeper.core.exception.ServiceRetryException;
+import io.esastack.servicekeeper.core.exception.TimeoutExceededException;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
@@ -35,7 +40,13 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.context.annotation.Import;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.assertj.core.api.BDDAssertions.then;
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Configuration
@@ -43,6 +54,13 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 @Import({ServiceKeeperConfigurator.class})
 class DefaultServiceKeeperAopTest {
 
+    private static final AtomicInteger HEDGED_COUNT = new AtomicInteger();
+    private static final AtomicInteger CACHED_COUNT = new AtomicInteger();
+    private static final AtomicInteger SINGLE_FLIGHT_COUNT = new AtomicInteger();
+    private static final CountDownLatch SINGLE_FLIGHT_LATCH = new CountDownLatch(1);
+    private static final CountDownLatch CONCURRENT_ENTERED = new CountDownLatch(1);
+    private static final CountDownLatch CONCURRENT_RELEASE = new CountDownLatch(1);
+
     private static AnnotationConfigApplicationContext ctx;
 
     @Bean
@@ -60,7 +78,7 @@ class DefaultServiceKeeperAopTest {
     }
 
     @Test
-    void test() {
+    void test() throws InterruptedException {
         then(ctx.getBean(DefaultServiceKeeperAop.class)).isNotNull();
         assertThrows(NoSuchBeanDefinitionException.class, () -> ctx.getBean(WebAutoSupportAop.class));
 
@@ -70,12 +88,12 @@ class DefaultServiceKeeperAopTest {
         assertThrows(RateLimitOverflowException.class, service::testRateLimiter);
 
         //ConcurrentLimiter
-        new Thread(service::testConcurrentLimiter).start();
-        try {
-            Thread.sleep(20);
-        } catch (InterruptedException ignored) {
-        }
+        final Thread holder = new Thread(service::testConcurrentLimiter);
+        holder.start();
+        then(CONCURRENT_ENTERED.await(3L, TimeUnit.SECONDS)).isTrue();
         assertThrows(ConcurrentOverflowException.class, service::testConcurrentLimiter);
+        CONCURRENT_RELEASE.countDown();
+        holder.join();
 
         //CircuitBreaker
         assertThrows(RuntimeException.class, service::testCircuitBreaker);
@@ -95,6 +113,42 @@ class DefaultServiceKeeperAopTest {
         then(service.testFallbackWithApplyToBizException()).isEqualTo("fallback value");
     }
 
+    @Test
+    void testHedged() throws Exception {
+        final HelloService service = ctx.getBean(HelloService.class);
+        then(service.testHedged().get(3L, TimeUnit.SECONDS)).isEqualTo("hedged");
+        then(HEDGED_COUNT.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testTimeout() {
+        final HelloService service = ctx.getBean(HelloService.class);
+        assertThrows(TimeoutExceededException.class, service::testTimeout);
+    }
+
+    @Test
+    void testResultCache() {
+        final HelloService service = ctx.getBean(HelloService.class);
+        then(service.testResultCache("a")).isEqualTo("a-1");
+        then(service.testResultCache("a")).isEqualTo("a-1");
+        then(service.testResultCache("b")).isEqualTo("b-2");
+        then(CACHED_COUNT.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testSingleFlight() throws Exception {
+        final HelloService service = ctx.getBean(HelloService.class);
+        final CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> service.testSingleFlight("a"));
+        await().atMost(3L, TimeUnit.SECONDS).until(() -> SINGLE_FLIGHT_COUNT.get() == 1);
+        final CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> service.testSingleFlight("a"));
+        Thread.sleep(100L);
+        SINGLE_FLIGHT_LATCH.countDown();
+
+        then(leader.get(3L, TimeUnit.SECONDS)).isEqualTo("a-1");
+        then(follower.get(3L, TimeUnit.SECONDS)).isEqualTo("a-1");
+        then(SINGLE_FLIGHT_COUNT.get()).isEqualTo(1);
+    }
+
     public static class HelloService {
 
         @RateLimiter(1)
@@ -104,8 +158,9 @@ class DefaultServiceKeeperAopTest {
 
         @ConcurrentLimiter(1)
         public void testConcurrentLimiter() {
+            CONCURRENT_ENTERED.countDown();
             try {
-                Thread.sleep(100);
+                CONCURRENT_RELEASE.await(3L, TimeUnit.SECONDS);
             } catch (InterruptedException ignored) {
             }
         }
@@ -134,5 +189,35 @@ class DefaultServiceKeeperAopTest {
         public String testFallbackWithApplyToBizException() {
             throw new RuntimeException("error occur");
         }
+
+        @Hedged(delay = 10L)
+        public CompletableFuture<String> testHedged() {
+            // The first attempt never completes, so the result must be returned by the hedged attempt.
+            return HEDGED_COUNT.getAndIncrement() == 0 ? new CompletableFuture<>()
+                    : CompletableFuture.completedFuture("hedged");
+        }
+
+        @Timeout(50L)
+        public void testTimeout() {
+            try {
+                Thread.sleep(3000L);
+            } catch (InterruptedException ignored) {
+            }
+        }
+
+        @ResultCache
+        public String testResultCache(String key) {
+            return key + "-" + CACHED_COUNT.incrementAndGet();
+        }
+
+        @SingleFlight
+        public String testSingleFlight(String key) {
+            final int count = SINGLE_FLIGHT_COUNT.incrementAndGet();
+            try {
+                SINGLE_FLIGHT_LATCH.await(3L, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+            }
+            return key + "-" + count;
+        }
     }
 }
@@ -17,6 +17,9 @@ package io.esastack.servicekeeper.adapter.springboot;
 
 import io.esastack.servicekeeper.adapter.spring.aop.DefaultServiceKeeperAop;
 import io.esastack.servicekeeper.adapter.spring.aop.WebAutoSupportAop;
+import io.esastack.servicekeeper.core.common.ArrivalTimeHolder;
+import io.esastack.servicekeeper.core.common.Priority;
+import io.esastack.servicekeeper.core.common.PriorityHolder;
 import io.esastack.servicekeeper.core.exception.RateLimitOverflowException;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -31,6 +34,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 import static org.assertj.core.api.BDDAssertions.then;
@@ -83,6 +87,20 @@ class WebAutoSupportAopTest {
         assertThrows(RateLimitOverflowException.class, service::testPatch);
     }
 
+    @Test
+    void testPriorityFromHeader() {
+        final HelloService service = ctx.getBean(HelloService.class);
+        then(service.testPriority("low")).isEqualTo(Priority.LOW);
+        then(PriorityHolder.get()).isNull();
+    }
+
+    @Test
+    void testArrivalTimeFromHeader() {
+        final HelloService service = ctx.getBean(HelloService.class);
+        then(service.testArrivalTime("t=1625097600.123")).isEqualTo(1625097600123L);
+        then(ArrivalTimeHolder.get()).isEqualTo(-1L);
+    }
+
     //RateLimit is configured through RateLimitConfigSourcesFactory
     public static class HelloService {
 
@@ -115,5 +133,15 @@ class WebAutoSupportAopTest {
         public String testPatch() {
             return "Patch";
         }
+
+        @GetMapping
+        public Priority testPriority(@RequestHeader(Priority.HEADER_NAME) String priority) {
+            return PriorityHolder.get();
+        }
+
+        @GetMapping
+        public long testArrivalTime(@RequestHeader(ArrivalTimeHolder.HEADER_NAME) String arrivalTime) {
+            return ArrivalTimeHolder.get();
+        }
     }
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.benchmark;
+
+import io.esastack.servicekeeper.core.config.ConcurrentLimitConfig;
+import io.esastack.servicekeeper.core.moats.concurrentlimit.AtomicConcurrentLimiter;
+import io.esastack.servicekeeper.core.moats.concurrentlimit.ConcurrentLimiter;
+import io.esastack.servicekeeper.core.moats.concurrentlimit.StripedConcurrentLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of acquiring and releasing a permission between {@link AtomicConcurrentLimiter}, which is
+ * used by default, and {@link StripedConcurrentLimiter} under the contention of 1 to 64 threads. The threshold is
+ * large enough that no call is rejected, so the result only reflects the cost of updating the counters.
+ * <p>
+ * Build and run: mvn -Pbenchmark package -pl servicekeeper-benchmark -am -DskipTests &amp;&amp;
+ * java -jar servicekeeper-benchmark/target/benchmarks.jar
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentLimiterBenchmark {
+
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+
+    @Param({"atomic", "striped"})
+    private String limiterType;
+
+    private ConcurrentLimiter limiter;
+
+    @Setup
+    public void setUp() {
+        final ConcurrentLimitConfig config = ConcurrentLimitConfig.builder().threshold(Integer.MAX_VALUE).build();
+        limiter = "striped".equals(limiterType)
+                ? new StripedConcurrentLimiter("benchmark", config, null)
+                : new AtomicConcurrentLimiter("benchmark", config, null);
+    }
+
+    @Benchmark
+    public boolean acquireAndRelease() {
+        final boolean acquired = limiter.acquirePermission();
+        if (acquired) {
+            limiter.release();
+        }
+        return acquired;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : THREADS) {
+            final Options options = new OptionsBuilder()
+                    .include(ConcurrentLimiterBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
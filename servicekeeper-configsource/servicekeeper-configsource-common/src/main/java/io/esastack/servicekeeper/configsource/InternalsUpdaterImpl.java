@@ -34,6 +34,7 @@ import io.esastack.servicekeeper.core.moats.MoatCluster;
 import io.esastack.servicekeeper.core.moats.RetryableMoatCluster;
 import io.esastack.servicekeeper.core.moats.circuitbreaker.CircuitBreakerMoat;
 import io.esastack.servicekeeper.core.moats.circuitbreaker.predicate.PredicateStrategy;
+import io.esastack.servicekeeper.core.retry.HedgingExecutor;
 import io.esastack.servicekeeper.core.retry.RetryOperations;
 import io.esastack.servicekeeper.core.retry.RetryOperationsImpl;
 import io.esastack.servicekeeper.core.retry.RetryableExecutor;
@@ -77,7 +78,7 @@ public class InternalsUpdaterImpl implements InternalsUpdater {
             return;
         }
 
-        doUpdate(resourceId, config);
+        doUpdate(resourceId, config, false);
     }
 
     @Override
@@ -93,7 +94,7 @@ public class InternalsUpdaterImpl implements InternalsUpdater {
                     continue;
                 }
 
-                doUpdate(id, config);
+                doUpdate(id, config, false);
             }
         }
     }
@@ -118,9 +119,18 @@ public class InternalsUpdaterImpl implements InternalsUpdater {
         limitListeners.forEach((listener) -> listener.onUpdate(key, oldMaxSizeLimit, newMaxSizeLimit));
     }
 
-    private void doUpdate(ResourceId resourceId, ExternalConfig config) {
+    /**
+     * Updates the listeners of the resourceId's moat cluster with the config. The moats shared by a group are only
+     * updated by the group's config, because that the config of a single item would change (or reset) the moats of
+     * all the other items silently.
+     *
+     * @param resourceId resourceId
+     * @param config     config
+     * @param group      whether the config is the one of the group which the resourceId belongs to
+     */
+    private void doUpdate(ResourceId resourceId, ExternalConfig config, boolean group) {
         final MoatCluster cluster0 = cluster.get(resourceId);
-        List<ExternalConfigListener> listeners = detectListeners(cluster0);
+        List<ExternalConfigListener> listeners = detectListeners(resourceId, cluster0, config, group);
 
         logger.info("Begin to update {}'s all dynamic configuration listeners(moats): {}, config: {}",
                 resourceId, listeners, config);
@@ -137,6 +147,8 @@ public class InternalsUpdaterImpl implements InternalsUpdater {
                     cluster0.remove((Moat<?>) listener);
                 } else if (RetryableMoatCluster.isInstance(cluster0) && listener instanceof RetryOperationsImpl) {
                     ((RetryableMoatCluster) cluster0).updateRetryExecutor(null);
+                } else if (RetryableMoatCluster.isInstance(cluster0) && listener instanceof HedgingExecutor) {
+                    ((RetryableMoatCluster) cluster0).updateHedgingExecutor(null);
                 }
                 logger.info("Removed {}'s listener(moat): {} from moat cluster successfully",
                         resourceId, listener);
@@ -160,16 +172,22 @@ public class InternalsUpdaterImpl implements InternalsUpdater {
         }
 
         logger.info("Begin to update group: {}'s all items: [{}], config: {}", key.toString(), groupItems, config);
-        groupItems.forEach(methodId -> doUpdate(methodId, config));
+        groupItems.forEach(methodId -> doUpdate(methodId, config, true));
     }
 
     /**
      * Detect listeners from {@link MoatCluster}.
      *
-     * @param cluster0 {@link MoatCluster}
+     * @param resourceId resourceId
+     * @param cluster0   {@link MoatCluster}
+     * @param config     config to update
+     * @param group      whether the config is the one of group
      * @return listeners set
      */
-    private List<ExternalConfigListener> detectListeners(final MoatCluster cluster0) {
+    private List<ExternalConfigListener> detectListeners(final ResourceId resourceId,
+                                                         final MoatCluster cluster0,
+                                                         final ExternalConfig config,
+                                                         final boolean group) {
         if (cluster0 == null) {
             return null;
         }
@@ -183,8 +201,22 @@ public class InternalsUpdaterImpl implements InternalsUpdater {
                 listeners.add((RetryOperationsImpl) operations);
             }
         }
+        HedgingExecutor hedging;
+        if (RetryableMoatCluster.isInstance(cluster0) &&
+                (hedging = ((RetryableMoatCluster) cluster0).hedgingExecutor()) != null) {
+            listeners.add(hedging);
+        }
 
         for (Moat<?> moat : cluster0.getAll()) {
+            if (!group && moat.config0().getResourceId() instanceof GroupResourceId) {
+                if (config != null) {
+                    logger.warn("The dynamic config of {} doesn't take effect on the moat: {} shared by group: {}," +
+                                    " please configure the group instead", resourceId, moat,
+                            moat.config0().getResourceId().getName());
+                }
+                continue;
+            }
+
             if (moat instanceof ExternalConfigListener) {
                 listeners.add((ExternalConfigListener) moat);
             }
@@ -201,8 +233,8 @@ public class InternalsUpdaterImpl implements InternalsUpdater {
     }
 
     /**
-     * Whether should destroy the moatCluster. If the moats in the moat cluster is empty and the retry
-     * executor is null, destroy the moat soon.
+     * Whether should destroy the moatCluster. If the moats in the moat cluster is empty and both the retry
+     * executor and the hedging executor are null, destroy the moat soon.
      *
      * @param cluster0 target moatCluster
      * @return true or false
@@ -213,6 +245,7 @@ public class InternalsUpdaterImpl implements InternalsUpdater {
         }
 
         final boolean retryable = RetryableMoatCluster.isInstance(cluster0);
-        return (!retryable) || ((RetryableMoatCluster) cluster0).retryExecutor() == null;
+        return (!retryable) || (((RetryableMoatCluster) cluster0).retryExecutor() == null
+                && ((RetryableMoatCluster) cluster0).hedgingExecutor() == null);
     }
 }
@@ -20,12 +20,14 @@ import io.esastack.servicekeeper.core.common.GroupResourceId;
 import io.esastack.servicekeeper.core.common.ResourceId;
 import io.esastack.servicekeeper.core.config.CircuitBreakerConfig;
 import io.esastack.servicekeeper.core.config.ConcurrentLimitConfig;
+import io.esastack.servicekeeper.core.config.HedgeConfig;
 import io.esastack.servicekeeper.core.config.RateLimitConfig;
 import io.esastack.servicekeeper.core.config.RetryConfig;
 import io.esastack.servicekeeper.core.config.ServiceKeeperConfig;
 import io.esastack.servicekeeper.core.configsource.ExternalConfig;
 import io.esastack.servicekeeper.core.configsource.ExternalGroupConfig;
 import io.esastack.servicekeeper.core.configsource.GroupConfigSource;
+import io.esastack.servicekeeper.core.entry.CompositeServiceKeeperConfig;
 import io.esastack.servicekeeper.core.factory.FallbackHandlerFactoryImpl;
 import io.esastack.servicekeeper.core.factory.LimitableMoatFactoryContext;
 import io.esastack.servicekeeper.core.factory.MoatClusterFactory;
@@ -42,6 +44,7 @@ import io.esastack.servicekeeper.core.moats.circuitbreaker.CircuitBreakerMoat;
 import io.esastack.servicekeeper.core.moats.circuitbreaker.predicate.PredicateBySpendTime;
 import io.esastack.servicekeeper.core.moats.concurrentlimit.ConcurrentLimitMoat;
 import io.esastack.servicekeeper.core.moats.ratelimit.RateLimitMoat;
+import io.esastack.servicekeeper.core.retry.HedgingExecutor;
 import io.esastack.servicekeeper.core.retry.RetryOperations;
 import org.junit.jupiter.api.Test;
 
@@ -346,6 +349,49 @@ class InternalsUpdaterImplTest {
         then(((RetryableMoatCluster) cluster.get(resourceId)).retryExecutor()).isNull();
     }
 
+    @Test
+    void testUpdateHedge() {
+        final ResourceId resourceId = ResourceId.from("testUpdateHedge");
+        then(cluster.get(resourceId)).isNull();
+
+        factory.getOrCreate(resourceId, () -> null, () -> ServiceKeeperConfig.builder()
+                .hedgeConfig(HedgeConfig.ofDefault()).build(), null, false);
+        final HedgingExecutor hedging = ((RetryableMoatCluster) cluster.get(resourceId)).hedgingExecutor();
+        then(hedging.config().getDelay()).isEqualTo(100L);
+
+        final ExternalConfig config = new ExternalConfig();
+        config.setHedgeDelay(20L);
+        config.setMaxConcurrentHedges(5);
+        updater.update(resourceId, config);
+        then(hedging.config().getDelay()).isEqualTo(20L);
+        then(hedging.config().getMaxConcurrentHedges()).isEqualTo(5);
+
+        // Update with null and fallback to original config
+        updater.update(resourceId, null);
+        then(hedging.config()).isEqualTo(HedgeConfig.ofDefault());
+        then(((RetryableMoatCluster) cluster.get(resourceId)).hedgingExecutor()).isSameAs(hedging);
+    }
+
+    @Test
+    void testAddAndDeleteHedge() {
+        final ResourceId resourceId = ResourceId.from("testAddAndDeleteHedge");
+        then(cluster.get(resourceId)).isNull();
+
+        factory.getOrCreate(resourceId, () -> null, () -> ServiceKeeperConfig.builder()
+                .rateLimiterConfig(RateLimitConfig.ofDefault()).build(), null, false);
+        then(((RetryableMoatCluster) cluster.get(resourceId)).hedgingExecutor()).isNull();
+
+        final ExternalConfig config = new ExternalConfig();
+        config.setHedgeDelay(20L);
+        updater.update(resourceId, config);
+        then(((RetryableMoatCluster) cluster.get(resourceId)).hedgingExecutor().config().getDelay())
+                .isEqualTo(20L);
+
+        updater.update(resourceId, null);
+        then(cluster.get(resourceId).getAll().size()).isEqualTo(1);
+        then(((RetryableMoatCluster) cluster.get(resourceId)).hedgingExecutor()).isNull();
+    }
+
     @Test
     void testUpdateMaxSpendTimeMs() {
         // PredicateByMaxSpendTimeMs
@@ -405,6 +451,38 @@ class InternalsUpdaterImplTest {
         then(cluster.get(ResourceId.from("xyz"))).isNull();
     }
 
+    @Test
+    void testUpdateSharedGroupItem() {
+        final GroupResourceId groupId = GroupResourceId.from("testUpdateGroupConfig1");
+        final ServiceKeeperConfig immutableConfig = ServiceKeeperConfig.builder()
+                .concurrentLimiterConfig(ConcurrentLimitConfig.builder().threshold(10).build()).build();
+        for (String name : new String[]{"abc", "def"}) {
+            config.getOrCompute(ResourceId.from(name), () -> CompositeServiceKeeperConfig.builder()
+                    .methodConfig(immutableConfig).group(groupId).sharedGroup(true).build());
+            factory.getOrCreate(ResourceId.from(name), () -> null, () -> immutableConfig, () -> null, false);
+        }
+        final ConcurrentLimitMoat moat = (ConcurrentLimitMoat) cluster.get(ResourceId.from("abc")).getAll().get(0);
+        then(cluster.get(ResourceId.from("def")).getAll().get(0)).isSameAs(moat);
+
+        // The config of a single item doesn't change the moat shared by the group.
+        final ExternalConfig itemConfig = new ExternalConfig();
+        itemConfig.setMaxConcurrentLimit(20);
+        updater.update(ResourceId.from("abc"), itemConfig);
+        then(moat.config().getThreshold()).isEqualTo(10);
+
+        final ExternalConfig groupConfig = new ExternalConfig();
+        groupConfig.setMaxConcurrentLimit(30);
+        updater.update(groupId, groupConfig);
+        then(moat.config().getThreshold()).isEqualTo(30);
+
+        // Removing the config of a single item doesn't reset the moat shared by the group.
+        updater.update(ResourceId.from("abc"), null);
+        then(moat.config().getThreshold()).isEqualTo(30);
+
+        updater.update(groupId, null);
+        then(moat.config().getThreshold()).isEqualTo(10);
+    }
+
     private static class InternalGroupConfigSource implements GroupConfigSource {
 
         private final Map<GroupResourceId, ExternalConfig> configMap = new HashMap<>(2);
@@ -18,6 +18,9 @@ package io.esastack.servicekeeper.configsource.file.constant;
 import esa.commons.StringUtils;
 import io.esastack.servicekeeper.configsource.file.utils.GroupItemUtils;
 import io.esastack.servicekeeper.configsource.utils.ClassConvertUtils;
+import io.esastack.servicekeeper.core.config.BackoffConfig;
+import io.esastack.servicekeeper.core.config.CircuitBreakerConfig;
+import io.esastack.servicekeeper.core.config.IsolationConfig;
 import io.esastack.servicekeeper.core.configsource.ExternalConfig;
 import io.esastack.servicekeeper.core.configsource.ExternalGroupConfig;
 import io.esastack.servicekeeper.core.utils.ClassCastUtils;
@@ -115,6 +118,32 @@ public enum ExternalConfigName {
         }
     },
 
+    /**
+     * latencyPercentile
+     */
+    LATENCY_PERCENTILE("latencyPercentile") {
+        @Override
+        public void applyConfigValue(ExternalConfig config, String value) {
+            final float latencyPercentile = Float.parseFloat(value);
+            ParamCheckUtils.isTrue(latencyPercentile > 0.0f && latencyPercentile <= 100.0f,
+                    this.buildErrorMsg("must between (0, 100]", latencyPercentile));
+            config.setLatencyPercentile(latencyPercentile);
+        }
+    },
+
+    /**
+     * latencyThresholdMs
+     */
+    LATENCY_THRESHOLD_MS("latencyThresholdMs") {
+        @Override
+        public void applyConfigValue(ExternalConfig config, String value) {
+            final long latencyThresholdMs = Long.parseLong(value);
+            ParamCheckUtils.positiveLong(latencyThresholdMs,
+                    this.buildErrorMsg("must greater than 0", latencyThresholdMs));
+            config.setLatencyThresholdMs(latencyThresholdMs);
+        }
+    },
+
     /**
      * ignoreExceptions
      */
@@ -170,6 +199,16 @@ public enum ExternalConfigName {
         }
     },
 
+    /**
+     * windowType
+     */
+    WINDOW_TYPE("windowType") {
+        @Override
+        public void applyConfigValue(ExternalConfig config, String value) {
+            config.setWindowType(CircuitBreakerConfig.WindowType.valueOf(value.trim().toUpperCase()));
+        }
+    },
+
     /**
      * fallbackMethod
      */
@@ -221,6 +260,42 @@ public enum ExternalConfigName {
         }
     },
 
+    /**
+     * fallbackToLastKnownGood
+     */
+    FALLBACK_TO_LAST_KNOWN_GOOD("fallbackToLastKnownGood") {
+        @Override
+        public void applyConfigValue(ExternalConfig config, String value) {
+            config.setFallbackToLastKnownGood(Boolean.valueOf(value));
+        }
+    },
+
+    /**
+     * lastKnownGoodMaxSize
+     */
+    LAST_KNOWN_GOOD_MAX_SIZE("lastKnownGoodMaxSize") {
+        @Override
+        public void applyConfigValue(ExternalConfig config, String value) {
+            final long lastKnownGoodMaxSize = Long.parseLong(value);
+            ParamCheckUtils.positiveLong(lastKnownGoodMaxSize,
+                    this.buildErrorMsg("must greater than 0", lastKnownGoodMaxSize));
+            config.setLastKnownGoodMaxSize(lastKnownGoodMaxSize);
+        }
+    },
+
+    /**
+     * lastKnownGoodMaxWeight
+     */
+    LAST_KNOWN_GOOD_MAX_WEIGHT("lastKnownGoodMaxWeight") {
+        @Override
+        public void applyConfigValue(ExternalConfig config, String value) {
+            final long lastKnownGoodMaxWeight = Long.parseLong(value);
+            ParamCheckUtils.notNegativeLong(lastKnownGoodMaxWeight,
+                    this.buildErrorMsg("must not be an negative number", lastKnownGoodMaxWeight));
+            config.setLastKnownGoodMaxWeight(lastKnownGoodMaxWeight);
+        }
+    },
+
     /**
      * includeExceptions
      */
@@ -293,6 +368,251 @@ public enum ExternalConfigName {
         }
     },
 
+    /**
+     * jitter
+     */
+    RETRY_JITTER("jitter") {
+        @Override
+        public void applyConfigValue(ExternalConfig config, String value) {
+            config.setJitter(BackoffConfig.Jitter.valueOf(value.trim().toUpperCase()));
+        }
+    },
+
+    /**
+     * retryBudgetRatio
+     */
+    RETRY_BUDGET_RATIO("retryBudgetRatio") {
+        @Override
+        public void applyConfigValue(ExternalConfig config, String value) {
+            final double ratio = Double.parseDouble(value);
+            ParamCheckUtils.notNegativeDouble(ratio,
+                    this.buildErrorMsg("must not be an negative number", ratio));
+            config.setRetryBudgetRatio(ratio);
+        }
+    },
+
+    /**
+     * minRetriesPerSecond
+     */
+    RETRY_MIN_RETRIES_PER_SECOND("minRetriesPerSecond") {
+        @Override
+        public void applyConfigValue(ExternalConfig config, String value) {
+            final int minRetriesPerSecond = Integer.parseInt(value);
+            ParamCheckUtils.notNegativeInt(minRetriesPerSecond,
+                    this.buildErrorMsg("must not be an negative number", minRetriesPerSecond));
+            config.setMinRetriesPerSecond(minRetriesPerSecond);
+        }
+    },
+
+    /**
+     * attemptTimeout
+     */
+    RETRY_ATTEMPT_TIMEOUT("attemptTimeout") {
+        @Override
+        public void applyConfigValue(ExternalConfig config, String value) {
+            final long attemptTimeout = Long.parseLong(value);
+            ParamCheckUtils.notNegativeLong(attemptTimeout,
+                    this.buildErrorMsg("must not be an negative number", attemptTimeout));
+            config.setAttemptTimeout(attemptTimeout);
+        }
+    },
+
+    /**
+     * retryDeadline
+     */
+    RETRY_DEADLINE("retryDeadline") {
+        @Override
+        public void applyConfigValue(ExternalConfig config, String value) {
+            final long deadline = Long.parseLong(value);
+            ParamCheckUtils.notNegativeLong(deadline,
+                    this.buildErrorMsg("must not be an negative number", deadline));
+            config.setRetryDeadline(deadline);
+        }
+    },
+
+    /**
+     * isolationThreads
+     */
+    ISOLATION_THREADS("isolationThreads") {
+        @Override
+        public void applyConfigValue(ExternalConfig config, String value) {
+            final int threads = Integer.parseInt(value);
+            ParamCheckUtils.positiveInt(threads,
+                    this.buildErrorMsg("must be a positive number", threads));
+            config.setIsolationThreads(threads);
+        }
+    },
+
+    /**
+     * isolationQueueSize
+     */
+    ISOLATION_QUEUE_SIZE("isolationQueueSize") {
+        @Override
+        public void applyConfigValue(ExternalConfig config, String value) {
+            final int queueSize = Integer.parseInt(value);
+            ParamCheckUtils.notNegativeInt(queueSize,
+                    this.buildErrorMsg("must not be an negative number", queueSize));
+            config.setIsolationQueueSize(queueSize);
+        }
+    },
+
+    /**
+     * isolationExecutorType
+     */
+    ISOLATION_EXECUTOR_TYPE("isolationExecutorType") {
+        @Override
+        public void applyConfigValue(ExternalConfig config, String value) {
+            config.setIsolationExecutorType(IsolationConfig.ExecutorType.valueOf(value.trim().toUpperCase()));
+        }
+    },
+
+    /**
+     * hedgeDelay
+     */
+    HEDGE_DELAY("hedgeDelay") {
+        @Override
+        public void applyConfigValue(ExternalConfig config, String value) {
+            final long hedgeDelay = Long.parseLong(value);
+            ParamCheckUtils.notNegativeLong(hedgeDelay,
+                    this.buildErrorMsg("must not be a negative number", hedgeDelay));
+            config.setHedgeDelay(hedgeDelay);
+        }
+    },
+
+    /**
+     * hedgePercentile
+     */
+    HEDGE_PERCENTILE("hedgePercentile") {
+        @Override
+        public void applyConfigValue(ExternalConfig config, String value) {
+            final double hedgePercentile = Double.parseDouble(value);
+            ParamCheckUtils.isTrue(hedgePercentile >= 0.0d && hedgePercentile < 100.0d,
+                    this.buildErrorMsg("must between [0, 100)", hedgePercentile));
+            config.setHedgePercentile(hedgePercentile);
+        }
+    },
+
+    /**
+     * maxConcurrentHedges
+     */
+    MAX_CONCURRENT_HEDGES("maxConcurrentHedges") {
+        @Override
+        public void applyConfigValue(ExternalConfig config, String value) {
+            final int maxConcurrentHedges = Integer.parseInt(value);
+            ParamCheckUtils.positiveInt(maxConcurrentHedges,
+                    this.buildErrorMsg("must be a positive number", maxConcurrentHedges));
+            config.setMaxConcurrentHedges(maxConcurrentHedges);
+        }
+    },
+
+    /**
+     * timeout
+     */
+    TIMEOUT("timeout") {
+        @Override
+        public void applyConfigValue(ExternalConfig config, String value) {
+            final long timeout = Long.parseLong(value);
+            ParamCheckUtils.positiveLong(timeout,
+                    this.buildErrorMsg("must be a positive number", timeout));
+            config.setTimeout(timeout);
+        }
+    },
+
+    /**
+     * timeoutInterruptible
+     */
+    TIMEOUT_INTERRUPTIBLE("timeoutInterruptible") {
+        @Override
+        public void applyConfigValue(ExternalConfig config, String value) {
+            config.setTimeoutInterruptible(Boolean.valueOf(value));
+        }
+    },
+
+    /**
+     * cacheTtl
+     */
+    CACHE_TTL("cacheTtl") {
+        @Override
+        public void applyConfigValue(ExternalConfig config, String value) {
+            final long ttl = Long.parseLong(value);
+            ParamCheckUtils.positiveLong(ttl,
+                    this.buildErrorMsg("must be a positive number", ttl));
+            config.setCacheTtl(ttl);
+        }
+    },
+
+    /**
+     * cacheMaxSize
+     */
+    CACHE_MAX_SIZE("cacheMaxSize") {
+        @Override
+        public void applyConfigValue(ExternalConfig config, String value) {
+            final long maxSize = Long.parseLong(value);
+            ParamCheckUtils.positiveLong(maxSize,
+                    this.buildErrorMsg("must be a positive number", maxSize));
+            config.setCacheMaxSize(maxSize);
+        }
+    },
+
+    /**
+     * cacheMaxStale
+     */
+    CACHE_MAX_STALE("cacheMaxStale") {
+        @Override
+        public void applyConfigValue(ExternalConfig config, String value) {
+            final long maxStale = Long.parseLong(value);
+            ParamCheckUtils.notNegativeLong(maxStale,
+                    this.buildErrorMsg("must not be a negative number", maxStale));
+            config.setCacheMaxStale(maxStale);
+        }
+    },
+
+    /**
+     * cacheStaleWhileRevalidate
+     */
+    CACHE_STALE_WHILE_REVALIDATE("cacheStaleWhileRevalidate") {
+        @Override
+        public void applyConfigValue(ExternalConfig config, String value) {
+            config.setCacheStaleWhileRevalidate(Boolean.valueOf(value));
+        }
+    },
+
+    /**
+     * singleFlight
+     */
+    SINGLE_FLIGHT("singleFlight") {
+        @Override
+        public void applyConfigValue(ExternalConfig config, String value) {
+            config.setSingleFlight(Boolean.valueOf(value));
+        }
+    },
+
+    /**
+     * codelTargetDelay
+     */
+    CODEL_TARGET_DELAY("codelTargetDelay") {
+        @Override
+        public void applyConfigValue(ExternalConfig config, String value) {
+            final long targetDelay = Long.parseLong(value);
+            ParamCheckUtils.positiveLong(targetDelay,
+                    this.buildErrorMsg("must be a positive number", targetDelay));
+            config.setCodelTargetDelay(targetDelay);
+        }
+    },
+
+    /**
+     * codelInterval
+     */
+    CODEL_INTERVAL("codelInterval") {
+        @Override
+        public void applyConfigValue(ExternalConfig config, String value) {
+            final long interval = Long.parseLong(value);
+            ParamCheckUtils.positiveLong(interval,
+                    this.buildErrorMsg("must be a positive number", interval));
+            config.setCodelInterval(interval);
+        }
+    },
+
     /**
      * items
      */
@@ -367,9 +367,18 @@ public final class PropertiesUtils {
         if (argConfig.getPredicateStrategy() == null && template.getPredicateStrategy() != null) {
             argConfig.setPredicateStrategy(template.getPredicateStrategy());
         }
+        if (argConfig.getWindowType() == null && template.getWindowType() != null) {
+            argConfig.setWindowType(template.getWindowType());
+        }
         if (argConfig.getMaxSpendTimeMs() == null && template.getMaxSpendTimeMs() != null) {
             argConfig.setMaxSpendTimeMs(template.getMaxSpendTimeMs());
         }
+        if (argConfig.getLatencyPercentile() == null && template.getLatencyPercentile() != null) {
+            argConfig.setLatencyPercentile(template.getLatencyPercentile());
+        }
+        if (argConfig.getLatencyThresholdMs() == null && template.getLatencyThresholdMs() != null) {
+            argConfig.setLatencyThresholdMs(template.getLatencyThresholdMs());
+        }
         if (argConfig.getForcedDisabled() == null && template.getForcedDisabled() != null) {
             argConfig.setForcedDisabled(template.getForcedDisabled());
         }
@@ -21,6 +21,7 @@ import io.esastack.servicekeeper.core.common.ArgConfigKey;
 import io.esastack.servicekeeper.core.common.ArgResourceId;
 import io.esastack.servicekeeper.core.common.GroupResourceId;
 import io.esastack.servicekeeper.core.common.ResourceId;
+import io.esastack.servicekeeper.core.config.BackoffConfig;
 import io.esastack.servicekeeper.core.configsource.ExternalConfig;
 import io.esastack.servicekeeper.core.configsource.ExternalGroupConfig;
 import io.esastack.servicekeeper.core.moats.circuitbreaker.predicate.PredicateByException;
@@ -49,6 +50,7 @@ import static org.assertj.core.api.BDDAssertions.then;
 //com.example.service.DemoClass.demoMethod.delay=50
 //com.example.service.DemoClass.demoMethod.maxDelay=500
 //com.example.service.DemoClass.demoMethod.multiplier=3.0
+//com.example.service.DemoClass.demoMethod.jitter=full
 //
 //com.example.service.DemoClass.demoMethod.limitForPeriod=600
 //com.example.service.DemoClass.demoMethod.limitRefreshPeriod=2s
@@ -127,6 +129,7 @@ class PropertiesUtilsTest {
         then(configs.get(resourceId1).getDelay()).isEqualTo(50);
         then(configs.get(resourceId1).getMaxDelay()).isEqualTo(500);
         then(configs.get(resourceId1).getMultiplier()).isEqualTo(3.0d);
+        then(configs.get(resourceId1).getJitter()).isEqualTo(BackoffConfig.Jitter.FULL);
         then(configs.get(resourceId1).getLimitForPeriod()).isEqualTo(600);
         then(configs.get(resourceId1).getLimitRefreshPeriod()).isEqualTo(Duration.ofSeconds(2));
         then(configs.get(resourceId1).getFailureRateThreshold()).isEqualTo(55.5f);
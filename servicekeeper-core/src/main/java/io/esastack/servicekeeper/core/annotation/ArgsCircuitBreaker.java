@@ -15,6 +15,7 @@
  */
 package io.esastack.servicekeeper.core.annotation;
 
+import io.esastack.servicekeeper.core.config.CircuitBreakerConfig;
 import io.esastack.servicekeeper.core.moats.circuitbreaker.predicate.PredicateByException;
 import io.esastack.servicekeeper.core.moats.circuitbreaker.predicate.PredicateStrategy;
 
@@ -59,6 +60,12 @@ public @interface ArgsCircuitBreaker {
      */
     Class<? extends Throwable>[] ignoreExceptions() default {};
 
+    /**
+     * the way to calculate the failure rate, {@link CircuitBreakerConfig.WindowType#EWMA} is recommended when there
+     * are large numbers of circuitBreakers.
+     */
+    CircuitBreakerConfig.WindowType windowType() default CircuitBreakerConfig.WindowType.RING_BIT_SET;
+
     /**
      * @return mapping from value to failureRateThreshold,
      * eg: "{{LiMing: 10.0f, WangWu: 70.0f, ZhangSan: 20.0f, *: 80.0f}}"
@@ -15,6 +15,8 @@
  */
 package io.esastack.servicekeeper.core.annotation;
 
+import io.esastack.servicekeeper.core.config.BackoffConfig;
+
 import java.lang.annotation.Documented;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
@@ -46,5 +48,12 @@ public @interface Backoff {
      */
     double multiplier() default 1.0d;
 
+    /**
+     * The way to randomize the delay, which spreads out the retries of different callers.
+     *
+     * @return jitter (default NONE = the delay is used as it is)
+     */
+    BackoffConfig.Jitter jitter() default BackoffConfig.Jitter.NONE;
+
 }
 
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Budget {
+
+    /**
+     * The ratio of retries to the successful first attempts, eg: 0.1 means that at most 10% of the traffic will be
+     * retried.
+     *
+     * @return ratio (default 0 = no budget)
+     */
+    double ratio() default 0.0d;
+
+    /**
+     * The retries which are always allowed per second regardless of the ratio.
+     *
+     * @return min retries per second
+     */
+    int minRetriesPerSecond() default 10;
+
+}
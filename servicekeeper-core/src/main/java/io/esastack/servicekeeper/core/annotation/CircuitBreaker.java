@@ -15,6 +15,7 @@
  */
 package io.esastack.servicekeeper.core.annotation;
 
+import io.esastack.servicekeeper.core.config.CircuitBreakerConfig;
 import io.esastack.servicekeeper.core.moats.circuitbreaker.predicate.PredicateByException;
 import io.esastack.servicekeeper.core.moats.circuitbreaker.predicate.PredicateStrategy;
 
@@ -68,10 +69,27 @@ public @interface CircuitBreaker {
      */
     int maxSpendTimeMs() default -1;
 
+    /**
+     * the percentile of latency which is used to trip the circuitBreaker, eg: 99.0 means p99.
+     */
+    float latencyPercentile() default 99.0f;
+
+    /**
+     * the circuitBreaker will be OPEN when the latency at {@link #latencyPercentile()} exceeds the threshold,
+     * -1 means disabled.
+     */
+    long latencyThresholdMs() default -1L;
+
     /**
      * exceptions to be ignored when predicate whether a call is successful by business Exception.
      */
     Class<? extends Throwable>[] ignoreExceptions() default {};
 
+    /**
+     * the way to calculate the failure rate, {@link CircuitBreakerConfig.WindowType#EWMA} is recommended when there
+     * are large numbers of circuitBreakers.
+     */
+    CircuitBreakerConfig.WindowType windowType() default CircuitBreakerConfig.WindowType.RING_BIT_SET;
+
 }
 
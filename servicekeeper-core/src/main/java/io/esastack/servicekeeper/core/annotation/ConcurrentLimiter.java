@@ -15,6 +15,8 @@
  */
 package io.esastack.servicekeeper.core.annotation;
 
+import io.esastack.servicekeeper.core.config.ConcurrentLimitConfig;
+
 import java.lang.annotation.Documented;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Inherited;
@@ -40,5 +42,29 @@ public @interface ConcurrentLimiter {
      */
     int threshold() default DEFAULT_VALUE;
 
+    /**
+     * The algorithm to compute the limit, the threshold is regarded as the upper bound when the limit is computed
+     * adaptively.
+     */
+    ConcurrentLimitConfig.Algorithm algorithm() default ConcurrentLimitConfig.Algorithm.FIXED;
+
+    /**
+     * The lower bound of the limit which is computed adaptively.
+     */
+    int minThreshold() default 1;
+
+    /**
+     * The max duration to wait for a permission when the concurrent calls exceed the threshold, eg: 100ms. The calls
+     * will be rejected immediately when it's 0. Note that the async calls (eg: the methods return
+     * {@link java.util.concurrent.CompletionStage}) wait without blocking the caller thread, and they are executed
+     * on another thread once the permission is handed off to them.
+     */
+    String maxWaitDuration() default "0ms";
+
+    /**
+     * The max number of calls which are waiting for permissions.
+     */
+    int maxQueueSize() default 128;
+
 }
 
@@ -58,4 +58,20 @@ public @interface Fallback {
      */
     boolean alsoApplyToBizException() default false;
 
+    /**
+     * Whether fallback to the last successful result of the same args firstly, the fallback configured by other
+     * attributes is used only when there is no such a result.
+     */
+    boolean fallbackToLastKnownGood() default false;
+
+    /**
+     * The max size of the recorded successful results
+     */
+    long lastKnownGoodMaxSize() default 1000L;
+
+    /**
+     * The max weight of the recorded successful results, which takes precedence over the max size if it's positive
+     */
+    long lastKnownGoodMaxWeight() default 0L;
+
 }
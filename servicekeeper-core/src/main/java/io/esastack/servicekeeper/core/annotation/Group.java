@@ -33,4 +33,17 @@ public @interface Group {
      */
     String value();
 
+    /**
+     * Whether the items of the group share the same moats. If true, all the methods belong to the group will
+     * reference the same circuitBreaker, rateLimiter and concurrentLimiter, which means that they will trip
+     * together and share the same quota. Otherwise, only the configuration of the group is shared.
+     * Note that the shared items must be configured identically, an {@link IllegalArgumentException} will be thrown
+     * when resolving an item which conflicts with another one.
+     * The shared moats can only be updated by the dynamic config of the group, the dynamic config of a single item
+     * doesn't take effect on them.
+     *
+     * @return true or false
+     */
+    boolean shared() default false;
+
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Issues a hedged attempt of the asynchronous call when the first one hasn't completed after a delay, and takes the
+ * result of whichever completes first. It's only designed for the idempotent methods.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+public @interface Hedged {
+
+    /**
+     * The fixed delay in milliseconds before issuing the hedged attempt.
+     */
+    long delay() default 100L;
+
+    /**
+     * The percentile of observed latency to use as the delay, eg: 95, 0 means using the fixed delay.
+     */
+    double percentile() default 0.0d;
+
+    /**
+     * The max number of hedged attempts which are in flight at the same time.
+     */
+    int maxConcurrentHedges() default 10;
+
+    /**
+     * The budget of hedged attempts, ratio 0 means no budget.
+     */
+    Budget budget() default @Budget(ratio = 0.1d);
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.annotation;
+
+import io.esastack.servicekeeper.core.config.IsolationConfig;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Executes the sync calls of the method on a dedicated executor, so that a slow resource could only occupy its own
+ * threads.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+public @interface Isolation {
+
+    /**
+     * The max number of calls which are executed concurrently.
+     */
+    int threads() default 10;
+
+    /**
+     * The max number of calls which are waiting for executing, the calls beyond it will be rejected.
+     */
+    int maxQueueSize() default 100;
+
+    /**
+     * The type of threads to execute the calls.
+     */
+    IsolationConfig.ExecutorType executorType() default IsolationConfig.ExecutorType.PLATFORM;
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.annotation;
+
+import io.esastack.servicekeeper.core.common.Priority;
+import io.esastack.servicekeeper.core.common.PriorityExtractor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The priority of the calls of the method, the lower priority calls will be shed first when the concurrentLimiter
+ * or rateLimiter is saturated, see {@link Priority}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+public @interface RequestPriority {
+
+    /**
+     * The priority of the calls, which is used when the priority extracted by {@link #extractor()} is absent.
+     */
+    Priority value() default Priority.NORMAL;
+
+    /**
+     * The class of {@link PriorityExtractor} to extract the priority from the arguments of each call, the default
+     * {@link PriorityExtractor.None} means that the priority is not extracted.
+     */
+    Class<? extends PriorityExtractor> extractor() default PriorityExtractor.None.class;
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Caches the results of the idempotent method by the args, the cached result is returned without calling the
+ * method and acquiring any permit.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+public @interface ResultCache {
+
+    /**
+     * The milliseconds which a cached result keeps fresh.
+     */
+    long ttl() default 60_000L;
+
+    /**
+     * The max number of the cached results.
+     */
+    long maxSize() default 1000L;
+
+    /**
+     * The milliseconds which an expired result is retained to be returned when the circuitBreaker is open.
+     */
+    long maxStale() default 60_000L;
+
+    /**
+     * Whether to return the stale result while it's being revalidated by another call.
+     */
+    boolean staleWhileRevalidate() default false;
+
+}
@@ -65,4 +65,26 @@ public @interface Retryable {
      */
     Backoff backoff() default @Backoff;
 
+    /**
+     * Specify the budget to limit the retries of this operation, which prevents the retries from amplifying the
+     * load of an unhealthy resource. The default is no budget.
+     *
+     * @return a budget specification
+     */
+    Budget budget() default @Budget;
+
+    /**
+     * The timeout in milliseconds of every single attempt, which only works for the asynchronous calls.
+     *
+     * @return attempt timeout (default 0 = never time out)
+     */
+    long attemptTimeout() default 0L;
+
+    /**
+     * The max time in milliseconds of all the attempts and back offs.
+     *
+     * @return deadline (default 0 = no deadline)
+     */
+    long deadline() default 0L;
+
 }
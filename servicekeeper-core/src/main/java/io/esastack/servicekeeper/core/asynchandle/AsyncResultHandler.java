@@ -23,6 +23,9 @@ import io.esastack.servicekeeper.core.moats.circuitbreaker.predicate.PredicateSt
  * The class is designed to handle async result value. In fact, the implementation must invoke
  * {@link RequestHandle}'s ends methods manually and you can use {@link #supports(Class)} to judge whether
  * apply current handler to specified return value type.
+ * <p>
+ * Implement {@link StageAdaptableHandler} instead if the return value can be adapted from and to
+ * {@link java.util.concurrent.CompletionStage}, which is required by asynchronous retry, hedging and so on.
  */
 public interface AsyncResultHandler<T> {
 
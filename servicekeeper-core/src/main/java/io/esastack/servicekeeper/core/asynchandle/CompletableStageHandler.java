@@ -19,11 +19,12 @@ import esa.commons.Checks;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
 
 /**
  * Handler which can handle {@link CompletionStage} result.
  */
-public class CompletableStageHandler<M> implements AsyncResultHandler<CompletionStage<M>> {
+public class CompletableStageHandler<M> implements StageAdaptableHandler<CompletionStage<M>> {
 
     @Override
     public boolean supports(Class<?> returnType) {
@@ -34,8 +35,19 @@ public class CompletableStageHandler<M> implements AsyncResultHandler<Completion
     @SuppressWarnings("unchecked")
     public CompletionStage<M> handle0(CompletionStage<M> returnValue, RequestHandle requestHandle) {
         final CompletableFuture<M> future = new CompletableFuture<>();
+        if (returnValue instanceof Future) {
+            // Propagate the cancellation to the original stage, which may be an asynchronous retry.
+            future.whenComplete((r, t) -> {
+                if (future.isCancelled()) {
+                    ((Future<?>) returnValue).cancel(false);
+                }
+            });
+        }
         returnValue.whenComplete((r, t) -> {
-            if (t != null) {
+            if (t != null && future.isCancelled()) {
+                // The outcome is unknown since the call is cancelled by the caller, don't count it as a failure.
+                requestHandle.endWithCancellation();
+            } else if (t != null) {
                 try {
                     processFallback(future, (CompletionStage<M>) (requestHandle.fallback(t)));
                 } catch (Throwable th) {
@@ -49,6 +61,17 @@ public class CompletableStageHandler<M> implements AsyncResultHandler<Completion
         return future;
     }
 
+    @Override
+    public CompletionStage<?> toCompletionStage(CompletionStage<M> returnValue) {
+        return returnValue == null ? CompletableFuture.completedFuture(null) : returnValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public CompletionStage<M> fromCompletionStage(CompletionStage<?> stage) {
+        return (CompletionStage<M>) stage;
+    }
+
     @Override
     public String toString() {
         return "CompletableStageHandler";
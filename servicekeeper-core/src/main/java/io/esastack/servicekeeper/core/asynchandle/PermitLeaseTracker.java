@@ -0,0 +1,167 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.asynchandle;
+
+import esa.commons.Checks;
+import esa.commons.StringUtils;
+import esa.commons.logging.Logger;
+import io.esastack.servicekeeper.core.common.ServiceKeeperTimer;
+import io.esastack.servicekeeper.core.exception.LeaseExpiredException;
+import io.esastack.servicekeeper.core.utils.DurationUtils;
+import io.esastack.servicekeeper.core.utils.LogUtils;
+import io.esastack.servicekeeper.core.utils.SystemConfigUtils;
+import io.esastack.servicekeeper.core.utils.TimerLogger;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks the leases of the permits which are held by the async {@link RequestHandle}s. If a handle is never ended
+ * by the caller, the permits(eg: concurrent permit) acquired by it will never be released and the resource will be
+ * throttled to zero at last. The tracker records the start time of each outstanding handle, and a daemon sweeper
+ * ends the handles whose lease exceed the max lease duration with {@link LeaseExpiredException}, so that the leaked
+ * permits are reclaimed.
+ * <p>
+ * The tracking is disabled by default, use the system property "servicekeeper.async.max.lease.duration" to enable
+ * it, eg: servicekeeper.async.max.lease.duration=60s.
+ */
+public final class PermitLeaseTracker {
+
+    public static final String MAX_LEASE_DURATION_KEY = "servicekeeper.async.max.lease.duration";
+
+    private static final Logger logger = LogUtils.logger();
+
+    private static final long MIN_SWEEP_INTERVAL_MS = 10L;
+    private static final long MAX_SWEEP_INTERVAL_MS = 1000L;
+
+    private static final PermitLeaseTracker INSTANCE = new PermitLeaseTracker(getMaxLeaseDuration());
+
+    private final long maxLeaseNanos;
+    private final Map<RequestHandleImpl, Long> leases = new ConcurrentHashMap<>();
+    private final LongAdder reclaimedPermits = new LongAdder();
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private final TimerLogger timerLogger = new TimerLogger();
+
+    PermitLeaseTracker(Duration maxLeaseDuration) {
+        Checks.checkNotNull(maxLeaseDuration, "maxLeaseDuration");
+        this.maxLeaseNanos = maxLeaseDuration.toNanos();
+    }
+
+    public static PermitLeaseTracker singleton() {
+        return INSTANCE;
+    }
+
+    /**
+     * Whether the lease tracking is enabled.
+     *
+     * @return true if the max lease duration is positive
+     */
+    public boolean isEnabled() {
+        return maxLeaseNanos > 0L;
+    }
+
+    /**
+     * Starts to track the lease of the handle, the lease ends when the handle is ended.
+     *
+     * @param handle handle
+     */
+    public void track(RequestHandleImpl handle) {
+        if (!isEnabled()) {
+            return;
+        }
+        startIfNecessary();
+        if (handle.lease(this)) {
+            leases.put(handle, System.nanoTime());
+        }
+    }
+
+    /**
+     * Obtains the number of permits which have been reclaimed because that the lease is expired.
+     *
+     * @return number of reclaimed permits
+     */
+    public long numberOfReclaimedPermits() {
+        return reclaimedPermits.sum();
+    }
+
+    /**
+     * Obtains the number of outstanding leases.
+     *
+     * @return number of leases
+     */
+    public int numberOfLeases() {
+        return leases.size();
+    }
+
+    void untrack(RequestHandleImpl handle) {
+        leases.remove(handle);
+    }
+
+    void sweep() {
+        final long now = System.nanoTime();
+        final Iterator<Map.Entry<RequestHandleImpl, Long>> it = leases.entrySet().iterator();
+        while (it.hasNext()) {
+            final Map.Entry<RequestHandleImpl, Long> lease = it.next();
+            if (now - lease.getValue() < maxLeaseNanos) {
+                continue;
+            }
+            it.remove();
+
+            final RequestHandleImpl handle = lease.getKey();
+            final String resourceId = handle.getCtx().getResourceId();
+            try {
+                if (handle.reclaim(new LeaseExpiredException(StringUtils.concat("The permits of ", resourceId,
+                        " have been held more than ", String.valueOf(TimeUnit.NANOSECONDS.toMillis(maxLeaseNanos)),
+                        "ms without ending")))) {
+                    reclaimedPermits.increment();
+                    timerLogger.logPeriodically("Reclaimed the leaked permits of {}, which have not been ended" +
+                            " in time, total reclaimed: {}", resourceId, reclaimedPermits.sum());
+                }
+            } catch (Throwable th) {
+                logger.error("Failed to reclaim the leaked permits of {}", resourceId, th);
+            }
+        }
+    }
+
+    private void startIfNecessary() {
+        if (started.get() || !started.compareAndSet(false, true)) {
+            return;
+        }
+
+        final long interval = Math.min(MAX_SWEEP_INTERVAL_MS,
+                Math.max(MIN_SWEEP_INTERVAL_MS, TimeUnit.NANOSECONDS.toMillis(maxLeaseNanos) / 4));
+        ServiceKeeperTimer.scheduleWithFixedDelay(this::sweep, interval, interval);
+    }
+
+    private static Duration getMaxLeaseDuration() {
+        final String duration = SystemConfigUtils.getFromEnvAndProp(MAX_LEASE_DURATION_KEY);
+        if (StringUtils.isBlank(duration)) {
+            return Duration.ZERO;
+        }
+        try {
+            return DurationUtils.parse(duration.trim());
+        } catch (RuntimeException ex) {
+            logger.warn("Illegal max lease duration of async permits: {}, the lease tracking is disabled",
+                    duration);
+            return Duration.ZERO;
+        }
+    }
+}
@@ -19,6 +19,8 @@ import io.esastack.servicekeeper.core.exception.ServiceKeeperNotPermittedExcepti
 import io.esastack.servicekeeper.core.executionchain.Context;
 import io.esastack.servicekeeper.core.moats.circuitbreaker.predicate.PredicateStrategy;
 
+import java.util.concurrent.CancellationException;
+
 /**
  * The {@link RequestHandle} holds a handler of a request, and you can get the status and result of the corresponding
  * request. Also, you can end the request by this instance. Be aware that one request has one but only handler.
@@ -97,6 +99,14 @@ public interface RequestHandle {
      */
     void endWithError(Throwable throwable);
 
+    /**
+     * End the invocation which is cancelled by the caller, the resources are released but the invocation is
+     * counted as neither a success nor a failure, eg: by the circuitBreaker.
+     */
+    default void endWithCancellation() {
+        endWithError(new CancellationException());
+    }
+
     /**
      * End the invocation with error and fallback
      *
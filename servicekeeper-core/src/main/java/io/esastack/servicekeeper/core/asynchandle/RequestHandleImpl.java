@@ -22,6 +22,7 @@ import io.esastack.servicekeeper.core.executionchain.AsyncExecutionChain;
 import io.esastack.servicekeeper.core.executionchain.Context;
 import io.esastack.servicekeeper.core.executionchain.ExecutionChain;
 import io.esastack.servicekeeper.core.fallback.FallbackHandler;
+import io.esastack.servicekeeper.core.fallback.FallbackToLastKnownGood;
 
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -35,6 +36,9 @@ public class RequestHandleImpl implements RequestHandle {
     private final FallbackHandler<?> fallbackHandler;
     private final ServiceKeeperNotPermittedException notAllowCause;
 
+    private volatile PermitLeaseTracker tracker;
+    private volatile boolean reclaimed;
+
     private RequestHandleImpl(ExecutionChain executionChain,
                               Context ctx,
                               FallbackHandler<?> fallbackHandler,
@@ -48,7 +52,9 @@ public class RequestHandleImpl implements RequestHandle {
     @Override
     public void endWithSuccess() {
         ExecutionChain chain = tryGetAndUpdateChain();
-        chain.endWithSuccess(ctx);
+        if (chain != null) {
+            chain.endWithSuccess(ctx);
+        }
     }
 
     @Override
@@ -64,7 +70,12 @@ public class RequestHandleImpl implements RequestHandle {
     @Override
     public void endWithResult(Object result) {
         ExecutionChain chain = tryGetAndUpdateChain();
-        chain.endWithResult(ctx, result);
+        if (chain != null) {
+            chain.endWithResult(ctx, result);
+            if (fallbackHandler instanceof FallbackToLastKnownGood) {
+                ((FallbackToLastKnownGood) fallbackHandler).record(ctx, result);
+            }
+        }
     }
 
     @Override
@@ -72,7 +83,17 @@ public class RequestHandleImpl implements RequestHandle {
         Checks.checkNotNull(throwable, "throwable");
 
         ExecutionChain chain = tryGetAndUpdateChain();
-        chain.endWithError(ctx, throwable);
+        if (chain != null) {
+            chain.endWithError(ctx, throwable);
+        }
+    }
+
+    @Override
+    public void endWithCancellation() {
+        ExecutionChain chain = tryGetAndUpdateChain();
+        if (chain != null) {
+            chain.endWithCancellation(ctx);
+        }
     }
 
     @Override
@@ -93,6 +114,39 @@ public class RequestHandleImpl implements RequestHandle {
         return ctx;
     }
 
+    /**
+     * Whether the handle has been ended by {@link PermitLeaseTracker} because that the lease is expired.
+     *
+     * @return true or false
+     */
+    public boolean isReclaimed() {
+        return reclaimed;
+    }
+
+    boolean lease(PermitLeaseTracker tracker) {
+        if (executionChain.get() == null) {
+            return false;
+        }
+        this.tracker = tracker;
+        return true;
+    }
+
+    /**
+     * Ends the handle with the given cause to release the permits, the ending by the caller later will be ignored.
+     *
+     * @param cause cause
+     * @return true if the handle is ended by current reclamation, false if it has been ended before
+     */
+    boolean reclaim(Throwable cause) {
+        final ExecutionChain chain = executionChain.getAndSet(null);
+        if (chain == null) {
+            return false;
+        }
+        reclaimed = true;
+        chain.endWithError(ctx, cause);
+        return true;
+    }
+
     public static RequestHandleImpl createAllowHandle(AsyncExecutionChain executionChain,
                                                       Context ctx,
                                                       FallbackHandler<?> fallbackHandler) {
@@ -109,8 +163,15 @@ public class RequestHandleImpl implements RequestHandle {
     private ExecutionChain tryGetAndUpdateChain() {
         ExecutionChain chain = executionChain.getAndUpdate((pre) -> null);
         if (chain == null) {
+            if (reclaimed) {
+                return null;
+            }
             throw REPEAT_END_EXCEPTION;
         }
+        final PermitLeaseTracker tracker = this.tracker;
+        if (tracker != null) {
+            tracker.untrack(this);
+        }
         return chain;
     }
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.asynchandle;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * The {@link AsyncResultHandler} whose return value can be adapted from and to {@link CompletionStage}, which is
+ * required by the features that defer or share the result of an asynchronous call, eg: retry, hedging, timeout,
+ * waiting for concurrent permissions, cache, singleFlight and fallback to the last known good result. The handlers
+ * which don't implement it still work, but those features are skipped for them.
+ */
+public interface StageAdaptableHandler<T> extends AsyncResultHandler<T> {
+
+    /**
+     * Adapts the return value of a single attempt to {@link CompletionStage}, cancelling the stage should cancel the
+     * return value as well.
+     *
+     * @param returnValue return value, which may be null
+     * @return stage
+     */
+    CompletionStage<?> toCompletionStage(T returnValue);
+
+    /**
+     * Adapts the {@link CompletionStage} of the final result to return value, cancelling the return value should
+     * cancel the stage as well.
+     *
+     * @param stage stage
+     * @return return value
+     */
+    T fromCompletionStage(CompletionStage<?> stage);
+}
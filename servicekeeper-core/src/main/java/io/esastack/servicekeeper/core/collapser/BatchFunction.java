@@ -0,0 +1,39 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.collapser;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * The bulk call which is used by {@link RequestCollapser} to dispatch a batch of keys at one time.
+ *
+ * @param <K> the type of key
+ * @param <V> the type of value
+ */
+@FunctionalInterface
+public interface BatchFunction<K, V> {
+
+    /**
+     * Executes the bulk call with the distinct keys of the batch. The value of each key in the returned map is used
+     * to complete the callers which have submitted the key, and the absent ones are completed with null.
+     *
+     * @param keys distinct keys, never empty
+     * @return the stage of the values
+     */
+    CompletionStage<Map<K, V>> apply(List<K> keys);
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.collapser;
+
+import esa.commons.Checks;
+import esa.commons.logging.Logger;
+import io.esastack.servicekeeper.core.Bootstrap;
+import io.esastack.servicekeeper.core.asynchandle.RequestHandle;
+import io.esastack.servicekeeper.core.common.OriginalInvocation;
+import io.esastack.servicekeeper.core.common.ServiceKeeperTimer;
+import io.esastack.servicekeeper.core.entry.CompositeServiceKeeperConfig;
+import io.esastack.servicekeeper.core.entry.ServiceKeeperAsyncEntry;
+import io.esastack.servicekeeper.core.utils.LogUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The collapser buffers the individual calls of a resource for a window or until the count of them reaches the max
+ * batch size, and then dispatches them as one batch through the {@link BatchFunction}. Each batch tries to get the
+ * permission of the resource by {@link ServiceKeeperAsyncEntry} just as a single call, so the circuit breaker, rate
+ * limit and so on apply to the batch rather than the individual calls, and each caller's {@link CompletionStage}
+ * is completed with its slice of the result.
+ * <p>
+ * Note that the batch function is called on the thread of {@link ServiceKeeperTimer} when the batch is dispatched
+ * by the window, so it mustn't block.
+ *
+ * @param <K> the type of key
+ * @param <V> the type of value
+ */
+public final class RequestCollapser<K, V> {
+
+    private static final Logger logger = LogUtils.logger();
+
+    private static final OriginalInvocation BATCH_INVOCATION =
+            new OriginalInvocation(CompletionStage.class, new Class[]{List.class});
+
+    private final String resourceId;
+    private final BatchFunction<K, V> batchFunction;
+    private final ServiceKeeperAsyncEntry entry;
+    private final CompositeServiceKeeperConfig immutableConfig;
+    private final long windowMs;
+    private final int maxBatchSize;
+    private final LongAdder batchTimes = new LongAdder();
+    private final LongAdder collapsedTimes = new LongAdder();
+
+    private Batch<K, V> current;
+
+    private RequestCollapser(String resourceId, BatchFunction<K, V> batchFunction, ServiceKeeperAsyncEntry entry,
+                             CompositeServiceKeeperConfig immutableConfig, long windowMs, int maxBatchSize) {
+        this.resourceId = resourceId;
+        this.batchFunction = batchFunction;
+        this.entry = entry;
+        this.immutableConfig = immutableConfig;
+        this.windowMs = windowMs;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public static <K, V> Builder<K, V> builder(String resourceId, BatchFunction<K, V> batchFunction) {
+        return new Builder<>(resourceId, batchFunction);
+    }
+
+    /**
+     * Submits the key to current batch, the returned stage is completed with the value of the key when the batch
+     * completes, or completed exceptionally if the batch is rejected or failed.
+     *
+     * @param key key
+     * @return the stage of the value
+     */
+    public CompletionStage<V> submit(K key) {
+        final CompletableFuture<V> future = new CompletableFuture<>();
+        final Batch<K, V> full;
+        synchronized (this) {
+            if (current == null) {
+                final Batch<K, V> batch = new Batch<>();
+                current = batch;
+                batch.timer = ServiceKeeperTimer.scheduleOnWorker(() -> flush(batch), windowMs);
+            }
+            current.keys.add(key);
+            current.futures.add(future);
+            if (current.keys.size() < maxBatchSize) {
+                return future;
+            }
+            full = current;
+            current = null;
+        }
+        full.timer.cancel(false);
+        dispatch(full);
+        return future;
+    }
+
+    /**
+     * Get the number of dispatched batches.
+     *
+     * @return batch times
+     */
+    public long batchTimes() {
+        return batchTimes.sum();
+    }
+
+    /**
+     * Get the number of calls which have been dispatched in batches.
+     *
+     * @return collapsed times
+     */
+    public long collapsedTimes() {
+        return collapsedTimes.sum();
+    }
+
+    /**
+     * Get the number of calls which are waiting for current batch to be dispatched.
+     *
+     * @return pending calls
+     */
+    public synchronized int pendingCalls() {
+        return current == null ? 0 : current.keys.size();
+    }
+
+    private void flush(Batch<K, V> batch) {
+        synchronized (this) {
+            if (current != batch) {
+                return;
+            }
+            current = null;
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Batch<K, V> batch) {
+        batchTimes.increment();
+        collapsedTimes.add(batch.keys.size());
+
+        final RequestHandle handle;
+        try {
+            handle = entry.tryAsyncExecute(resourceId, immutableConfig, BATCH_INVOCATION);
+        } catch (Throwable th) {
+            logger.error("Failed to get the permission of batch, resourceId: {}", resourceId, th);
+            batch.fail(th);
+            return;
+        }
+        if (!handle.isAllowed()) {
+            handle.endWithError(handle.getNotAllowedCause());
+            batch.fail(handle.getNotAllowedCause());
+            return;
+        }
+
+        final CompletionStage<Map<K, V>> stage;
+        try {
+            stage = batchFunction.apply(new ArrayList<>(new LinkedHashSet<>(batch.keys)));
+        } catch (Throwable th) {
+            handle.endWithError(th);
+            batch.fail(th);
+            return;
+        }
+        if (stage == null) {
+            final Throwable th = new IllegalStateException("The batch function of " + resourceId
+                    + " returned a null stage");
+            handle.endWithError(th);
+            batch.fail(th);
+            return;
+        }
+        stage.whenComplete((values, th) -> {
+            if (th == null) {
+                handle.endWithResult(values);
+                batch.complete(values);
+            } else {
+                final Throwable cause = th instanceof CompletionException && th.getCause() != null
+                        ? th.getCause() : th;
+                handle.endWithError(cause);
+                batch.fail(cause);
+            }
+        });
+    }
+
+    @Override
+    public String toString() {
+        return "RequestCollapser-" + resourceId;
+    }
+
+    private static final class Batch<K, V> {
+
+        private final List<K> keys = new ArrayList<>();
+        private final List<CompletableFuture<V>> futures = new ArrayList<>();
+        private ScheduledFuture<?> timer;
+
+        private void complete(Map<K, V> values) {
+            for (int i = 0; i < keys.size(); i++) {
+                futures.get(i).complete(values == null ? null : values.get(keys.get(i)));
+            }
+        }
+
+        private void fail(Throwable th) {
+            for (CompletableFuture<V> future : futures) {
+                future.completeExceptionally(th);
+            }
+        }
+    }
+
+    public static final class Builder<K, V> {
+
+        private final String resourceId;
+        private final BatchFunction<K, V> batchFunction;
+        private ServiceKeeperAsyncEntry entry;
+        private CompositeServiceKeeperConfig immutableConfig;
+        private long windowMs = 10L;
+        private int maxBatchSize = 100;
+
+        private Builder(String resourceId, BatchFunction<K, V> batchFunction) {
+            Checks.checkNotEmptyArg(resourceId, "resourceId");
+            Checks.checkNotNull(batchFunction, "batchFunction");
+            this.resourceId = resourceId;
+            this.batchFunction = batchFunction;
+        }
+
+        /**
+         * The entry to get the permission of each batch, default is {@link Bootstrap#asyncEntry()}.
+         *
+         * @param entry entry
+         * @return builder
+         */
+        public Builder<K, V> entry(ServiceKeeperAsyncEntry entry) {
+            this.entry = entry;
+            return this;
+        }
+
+        public Builder<K, V> immutableConfig(CompositeServiceKeeperConfig immutableConfig) {
+            this.immutableConfig = immutableConfig;
+            return this;
+        }
+
+        public Builder<K, V> window(Duration window) {
+            Checks.checkNotNull(window, "window");
+            Checks.checkArg(window.toMillis() > 0L, "illegal window: " + window + " (expected > 0ms)");
+            this.windowMs = window.toMillis();
+            return this;
+        }
+
+        public Builder<K, V> maxBatchSize(int maxBatchSize) {
+            Checks.checkArg(maxBatchSize > 0, "illegal maxBatchSize: " + maxBatchSize + " (expected > 0)");
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        public RequestCollapser<K, V> build() {
+            final RequestCollapser<K, V> collapser = new RequestCollapser<>(resourceId, batchFunction,
+                    entry == null ? Bootstrap.asyncEntry() : entry, immutableConfig, windowMs, maxBatchSize);
+            logger.info("Created request collapser successfully, resourceId: {}, window: {}ms, maxBatchSize: {}",
+                    resourceId, windowMs, maxBatchSize);
+            return collapser;
+        }
+    }
+}
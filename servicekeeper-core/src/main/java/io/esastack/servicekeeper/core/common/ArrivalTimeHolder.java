@@ -0,0 +1,115 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.common;
+
+import esa.commons.StringUtils;
+
+/**
+ * Holds the arrival time of the request which is being handled by the current thread, which will be carried by the
+ * {@link io.esastack.servicekeeper.core.executionchain.Context}s created on the thread, so that the time the request
+ * spent in the queues of the server before being handled can be measured. The web adapters set it from the
+ * {@link #HEADER_NAME} header which is usually added by the proxy in front of the server, and users can also set it
+ * directly, eg: in a filter which is called as soon as the request is read.
+ */
+public final class ArrivalTimeHolder {
+
+    public static final String HEADER_NAME = "X-Request-Start";
+
+    private static final String NGINX_PREFIX = "t=";
+    private static final long MIN_EPOCH_MILLIS = 100_000_000_000L;
+    private static final long MIN_EPOCH_MICROS = 100_000_000_000_000L;
+
+    private static final ThreadLocal<Long> ARRIVAL_TIME = new ThreadLocal<>();
+
+    private ArrivalTimeHolder() {
+    }
+
+    /**
+     * Get the arrival time of current thread.
+     *
+     * @return the epoch millis of the arrival time, -1 if absent
+     */
+    public static long get() {
+        final Long arrivalTime = ARRIVAL_TIME.get();
+        return arrivalTime == null ? -1L : arrivalTime;
+    }
+
+    /**
+     * Sets the arrival time of current thread.
+     *
+     * @param arrivalTime the epoch millis of the arrival time, remove the arrival time if negative
+     */
+    public static void set(long arrivalTime) {
+        if (arrivalTime < 0L) {
+            ARRIVAL_TIME.remove();
+        } else {
+            ARRIVAL_TIME.set(arrivalTime);
+        }
+    }
+
+    /**
+     * Sets the arrival time of current thread and returns the previous one, which should be restored by
+     * {@link #set(long)} after calling.
+     *
+     * @param arrivalTime the epoch millis of the arrival time
+     * @return the previous arrival time, -1 if absent
+     */
+    public static long replace(long arrivalTime) {
+        final long previous = get();
+        set(arrivalTime);
+        return previous;
+    }
+
+    public static void remove() {
+        ARRIVAL_TIME.remove();
+    }
+
+    /**
+     * Parses the arrival time from the value of {@link #HEADER_NAME} header. The value may be prefixed by
+     * {@code t=} and is either the epoch seconds with a fraction, eg: {@code t=1625097600.123} added by nginx, or the
+     * epoch seconds, millis or micros, eg: {@code t=1625097600123456} added by apache httpd.
+     *
+     * @param value value
+     * @return the epoch millis of the arrival time, -1 if the value is empty or illegal
+     */
+    public static long parse(String value) {
+        if (StringUtils.isBlank(value)) {
+            return -1L;
+        }
+        String time = value.trim();
+        if (time.startsWith(NGINX_PREFIX)) {
+            time = time.substring(NGINX_PREFIX.length());
+        }
+        try {
+            if (time.indexOf('.') >= 0) {
+                final double seconds = Double.parseDouble(time);
+                return seconds < 0.0d ? -1L : (long) (seconds * 1000.0d);
+            }
+            final long epoch = Long.parseLong(time);
+            if (epoch < 0L) {
+                return -1L;
+            } else if (epoch >= MIN_EPOCH_MICROS) {
+                return epoch / 1000L;
+            } else if (epoch >= MIN_EPOCH_MILLIS) {
+                return epoch;
+            } else {
+                return epoch * 1000L;
+            }
+        } catch (NumberFormatException ex) {
+            return -1L;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.common;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The absolute point of time by which a call and all the nested calls of it must be completed. The deadline is
+ * carried by {@link io.esastack.servicekeeper.core.executionchain.Context} and propagated to the nested calls by
+ * {@link DeadlineHolder}, so that the inner calls know how much of the caller's budget is left.
+ */
+public final class Deadline {
+
+    private final long deadlineNs;
+
+    private Deadline(long deadlineNs) {
+        this.deadlineNs = deadlineNs;
+    }
+
+    /**
+     * Creates a deadline which expires after the given milliseconds from now.
+     *
+     * @param timeoutMs timeout in milliseconds
+     * @return deadline
+     */
+    public static Deadline after(long timeoutMs) {
+        return new Deadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs));
+    }
+
+    /**
+     * Obtains the earlier one of current and the other deadline.
+     *
+     * @param other other deadline, which may be null
+     * @return the earlier deadline
+     */
+    public Deadline min(Deadline other) {
+        return other == null || deadlineNs - other.deadlineNs <= 0L ? this : other;
+    }
+
+    /**
+     * Obtains the remaining milliseconds before expiring.
+     *
+     * @return remaining milliseconds, non-positive if expired
+     */
+    public long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(deadlineNs - System.nanoTime());
+    }
+
+    public boolean isExpired() {
+        return deadlineNs - System.nanoTime() <= 0L;
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline{" + "remainingMillis=" + remainingMillis() + '}';
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.common;
+
+import io.esastack.servicekeeper.core.executionchain.Executable;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Holds the {@link Deadline} of the current thread, which will be carried by the
+ * {@link io.esastack.servicekeeper.core.executionchain.Context}s created on the thread. The deadline is set while
+ * executing the original invocation, so the nested calls made on the same thread inherit it automatically. For
+ * the calls handed off to other threads, use {@link #wrap(Runnable)} or {@link #wrap(Callable)} to carry it.
+ * Users can also set it directly, eg: in a filter with the deadline passed by the upstream.
+ */
+public final class DeadlineHolder {
+
+    private static final ThreadLocal<Deadline> DEADLINE = new ThreadLocal<>();
+
+    private DeadlineHolder() {
+    }
+
+    public static Deadline get() {
+        return DEADLINE.get();
+    }
+
+    /**
+     * Sets the deadline of current thread.
+     *
+     * @param deadline deadline, remove the deadline if null
+     */
+    public static void set(Deadline deadline) {
+        if (deadline == null) {
+            DEADLINE.remove();
+        } else {
+            DEADLINE.set(deadline);
+        }
+    }
+
+    /**
+     * Sets the deadline of current thread and returns the previous one, which should be restored by
+     * {@link #set(Deadline)} after calling.
+     *
+     * @param deadline deadline
+     * @return the previous deadline
+     */
+    public static Deadline replace(Deadline deadline) {
+        final Deadline previous = DEADLINE.get();
+        set(deadline);
+        return previous;
+    }
+
+    public static void remove() {
+        DEADLINE.remove();
+    }
+
+    /**
+     * Wraps the runnable to run it with the deadline of current thread.
+     *
+     * @param runnable runnable
+     * @return runnable
+     */
+    public static Runnable wrap(Runnable runnable) {
+        final Deadline deadline = get();
+        if (deadline == null) {
+            return runnable;
+        }
+        return () -> {
+            final Deadline previous = replace(deadline);
+            try {
+                runnable.run();
+            } finally {
+                set(previous);
+            }
+        };
+    }
+
+    /**
+     * Wraps the callable to call it with the deadline of current thread.
+     *
+     * @param callable callable
+     * @param <V>      V
+     * @return callable
+     */
+    public static <V> Callable<V> wrap(Callable<V> callable) {
+        final Deadline deadline = get();
+        if (deadline == null) {
+            return callable;
+        }
+        return () -> {
+            final Deadline previous = replace(deadline);
+            try {
+                return callable.call();
+            } finally {
+                set(previous);
+            }
+        };
+    }
+
+    /**
+     * Wraps the executable to execute it with the given deadline.
+     *
+     * @param deadline   deadline, which may be null
+     * @param executable executable
+     * @param <R>        R
+     * @return executable
+     */
+    public static <R> Executable<R> wrap(Deadline deadline, Executable<R> executable) {
+        if (deadline == null) {
+            return executable;
+        }
+        return () -> {
+            final Deadline previous = replace(deadline);
+            try {
+                return executable.execute();
+            } finally {
+                set(previous);
+            }
+        };
+    }
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.common;
+
+import esa.commons.logging.Logger;
+import io.esastack.servicekeeper.core.utils.LogUtils;
+import io.esastack.servicekeeper.core.utils.SystemConfigUtils;
+
+import javax.management.NotificationEmitter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monitors the pressure of the heap and scales down the limits of all the concurrentLimit and rateLimit moats under
+ * pressure, so that the calls are shed before the JVM falls into a GC death spiral where the latency explodes but
+ * the configured limits are never reached. The heap is under pressure when the usage of the old generation after
+ * GC exceeds the usage threshold, which is notified by {@link MemoryPoolMXBean#setCollectionUsageThreshold(long)}
+ * and checked by sampling, or when the ratio of time spent in GC since the last sample exceeds the gc time ratio
+ * threshold. The limits are scaled by a factor which is halved once per GC that leaves the old generation above the
+ * usage threshold, no matter whether it is notified or sampled, and on each sample whose gc time ratio exceeds the
+ * threshold, until the min factor. The factor recovers by the recover step on each sample without pressure until
+ * 1.0.
+ * <p>
+ * The monitor is disabled by default, and it can be enabled and customized by the system properties or environment
+ * variables before the first call:
+ * <ul>
+ * <li>servicekeeper.heap.pressure.enable, default false</li>
+ * <li>servicekeeper.heap.pressure.usage.threshold, default 0.9</li>
+ * <li>servicekeeper.heap.pressure.gc.ratio.threshold, default 0.25</li>
+ * <li>servicekeeper.heap.pressure.min.factor, default 0.1</li>
+ * <li>servicekeeper.heap.pressure.recover.step, default 0.1</li>
+ * <li>servicekeeper.heap.pressure.interval, the milliseconds between samples, default 1000</li>
+ * </ul>
+ */
+public final class HeapPressureMonitor {
+
+    private static final Logger logger = LogUtils.logger();
+
+    private static final String KEY_PREFIX = "servicekeeper.heap.pressure.";
+
+    private final double usageThreshold;
+    private final double gcTimeRatioThreshold;
+    private final double minFactor;
+    private final double recoverStep;
+
+    /**
+     * The bits of the factor, see {@link Double#doubleToLongBits(double)}.
+     */
+    private final AtomicLong factorBits = new AtomicLong(Double.doubleToLongBits(1.0d));
+
+    /**
+     * The collection count of the last GC by which the factor has been decreased, so that the factor is decreased
+     * only once although the usage after that GC is both notified and sampled, and stays the same until next GC.
+     */
+    private final AtomicLong lastDecreasedGcCount = new AtomicLong(-1L);
+
+    /**
+     * The states of the last sample, which are only accessed by the thread of {@link ServiceKeeperTimer}.
+     */
+    private long lastGcTime = -1L;
+    private long lastSampleTime = -1L;
+
+    HeapPressureMonitor(double usageThreshold, double gcTimeRatioThreshold, double minFactor, double recoverStep) {
+        this.usageThreshold = usageThreshold;
+        this.gcTimeRatioThreshold = gcTimeRatioThreshold;
+        this.minFactor = minFactor;
+        this.recoverStep = recoverStep;
+    }
+
+    /**
+     * Get the current factor of the limits, which is always 1.0 if the monitor is disabled.
+     *
+     * @return factor, between min factor and 1.0
+     */
+    public static double currentFactor() {
+        final HeapPressureMonitor monitor = Holder.MONITOR;
+        return monitor == null ? 1.0d : monitor.factor();
+    }
+
+    /**
+     * Whether the call should be shed because the permits in use have reached the limit scaled by current factor.
+     *
+     * @param limit     the limit
+     * @param available the available permits
+     * @return true if the call should be shed, otherwise false
+     */
+    public static boolean shouldShedUnderPressure(int limit, int available) {
+        final HeapPressureMonitor monitor = Holder.MONITOR;
+        return monitor != null && monitor.shouldShed(limit, available);
+    }
+
+    public double factor() {
+        return Double.longBitsToDouble(factorBits.get());
+    }
+
+    boolean shouldShed(int limit, int available) {
+        final double factor0 = factor();
+        if (factor0 >= 1.0d || limit <= 0) {
+            return false;
+        }
+        // Always permit one call at least, so that the resource can recover.
+        final int scaledLimit = Math.max(1, (int) (limit * factor0));
+        return limit - available >= scaledLimit;
+    }
+
+    /**
+     * Called when the usage of the old generation after GC exceeds the threshold.
+     *
+     * @param gcCount the accumulated collection count, which identifies the GC
+     */
+    void onThresholdExceeded(long gcCount) {
+        decreaseOnce(gcCount);
+    }
+
+    /**
+     * Samples the pressure of the heap.
+     *
+     * @param usage   the max usage ratio of the old generation after GC
+     * @param gcCount the accumulated collection count
+     * @param gcTime  the accumulated milliseconds spent in GC
+     * @param now     the current milliseconds
+     */
+    void sample(double usage, long gcCount, long gcTime, long now) {
+        double gcTimeRatio = 0.0d;
+        if (lastSampleTime >= 0L && now > lastSampleTime && lastGcTime >= 0L) {
+            gcTimeRatio = (double) (gcTime - lastGcTime) / (now - lastSampleTime);
+        }
+        lastGcTime = gcTime;
+        lastSampleTime = now;
+
+        if (gcTimeRatio >= gcTimeRatioThreshold) {
+            // The gc time ratio is measured within the interval, so each sample indicates new pressure.
+            lastDecreasedGcCount.accumulateAndGet(gcCount, Math::max);
+            decrease();
+        } else if (usage >= usageThreshold) {
+            // The usage after GC doesn't change until next GC, so that it's the same pressure without new GC.
+            decreaseOnce(gcCount);
+        } else {
+            recover();
+        }
+    }
+
+    private void decreaseOnce(long gcCount) {
+        long last;
+        do {
+            last = lastDecreasedGcCount.get();
+            if (gcCount <= last) {
+                return;
+            }
+        } while (!lastDecreasedGcCount.compareAndSet(last, gcCount));
+        decrease();
+    }
+
+    private void decrease() {
+        long bits;
+        double newFactor;
+        do {
+            bits = factorBits.get();
+            newFactor = Math.max(minFactor, Double.longBitsToDouble(bits) * 0.5d);
+        } while (!factorBits.compareAndSet(bits, Double.doubleToLongBits(newFactor)));
+        if (newFactor < Double.longBitsToDouble(bits)) {
+            // ***  Note: Mustn't modify the log content which is used for keyword alarms.  **
+            logger.warn("The heap is under pressure, scale down the limits by factor {}", newFactor);
+        }
+    }
+
+    private void recover() {
+        long bits;
+        double previous;
+        double newFactor;
+        do {
+            bits = factorBits.get();
+            previous = Double.longBitsToDouble(bits);
+            if (previous >= 1.0d) {
+                return;
+            }
+            newFactor = Math.min(1.0d, previous + recoverStep);
+        } while (!factorBits.compareAndSet(bits, Double.doubleToLongBits(newFactor)));
+        if (newFactor >= 1.0d) {
+            logger.info("The heap pressure has subsided, the limits have been recovered");
+        }
+    }
+
+    private static void start(HeapPressureMonitor monitor, long interval) {
+        final List<MemoryPoolMXBean> oldGenPools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            // The eden and survivor spaces don't support usage threshold, and their usages after GC are meaningless.
+            if (pool.getType() == MemoryType.HEAP && pool.isUsageThresholdSupported()
+                    && pool.isCollectionUsageThresholdSupported()) {
+                final long max = pool.getUsage().getMax();
+                if (max > 0L) {
+                    pool.setCollectionUsageThreshold((long) (max * monitor.usageThreshold));
+                }
+                oldGenPools.add(pool);
+            }
+        }
+        final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+        ((NotificationEmitter) ManagementFactory.getMemoryMXBean()).addNotificationListener((notification, hb) -> {
+            if (MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(notification.getType())) {
+                monitor.onThresholdExceeded(gcCountOf(collectors));
+            }
+        }, null, null);
+
+        ServiceKeeperTimer.scheduleWithFixedDelay(() -> {
+            try {
+                monitor.sample(usageOf(oldGenPools), gcCountOf(collectors), gcTimeOf(collectors),
+                        System.currentTimeMillis());
+            } catch (Throwable th) {
+                logger.error("Failed to sample the heap pressure", th);
+            }
+        }, interval, interval);
+        logger.info("Started heap pressure monitor, old generation pools: {}", oldGenPools.size());
+    }
+
+    private static double usageOf(List<MemoryPoolMXBean> pools) {
+        double usage = 0.0d;
+        for (MemoryPoolMXBean pool : pools) {
+            final MemoryUsage collectionUsage = pool.getCollectionUsage();
+            if (collectionUsage != null && collectionUsage.getMax() > 0L) {
+                usage = Math.max(usage, (double) collectionUsage.getUsed() / collectionUsage.getMax());
+            }
+        }
+        return usage;
+    }
+
+    private static long gcCountOf(List<GarbageCollectorMXBean> collectors) {
+        long gcCount = 0L;
+        for (GarbageCollectorMXBean collector : collectors) {
+            final long count = collector.getCollectionCount();
+            if (count > 0L) {
+                gcCount += count;
+            }
+        }
+        return gcCount;
+    }
+
+    private static long gcTimeOf(List<GarbageCollectorMXBean> collectors) {
+        long gcTime = 0L;
+        for (GarbageCollectorMXBean collector : collectors) {
+            final long time = collector.getCollectionTime();
+            if (time > 0L) {
+                gcTime += time;
+            }
+        }
+        return gcTime;
+    }
+
+    private static double getRatio(String name, double defaultRatio) {
+        final String ratio = SystemConfigUtils.getFromEnvAndProp(KEY_PREFIX + name);
+        try {
+            if (ratio != null) {
+                final double value = Double.parseDouble(ratio.trim());
+                if (value > 0.0d && value <= 1.0d) {
+                    return value;
+                }
+            }
+        } catch (NumberFormatException ex) {
+            // ignore
+        }
+
+        return defaultRatio;
+    }
+
+    private static long getInterval() {
+        final String interval = SystemConfigUtils.getFromEnvAndProp(KEY_PREFIX + "interval");
+        try {
+            if (interval != null) {
+                final long value = Long.parseLong(interval.trim());
+                if (value > 0L) {
+                    return value;
+                }
+            }
+        } catch (NumberFormatException ex) {
+            // ignore
+        }
+
+        return 1000L;
+    }
+
+    private static final class Holder {
+
+        private static final HeapPressureMonitor MONITOR;
+
+        static {
+            HeapPressureMonitor monitor = null;
+            if (SystemConfigUtils.getBooleanFromEnvAndProp(KEY_PREFIX + "enable", false)) {
+                monitor = new HeapPressureMonitor(getRatio("usage.threshold", 0.9d),
+                        getRatio("gc.ratio.threshold", 0.25d),
+                        getRatio("min.factor", 0.1d),
+                        getRatio("recover.step", 0.1d));
+                try {
+                    start(monitor, getInterval());
+                } catch (Throwable th) {
+                    logger.error("Failed to start heap pressure monitor", th);
+                    monitor = null;
+                }
+            }
+            MONITOR = monitor;
+        }
+    }
+}
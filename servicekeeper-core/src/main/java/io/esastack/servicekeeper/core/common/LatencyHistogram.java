@@ -0,0 +1,115 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.common;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-memory and lock-free latency histogram whose buckets are organized in log-linear way, just like
+ * HdrHistogram does. The values in range [0, 2^{@link #SUB_BUCKET_BITS}) are recorded exactly, and every power of two
+ * above is divided into 2^{@link #SUB_BUCKET_BITS} linear sub buckets, so the relative error of the percentile is
+ * bounded by 1 / 2^{@link #SUB_BUCKET_BITS}. The values which are greater than {@link #MAX_TRACKABLE_VALUE} are
+ * recorded into the last bucket.
+ */
+public class LatencyHistogram {
+
+    static final int SUB_BUCKET_BITS = 4;
+    static final long MAX_TRACKABLE_VALUE = (1L << 32) - 1L;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = indexOf(MAX_TRACKABLE_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+
+    /**
+     * Records a value and returns the total count of values recorded since last reset.
+     *
+     * @param value value to record, negative values are recorded as 0.
+     * @return total count after recording
+     */
+    public long record(long value) {
+        counts.incrementAndGet(indexOf(value));
+        return totalCount.incrementAndGet();
+    }
+
+    /**
+     * Obtains the value at the given percentile, the returned value is the highest value which is equivalent to the
+     * bucket that the percentile falls in.
+     *
+     * @param percentile percentile, in range of [0, 100]
+     * @return value at the percentile, or -1 if nothing has been recorded.
+     */
+    public long percentile(double percentile) {
+        final long total = totalCount.get();
+        if (total <= 0L) {
+            return -1L;
+        }
+        final double p = Math.min(Math.max(percentile, 0.0d), 100.0d);
+        final long countAtPercentile = Math.max(1L, (long) Math.ceil(p / 100.0d * total));
+        long accumulated = 0L;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            accumulated += counts.get(i);
+            if (accumulated >= countAtPercentile) {
+                return highestEquivalentValue(i);
+            }
+        }
+        // The counts may be updated concurrently, just return the highest value which has been recorded.
+        for (int i = BUCKET_COUNT - 1; i >= 0; i--) {
+            if (counts.get(i) > 0L) {
+                return highestEquivalentValue(i);
+            }
+        }
+        return -1L;
+    }
+
+    public long totalCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * Clears all the values recorded. The values which are recorded concurrently may be lost, which is acceptable
+     * for the statistics of latency.
+     */
+    public void reset() {
+        totalCount.set(0L);
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0L);
+        }
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return value <= 0L ? 0 : (int) value;
+        }
+        final long v = Math.min(value, MAX_TRACKABLE_VALUE);
+        final int exponent = 63 - Long.numberOfLeadingZeros(v);
+        final int shift = exponent - SUB_BUCKET_BITS;
+        final int subIndex = (int) ((v >>> shift) & (SUB_BUCKET_COUNT - 1));
+        return SUB_BUCKET_COUNT + shift * SUB_BUCKET_COUNT + subIndex;
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+        final long subIndex = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+        final long lowest = (SUB_BUCKET_COUNT + subIndex) << shift;
+        return lowest + (1L << shift) - 1L;
+    }
+}
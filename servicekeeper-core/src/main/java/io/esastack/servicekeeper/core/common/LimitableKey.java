@@ -18,6 +18,8 @@ package io.esastack.servicekeeper.core.common;
 import esa.commons.Checks;
 import io.esastack.servicekeeper.core.moats.MoatType;
 
+import java.util.Objects;
+
 public class LimitableKey {
 
     private static final String PREFIX = "LimitableKey:";
@@ -39,6 +41,23 @@ public class LimitableKey {
         return type;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        LimitableKey that = (LimitableKey) o;
+        return Objects.equals(id, that.id) && type == that.type;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, type);
+    }
+
     @Override
     public String toString() {
         return PREFIX + (type == null ? id.getName() : id.getName() + "." + type.toString());
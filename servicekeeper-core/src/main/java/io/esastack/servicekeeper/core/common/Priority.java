@@ -0,0 +1,131 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.common;
+
+import esa.commons.StringUtils;
+import io.esastack.servicekeeper.core.utils.SystemConfigUtils;
+
+/**
+ * The priority of a call, which is used to shed the lower priority calls first when the concurrentLimiter or
+ * rateLimiter is saturated. Each priority can only use a ratio of the limit, the rest of the limit is reserved as
+ * headroom for the higher priorities. The default ratio of each priority can be customized by the system property
+ * "servicekeeper.priority.{priority}.ratio", eg: servicekeeper.priority.low.ratio=0.3.
+ * <p>
+ * By default only the {@link #LOW} calls are shed before the limit is reached, the {@link #NORMAL} calls are able to
+ * use the whole limit as the calls without priority, so marking a call with a priority never makes it worse than
+ * leaving it unmarked. To reserve headroom for the {@link #HIGH} or {@link #CRITICAL} calls, lower the ratio of
+ * the priorities below them, eg: servicekeeper.priority.normal.ratio=0.8.
+ */
+public enum Priority {
+
+    /**
+     * The calls which must be served, eg: checkout.
+     */
+    CRITICAL(1.0d),
+
+    HIGH(1.0d),
+
+    NORMAL(1.0d),
+
+    /**
+     * The calls which can be shed first, eg: background prefetch.
+     */
+    LOW(0.5d);
+
+    /**
+     * The http header which is used to carry the priority by the web adapters.
+     */
+    public static final String HEADER_NAME = "X-Request-Priority";
+
+    private static final String RATIO_KEY_PREFIX = "servicekeeper.priority.";
+    private static final String RATIO_KEY_SUFFIX = ".ratio";
+    private static final double ROUNDING_TOLERANCE = 1.0e-9d;
+
+    private final double ratio;
+
+    Priority(double defaultRatio) {
+        this.ratio = getRatio(name(), defaultRatio);
+    }
+
+    /**
+     * Obtains the ratio of the limit which the calls of current priority can use.
+     *
+     * @return ratio, between 0.0 and 1.0
+     */
+    public double ratio() {
+        return ratio;
+    }
+
+    /**
+     * Obtains the number of permits which are reserved for the higher priorities.
+     *
+     * @param limit the limit
+     * @return headroom
+     */
+    public int headroom(int limit) {
+        if (limit <= 0 || ratio >= 1.0d) {
+            return 0;
+        }
+        // Tolerate the rounding error of double, eg: 10 * (1.0 - 0.9) = 0.9999999999999998
+        return (int) (limit * (1.0d - ratio) + ROUNDING_TOLERANCE);
+    }
+
+    /**
+     * Whether the call of current priority should be shed according to the limit and the available permits.
+     *
+     * @param limit     the limit
+     * @param available the available permits
+     * @return true if the call should be shed, otherwise false
+     */
+    public boolean shouldShed(int limit, int available) {
+        final int headroom = headroom(limit);
+        return headroom > 0 && available <= headroom;
+    }
+
+    /**
+     * Parses the priority from the given value, ignoring case.
+     *
+     * @param value value
+     * @return priority, null if the value is empty or illegal
+     */
+    public static Priority parse(String value) {
+        if (StringUtils.isBlank(value)) {
+            return null;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static double getRatio(String name, double defaultRatio) {
+        final String ratio = SystemConfigUtils.getFromEnvAndProp(RATIO_KEY_PREFIX + name.toLowerCase()
+                + RATIO_KEY_SUFFIX);
+        try {
+            if (ratio != null) {
+                final double value = Double.parseDouble(ratio.trim());
+                if (value >= 0.0d && value <= 1.0d) {
+                    return value;
+                }
+            }
+        } catch (NumberFormatException ex) {
+            // ignore
+        }
+
+        return defaultRatio;
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.common;
+
+/**
+ * Extracts the {@link Priority} of a call from the arguments, the implementation must have a public no-arg
+ * constructor.
+ */
+@FunctionalInterface
+public interface PriorityExtractor {
+
+    /**
+     * Extracts the priority from the arguments.
+     *
+     * @param args the arguments of the call
+     * @return priority, null if absent
+     */
+    Priority extract(Object[] args);
+
+    /**
+     * The default extractor of {@link io.esastack.servicekeeper.core.annotation.RequestPriority}, which means
+     * that the priority is not extracted from the arguments.
+     */
+    final class None implements PriorityExtractor {
+
+        @Override
+        public Priority extract(Object[] args) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.common;
+
+/**
+ * Holds the {@link Priority} of the current thread, which will be carried by the
+ * {@link io.esastack.servicekeeper.core.executionchain.Context}s created on the thread. The adapters set the
+ * priority which is resolved from annotation, argument or http header before calling, and users can also set it
+ * directly, eg: in a filter.
+ */
+public final class PriorityHolder {
+
+    private static final ThreadLocal<Priority> PRIORITY = new ThreadLocal<>();
+
+    private PriorityHolder() {
+    }
+
+    public static Priority get() {
+        return PRIORITY.get();
+    }
+
+    /**
+     * Sets the priority of current thread.
+     *
+     * @param priority priority, remove the priority if null
+     */
+    public static void set(Priority priority) {
+        if (priority == null) {
+            PRIORITY.remove();
+        } else {
+            PRIORITY.set(priority);
+        }
+    }
+
+    /**
+     * Sets the priority of current thread and returns the previous one, which should be restored by
+     * {@link #set(Priority)} after calling.
+     *
+     * @param priority priority
+     * @return the previous priority
+     */
+    public static Priority replace(Priority priority) {
+        final Priority previous = PRIORITY.get();
+        set(priority);
+        return previous;
+    }
+
+    public static void remove() {
+        PRIORITY.remove();
+    }
+}
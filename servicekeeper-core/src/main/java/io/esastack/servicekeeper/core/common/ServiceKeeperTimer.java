@@ -0,0 +1,106 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.common;
+
+import esa.commons.concurrent.ThreadFactories;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The timer shared by all the components of ServiceKeeper to schedule the delayed and periodic tasks, eg: the delayed
+ * attempts of retries and hedges, the timeouts of calls and the windows of request collapsers, which is created lazily
+ * when the first task is scheduled. The tasks scheduled by {@link #schedule(Runnable, long)} are executed on the single
+ * timer thread, so they must be short and never block. The tasks which may run the user code, eg: the original
+ * method, the batch function and the callbacks of the returned stages, should be scheduled by
+ * {@link #scheduleOnWorker(Runnable, long)} instead, so that a slow one never delays the others.
+ */
+public final class ServiceKeeperTimer {
+
+    private static final String THREAD_NAME = "ServiceKeeper-Timer";
+    private static final String WORKER_THREAD_NAME = "ServiceKeeper-Timer-Worker-";
+
+    private ServiceKeeperTimer() {
+    }
+
+    /**
+     * Schedules a one-shot task.
+     *
+     * @param task    task
+     * @param delayMs delay in milliseconds
+     * @return the future to cancel the task
+     */
+    public static ScheduledFuture<?> schedule(Runnable task, long delayMs) {
+        return Holder.TIMER.schedule(task, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Schedules a one-shot task which is executed on the {@link #worker()} when it's due. Cancelling the returned
+     * future has no effect once the task has been handed off to the worker, so the task should check whether it's
+     * still needed by itself.
+     *
+     * @param task    task
+     * @param delayMs delay in milliseconds
+     * @return the future to cancel the task
+     */
+    public static ScheduledFuture<?> scheduleOnWorker(Runnable task, long delayMs) {
+        return Holder.TIMER.schedule(() -> Worker.WORKER.execute(task), delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Obtains the executor to run the tasks which are triggered by the timer or by the threads of ServiceKeeper
+     * but may run the user code, whose threads are created on demand and recycled after being idle for a while.
+     *
+     * @return executor
+     */
+    public static Executor worker() {
+        return Worker.WORKER;
+    }
+
+    /**
+     * Schedules a periodic task, the subsequent executions are suppressed if any execution throws an exception, so
+     * the task should catch the exceptions by itself.
+     *
+     * @param task           task
+     * @param initialDelayMs the delay of first execution in milliseconds
+     * @param delayMs        the delay between the end of an execution and the start of next one in milliseconds
+     * @return the future to cancel the task
+     */
+    public static ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long initialDelayMs, long delayMs) {
+        return Holder.TIMER.scheduleWithFixedDelay(task, initialDelayMs, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private static final class Holder {
+
+        private static final ScheduledThreadPoolExecutor TIMER;
+
+        static {
+            TIMER = new ScheduledThreadPoolExecutor(1, ThreadFactories.namedThreadFactory(THREAD_NAME, true));
+            TIMER.setRemoveOnCancelPolicy(true);
+        }
+    }
+
+    private static final class Worker {
+
+        private static final ThreadPoolExecutor WORKER = new ThreadPoolExecutor(0, Integer.MAX_VALUE,
+                60L, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                ThreadFactories.namedThreadFactory(WORKER_THREAD_NAME, true));
+    }
+}
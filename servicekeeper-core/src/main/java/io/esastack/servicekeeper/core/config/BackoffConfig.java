@@ -28,18 +28,21 @@ public class BackoffConfig implements Serializable {
     private final long delay;
     private final long maxDelay;
     private final double multiplier;
+    private final Jitter jitter;
 
-    private BackoffConfig(long delay, long maxDelay, double multiplier) {
+    private BackoffConfig(long delay, long maxDelay, double multiplier, Jitter jitter) {
         this.delay = delay;
         this.maxDelay = maxDelay;
         this.multiplier = multiplier;
+        this.jitter = jitter;
     }
 
     public static Builder copyFrom(BackoffConfig backoffConfig) {
         Checks.checkNotNull(backoffConfig, "backoffConfig");
         return builder().delay(backoffConfig.getDelay())
                 .maxDelay(backoffConfig.getMaxDelay())
-                .multiplier(backoffConfig.getMultiplier());
+                .multiplier(backoffConfig.getMultiplier())
+                .jitter(backoffConfig.getJitter());
     }
 
     public static Builder builder() {
@@ -58,12 +61,17 @@ public class BackoffConfig implements Serializable {
         return multiplier;
     }
 
+    public Jitter getJitter() {
+        return jitter;
+    }
+
     @Override
     public String toString() {
         return new StringJoiner(", ", BackoffConfig.class.getSimpleName() + "[", "]")
                 .add("delay=" + delay)
                 .add("maxDelay=" + maxDelay)
                 .add("multiplier=" + multiplier)
+                .add("jitter=" + jitter)
                 .toString();
     }
 
@@ -78,12 +86,14 @@ public class BackoffConfig implements Serializable {
         BackoffConfig that = (BackoffConfig) o;
         return delay == that.delay &&
                 maxDelay == that.maxDelay &&
-                Double.compare(that.multiplier, multiplier) == 0;
+                Double.compare(that.multiplier, multiplier) == 0 &&
+                jitter == that.jitter;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(delay, maxDelay, multiplier);
+        final int result = Objects.hash(delay, maxDelay, multiplier);
+        return jitter == Jitter.NONE ? result : 31 * result + jitter.name().hashCode();
     }
 
     public static class Builder {
@@ -91,6 +101,7 @@ public class BackoffConfig implements Serializable {
         private long delay = 0L;
         private long maxDelay = 0L;
         private double multiplier = 1.0d;
+        private Jitter jitter = Jitter.NONE;
 
         public Builder delay(long delay) {
             this.delay = delay;
@@ -107,9 +118,41 @@ public class BackoffConfig implements Serializable {
             return this;
         }
 
+        public Builder jitter(Jitter jitter) {
+            this.jitter = jitter == null ? Jitter.NONE : jitter;
+            return this;
+        }
+
         public BackoffConfig build() {
-            return new BackoffConfig(delay, maxDelay, multiplier);
+            return new BackoffConfig(delay, maxDelay, multiplier, jitter);
         }
     }
 
+    /**
+     * The way to randomize the delay of back off, so that the retries of different callers are spread out instead
+     * of arriving at the same time.
+     */
+    public enum Jitter {
+
+        /**
+         * Use the exponential delay as it is.
+         */
+        NONE,
+
+        /**
+         * A random delay between 0 and the exponential delay.
+         */
+        FULL,
+
+        /**
+         * Half of the exponential delay plus a random delay between 0 and the other half.
+         */
+        EQUAL,
+
+        /**
+         * A random delay between the initial delay and three times of the last delay, which is limited by maxDelay.
+         */
+        DECORRELATED
+    }
+
 }
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.config;
+
+import esa.commons.Checks;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+public class CacheConfig implements Serializable {
+
+    private static final long serialVersionUID = -5387145390418226745L;
+
+    private final long ttl;
+    private final long maxSize;
+    private final long maxStale;
+    private final boolean staleWhileRevalidate;
+
+    private CacheConfig(long ttl, long maxSize, long maxStale, boolean staleWhileRevalidate) {
+        this.ttl = ttl;
+        this.maxSize = maxSize;
+        this.maxStale = maxStale;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static CacheConfig ofDefault() {
+        return builder().build();
+    }
+
+    public static Builder from(CacheConfig config) {
+        Checks.checkNotNull(config, "config");
+        return new Builder().ttl(config.getTtl())
+                .maxSize(config.getMaxSize())
+                .maxStale(config.getMaxStale())
+                .staleWhileRevalidate(config.isStaleWhileRevalidate());
+    }
+
+    public long getTtl() {
+        return ttl;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public long getMaxStale() {
+        return maxStale;
+    }
+
+    public boolean isStaleWhileRevalidate() {
+        return staleWhileRevalidate;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheConfig{" + "ttl=" + ttl +
+                ", maxSize=" + maxSize +
+                ", maxStale=" + maxStale +
+                ", staleWhileRevalidate=" + staleWhileRevalidate +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        CacheConfig that = (CacheConfig) o;
+        return ttl == that.ttl &&
+                maxSize == that.maxSize &&
+                maxStale == that.maxStale &&
+                staleWhileRevalidate == that.staleWhileRevalidate;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(ttl, maxSize, maxStale, staleWhileRevalidate);
+    }
+
+    public static final class Builder {
+        private long ttl = 60_000L;
+        private long maxSize = 1000L;
+        private long maxStale = 60_000L;
+        private boolean staleWhileRevalidate;
+
+        private Builder() {
+        }
+
+        /**
+         * The milliseconds which a cached result keeps fresh, the fresh result is returned directly without calling
+         * the original method.
+         *
+         * @param ttl ttl in milliseconds
+         * @return builder
+         */
+        public Builder ttl(long ttl) {
+            Checks.checkArg(ttl > 0L, "illegal ttl: " + ttl + " (expected > 0)");
+            this.ttl = ttl;
+            return this;
+        }
+
+        /**
+         * The max number of the cached results of the method, the least recently used ones will be evicted when
+         * exceeding.
+         *
+         * @param maxSize max size
+         * @return builder
+         */
+        public Builder maxSize(long maxSize) {
+            Checks.checkArg(maxSize > 0L, "illegal maxSize: " + maxSize + " (expected > 0)");
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * The milliseconds which an expired result is retained after the ttl, the stale result is returned when the
+         * circuitBreaker is open, or when it's being revalidated if {@link #staleWhileRevalidate(boolean)} is true.
+         *
+         * @param maxStale max stale in milliseconds, 0 means the expired result is never returned
+         * @return builder
+         */
+        public Builder maxStale(long maxStale) {
+            Checks.checkArg(maxStale >= 0L, "illegal maxStale: " + maxStale + " (expected >= 0)");
+            this.maxStale = maxStale;
+            return this;
+        }
+
+        /**
+         * Whether to return the stale result while the result is being revalidated by another call, so that only
+         * one call of the same args goes through to the original method after the result expires.
+         *
+         * @param staleWhileRevalidate staleWhileRevalidate
+         * @return builder
+         */
+        public Builder staleWhileRevalidate(boolean staleWhileRevalidate) {
+            this.staleWhileRevalidate = staleWhileRevalidate;
+            return this;
+        }
+
+        public CacheConfig build() {
+            return new CacheConfig(ttl, maxSize, maxStale, staleWhileRevalidate);
+        }
+    }
+}
@@ -39,6 +39,9 @@ public class CircuitBreakerConfig implements Serializable {
     private final int ringBufferSizeInClosedState;
     private final CircuitBreaker.State state;
     private final Duration waitDurationInOpenState;
+    private final float latencyPercentile;
+    private final long latencyThresholdMs;
+    private final WindowType windowType;
 
     private final Class<? extends PredicateStrategy> predicateStrategy;
     private Class<? extends Throwable>[] ignoreExceptions;
@@ -50,7 +53,8 @@ public class CircuitBreakerConfig implements Serializable {
                                  Class<? extends Throwable>[] ignoreExceptions,
                                  Duration waitDurationInOpenState,
                                  Class<? extends PredicateStrategy> predicateStrategy,
-                                 CircuitBreaker.State state) {
+                                 CircuitBreaker.State state, float latencyPercentile,
+                                 long latencyThresholdMs, WindowType windowType) {
         this.failureRateThreshold = failureRateThreshold;
         this.ringBufferSizeInHalfOpenState = ringBufferSizeInHalfOpenState;
         this.ringBufferSizeInClosedState = ringBufferSizeInClosedState;
@@ -59,6 +63,9 @@ public class CircuitBreakerConfig implements Serializable {
         this.waitDurationInOpenState = waitDurationInOpenState;
         this.predicateStrategy = predicateStrategy;
         this.state = state;
+        this.latencyPercentile = latencyPercentile;
+        this.latencyThresholdMs = latencyThresholdMs;
+        this.windowType = windowType;
     }
 
     public static Builder builder() {
@@ -79,7 +86,10 @@ public class CircuitBreakerConfig implements Serializable {
                 .maxSpendTimeMs(config.getMaxSpendTimeMs())
                 .ignoreExceptions(config.getIgnoreExceptions())
                 .predicateStrategy(config.getPredicateStrategy())
-                .state(config.getState());
+                .state(config.getState())
+                .latencyPercentile(config.getLatencyPercentile())
+                .latencyThresholdMs(config.getLatencyThresholdMs())
+                .windowType(config.getWindowType());
     }
 
     public float getFailureRateThreshold() {
@@ -122,6 +132,18 @@ public class CircuitBreakerConfig implements Serializable {
         return state;
     }
 
+    public float getLatencyPercentile() {
+        return latencyPercentile;
+    }
+
+    public long getLatencyThresholdMs() {
+        return latencyThresholdMs;
+    }
+
+    public WindowType getWindowType() {
+        return windowType;
+    }
+
     @Override
     public String toString() {
         return "CircuitBreakerConfig{" + "failureRateThreshold=" + failureRateThreshold +
@@ -132,6 +154,9 @@ public class CircuitBreakerConfig implements Serializable {
                 ", waitDurationInOpenState=" + DurationUtils.toString(waitDurationInOpenState) +
                 ", predicateStrategy=" + predicateStrategy +
                 ", state=" + state.toString() +
+                ", latencyPercentile=" + latencyPercentile +
+                ", latencyThresholdMs=" + latencyThresholdMs +
+                ", windowType=" + windowType +
                 '}';
     }
 
@@ -148,6 +173,9 @@ public class CircuitBreakerConfig implements Serializable {
                 ringBufferSizeInHalfOpenState == that.ringBufferSizeInHalfOpenState &&
                 ringBufferSizeInClosedState == that.ringBufferSizeInClosedState &&
                 state == that.state &&
+                Float.compare(that.latencyPercentile, latencyPercentile) == 0 &&
+                latencyThresholdMs == that.latencyThresholdMs &&
+                windowType == that.windowType &&
                 Objects.equals(waitDurationInOpenState, that.waitDurationInOpenState);
     }
 
@@ -160,6 +188,9 @@ public class CircuitBreakerConfig implements Serializable {
         private Class<? extends Throwable>[] ignoreExceptions = cast(new Class[0]);
         private Class<? extends PredicateStrategy> predicateStrategy = PredicateByException.class;
         private CircuitBreaker.State state = AUTO;
+        private float latencyPercentile = 99.0f;
+        private long latencyThresholdMs = -1L;
+        private WindowType windowType = WindowType.RING_BIT_SET;
 
         private Builder() {
         }
@@ -206,10 +237,60 @@ public class CircuitBreakerConfig implements Serializable {
             return this;
         }
 
+        /**
+         * The percentile of latency which is used to trip the circuitBreaker, eg: 99.0 means p99.
+         *
+         * @param latencyPercentile percentile, in range of (0, 100]
+         * @return builder
+         */
+        public Builder latencyPercentile(float latencyPercentile) {
+            Checks.checkArg(latencyPercentile > 0.0f && latencyPercentile <= 100.0f,
+                    "illegal latencyPercentile: " + latencyPercentile + " excepted((0, 100])");
+            this.latencyPercentile = latencyPercentile;
+            return this;
+        }
+
+        /**
+         * When the latency at {@link #latencyPercentile(float)} exceeds the threshold, the circuitBreaker will
+         * transition to OPEN state. A value which is not greater than 0 means disabling latency circuit breaking.
+         *
+         * @param latencyThresholdMs threshold in milliseconds
+         * @return builder
+         */
+        public Builder latencyThresholdMs(long latencyThresholdMs) {
+            this.latencyThresholdMs = latencyThresholdMs;
+            return this;
+        }
+
+        public Builder windowType(WindowType windowType) {
+            Checks.checkNotNull(windowType, "windowType");
+            this.windowType = windowType;
+            return this;
+        }
+
         public CircuitBreakerConfig build() {
             return new CircuitBreakerConfig(failureRateThreshold, ringBufferSizeInHalfOpenState,
                     ringBufferSizeInClosedState, maxSpendTimeMs, ignoreExceptions, waitDurationInOpenState,
-                    predicateStrategy, state);
+                    predicateStrategy, state, latencyPercentile, latencyThresholdMs, windowType);
         }
     }
+
+    /**
+     * The way to record the results of calls and calculate the failure rate.
+     */
+    public enum WindowType {
+
+        /**
+         * Records the results of the latest ringBufferSize calls exactly, the memory occupied grows with the
+         * ringBufferSize.
+         */
+        RING_BIT_SET,
+
+        /**
+         * Tracks the failure rate as a time-decayed exponentially weighted moving average whose weight of each call
+         * is 1 / ringBufferSize, which occupies constant memory and is suitable for the circuitBreakers of high
+         * cardinality.
+         */
+        EWMA
+    }
 }
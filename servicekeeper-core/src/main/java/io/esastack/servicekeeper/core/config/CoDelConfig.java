@@ -0,0 +1,122 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.config;
+
+import esa.commons.Checks;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+public class CoDelConfig implements Serializable {
+
+    private static final long serialVersionUID = 8218803347719584562L;
+
+    private final long targetDelay;
+    private final long interval;
+
+    private CoDelConfig(long targetDelay, long interval) {
+        this.targetDelay = targetDelay;
+        this.interval = interval;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static CoDelConfig ofDefault() {
+        return builder().build();
+    }
+
+    public static Builder from(CoDelConfig config) {
+        Checks.checkNotNull(config, "config");
+        return new Builder().targetDelay(config.getTargetDelay())
+                .interval(config.getInterval());
+    }
+
+    public long getTargetDelay() {
+        return targetDelay;
+    }
+
+    public long getInterval() {
+        return interval;
+    }
+
+    @Override
+    public String toString() {
+        return "CoDelConfig{" + "targetDelay=" + targetDelay +
+                ", interval=" + interval +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        CoDelConfig that = (CoDelConfig) o;
+        return targetDelay == that.targetDelay &&
+                interval == that.interval;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(targetDelay, interval);
+    }
+
+    public static final class Builder {
+        private long targetDelay = 50L;
+        private long interval = 500L;
+
+        private Builder() {
+        }
+
+        /**
+         * The milliseconds of the queueing delay which is acceptable. The server is treated as overloaded if the
+         * minimum queueing delay of the requests in an interval exceeds it, and then the requests which have been
+         * queued for longer than it are shed. Note that the queueing delay measured includes the clock skew between
+         * the proxy which stamps the arrival time and the server, as well as the latency of the proxy, so the default
+         * 50ms is much larger than the 5ms of the original CoDel algorithm to tolerate them.
+         *
+         * @param targetDelay target delay in milliseconds
+         * @return builder
+         */
+        public Builder targetDelay(long targetDelay) {
+            Checks.checkArg(targetDelay > 0L, "illegal targetDelay: " + targetDelay + " (expected > 0)");
+            this.targetDelay = targetDelay;
+            return this;
+        }
+
+        /**
+         * The milliseconds of the interval to detect the overload, which is also the max queueing delay of the
+         * requests when the server isn't overloaded, so that a burst of requests can be absorbed by the queue.
+         *
+         * @param interval interval in milliseconds
+         * @return builder
+         */
+        public Builder interval(long interval) {
+            Checks.checkArg(interval > 0L, "illegal interval: " + interval + " (expected > 0)");
+            this.interval = interval;
+            return this;
+        }
+
+        public CoDelConfig build() {
+            return new CoDelConfig(targetDelay, interval);
+        }
+    }
+}
@@ -18,6 +18,7 @@ package io.esastack.servicekeeper.core.config;
 import esa.commons.Checks;
 
 import java.io.Serializable;
+import java.time.Duration;
 import java.util.Objects;
 
 public class ConcurrentLimitConfig implements Serializable {
@@ -25,9 +26,18 @@ public class ConcurrentLimitConfig implements Serializable {
     private static final long serialVersionUID = 2869481529133507321L;
 
     private final int threshold;
+    private final Algorithm algorithm;
+    private final int minThreshold;
+    private final Duration maxWaitDuration;
+    private final int maxQueueSize;
 
-    private ConcurrentLimitConfig(int threshold) {
+    private ConcurrentLimitConfig(int threshold, Algorithm algorithm, int minThreshold,
+                                  Duration maxWaitDuration, int maxQueueSize) {
         this.threshold = threshold;
+        this.algorithm = algorithm;
+        this.minThreshold = minThreshold;
+        this.maxWaitDuration = maxWaitDuration;
+        this.maxQueueSize = maxQueueSize;
     }
 
     public static Builder builder() {
@@ -40,16 +50,40 @@ public class ConcurrentLimitConfig implements Serializable {
 
     public static Builder from(ConcurrentLimitConfig config) {
         Checks.checkNotNull(config, "config");
-        return new Builder().threshold(config.getThreshold());
+        return new Builder().threshold(config.getThreshold())
+                .algorithm(config.getAlgorithm())
+                .minThreshold(config.getMinThreshold())
+                .maxWaitDuration(config.getMaxWaitDuration())
+                .maxQueueSize(config.getMaxQueueSize());
     }
 
     public int getThreshold() {
         return threshold;
     }
 
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public int getMinThreshold() {
+        return minThreshold;
+    }
+
+    public Duration getMaxWaitDuration() {
+        return maxWaitDuration;
+    }
+
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
     @Override
     public String toString() {
         return "ConcurrentLimitConfig{" + "threshold=" + threshold +
+                ", algorithm=" + algorithm +
+                ", minThreshold=" + minThreshold +
+                ", maxWaitDuration=" + maxWaitDuration +
+                ", maxQueueSize=" + maxQueueSize +
                 '}';
     }
 
@@ -62,16 +96,24 @@ public class ConcurrentLimitConfig implements Serializable {
             return false;
         }
         ConcurrentLimitConfig that = (ConcurrentLimitConfig) o;
-        return threshold == that.threshold;
+        return threshold == that.threshold &&
+                algorithm == that.algorithm &&
+                minThreshold == that.minThreshold &&
+                maxQueueSize == that.maxQueueSize &&
+                Objects.equals(maxWaitDuration, that.maxWaitDuration);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(threshold);
+        return Objects.hash(threshold, algorithm, minThreshold, maxWaitDuration, maxQueueSize);
     }
 
     public static final class Builder {
         private int threshold = Integer.MAX_VALUE;
+        private Algorithm algorithm = Algorithm.FIXED;
+        private int minThreshold = 1;
+        private Duration maxWaitDuration = Duration.ZERO;
+        private int maxQueueSize = 128;
 
         private Builder() {
         }
@@ -81,9 +123,77 @@ public class ConcurrentLimitConfig implements Serializable {
             return this;
         }
 
+        /**
+         * The algorithm to compute the limit, see {@link Algorithm}.
+         *
+         * @param algorithm algorithm
+         * @return builder
+         */
+        public Builder algorithm(Algorithm algorithm) {
+            Checks.checkNotNull(algorithm, "algorithm");
+            this.algorithm = algorithm;
+            return this;
+        }
+
+        /**
+         * The lower bound of the limit which is computed adaptively, and the threshold is the upper bound.
+         *
+         * @param minThreshold min threshold
+         * @return builder
+         */
+        public Builder minThreshold(int minThreshold) {
+            Checks.checkArg(minThreshold > 0, "minThreshold must be positive");
+            this.minThreshold = minThreshold;
+            return this;
+        }
+
+        /**
+         * The max duration to wait for a permission when the concurrent calls exceed the threshold, the calls will be
+         * rejected immediately if the duration is zero, which is the default value.
+         *
+         * @param maxWaitDuration max wait duration
+         * @return builder
+         */
+        public Builder maxWaitDuration(Duration maxWaitDuration) {
+            Checks.checkNotNull(maxWaitDuration, "maxWaitDuration");
+            Checks.checkArg(!maxWaitDuration.isNegative(), "maxWaitDuration must not be negative");
+            this.maxWaitDuration = maxWaitDuration;
+            return this;
+        }
+
+        /**
+         * The max number of calls which are waiting for permissions, the calls beyond it will be rejected immediately.
+         * It only works when the {@link #maxWaitDuration(Duration)} is positive.
+         *
+         * @param maxQueueSize max queue size
+         * @return builder
+         */
+        public Builder maxQueueSize(int maxQueueSize) {
+            Checks.checkArg(maxQueueSize >= 0, "maxQueueSize must not be negative");
+            this.maxQueueSize = maxQueueSize;
+            return this;
+        }
+
         public ConcurrentLimitConfig build() {
-            return new ConcurrentLimitConfig(threshold);
+            return new ConcurrentLimitConfig(threshold, algorithm, minThreshold, maxWaitDuration, maxQueueSize);
         }
     }
 
+    /**
+     * The algorithm to compute the limit of concurrent calls.
+     */
+    public enum Algorithm {
+
+        /**
+         * Use the threshold as the limit directly.
+         */
+        FIXED,
+
+        /**
+         * Adjust the limit between minThreshold and threshold adaptively by the spend times of calls, using the
+         * algorithm of TCP Vegas.
+         */
+        VEGAS
+    }
+
 }
@@ -29,15 +29,22 @@ public class FallbackConfig implements Serializable {
     private final String specifiedValue;
     private final Class<? extends Exception> specifiedException;
     private final boolean alsoApplyToBizException;
+    private final boolean lastKnownGood;
+    private final long lastKnownGoodMaxSize;
+    private final long lastKnownGoodMaxWeight;
 
     private FallbackConfig(String methodName, Class<?> targetClass, String specifiedValue,
                            Class<? extends Exception> specifiedException,
-                           boolean alsoApplyToBizException) {
+                           boolean alsoApplyToBizException, boolean lastKnownGood,
+                           long lastKnownGoodMaxSize, long lastKnownGoodMaxWeight) {
         this.methodName = methodName;
         this.targetClass = targetClass;
         this.specifiedValue = specifiedValue;
         this.specifiedException = specifiedException;
         this.alsoApplyToBizException = alsoApplyToBizException;
+        this.lastKnownGood = lastKnownGood;
+        this.lastKnownGoodMaxSize = lastKnownGoodMaxSize;
+        this.lastKnownGoodMaxWeight = lastKnownGoodMaxWeight;
     }
 
     public static Builder builder() {
@@ -55,7 +62,10 @@ public class FallbackConfig implements Serializable {
                 .targetClass(config.getTargetClass())
                 .specifiedValue(config.getSpecifiedValue())
                 .specifiedException(config.getSpecifiedException())
-                .alsoApplyToBizException(config.isAlsoApplyToBizException());
+                .alsoApplyToBizException(config.isAlsoApplyToBizException())
+                .lastKnownGood(config.isLastKnownGood())
+                .lastKnownGoodMaxSize(config.getLastKnownGoodMaxSize())
+                .lastKnownGoodMaxWeight(config.getLastKnownGoodMaxWeight());
     }
 
     public String getMethodName() {
@@ -86,6 +96,18 @@ public class FallbackConfig implements Serializable {
         return alsoApplyToBizException;
     }
 
+    public boolean isLastKnownGood() {
+        return lastKnownGood;
+    }
+
+    public long getLastKnownGoodMaxSize() {
+        return lastKnownGoodMaxSize;
+    }
+
+    public long getLastKnownGoodMaxWeight() {
+        return lastKnownGoodMaxWeight;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -99,12 +121,16 @@ public class FallbackConfig implements Serializable {
                 Objects.equals(targetClass, that.targetClass) &&
                 Objects.equals(specifiedValue, that.specifiedValue) &&
                 Objects.equals(specifiedException, that.specifiedException) &&
-                Objects.equals(alsoApplyToBizException, that.alsoApplyToBizException);
+                Objects.equals(alsoApplyToBizException, that.alsoApplyToBizException) &&
+                lastKnownGood == that.lastKnownGood &&
+                lastKnownGoodMaxSize == that.lastKnownGoodMaxSize &&
+                lastKnownGoodMaxWeight == that.lastKnownGoodMaxWeight;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(methodName, targetClass, specifiedValue, specifiedException, alsoApplyToBizException);
+        return Objects.hash(methodName, targetClass, specifiedValue, specifiedException, alsoApplyToBizException,
+                lastKnownGood, lastKnownGoodMaxSize, lastKnownGoodMaxWeight);
     }
 
     @Override
@@ -144,6 +170,11 @@ public class FallbackConfig implements Serializable {
         } else {
             sb.append(", alsoApplyToBizException=").append(alsoApplyToBizException);
         }
+        if (lastKnownGood) {
+            sb.append(", lastKnownGood=true")
+                    .append(", lastKnownGoodMaxSize=").append(lastKnownGoodMaxSize)
+                    .append(", lastKnownGoodMaxWeight=").append(lastKnownGoodMaxWeight);
+        }
 
         sb.append('}');
         return sb.toString();
@@ -161,6 +192,9 @@ public class FallbackConfig implements Serializable {
         private String specifiedValue = "";
         private Class<? extends Exception> specifiedException;
         private boolean alsoApplyToBizException;
+        private boolean lastKnownGood;
+        private long lastKnownGoodMaxSize = 1000L;
+        private long lastKnownGoodMaxWeight;
 
         private Builder() {
         }
@@ -190,9 +224,29 @@ public class FallbackConfig implements Serializable {
             return this;
         }
 
+        public Builder lastKnownGood(boolean lastKnownGood) {
+            this.lastKnownGood = lastKnownGood;
+            return this;
+        }
+
+        public Builder lastKnownGoodMaxSize(long lastKnownGoodMaxSize) {
+            Checks.checkArg(lastKnownGoodMaxSize > 0L, "illegal lastKnownGoodMaxSize: "
+                    + lastKnownGoodMaxSize + " (expected > 0)");
+            this.lastKnownGoodMaxSize = lastKnownGoodMaxSize;
+            return this;
+        }
+
+        public Builder lastKnownGoodMaxWeight(long lastKnownGoodMaxWeight) {
+            Checks.checkArg(lastKnownGoodMaxWeight >= 0L, "illegal lastKnownGoodMaxWeight: "
+                    + lastKnownGoodMaxWeight + " (expected >= 0)");
+            this.lastKnownGoodMaxWeight = lastKnownGoodMaxWeight;
+            return this;
+        }
+
         public FallbackConfig build() {
             return new FallbackConfig(methodName, targetClass, specifiedValue,
-                    specifiedException, alsoApplyToBizException);
+                    specifiedException, alsoApplyToBizException, lastKnownGood,
+                    lastKnownGoodMaxSize, lastKnownGoodMaxWeight);
         }
     }
 }
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.config;
+
+import esa.commons.Checks;
+import io.esastack.servicekeeper.core.utils.ParamCheckUtils;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+public class HedgeConfig implements Serializable {
+
+    private static final long serialVersionUID = 2739485015830127764L;
+
+    private final long delay;
+    private final double percentile;
+    private final int maxConcurrentHedges;
+    private final RetryBudgetConfig budgetConfig;
+
+    private HedgeConfig(long delay, double percentile, int maxConcurrentHedges, RetryBudgetConfig budgetConfig) {
+        this.delay = delay;
+        this.percentile = percentile;
+        this.maxConcurrentHedges = maxConcurrentHedges;
+        this.budgetConfig = budgetConfig;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static HedgeConfig ofDefault() {
+        return builder().build();
+    }
+
+    public static Builder from(HedgeConfig config) {
+        Checks.checkNotNull(config, "config");
+        return new Builder().delay(config.getDelay())
+                .percentile(config.getPercentile())
+                .maxConcurrentHedges(config.getMaxConcurrentHedges())
+                .budgetConfig(config.getBudgetConfig());
+    }
+
+    public long getDelay() {
+        return delay;
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public int getMaxConcurrentHedges() {
+        return maxConcurrentHedges;
+    }
+
+    public RetryBudgetConfig getBudgetConfig() {
+        return budgetConfig;
+    }
+
+    @Override
+    public String toString() {
+        return "HedgeConfig{" + "delay=" + delay +
+                ", percentile=" + percentile +
+                ", maxConcurrentHedges=" + maxConcurrentHedges +
+                ", budgetConfig=" + budgetConfig +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        HedgeConfig that = (HedgeConfig) o;
+        return delay == that.delay &&
+                Double.compare(that.percentile, percentile) == 0 &&
+                maxConcurrentHedges == that.maxConcurrentHedges &&
+                Objects.equals(budgetConfig, that.budgetConfig);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(delay, percentile, maxConcurrentHedges, budgetConfig);
+    }
+
+    public static final class Builder {
+        private long delay = 100L;
+        private double percentile = 0.0d;
+        private int maxConcurrentHedges = 10;
+        private RetryBudgetConfig budgetConfig = RetryBudgetConfig.builder().build();
+
+        private Builder() {
+        }
+
+        /**
+         * The fixed delay in milliseconds to wait for the first attempt before issuing the hedged one, it's also
+         * used when the {@link #percentile(double)} is configured but the latency hasn't been observed enough.
+         *
+         * @param delay delay
+         * @return builder
+         */
+        public Builder delay(long delay) {
+            Checks.checkArg(delay >= 0L, "delay must not be negative");
+            this.delay = delay;
+            return this;
+        }
+
+        /**
+         * The percentile of observed latency of the resource to use as the delay, eg: 95 means that the hedged
+         * attempt is issued when the first one is slower than p95, 0 means using the fixed {@link #delay(long)}.
+         *
+         * @param percentile percentile, in range of [0, 100)
+         * @return builder
+         */
+        public Builder percentile(double percentile) {
+            Checks.checkArg(percentile >= 0.0d && percentile < 100.0d,
+                    "illegal percentile: " + percentile + " (expected [0, 100))");
+            this.percentile = percentile;
+            return this;
+        }
+
+        /**
+         * The max number of hedged attempts which are in flight at the same time.
+         *
+         * @param maxConcurrentHedges max concurrent hedges
+         * @return builder
+         */
+        public Builder maxConcurrentHedges(int maxConcurrentHedges) {
+            ParamCheckUtils.positiveInt(maxConcurrentHedges,
+                    "illegal maxConcurrentHedges: " + maxConcurrentHedges + " (expected > 0)");
+            this.maxConcurrentHedges = maxConcurrentHedges;
+            return this;
+        }
+
+        /**
+         * The budget of hedged attempts, whose ratio is relative to the first attempts. Null means that the hedged
+         * attempts are only limited by {@link #maxConcurrentHedges(int)}.
+         *
+         * @param budgetConfig budget config
+         * @return builder
+         */
+        public Builder budgetConfig(RetryBudgetConfig budgetConfig) {
+            this.budgetConfig = budgetConfig;
+            return this;
+        }
+
+        public HedgeConfig build() {
+            return new HedgeConfig(delay, percentile, maxConcurrentHedges, budgetConfig);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.config;
+
+import esa.commons.Checks;
+import io.esastack.servicekeeper.core.utils.ParamCheckUtils;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+public class IsolationConfig implements Serializable {
+
+    private static final long serialVersionUID = -6182375461934532018L;
+
+    private final int threads;
+    private final int maxQueueSize;
+    private final ExecutorType executorType;
+
+    private IsolationConfig(int threads, int maxQueueSize, ExecutorType executorType) {
+        this.threads = threads;
+        this.maxQueueSize = maxQueueSize;
+        this.executorType = executorType;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static IsolationConfig ofDefault() {
+        return builder().build();
+    }
+
+    public static Builder from(IsolationConfig config) {
+        Checks.checkNotNull(config, "config");
+        return new Builder().threads(config.getThreads())
+                .maxQueueSize(config.getMaxQueueSize())
+                .executorType(config.getExecutorType());
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    public ExecutorType getExecutorType() {
+        return executorType;
+    }
+
+    @Override
+    public String toString() {
+        return "IsolationConfig{" + "threads=" + threads +
+                ", maxQueueSize=" + maxQueueSize +
+                ", executorType=" + executorType +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        IsolationConfig that = (IsolationConfig) o;
+        return threads == that.threads &&
+                maxQueueSize == that.maxQueueSize &&
+                executorType == that.executorType;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(threads, maxQueueSize, executorType);
+    }
+
+    public static final class Builder {
+        private int threads = 10;
+        private int maxQueueSize = 100;
+        private ExecutorType executorType = ExecutorType.PLATFORM;
+
+        private Builder() {
+        }
+
+        /**
+         * The max number of calls which are executed concurrently by the isolated executor.
+         *
+         * @param threads threads
+         * @return builder
+         */
+        public Builder threads(int threads) {
+            ParamCheckUtils.positiveInt(threads, "illegal threads: " + threads + " (expected > 0)");
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * The max number of calls which are waiting for executing, the calls beyond it will be rejected immediately.
+         *
+         * @param maxQueueSize max queue size
+         * @return builder
+         */
+        public Builder maxQueueSize(int maxQueueSize) {
+            Checks.checkArg(maxQueueSize >= 0, "maxQueueSize must not be negative");
+            this.maxQueueSize = maxQueueSize;
+            return this;
+        }
+
+        /**
+         * The type of threads to execute the calls, see {@link ExecutorType}.
+         *
+         * @param executorType executor type
+         * @return builder
+         */
+        public Builder executorType(ExecutorType executorType) {
+            Checks.checkNotNull(executorType, "executorType");
+            this.executorType = executorType;
+            return this;
+        }
+
+        public IsolationConfig build() {
+            return new IsolationConfig(threads, maxQueueSize, executorType);
+        }
+    }
+
+    /**
+     * The type of threads to execute the isolated calls.
+     */
+    public enum ExecutorType {
+
+        /**
+         * Execute the calls on a dedicated thread pool whose size is the threads.
+         */
+        PLATFORM,
+
+        /**
+         * Execute every call on a new virtual thread and the number of concurrent calls is limited by threads, it's
+         * only available on JDK 21+ and falls back to {@link #PLATFORM} otherwise.
+         */
+        VIRTUAL
+    }
+}
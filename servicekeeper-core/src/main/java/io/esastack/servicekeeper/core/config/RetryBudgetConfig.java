@@ -0,0 +1,113 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.config;
+
+import esa.commons.Checks;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+public class RetryBudgetConfig implements Serializable {
+
+    private static final long serialVersionUID = 4502398567263157014L;
+
+    private final double ratio;
+    private final int minRetriesPerSecond;
+
+    private RetryBudgetConfig(double ratio, int minRetriesPerSecond) {
+        this.ratio = ratio;
+        this.minRetriesPerSecond = minRetriesPerSecond;
+    }
+
+    public static Builder copyFrom(RetryBudgetConfig budgetConfig) {
+        Checks.checkNotNull(budgetConfig, "budgetConfig");
+        return builder().ratio(budgetConfig.getRatio())
+                .minRetriesPerSecond(budgetConfig.getMinRetriesPerSecond());
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public double getRatio() {
+        return ratio;
+    }
+
+    public int getMinRetriesPerSecond() {
+        return minRetriesPerSecond;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", RetryBudgetConfig.class.getSimpleName() + "[", "]")
+                .add("ratio=" + ratio)
+                .add("minRetriesPerSecond=" + minRetriesPerSecond)
+                .toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        RetryBudgetConfig that = (RetryBudgetConfig) o;
+        return Double.compare(that.ratio, ratio) == 0 &&
+                minRetriesPerSecond == that.minRetriesPerSecond;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(ratio, minRetriesPerSecond);
+    }
+
+    public static class Builder {
+
+        private double ratio = 0.1d;
+        private int minRetriesPerSecond = 10;
+
+        /**
+         * The ratio of retries to the successful first attempts, eg: 0.1 means that only 10% of the traffic is
+         * allowed to be retried.
+         *
+         * @param ratio ratio
+         * @return builder
+         */
+        public Builder ratio(double ratio) {
+            this.ratio = ratio;
+            return this;
+        }
+
+        /**
+         * The retries which are always allowed per second, so that a resource with low traffic can still retry.
+         *
+         * @param minRetriesPerSecond min retries per second
+         * @return builder
+         */
+        public Builder minRetriesPerSecond(int minRetriesPerSecond) {
+            this.minRetriesPerSecond = minRetriesPerSecond;
+            return this;
+        }
+
+        public RetryBudgetConfig build() {
+            return new RetryBudgetConfig(ratio, minRetriesPerSecond);
+        }
+    }
+
+}
@@ -30,15 +30,24 @@ public class RetryConfig implements Serializable {
     private final Class<? extends Throwable>[] excludeExceptions;
     private final Integer maxAttempts;
     private final BackoffConfig backoffConfig;
+    private final RetryBudgetConfig budgetConfig;
+    private final long attemptTimeout;
+    private final long deadline;
 
     private RetryConfig(Class<? extends Throwable>[] includeExceptions,
                         Class<? extends Throwable>[] excludeExceptions,
                         Integer maxAttempts,
-                        BackoffConfig backoffConfig) {
+                        BackoffConfig backoffConfig,
+                        RetryBudgetConfig budgetConfig,
+                        long attemptTimeout,
+                        long deadline) {
         this.includeExceptions = includeExceptions;
         this.excludeExceptions = excludeExceptions;
         this.maxAttempts = maxAttempts;
         this.backoffConfig = backoffConfig;
+        this.budgetConfig = budgetConfig;
+        this.attemptTimeout = attemptTimeout;
+        this.deadline = deadline;
     }
 
     public static Builder builder() {
@@ -54,14 +63,22 @@ public class RetryConfig implements Serializable {
         Builder newBuilder = builder();
         newBuilder.includeExceptions(retryConfig.getIncludeExceptions())
                 .excludeExceptions(retryConfig.getExcludeExceptions())
-                .maxAttempts(retryConfig.getMaxAttempts());
+                .maxAttempts(retryConfig.getMaxAttempts())
+                .attemptTimeout(retryConfig.getAttemptTimeout())
+                .deadline(retryConfig.getDeadline());
 
         BackoffConfig backoffConfig = retryConfig.getBackoffConfig();
         if (backoffConfig != null) {
             newBuilder.backoffConfig(BackoffConfig.builder()
                     .multiplier(backoffConfig.getMultiplier())
                     .delay(backoffConfig.getDelay())
-                    .maxDelay(backoffConfig.getMaxDelay()).build());
+                    .maxDelay(backoffConfig.getMaxDelay())
+                    .jitter(backoffConfig.getJitter()).build());
+        }
+
+        RetryBudgetConfig budgetConfig = retryConfig.getBudgetConfig();
+        if (budgetConfig != null) {
+            newBuilder.budgetConfig(RetryBudgetConfig.copyFrom(budgetConfig).build());
         }
 
         return newBuilder;
@@ -83,6 +100,18 @@ public class RetryConfig implements Serializable {
         return backoffConfig;
     }
 
+    public RetryBudgetConfig getBudgetConfig() {
+        return budgetConfig;
+    }
+
+    public long getAttemptTimeout() {
+        return attemptTimeout;
+    }
+
+    public long getDeadline() {
+        return deadline;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -95,12 +124,15 @@ public class RetryConfig implements Serializable {
         return Arrays.equals(includeExceptions, that.includeExceptions) &&
                 Arrays.equals(excludeExceptions, that.excludeExceptions) &&
                 Objects.equals(maxAttempts, that.maxAttempts) &&
-                Objects.equals(backoffConfig, that.backoffConfig);
+                Objects.equals(backoffConfig, that.backoffConfig) &&
+                Objects.equals(budgetConfig, that.budgetConfig) &&
+                attemptTimeout == that.attemptTimeout &&
+                deadline == that.deadline;
     }
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(maxAttempts, backoffConfig);
+        int result = Objects.hash(maxAttempts, backoffConfig, budgetConfig, attemptTimeout, deadline);
         result = 31 * result + Arrays.hashCode(includeExceptions);
         result = 31 * result + Arrays.hashCode(excludeExceptions);
         return result;
@@ -113,6 +145,9 @@ public class RetryConfig implements Serializable {
                 .add("excludeExceptions=" + Arrays.toString(excludeExceptions))
                 .add("maxAttempts=" + maxAttempts)
                 .add("backoffConfig=" + backoffConfig)
+                .add("budgetConfig=" + budgetConfig)
+                .add("attemptTimeout=" + attemptTimeout)
+                .add("deadline=" + deadline)
                 .toString();
     }
 
@@ -140,6 +175,21 @@ public class RetryConfig implements Serializable {
          */
         private BackoffConfig backoffConfig;
 
+        /**
+         * Default budget is null, which means the retries are unlimited
+         */
+        private RetryBudgetConfig budgetConfig;
+
+        /**
+         * Default attempt timeout is 0, which means the attempts never time out
+         */
+        private long attemptTimeout;
+
+        /**
+         * Default deadline is 0, which means the retries are only limited by maxAttempts
+         */
+        private long deadline;
+
         Builder() {
         }
 
@@ -163,9 +213,41 @@ public class RetryConfig implements Serializable {
             return this;
         }
 
+        public Builder budgetConfig(RetryBudgetConfig budgetConfig) {
+            this.budgetConfig = budgetConfig;
+            return this;
+        }
+
+        /**
+         * The timeout in milliseconds of every single attempt, the attempt which hasn't completed in time will be
+         * cancelled and retried. It only works for the asynchronous calls, because that a sync call can't be
+         * interrupted safely.
+         *
+         * @param attemptTimeout attempt timeout
+         * @return builder
+         */
+        public Builder attemptTimeout(long attemptTimeout) {
+            Checks.checkArg(attemptTimeout >= 0L, "attemptTimeout must not be negative");
+            this.attemptTimeout = attemptTimeout;
+            return this;
+        }
+
+        /**
+         * The max time in milliseconds of all the attempts and back offs, a retry whose back off would exceed the
+         * deadline won't be scheduled.
+         *
+         * @param deadline deadline
+         * @return builder
+         */
+        public Builder deadline(long deadline) {
+            Checks.checkArg(deadline >= 0L, "deadline must not be negative");
+            this.deadline = deadline;
+            return this;
+        }
+
         public RetryConfig build() {
             return new RetryConfig(this.includeExceptions, this.excludeExceptions, this.maxAttempts,
-                    this.backoffConfig);
+                    this.backoffConfig, this.budgetConfig, this.attemptTimeout, this.deadline);
         }
     }
 
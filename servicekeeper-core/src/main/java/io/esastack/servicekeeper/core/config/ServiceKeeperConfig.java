@@ -28,6 +28,12 @@ public class ServiceKeeperConfig implements Serializable {
     private RateLimitConfig rateLimitConfig;
     private FallbackConfig fallbackConfig;
     private RetryConfig retryConfig;
+    private IsolationConfig isolationConfig;
+    private HedgeConfig hedgeConfig;
+    private TimeoutConfig timeoutConfig;
+    private CacheConfig cacheConfig;
+    private SingleFlightConfig singleFlightConfig;
+    private CoDelConfig coDelConfig;
 
     public static Builder builder() {
         return new Builder();
@@ -39,7 +45,13 @@ public class ServiceKeeperConfig implements Serializable {
                 .circuitBreakerConfig(config.getCircuitBreakerConfig())
                 .rateLimiterConfig(config.getRateLimitConfig())
                 .retryConfig(config.getRetryConfig())
-                .concurrentLimiterConfig(config.getConcurrentLimitConfig());
+                .concurrentLimiterConfig(config.getConcurrentLimitConfig())
+                .isolationConfig(config.getIsolationConfig())
+                .hedgeConfig(config.getHedgeConfig())
+                .timeoutConfig(config.getTimeoutConfig())
+                .cacheConfig(config.getCacheConfig())
+                .singleFlightConfig(config.getSingleFlightConfig())
+                .coDelConfig(config.getCoDelConfig());
     }
 
     public CircuitBreakerConfig getCircuitBreakerConfig() {
@@ -82,6 +94,54 @@ public class ServiceKeeperConfig implements Serializable {
         this.retryConfig = retryConfig;
     }
 
+    public IsolationConfig getIsolationConfig() {
+        return isolationConfig;
+    }
+
+    public void setIsolationConfig(IsolationConfig isolationConfig) {
+        this.isolationConfig = isolationConfig;
+    }
+
+    public HedgeConfig getHedgeConfig() {
+        return hedgeConfig;
+    }
+
+    public void setHedgeConfig(HedgeConfig hedgeConfig) {
+        this.hedgeConfig = hedgeConfig;
+    }
+
+    public TimeoutConfig getTimeoutConfig() {
+        return timeoutConfig;
+    }
+
+    public void setTimeoutConfig(TimeoutConfig timeoutConfig) {
+        this.timeoutConfig = timeoutConfig;
+    }
+
+    public CacheConfig getCacheConfig() {
+        return cacheConfig;
+    }
+
+    public void setCacheConfig(CacheConfig cacheConfig) {
+        this.cacheConfig = cacheConfig;
+    }
+
+    public SingleFlightConfig getSingleFlightConfig() {
+        return singleFlightConfig;
+    }
+
+    public void setSingleFlightConfig(SingleFlightConfig singleFlightConfig) {
+        this.singleFlightConfig = singleFlightConfig;
+    }
+
+    public CoDelConfig getCoDelConfig() {
+        return coDelConfig;
+    }
+
+    public void setCoDelConfig(CoDelConfig coDelConfig) {
+        this.coDelConfig = coDelConfig;
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder("ServiceKeeperConfig{");
@@ -117,10 +177,58 @@ public class ServiceKeeperConfig implements Serializable {
         if (retryConfig != null) {
             if (isFirstOne) {
                 sb.append("retryConfig=").append(retryConfig);
+                isFirstOne = false;
             } else {
                 sb.append(", retryConfig=").append(retryConfig);
             }
         }
+        if (isolationConfig != null) {
+            if (isFirstOne) {
+                sb.append("isolationConfig=").append(isolationConfig);
+                isFirstOne = false;
+            } else {
+                sb.append(", isolationConfig=").append(isolationConfig);
+            }
+        }
+        if (hedgeConfig != null) {
+            if (isFirstOne) {
+                sb.append("hedgeConfig=").append(hedgeConfig);
+                isFirstOne = false;
+            } else {
+                sb.append(", hedgeConfig=").append(hedgeConfig);
+            }
+        }
+        if (timeoutConfig != null) {
+            if (isFirstOne) {
+                sb.append("timeoutConfig=").append(timeoutConfig);
+                isFirstOne = false;
+            } else {
+                sb.append(", timeoutConfig=").append(timeoutConfig);
+            }
+        }
+        if (cacheConfig != null) {
+            if (isFirstOne) {
+                sb.append("cacheConfig=").append(cacheConfig);
+                isFirstOne = false;
+            } else {
+                sb.append(", cacheConfig=").append(cacheConfig);
+            }
+        }
+        if (singleFlightConfig != null) {
+            if (isFirstOne) {
+                sb.append("singleFlightConfig=").append(singleFlightConfig);
+                isFirstOne = false;
+            } else {
+                sb.append(", singleFlightConfig=").append(singleFlightConfig);
+            }
+        }
+        if (coDelConfig != null) {
+            if (isFirstOne) {
+                sb.append("coDelConfig=").append(coDelConfig);
+            } else {
+                sb.append(", coDelConfig=").append(coDelConfig);
+            }
+        }
         sb.append('}');
         return sb.toString();
     }
@@ -131,6 +239,12 @@ public class ServiceKeeperConfig implements Serializable {
         private RateLimitConfig rateLimitConfig;
         private FallbackConfig fallbackConfig;
         private RetryConfig retryConfig;
+        private IsolationConfig isolationConfig;
+        private HedgeConfig hedgeConfig;
+        private TimeoutConfig timeoutConfig;
+        private CacheConfig cacheConfig;
+        private SingleFlightConfig singleFlightConfig;
+        private CoDelConfig coDelConfig;
 
         private Builder() {
         }
@@ -160,6 +274,36 @@ public class ServiceKeeperConfig implements Serializable {
             return this;
         }
 
+        public Builder isolationConfig(IsolationConfig isolationConfig) {
+            this.isolationConfig = isolationConfig;
+            return this;
+        }
+
+        public Builder hedgeConfig(HedgeConfig hedgeConfig) {
+            this.hedgeConfig = hedgeConfig;
+            return this;
+        }
+
+        public Builder timeoutConfig(TimeoutConfig timeoutConfig) {
+            this.timeoutConfig = timeoutConfig;
+            return this;
+        }
+
+        public Builder cacheConfig(CacheConfig cacheConfig) {
+            this.cacheConfig = cacheConfig;
+            return this;
+        }
+
+        public Builder singleFlightConfig(SingleFlightConfig singleFlightConfig) {
+            this.singleFlightConfig = singleFlightConfig;
+            return this;
+        }
+
+        public Builder coDelConfig(CoDelConfig coDelConfig) {
+            this.coDelConfig = coDelConfig;
+            return this;
+        }
+
         public ServiceKeeperConfig build() {
             ServiceKeeperConfig serviceKeeperConfig = new ServiceKeeperConfig();
             serviceKeeperConfig.setCircuitBreakerConfig(circuitBreakerConfig1);
@@ -167,6 +311,12 @@ public class ServiceKeeperConfig implements Serializable {
             serviceKeeperConfig.setRateLimitConfig(rateLimitConfig);
             serviceKeeperConfig.setFallbackConfig(fallbackConfig);
             serviceKeeperConfig.setRetryConfig(retryConfig);
+            serviceKeeperConfig.setIsolationConfig(isolationConfig);
+            serviceKeeperConfig.setHedgeConfig(hedgeConfig);
+            serviceKeeperConfig.setTimeoutConfig(timeoutConfig);
+            serviceKeeperConfig.setCacheConfig(cacheConfig);
+            serviceKeeperConfig.setSingleFlightConfig(singleFlightConfig);
+            serviceKeeperConfig.setCoDelConfig(coDelConfig);
             return serviceKeeperConfig;
         }
     }
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.config;
+
+import esa.commons.Checks;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+public class SingleFlightConfig implements Serializable {
+
+    private static final long serialVersionUID = 3507418964390251773L;
+
+    private final boolean enable;
+
+    private SingleFlightConfig(boolean enable) {
+        this.enable = enable;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static SingleFlightConfig ofDefault() {
+        return builder().build();
+    }
+
+    public static Builder from(SingleFlightConfig config) {
+        Checks.checkNotNull(config, "config");
+        return new Builder().enable(config.isEnable());
+    }
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    @Override
+    public String toString() {
+        return "SingleFlightConfig{" + "enable=" + enable + '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        SingleFlightConfig that = (SingleFlightConfig) o;
+        return enable == that.enable;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(enable);
+    }
+
+    public static final class Builder {
+        private boolean enable = true;
+
+        private Builder() {
+        }
+
+        /**
+         * Whether to coalesce the concurrent calls with the equal args into a single one, which is useful to
+         * disable the coalescing of a method configured by annotation dynamically.
+         *
+         * @param enable enable
+         * @return builder
+         */
+        public Builder enable(boolean enable) {
+            this.enable = enable;
+            return this;
+        }
+
+        public SingleFlightConfig build() {
+            return new SingleFlightConfig(enable);
+        }
+    }
+}
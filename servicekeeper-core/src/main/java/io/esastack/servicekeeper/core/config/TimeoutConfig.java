@@ -0,0 +1,118 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.config;
+
+import esa.commons.Checks;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+public class TimeoutConfig implements Serializable {
+
+    private static final long serialVersionUID = 2985561637251384092L;
+
+    private final long timeout;
+    private final boolean interruptible;
+
+    private TimeoutConfig(long timeout, boolean interruptible) {
+        this.timeout = timeout;
+        this.interruptible = interruptible;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static TimeoutConfig ofDefault() {
+        return builder().build();
+    }
+
+    public static Builder from(TimeoutConfig config) {
+        Checks.checkNotNull(config, "config");
+        return new Builder().timeout(config.getTimeout())
+                .interruptible(config.isInterruptible());
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public boolean isInterruptible() {
+        return interruptible;
+    }
+
+    @Override
+    public String toString() {
+        return "TimeoutConfig{" + "timeout=" + timeout +
+                ", interruptible=" + interruptible +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        TimeoutConfig that = (TimeoutConfig) o;
+        return timeout == that.timeout &&
+                interruptible == that.interruptible;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(timeout, interruptible);
+    }
+
+    public static final class Builder {
+        private long timeout = 1000L;
+        private boolean interruptible = true;
+
+        private Builder() {
+        }
+
+        /**
+         * The max milliseconds which a call could spend, the call beyond it will be ended with a
+         * {@link io.esastack.servicekeeper.core.exception.TimeoutExceededException}.
+         *
+         * @param timeout timeout in milliseconds
+         * @return builder
+         */
+        public Builder timeout(long timeout) {
+            Checks.checkArg(timeout > 0L, "illegal timeout: " + timeout + " (expected > 0)");
+            this.timeout = timeout;
+            return this;
+        }
+
+        /**
+         * Whether to interrupt the thread which is executing the sync call when it times out. If not, the caller
+         * will not be released until the call completes, and the late result will be treated as timeout.
+         *
+         * @param interruptible interruptible
+         * @return builder
+         */
+        public Builder interruptible(boolean interruptible) {
+            this.interruptible = interruptible;
+            return this;
+        }
+
+        public TimeoutConfig build() {
+            return new TimeoutConfig(timeout, interruptible);
+        }
+    }
+}
@@ -15,6 +15,7 @@
  */
 package io.esastack.servicekeeper.core.configsource;
 
+import io.esastack.servicekeeper.core.config.BackoffConfig;
 import io.esastack.servicekeeper.core.utils.DurationUtils;
 
 import java.time.Duration;
@@ -34,6 +35,8 @@ public class DynamicConfig {
     private Integer ringBufferSizeInHalfOpenState;
     private Integer ringBufferSizeInClosedState;
     private Duration waitDurationInOpenState;
+    private Float latencyPercentile;
+    private Long latencyThresholdMs;
 
     private Long maxSpendTimeMs;
     private Class<? extends Throwable>[] ignoreExceptions;
@@ -44,7 +47,31 @@ public class DynamicConfig {
     private Long delay;
     private Long maxDelay;
     private Double multiplier;
+    private BackoffConfig.Jitter jitter;
+    private Double retryBudgetRatio;
+    private Integer minRetriesPerSecond;
+    private Long attemptTimeout;
+    private Long retryDeadline;
 
+    private Integer isolationThreads;
+    private Integer isolationQueueSize;
+
+    private Long hedgeDelay;
+    private Double hedgePercentile;
+    private Integer maxConcurrentHedges;
+
+    private Long timeout;
+    private Boolean timeoutInterruptible;
+
+    private Long cacheTtl;
+    private Long cacheMaxSize;
+    private Long cacheMaxStale;
+    private Boolean cacheStaleWhileRevalidate;
+
+    private Boolean singleFlight;
+
+    private Long codelTargetDelay;
+    private Long codelInterval;
 
     public Integer getMaxConcurrentLimit() {
         return maxConcurrentLimit;
@@ -142,6 +169,46 @@ public class DynamicConfig {
         this.multiplier = multiplier;
     }
 
+    public BackoffConfig.Jitter getJitter() {
+        return jitter;
+    }
+
+    public void setJitter(BackoffConfig.Jitter jitter) {
+        this.jitter = jitter;
+    }
+
+    public Double getRetryBudgetRatio() {
+        return retryBudgetRatio;
+    }
+
+    public void setRetryBudgetRatio(Double retryBudgetRatio) {
+        this.retryBudgetRatio = retryBudgetRatio;
+    }
+
+    public Integer getMinRetriesPerSecond() {
+        return minRetriesPerSecond;
+    }
+
+    public void setMinRetriesPerSecond(Integer minRetriesPerSecond) {
+        this.minRetriesPerSecond = minRetriesPerSecond;
+    }
+
+    public Long getAttemptTimeout() {
+        return attemptTimeout;
+    }
+
+    public void setAttemptTimeout(Long attemptTimeout) {
+        this.attemptTimeout = attemptTimeout;
+    }
+
+    public Long getRetryDeadline() {
+        return retryDeadline;
+    }
+
+    public void setRetryDeadline(Long retryDeadline) {
+        this.retryDeadline = retryDeadline;
+    }
+
     public Class<? extends Throwable>[] getIgnoreExceptions() {
         return ignoreExceptions;
     }
@@ -182,6 +249,134 @@ public class DynamicConfig {
         this.waitDurationInOpenState = waitDurationInOpenState;
     }
 
+    public Float getLatencyPercentile() {
+        return latencyPercentile;
+    }
+
+    public void setLatencyPercentile(Float latencyPercentile) {
+        this.latencyPercentile = latencyPercentile;
+    }
+
+    public Long getLatencyThresholdMs() {
+        return latencyThresholdMs;
+    }
+
+    public void setLatencyThresholdMs(Long latencyThresholdMs) {
+        this.latencyThresholdMs = latencyThresholdMs;
+    }
+
+    public Integer getIsolationThreads() {
+        return isolationThreads;
+    }
+
+    public void setIsolationThreads(Integer isolationThreads) {
+        this.isolationThreads = isolationThreads;
+    }
+
+    public Integer getIsolationQueueSize() {
+        return isolationQueueSize;
+    }
+
+    public void setIsolationQueueSize(Integer isolationQueueSize) {
+        this.isolationQueueSize = isolationQueueSize;
+    }
+
+    public Long getHedgeDelay() {
+        return hedgeDelay;
+    }
+
+    public void setHedgeDelay(Long hedgeDelay) {
+        this.hedgeDelay = hedgeDelay;
+    }
+
+    public Double getHedgePercentile() {
+        return hedgePercentile;
+    }
+
+    public void setHedgePercentile(Double hedgePercentile) {
+        this.hedgePercentile = hedgePercentile;
+    }
+
+    public Integer getMaxConcurrentHedges() {
+        return maxConcurrentHedges;
+    }
+
+    public void setMaxConcurrentHedges(Integer maxConcurrentHedges) {
+        this.maxConcurrentHedges = maxConcurrentHedges;
+    }
+
+    public Long getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Long timeout) {
+        this.timeout = timeout;
+    }
+
+    public Boolean getTimeoutInterruptible() {
+        return timeoutInterruptible;
+    }
+
+    public void setTimeoutInterruptible(Boolean timeoutInterruptible) {
+        this.timeoutInterruptible = timeoutInterruptible;
+    }
+
+    public Long getCacheTtl() {
+        return cacheTtl;
+    }
+
+    public void setCacheTtl(Long cacheTtl) {
+        this.cacheTtl = cacheTtl;
+    }
+
+    public Long getCacheMaxSize() {
+        return cacheMaxSize;
+    }
+
+    public void setCacheMaxSize(Long cacheMaxSize) {
+        this.cacheMaxSize = cacheMaxSize;
+    }
+
+    public Long getCacheMaxStale() {
+        return cacheMaxStale;
+    }
+
+    public void setCacheMaxStale(Long cacheMaxStale) {
+        this.cacheMaxStale = cacheMaxStale;
+    }
+
+    public Boolean getCacheStaleWhileRevalidate() {
+        return cacheStaleWhileRevalidate;
+    }
+
+    public void setCacheStaleWhileRevalidate(Boolean cacheStaleWhileRevalidate) {
+        this.cacheStaleWhileRevalidate = cacheStaleWhileRevalidate;
+    }
+
+    public Boolean getSingleFlight() {
+        return singleFlight;
+    }
+
+    public void setSingleFlight(Boolean singleFlight) {
+        this.singleFlight = singleFlight;
+    }
+
+    public Long getCodelTargetDelay() {
+        return codelTargetDelay;
+    }
+
+    public void setCodelTargetDelay(Long codelTargetDelay) {
+        this.codelTargetDelay = codelTargetDelay;
+    }
+
+    public Long getCodelInterval() {
+        return codelInterval;
+    }
+
+    public void setCodelInterval(Long codelInterval) {
+        this.codelInterval = codelInterval;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -200,6 +395,8 @@ public class DynamicConfig {
                 Objects.equals(ringBufferSizeInHalfOpenState, that.ringBufferSizeInHalfOpenState) &&
                 Objects.equals(ringBufferSizeInClosedState, that.ringBufferSizeInClosedState) &&
                 Objects.equals(waitDurationInOpenState, that.waitDurationInOpenState) &&
+                Objects.equals(latencyPercentile, that.latencyPercentile) &&
+                Objects.equals(latencyThresholdMs, that.latencyThresholdMs) &&
                 Objects.equals(maxSpendTimeMs, that.maxSpendTimeMs) &&
                 Arrays.equals(ignoreExceptions, that.ignoreExceptions) &&
                 Objects.equals(maxAttempts, that.maxAttempts) &&
@@ -207,15 +404,38 @@ public class DynamicConfig {
                 Arrays.equals(excludeExceptions, that.excludeExceptions) &&
                 Objects.equals(delay, that.delay) &&
                 Objects.equals(maxDelay, that.maxDelay) &&
-                Objects.equals(multiplier, that.multiplier);
+                Objects.equals(multiplier, that.multiplier) &&
+                jitter == that.jitter &&
+                Objects.equals(retryBudgetRatio, that.retryBudgetRatio) &&
+                Objects.equals(minRetriesPerSecond, that.minRetriesPerSecond) &&
+                Objects.equals(attemptTimeout, that.attemptTimeout) &&
+                Objects.equals(retryDeadline, that.retryDeadline) &&
+                Objects.equals(isolationThreads, that.isolationThreads) &&
+                Objects.equals(isolationQueueSize, that.isolationQueueSize) &&
+                Objects.equals(hedgeDelay, that.hedgeDelay) &&
+                Objects.equals(hedgePercentile, that.hedgePercentile) &&
+                Objects.equals(maxConcurrentHedges, that.maxConcurrentHedges) &&
+                Objects.equals(timeout, that.timeout) &&
+                Objects.equals(timeoutInterruptible, that.timeoutInterruptible) &&
+                Objects.equals(cacheTtl, that.cacheTtl) &&
+                Objects.equals(cacheMaxSize, that.cacheMaxSize) &&
+                Objects.equals(cacheMaxStale, that.cacheMaxStale) &&
+                Objects.equals(cacheStaleWhileRevalidate, that.cacheStaleWhileRevalidate) &&
+                Objects.equals(singleFlight, that.singleFlight) &&
+                Objects.equals(codelTargetDelay, that.codelTargetDelay) &&
+                Objects.equals(codelInterval, that.codelInterval);
     }
 
     @Override
     public int hashCode() {
         int result = Objects.hash(maxConcurrentLimit, limitForPeriod, limitRefreshPeriod, forcedOpen,
                 forcedDisabled, failureRateThreshold, ringBufferSizeInHalfOpenState,
-                ringBufferSizeInClosedState, waitDurationInOpenState, maxSpendTimeMs,
-                maxAttempts, delay, maxDelay, multiplier);
+                ringBufferSizeInClosedState, waitDurationInOpenState, latencyPercentile, latencyThresholdMs,
+                maxSpendTimeMs, maxAttempts, delay, maxDelay, multiplier, jitter, retryBudgetRatio,
+                minRetriesPerSecond, attemptTimeout, retryDeadline, isolationThreads, isolationQueueSize,
+                hedgeDelay, hedgePercentile, maxConcurrentHedges,
+                timeout, timeoutInterruptible, cacheTtl, cacheMaxSize, cacheMaxStale, cacheStaleWhileRevalidate,
+                singleFlight, codelTargetDelay, codelInterval);
         result = 31 * result + Arrays.hashCode(ignoreExceptions);
         result = 31 * result + Arrays.hashCode(includeExceptions);
         result = 31 * result + Arrays.hashCode(excludeExceptions);
@@ -230,6 +450,19 @@ public class DynamicConfig {
         isFirstOne = appendRate(sb, isFirstOne);
         isFirstOne = appendCircuitBreaker(sb, isFirstOne);
         isFirstOne = appendRetry(sb, isFirstOne);
+        isFirstOne = appendIsolation(sb, isFirstOne);
+        isFirstOne = appendHedge(sb, isFirstOne);
+        isFirstOne = appendTimeout(sb, isFirstOne);
+        isFirstOne = appendCache(sb, isFirstOne);
+        if (singleFlight != null) {
+            if (isFirstOne) {
+                sb.append("singleFlight=").append(singleFlight);
+                isFirstOne = false;
+            } else {
+                sb.append(", singleFlight=").append(singleFlight);
+            }
+        }
+        isFirstOne = appendCoDel(sb, isFirstOne);
         sb.append('}');
 
         return isFirstOne ? "null" : sb.toString();
@@ -292,6 +525,23 @@ public class DynamicConfig {
             }
         }
 
+        if (latencyPercentile != null) {
+            if (isFirst) {
+                sb.append("latencyPercentile=").append(latencyPercentile);
+                isFirst = false;
+            } else {
+                sb.append(", latencyPercentile=").append(latencyPercentile);
+            }
+        }
+        if (latencyThresholdMs != null) {
+            if (isFirst) {
+                sb.append("latencyThresholdMs=").append(latencyThresholdMs);
+                isFirst = false;
+            } else {
+                sb.append(", latencyThresholdMs=").append(latencyThresholdMs);
+            }
+        }
+
         if (forcedOpen != null) {
             if (isFirst) {
                 sb.append("forcedOpen=").append(forcedOpen);
@@ -386,6 +636,175 @@ public class DynamicConfig {
                 sb.append(", multiplier=").append(multiplier);
             }
         }
+        if (jitter != null) {
+            if (isFirst) {
+                sb.append("jitter=").append(jitter);
+                isFirst = false;
+            } else {
+                sb.append(", jitter=").append(jitter);
+            }
+        }
+        if (retryBudgetRatio != null) {
+            if (isFirst) {
+                sb.append("retryBudgetRatio=").append(retryBudgetRatio);
+                isFirst = false;
+            } else {
+                sb.append(", retryBudgetRatio=").append(retryBudgetRatio);
+            }
+        }
+        if (minRetriesPerSecond != null) {
+            if (isFirst) {
+                sb.append("minRetriesPerSecond=").append(minRetriesPerSecond);
+                isFirst = false;
+            } else {
+                sb.append(", minRetriesPerSecond=").append(minRetriesPerSecond);
+            }
+        }
+        if (attemptTimeout != null) {
+            if (isFirst) {
+                sb.append("attemptTimeout=").append(attemptTimeout);
+                isFirst = false;
+            } else {
+                sb.append(", attemptTimeout=").append(attemptTimeout);
+            }
+        }
+        if (retryDeadline != null) {
+            if (isFirst) {
+                sb.append("retryDeadline=").append(retryDeadline);
+                isFirst = false;
+            } else {
+                sb.append(", retryDeadline=").append(retryDeadline);
+            }
+        }
+
+        return isFirst;
+    }
+
+    private boolean appendIsolation(final StringBuilder sb, boolean isFirst) {
+        if (isolationThreads != null) {
+            if (isFirst) {
+                sb.append("isolationThreads=").append(isolationThreads);
+                isFirst = false;
+            } else {
+                sb.append(", isolationThreads=").append(isolationThreads);
+            }
+        }
+        if (isolationQueueSize != null) {
+            if (isFirst) {
+                sb.append("isolationQueueSize=").append(isolationQueueSize);
+                isFirst = false;
+            } else {
+                sb.append(", isolationQueueSize=").append(isolationQueueSize);
+            }
+        }
+
+        return isFirst;
+    }
+
+    private boolean appendHedge(final StringBuilder sb, boolean isFirst) {
+        if (hedgeDelay != null) {
+            if (isFirst) {
+                sb.append("hedgeDelay=").append(hedgeDelay);
+                isFirst = false;
+            } else {
+                sb.append(", hedgeDelay=").append(hedgeDelay);
+            }
+        }
+        if (hedgePercentile != null) {
+            if (isFirst) {
+                sb.append("hedgePercentile=").append(hedgePercentile);
+                isFirst = false;
+            } else {
+                sb.append(", hedgePercentile=").append(hedgePercentile);
+            }
+        }
+        if (maxConcurrentHedges != null) {
+            if (isFirst) {
+                sb.append("maxConcurrentHedges=").append(maxConcurrentHedges);
+                isFirst = false;
+            } else {
+                sb.append(", maxConcurrentHedges=").append(maxConcurrentHedges);
+            }
+        }
+
+        return isFirst;
+    }
+
+    private boolean appendTimeout(final StringBuilder sb, boolean isFirst) {
+        if (timeout != null) {
+            if (isFirst) {
+                sb.append("timeout=").append(timeout);
+                isFirst = false;
+            } else {
+                sb.append(", timeout=").append(timeout);
+            }
+        }
+        if (timeoutInterruptible != null) {
+            if (isFirst) {
+                sb.append("timeoutInterruptible=").append(timeoutInterruptible);
+                isFirst = false;
+            } else {
+                sb.append(", timeoutInterruptible=").append(timeoutInterruptible);
+            }
+        }
+
+        return isFirst;
+    }
+
+    private boolean appendCache(final StringBuilder sb, boolean isFirst) {
+        if (cacheTtl != null) {
+            if (isFirst) {
+                sb.append("cacheTtl=").append(cacheTtl);
+                isFirst = false;
+            } else {
+                sb.append(", cacheTtl=").append(cacheTtl);
+            }
+        }
+        if (cacheMaxSize != null) {
+            if (isFirst) {
+                sb.append("cacheMaxSize=").append(cacheMaxSize);
+                isFirst = false;
+            } else {
+                sb.append(", cacheMaxSize=").append(cacheMaxSize);
+            }
+        }
+        if (cacheMaxStale != null) {
+            if (isFirst) {
+                sb.append("cacheMaxStale=").append(cacheMaxStale);
+                isFirst = false;
+            } else {
+                sb.append(", cacheMaxStale=").append(cacheMaxStale);
+            }
+        }
+        if (cacheStaleWhileRevalidate != null) {
+            if (isFirst) {
+                sb.append("cacheStaleWhileRevalidate=").append(cacheStaleWhileRevalidate);
+                isFirst = false;
+            } else {
+                sb.append(", cacheStaleWhileRevalidate=").append(cacheStaleWhileRevalidate);
+            }
+        }
+
+        return isFirst;
+    }
+
+    private boolean appendCoDel(final StringBuilder sb, boolean isFirst) {
+        if (codelTargetDelay != null) {
+            if (isFirst) {
+                sb.append("codelTargetDelay=").append(codelTargetDelay);
+                isFirst = false;
+            } else {
+                sb.append(", codelTargetDelay=").append(codelTargetDelay);
+            }
+        }
+        if (codelInterval != null) {
+            if (isFirst) {
+                sb.append("codelInterval=").append(codelInterval);
+                isFirst = false;
+            } else {
+                sb.append(", codelInterval=").append(codelInterval);
+            }
+        }
 
         return isFirst;
     }
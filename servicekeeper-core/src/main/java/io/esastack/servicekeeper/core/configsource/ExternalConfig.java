@@ -15,17 +15,24 @@
  */
 package io.esastack.servicekeeper.core.configsource;
 
+import io.esastack.servicekeeper.core.config.CircuitBreakerConfig;
+import io.esastack.servicekeeper.core.config.IsolationConfig;
 import io.esastack.servicekeeper.core.moats.circuitbreaker.predicate.PredicateStrategy;
 
 public class ExternalConfig extends DynamicConfig {
 
     private Class<? extends PredicateStrategy> predicateStrategy;
+    private CircuitBreakerConfig.WindowType windowType;
+    private IsolationConfig.ExecutorType isolationExecutorType;
 
     private String fallbackMethodName;
     private Class<?> fallbackClass;
     private String fallbackValue;
     private Class<? extends Exception> fallbackExceptionClass;
     private Boolean alsoApplyFallbackToBizException;
+    private Boolean fallbackToLastKnownGood;
+    private Long lastKnownGoodMaxSize;
+    private Long lastKnownGoodMaxWeight;
 
     public Class<? extends PredicateStrategy> getPredicateStrategy() {
         return predicateStrategy;
@@ -35,6 +42,22 @@ public class ExternalConfig extends DynamicConfig {
         this.predicateStrategy = predicateStrategy;
     }
 
+    public CircuitBreakerConfig.WindowType getWindowType() {
+        return windowType;
+    }
+
+    public void setWindowType(CircuitBreakerConfig.WindowType windowType) {
+        this.windowType = windowType;
+    }
+
+    public IsolationConfig.ExecutorType getIsolationExecutorType() {
+        return isolationExecutorType;
+    }
+
+    public void setIsolationExecutorType(IsolationConfig.ExecutorType isolationExecutorType) {
+        this.isolationExecutorType = isolationExecutorType;
+    }
+
     public String getFallbackMethodName() {
         return fallbackMethodName;
     }
@@ -75,6 +98,30 @@ public class ExternalConfig extends DynamicConfig {
         this.alsoApplyFallbackToBizException = alsoApplyFallbackToBizException;
     }
 
+    public Boolean getFallbackToLastKnownGood() {
+        return fallbackToLastKnownGood;
+    }
+
+    public void setFallbackToLastKnownGood(Boolean fallbackToLastKnownGood) {
+        this.fallbackToLastKnownGood = fallbackToLastKnownGood;
+    }
+
+    public Long getLastKnownGoodMaxSize() {
+        return lastKnownGoodMaxSize;
+    }
+
+    public void setLastKnownGoodMaxSize(Long lastKnownGoodMaxSize) {
+        this.lastKnownGoodMaxSize = lastKnownGoodMaxSize;
+    }
+
+    public Long getLastKnownGoodMaxWeight() {
+        return lastKnownGoodMaxWeight;
+    }
+
+    public void setLastKnownGoodMaxWeight(Long lastKnownGoodMaxWeight) {
+        this.lastKnownGoodMaxWeight = lastKnownGoodMaxWeight;
+    }
+
     protected boolean isAllEmpty() {
         return getMaxConcurrentLimit() == null &&
                 getLimitForPeriod() == null &&
@@ -85,6 +132,8 @@ public class ExternalConfig extends DynamicConfig {
                 getRingBufferSizeInHalfOpenState() == null &&
                 getRingBufferSizeInClosedState() == null &&
                 getWaitDurationInOpenState() == null &&
+                getLatencyPercentile() == null &&
+                getLatencyThresholdMs() == null &&
                 getMaxSpendTimeMs() == null &&
                 getIgnoreExceptions() == null &&
                 getMaxAttempts() == null &&
@@ -93,12 +142,36 @@ public class ExternalConfig extends DynamicConfig {
                 getDelay() == null &&
                 getMaxDelay() == null &&
                 getMultiplier() == null &&
+                getJitter() == null &&
+                getRetryBudgetRatio() == null &&
+                getMinRetriesPerSecond() == null &&
+                getAttemptTimeout() == null &&
+                getRetryDeadline() == null &&
+                getIsolationThreads() == null &&
+                getIsolationQueueSize() == null &&
+                getIsolationExecutorType() == null &&
+                getHedgeDelay() == null &&
+                getHedgePercentile() == null &&
+                getMaxConcurrentHedges() == null &&
+                getTimeout() == null &&
+                getTimeoutInterruptible() == null &&
+                getCacheTtl() == null &&
+                getCacheMaxSize() == null &&
+                getCacheMaxStale() == null &&
+                getCacheStaleWhileRevalidate() == null &&
+                getSingleFlight() == null &&
+                getCodelTargetDelay() == null &&
+                getCodelInterval() == null &&
                 getPredicateStrategy() == null &&
+                getWindowType() == null &&
                 getFallbackMethodName() == null &&
                 getFallbackClass() == null &&
                 getFallbackValue() == null &&
                 getFallbackExceptionClass() == null &&
-                getAlsoApplyFallbackToBizException() == null;
+                getAlsoApplyFallbackToBizException() == null &&
+                getFallbackToLastKnownGood() == null &&
+                getLastKnownGoodMaxSize() == null &&
+                getLastKnownGoodMaxWeight() == null;
     }
 
     @Override
@@ -109,6 +182,22 @@ public class ExternalConfig extends DynamicConfig {
             sb.append("predicateStrategy=").append(predicateStrategy);
             isFirstOne = false;
         }
+        if (windowType != null) {
+            if (isFirstOne) {
+                sb.append("windowType=").append(windowType);
+                isFirstOne = false;
+            } else {
+                sb.append(", windowType=").append(windowType);
+            }
+        }
+        if (isolationExecutorType != null) {
+            if (isFirstOne) {
+                sb.append("isolationExecutorType=").append(isolationExecutorType);
+                isFirstOne = false;
+            } else {
+                sb.append(", isolationExecutorType=").append(isolationExecutorType);
+            }
+        }
 
         if (fallbackMethodName != null) {
             if (isFirstOne) {
@@ -150,6 +239,30 @@ public class ExternalConfig extends DynamicConfig {
                 sb.append(", alsoApplyFallbackToBizException=").append(alsoApplyFallbackToBizException);
             }
         }
+        if (fallbackToLastKnownGood != null) {
+            if (isFirstOne) {
+                sb.append("fallbackToLastKnownGood=").append(fallbackToLastKnownGood);
+                isFirstOne = false;
+            } else {
+                sb.append(", fallbackToLastKnownGood=").append(fallbackToLastKnownGood);
+            }
+        }
+        if (lastKnownGoodMaxSize != null) {
+            if (isFirstOne) {
+                sb.append("lastKnownGoodMaxSize=").append(lastKnownGoodMaxSize);
+                isFirstOne = false;
+            } else {
+                sb.append(", lastKnownGoodMaxSize=").append(lastKnownGoodMaxSize);
+            }
+        }
+        if (lastKnownGoodMaxWeight != null) {
+            if (isFirstOne) {
+                sb.append("lastKnownGoodMaxWeight=").append(lastKnownGoodMaxWeight);
+                isFirstOne = false;
+            } else {
+                sb.append(", lastKnownGoodMaxWeight=").append(lastKnownGoodMaxWeight);
+            }
+        }
 
         if (!isFirstOne) {
             sb.append(", ");
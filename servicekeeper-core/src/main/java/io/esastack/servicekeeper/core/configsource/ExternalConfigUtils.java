@@ -35,7 +35,9 @@ public class ExternalConfigUtils {
 
     public static boolean hasBootstrapDynamic(final ExternalConfig config) {
         return hasBootstrapConcurrent(config) || hasBootstrapRate(config) ||
-                hasBootstrapCircuitBreaker(config) || hasBootstrapRetry(config);
+                hasBootstrapCircuitBreaker(config) || hasBootstrapRetry(config) || hasBootstrapIsolation(config) ||
+                hasBootstrapTimeout(config) || hasBootstrapCache(config) || hasBootstrapSingleFlight(config) ||
+                hasBootstrapCoDel(config) || hasBootstrapHedge(config);
     }
 
     public static boolean hasBootstrapRate(final ExternalConfig config) {
@@ -54,6 +56,30 @@ public class ExternalConfigUtils {
                 config.getExcludeExceptions() != null);
     }
 
+    public static boolean hasBootstrapIsolation(final ExternalConfig config) {
+        return config != null && config.getIsolationThreads() != null;
+    }
+
+    public static boolean hasBootstrapHedge(final ExternalConfig config) {
+        return config != null && config.getHedgeDelay() != null;
+    }
+
+    public static boolean hasBootstrapTimeout(final ExternalConfig config) {
+        return config != null && config.getTimeout() != null;
+    }
+
+    public static boolean hasBootstrapCache(final ExternalConfig config) {
+        return config != null && config.getCacheTtl() != null;
+    }
+
+    public static boolean hasBootstrapSingleFlight(final ExternalConfig config) {
+        return config != null && Boolean.TRUE.equals(config.getSingleFlight());
+    }
+
+    public static boolean hasBootstrapCoDel(final ExternalConfig config) {
+        return config != null && config.getCodelTargetDelay() != null;
+    }
+
     public static boolean hasConcurrent(final ExternalConfig config) {
         return config != null && config.getMaxConcurrentLimit() != null;
     }
@@ -70,7 +96,41 @@ public class ExternalConfigUtils {
                         config.getRingBufferSizeInClosedState() != null ||
                         config.getRingBufferSizeInHalfOpenState() != null ||
                         config.getFailureRateThreshold() != null ||
-                        config.getWaitDurationInOpenState() != null);
+                        config.getWaitDurationInOpenState() != null ||
+                        config.getLatencyPercentile() != null ||
+                        config.getLatencyThresholdMs() != null);
+    }
+
+    public static boolean hasIsolation(final ExternalConfig config) {
+        return config != null && (config.getIsolationThreads() != null ||
+                config.getIsolationQueueSize() != null ||
+                config.getIsolationExecutorType() != null);
+    }
+
+    public static boolean hasHedge(final ExternalConfig config) {
+        return config != null && (config.getHedgeDelay() != null ||
+                config.getHedgePercentile() != null ||
+                config.getMaxConcurrentHedges() != null);
+    }
+
+    public static boolean hasTimeout(final ExternalConfig config) {
+        return config != null && (config.getTimeout() != null ||
+                config.getTimeoutInterruptible() != null);
+    }
+
+    public static boolean hasCache(final ExternalConfig config) {
+        return config != null && (config.getCacheTtl() != null ||
+                config.getCacheMaxSize() != null ||
+                config.getCacheMaxStale() != null ||
+                config.getCacheStaleWhileRevalidate() != null);
+    }
+
+    public static boolean hasSingleFlight(final ExternalConfig config) {
+        return config != null && config.getSingleFlight() != null;
+    }
+
+    public static boolean hasCoDel(final ExternalConfig config) {
+        return config != null && (config.getCodelTargetDelay() != null || config.getCodelInterval() != null);
     }
 
     public static boolean hasFallback(final ExternalConfig config) {
@@ -78,7 +138,10 @@ public class ExternalConfigUtils {
                 config.getFallbackMethodName() != null ||
                 config.getFallbackValue() != null ||
                 config.getFallbackExceptionClass() != null ||
-                config.getAlsoApplyFallbackToBizException() != null);
+                config.getAlsoApplyFallbackToBizException() != null ||
+                config.getFallbackToLastKnownGood() != null ||
+                config.getLastKnownGoodMaxSize() != null ||
+                config.getLastKnownGoodMaxWeight() != null);
     }
 
 
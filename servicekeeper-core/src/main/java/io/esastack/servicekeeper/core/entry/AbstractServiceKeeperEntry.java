@@ -36,6 +36,7 @@ import io.esastack.servicekeeper.core.moats.FallbackMoatCluster;
 import io.esastack.servicekeeper.core.moats.Moat;
 import io.esastack.servicekeeper.core.moats.MoatCluster;
 import io.esastack.servicekeeper.core.moats.RetryableMoatCluster;
+import io.esastack.servicekeeper.core.retry.HedgingExecutor;
 import io.esastack.servicekeeper.core.retry.RetryableExecutor;
 import io.esastack.servicekeeper.core.utils.GenericTypeUtils;
 import io.esastack.servicekeeper.core.utils.LogUtils;
@@ -278,11 +279,13 @@ abstract class AbstractServiceKeeperEntry implements ServiceKeeperEntry {
         final List<Moat<?>> moats = new ArrayList<>(3);
         FallbackHandler<?> fallbackHandler = null;
         RetryableExecutor executor = null;
+        HedgingExecutor hedging = null;
         if (moatClusterOfMethod != null) {
             moats.addAll(moatClusterOfMethod.getAll());
             fallbackHandler = moatClusterOfMethod.fallbackHandler();
             if (RetryableMoatCluster.isInstance(moatClusterOfMethod)) {
                 executor = ((RetryableMoatCluster) moatClusterOfMethod).retryExecutor();
+                hedging = ((RetryableMoatCluster) moatClusterOfMethod).hedgingExecutor();
             }
         }
 
@@ -294,13 +297,16 @@ abstract class AbstractServiceKeeperEntry implements ServiceKeeperEntry {
 
         if (fallbackHandler == null &&
                 executor == null &&
+                hedging == null &&
                 moats.isEmpty()) {
             return null;
         }
 
         // Async invocation
         if (isAsync) {
-            return moats.isEmpty() ? null : new AsyncExecutionChainImpl(moats, fallbackHandler);
+            final RetryableExecutor asyncExecutor = globalConfig.retryEnable() ? executor : null;
+            return moats.isEmpty() && asyncExecutor == null && hedging == null
+                    ? null : new AsyncExecutionChainImpl(moats, fallbackHandler, asyncExecutor, hedging);
         }
 
         // Sync invocation
@@ -35,13 +35,22 @@ public class CompositeServiceKeeperConfig {
     private final ServiceKeeperConfig methodConfig;
     private final ArgsServiceKeeperConfig argConfig;
     private final GroupResourceId group;
+    private final boolean sharedGroup;
 
     public CompositeServiceKeeperConfig(ServiceKeeperConfig methodConfig,
                                         ArgsServiceKeeperConfig argConfig,
                                         GroupResourceId group) {
+        this(methodConfig, argConfig, group, false);
+    }
+
+    public CompositeServiceKeeperConfig(ServiceKeeperConfig methodConfig,
+                                        ArgsServiceKeeperConfig argConfig,
+                                        GroupResourceId group,
+                                        boolean sharedGroup) {
         this.methodConfig = methodConfig;
         this.argConfig = argConfig;
         this.group = group;
+        this.sharedGroup = sharedGroup;
     }
 
     public static CompositeServiceKeeperConfigBuilder builder() {
@@ -60,9 +69,19 @@ public class CompositeServiceKeeperConfig {
         return group;
     }
 
+    /**
+     * Whether the moats of current method are shared with the other items of the same group.
+     *
+     * @return true or false
+     */
+    public boolean isSharedGroup() {
+        return group != null && sharedGroup;
+    }
+
     public static final class CompositeServiceKeeperConfigBuilder {
         private ServiceKeeperConfig methodConfig;
         private GroupResourceId group;
+        private boolean sharedGroup;
         private Map<Integer, CompositeArgConfig> argConfigMap = new LinkedHashMap<>(4);
 
         private CompositeServiceKeeperConfigBuilder() {
@@ -78,6 +97,11 @@ public class CompositeServiceKeeperConfig {
             return this;
         }
 
+        public CompositeServiceKeeperConfigBuilder sharedGroup(boolean sharedGroup) {
+            this.sharedGroup = sharedGroup;
+            return this;
+        }
+
         public CompositeServiceKeeperConfigBuilder argConcurrentLimit(int index, Map<Object, Integer> thresholdMap) {
             return this.argConcurrentLimit(index, ParameterUtils.defaultName(index), thresholdMap);
         }
@@ -330,6 +354,9 @@ public class CompositeServiceKeeperConfig {
                     .ignoreExceptions(template.getIgnoreExceptions())
                     .predicateStrategy(template.getPredicateStrategy())
                     .maxSpendTimeMs(template.getMaxSpendTimeMs())
+                    .latencyPercentile(template.getLatencyPercentile())
+                    .latencyThresholdMs(template.getLatencyThresholdMs())
+                    .windowType(template.getWindowType())
                     .waitDurationInOpenState(template.getWaitDurationInOpenState()).build();
         }
 
@@ -347,7 +374,8 @@ public class CompositeServiceKeeperConfig {
         public CompositeServiceKeeperConfig build() {
             final List<CompositeArgConfig> argConfigs = new ArrayList<>(this.argConfigMap.size());
             this.argConfigMap.forEach((key, value) -> argConfigs.add(value));
-            return new CompositeServiceKeeperConfig(methodConfig, new ArgsServiceKeeperConfig(argConfigs), group);
+            return new CompositeServiceKeeperConfig(methodConfig, new ArgsServiceKeeperConfig(argConfigs), group,
+                    sharedGroup);
         }
     }
 
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.exception;
+
+/**
+ * This exception is used to end the async request whose permits have been held longer than the max lease duration,
+ * see {@link io.esastack.servicekeeper.core.asynchandle.PermitLeaseTracker}.
+ */
+public class LeaseExpiredException extends ServiceKeeperException {
+
+    private static final long serialVersionUID = -2803364311578296740L;
+
+    public LeaseExpiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.exception;
+
+import io.esastack.servicekeeper.core.executionchain.Context;
+
+/**
+ * This exception will be thrown when the request has been queued in the server for longer than the limit of
+ * {@link io.esastack.servicekeeper.core.moats.codel.CoDelMoat}, so that the stale request is shed before doing any
+ * work.
+ */
+public class QueueingDelayExceededException extends ServiceKeeperNotPermittedException {
+
+    private static final long serialVersionUID = -4419283870923148713L;
+
+    public QueueingDelayExceededException(String msg, Context ctx) {
+        super(msg, ctx);
+    }
+
+    @Override
+    public CauseType getCauseType() {
+        return CauseType.QUEUEING_DELAY_EXCEEDED;
+    }
+}
@@ -58,6 +58,16 @@ public class ServiceKeeperNotPermittedException extends ServiceKeeperException {
          */
         CIRCUIT_BREAKER_NOT_PERMIT,
 
+        /**
+         * DeadlineExceeded
+         */
+        DEADLINE_EXCEEDED,
+
+        /**
+         * QueueingDelayExceeded
+         */
+        QUEUEING_DELAY_EXCEEDED,
+
         /**
          * UnKnown
          */
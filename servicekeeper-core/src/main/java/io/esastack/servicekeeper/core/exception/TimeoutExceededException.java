@@ -0,0 +1,33 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.exception;
+
+/**
+ * This exception will be thrown when the call spends more time than the timeout of
+ * {@link io.esastack.servicekeeper.core.moats.timeout.TimeoutMoat}, and it's treated as a failure of the call.
+ */
+public class TimeoutExceededException extends ServiceKeeperException {
+
+    private static final long serialVersionUID = 6357437215632108562L;
+
+    public TimeoutExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public TimeoutExceededException(String message) {
+        super(message);
+    }
+}
@@ -17,26 +17,49 @@ package io.esastack.servicekeeper.core.executionchain;
 
 import esa.commons.Checks;
 import io.esastack.servicekeeper.core.asynchandle.AsyncResultHandler;
+import io.esastack.servicekeeper.core.asynchandle.PermitLeaseTracker;
 import io.esastack.servicekeeper.core.asynchandle.RequestHandle;
 import io.esastack.servicekeeper.core.asynchandle.RequestHandleImpl;
+import io.esastack.servicekeeper.core.asynchandle.StageAdaptableHandler;
+import io.esastack.servicekeeper.core.common.DeadlineHolder;
 import io.esastack.servicekeeper.core.common.OriginalInvocation;
+import io.esastack.servicekeeper.core.common.ServiceKeeperTimer;
+import io.esastack.servicekeeper.core.exception.CircuitBreakerNotPermittedException;
+import io.esastack.servicekeeper.core.exception.DeadlineExceededException;
 import io.esastack.servicekeeper.core.exception.ServiceKeeperNotPermittedException;
 import io.esastack.servicekeeper.core.fallback.FallbackHandler;
 import io.esastack.servicekeeper.core.moats.Moat;
+import io.esastack.servicekeeper.core.moats.cache.CacheMoat;
+import io.esastack.servicekeeper.core.moats.concurrentlimit.ConcurrentLimitMoat;
+import io.esastack.servicekeeper.core.moats.isolation.IsolationMoat;
+import io.esastack.servicekeeper.core.moats.singleflight.SingleFlightMoat;
+import io.esastack.servicekeeper.core.moats.timeout.TimeoutMoat;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Supplier;
 
 public abstract class AbstractExecutionChain implements SyncExecutionChain, AsyncExecutionChain {
 
     private final List<Moat<?>> moats;
     private final FallbackHandler<?> fallbackHandler;
+    private final IsolationMoat isolation;
+    private final TimeoutMoat timeout;
+    private final CacheMoat cache;
+    private final SingleFlightMoat singleFlight;
+    private final ConcurrentLimitMoat concurrentLimit;
 
     AbstractExecutionChain(List<Moat<?>> moats, FallbackHandler<?> fallbackHandler) {
         Checks.checkNotNull(moats, "moats");
         this.moats = Collections.unmodifiableList(moats);
         this.fallbackHandler = fallbackHandler;
+        this.isolation = findMoat(moats, IsolationMoat.class);
+        this.timeout = findMoat(moats, TimeoutMoat.class);
+        this.cache = findMoat(moats, CacheMoat.class);
+        this.singleFlight = findMoat(moats, SingleFlightMoat.class);
+        this.concurrentLimit = findMoat(moats, ConcurrentLimitMoat.class);
     }
 
     @Override
@@ -49,46 +72,49 @@ public abstract class AbstractExecutionChain implements SyncExecutionChain, Asyn
                     ctx, fallbackHandler, e);
         }
 
-        return RequestHandleImpl.createAllowHandle(this,
+        final RequestHandleImpl handle = RequestHandleImpl.createAllowHandle(this,
                 ctx, fallbackHandler);
+        if (ctx instanceof AsyncContext) {
+            // The async handle may never be ended by the caller, track it to reclaim the leaked permits.
+            PermitLeaseTracker.singleton().track(handle);
+        }
+        return handle;
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <R> R asyncExecute(AsyncContext ctx, Supplier<OriginalInvocation> invocation,
                               Executable<R> executable, AsyncResultHandler handler) throws Throwable {
-        RequestHandle handle = tryToExecute(ctx);
-        if (!handle.isAllowed()) {
-            return (R) handle.fallback(handle.getNotAllowedCause());
+        ctx.setResultHandler(handler);
+        final StageAdaptableHandler adaptable = handler instanceof StageAdaptableHandler
+                ? (StageAdaptableHandler) handler : null;
+        // The cached result can only be returned when it could be adapted to the return type.
+        final boolean cacheable = cache != null && adaptable != null;
+        final Object cached = cacheable ? cache.get(ctx) : null;
+        if (cached != null) {
+            return (R) adaptable.fromCompletionStage(CompletableFuture.completedFuture(cached));
         }
 
-        try {
-            R result = doExecute(ctx, invocation, executable, true);
-            // Note: If the original call execute successfully, clean the internal later.
-            return (R) handler.handle(result, handle);
-        } catch (Throwable throwable) {
-            // Note: If any throwable caught, clean the internal timely.
-            return (R) handle.fallback(throwable);
+        // The shared result can only be returned when it could be adapted to the return type, too.
+        if (singleFlight == null || adaptable == null) {
+            return asyncExecute0(ctx, invocation, executable, handler, cacheable);
         }
+        final SingleFlightMoat.Flight<R> flight = singleFlight.executeAsync(ctx,
+                () -> asyncExecute0(ctx, invocation, executable, handler, cacheable), adaptable::toCompletionStage);
+        return flight.isLeader() ? flight.result() : (R) adaptable.fromCompletionStage(flight.shared());
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <R> R execute(Context ctx, Supplier<OriginalInvocation> invocation,
                          Executable<R> executable) throws Throwable {
-        RequestHandle handle = tryToExecute(ctx);
-        if (!handle.isAllowed()) {
-            return (R) handle.fallback(handle.getNotAllowedCause());
+        final Object cached = cache == null ? null : cache.get(ctx);
+        if (cached != null) {
+            return (R) cached;
         }
 
-        try {
-            R result = doExecute(ctx, invocation, executable, false);
-            ctx.setResult(result);
-            handle.endWithResult(result);
-            return result;
-        } catch (Throwable throwable) {
-            return (R) handle.fallback(throwable);
-        }
+        return singleFlight == null ? execute0(ctx, invocation, executable)
+                : singleFlight.execute(ctx, () -> execute0(ctx, invocation, executable));
     }
 
     @Override
@@ -142,6 +168,17 @@ public abstract class AbstractExecutionChain implements SyncExecutionChain, Asyn
         }
     }
 
+    @Override
+    public void endWithCancellation(Context ctx) {
+        if (getStartTime() > 0L) {
+            ctx.setCancelled(true);
+            endAndExitMoats(ctx);
+        } else {
+            //if getStartTime() <= 0L,it declare the context is not start,so it can't be end
+            throw REQUEST_NOT_START_EXCEPTION;
+        }
+    }
+
     /**
      * Run runnable internal, for subClass to override for retry or else.
      *
@@ -153,7 +190,14 @@ public abstract class AbstractExecutionChain implements SyncExecutionChain, Asyn
      */
     protected void doExecute(Context context, Supplier<OriginalInvocation> originalInvocation,
                              Runnable runnable, boolean isAsync) throws Throwable {
-        runnable.run();
+        if (isAsync || (isolation == null && timeout == null)) {
+            runnable.run();
+        } else {
+            bounded(context, () -> {
+                runnable.run();
+                return null;
+            }).execute();
+        }
     }
 
     /**
@@ -169,7 +213,65 @@ public abstract class AbstractExecutionChain implements SyncExecutionChain, Asyn
      */
     protected <R> R doExecute(Context context, Supplier<OriginalInvocation> originalInvocation,
                               Executable<R> executable, boolean isAsync) throws Throwable {
-        return executable.execute();
+        return isAsync ? executable.execute() : bounded(context, executable).execute();
+    }
+
+    /**
+     * Run async executable internal, for subClass to override for retry or else.
+     *
+     * @param context            internal
+     * @param originalInvocation the supplier to get original invocation
+     * @param executable         executable
+     * @param handler            the handler to handle the async result
+     * @param <R>                R
+     * @return result
+     * @throws Throwable any throwable
+     */
+    protected <R> R doAsyncExecute(Context context, Supplier<OriginalInvocation> originalInvocation,
+                                   Executable<R> executable, AsyncResultHandler<?> handler) throws Throwable {
+        return doExecute(context, originalInvocation, executable, true);
+    }
+
+    /**
+     * Wraps the sync executable to execute it on the isolated executor if the chain contains an
+     * {@link IsolationMoat}, and to bound its spend time if the chain contains a {@link TimeoutMoat}. The deadline
+     * of the context is propagated to the nested calls of the executable, even if it's executed on another thread.
+     *
+     * @param context    context
+     * @param executable executable
+     * @param <R>        R
+     * @return executable
+     */
+    protected <R> Executable<R> bounded(Context context, Executable<R> executable) {
+        if (timeout != null) {
+            return () -> timeout.execute(context, executable, isolation);
+        }
+        final Executable<R> propagated = DeadlineHolder.wrap(context.getDeadline(), executable);
+        return isolation == null ? propagated : () -> isolation.execute(context, propagated);
+    }
+
+    /**
+     * Wraps the async executable to bound its spend time if the chain contains a {@link TimeoutMoat}. The deadline
+     * of the context is propagated to the nested calls which are made while executing the executable.
+     *
+     * @param context    context
+     * @param executable executable
+     * @param <R>        R
+     * @return executable
+     */
+    protected <R> Executable<CompletionStage<R>> boundedAsync(Context context,
+                                                              Executable<CompletionStage<R>> executable) {
+        return timeout == null ? DeadlineHolder.wrap(context.getDeadline(), executable)
+                : () -> timeout.executeAsync(context, executable);
+    }
+
+    /**
+     * Whether the chain contains a {@link TimeoutMoat}.
+     *
+     * @return true or false
+     */
+    protected boolean hasTimeout() {
+        return timeout != null;
     }
 
     /**
@@ -217,6 +319,80 @@ public abstract class AbstractExecutionChain implements SyncExecutionChain, Asyn
      */
     protected abstract void setCurrentIndex(int index);
 
+    @SuppressWarnings("unchecked")
+    private <R> R asyncExecute0(AsyncContext ctx, Supplier<OriginalInvocation> invocation,
+                                Executable<R> executable, AsyncResultHandler handler,
+                                boolean cacheable) throws Throwable {
+        // Wait for the concurrent permission without blocking the caller thread, which is only possible when the
+        // deferred result could be adapted to the return type.
+        final CompletionStage<Boolean> waiting = concurrentLimit == null || !(handler instanceof StageAdaptableHandler)
+                ? null : concurrentLimit.acquirePermissionAsync(ctx);
+        if (waiting == null) {
+            return asyncExecute1(ctx, invocation, executable, handler, cacheable);
+        }
+        final CompletableFuture<Boolean> waiting0 = waiting.toCompletableFuture();
+        if (waiting0.isDone()) {
+            return asyncExecute1(ctx, invocation, executable, handler, cacheable);
+        }
+        // The permission is handed off on the thread which releases it, or timed out on the timer thread, continue
+        // the call on the worker.
+        final StageAdaptableHandler adaptable = (StageAdaptableHandler) handler;
+        return (R) adaptable.fromCompletionStage(waiting0.thenComposeAsync(acquired -> {
+            try {
+                return adaptable.toCompletionStage(asyncExecute1(ctx, invocation, executable, handler, cacheable));
+            } catch (Throwable th) {
+                final CompletableFuture<Object> failed = new CompletableFuture<>();
+                failed.completeExceptionally(th);
+                return failed;
+            }
+        }, ServiceKeeperTimer.worker()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> R asyncExecute1(AsyncContext ctx, Supplier<OriginalInvocation> invocation,
+                                Executable<R> executable, AsyncResultHandler handler,
+                                boolean cacheable) throws Throwable {
+        RequestHandle handle = tryToExecute(ctx);
+        if (concurrentLimit != null) {
+            // The call may be rejected before taking the permission which has been acquired asynchronously.
+            concurrentLimit.releaseUntaken(ctx);
+        }
+        if (!handle.isAllowed()) {
+            final Object stale = cacheable ? staleWhenBroken(ctx, handle) : null;
+            return stale == null ? (R) handle.fallback(handle.getNotAllowedCause())
+                    : (R) ((StageAdaptableHandler) handler).fromCompletionStage(
+                    CompletableFuture.completedFuture(stale));
+        }
+
+        try {
+            R result = doAsyncExecute(ctx, invocation, executable, handler);
+            // Note: If the original call execute successfully, clean the internal later.
+            return (R) handler.handle(result, handle);
+        } catch (Throwable throwable) {
+            // Note: If any throwable caught, clean the internal timely.
+            return (R) handle.fallback(throwable);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> R execute0(Context ctx, Supplier<OriginalInvocation> invocation,
+                           Executable<R> executable) throws Throwable {
+        RequestHandle handle = tryToExecute(ctx);
+        if (!handle.isAllowed()) {
+            final Object stale = cache == null ? null : staleWhenBroken(ctx, handle);
+            return stale == null ? (R) handle.fallback(handle.getNotAllowedCause()) : (R) stale;
+        }
+
+        try {
+            R result = doExecute(ctx, invocation, executable, false);
+            ctx.setResult(result);
+            handle.endWithResult(result);
+            return result;
+        } catch (Throwable throwable) {
+            return (R) handle.fallback(throwable);
+        }
+    }
+
     private void endAndExitMoats(Context ctx) {
         //Note: If the ctx has already end, current end will be ignored.
         if (getEndTime() <= 0L) {
@@ -234,7 +410,37 @@ public abstract class AbstractExecutionChain implements SyncExecutionChain, Asyn
         setCurrentIndex(-1);
     }
 
+    /**
+     * Obtains the stale result from the {@link CacheMoat} when the call is rejected by the circuitBreaker, and ends
+     * the handle to release the permits which have been acquired if found.
+     */
+    private Object staleWhenBroken(Context ctx, RequestHandle handle) {
+        if (!(handle.getNotAllowedCause() instanceof CircuitBreakerNotPermittedException)) {
+            return null;
+        }
+        final Object stale = cache.getStale(ctx);
+        if (stale != null) {
+            handle.endWithError(handle.getNotAllowedCause());
+        }
+        return stale;
+    }
+
+    private static <M> M findMoat(List<Moat<?>> moats, Class<M> type) {
+        for (Moat<?> moat : moats) {
+            if (type.isInstance(moat)) {
+                return type.cast(moat);
+            }
+        }
+        return null;
+    }
+
     private void doTryToExecute(Context ctx) throws ServiceKeeperNotPermittedException {
+        // Reject the doomed call before entering any moat.
+        if (ctx.getDeadline() != null && ctx.getDeadline().isExpired()) {
+            setCurrentIndex(-1);
+            throw new DeadlineExceededException("The deadline of " + ctx.getResourceId() +
+                    " has been exceeded before calling", ctx);
+        }
         int index = 0;
         for (int i = 0, size = moats.size(); i < size; i++, index++) {
             try {
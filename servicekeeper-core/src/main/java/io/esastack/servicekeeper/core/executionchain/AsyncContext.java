@@ -15,6 +15,9 @@
  */
 package io.esastack.servicekeeper.core.executionchain;
 
+import io.esastack.servicekeeper.core.asynchandle.AsyncResultHandler;
+import io.esastack.servicekeeper.core.moats.concurrentlimit.ConcurrentLimitMoat;
+
 public class AsyncContext extends Context {
 
     private static final long serialVersionUID = -2340507448636679254L;
@@ -31,6 +34,18 @@ public class AsyncContext extends Context {
 
     private volatile long spendTimeMs;
 
+    /**
+     * The handler of the return value of original invocation, which is absent when the call isn't executed by
+     * {@link AsyncExecutionChain#asyncExecute}.
+     */
+    private transient volatile AsyncResultHandler<?> resultHandler;
+
+    /**
+     * Whether the permission of the concurrent limiter has been acquired before entering the moats, see
+     * {@link ConcurrentLimitMoat#acquirePermissionAsync(AsyncContext)}.
+     */
+    private transient volatile boolean concurrentPermitted;
+
     public AsyncContext(String resourceId) {
         super(resourceId);
     }
@@ -69,5 +84,21 @@ public class AsyncContext extends Context {
         this.spendTimeMs = spendTimeMs;
     }
 
+    public AsyncResultHandler<?> getResultHandler() {
+        return resultHandler;
+    }
+
+    void setResultHandler(AsyncResultHandler<?> resultHandler) {
+        this.resultHandler = resultHandler;
+    }
+
+    public boolean isConcurrentPermitted() {
+        return concurrentPermitted;
+    }
+
+    public void setConcurrentPermitted(boolean concurrentPermitted) {
+        this.concurrentPermitted = concurrentPermitted;
+    }
+
 }
 
@@ -15,21 +15,63 @@
  */
 package io.esastack.servicekeeper.core.executionchain;
 
+import io.esastack.servicekeeper.core.asynchandle.AsyncResultHandler;
+import io.esastack.servicekeeper.core.asynchandle.StageAdaptableHandler;
+import io.esastack.servicekeeper.core.common.OriginalInvocation;
 import io.esastack.servicekeeper.core.fallback.FallbackHandler;
 import io.esastack.servicekeeper.core.moats.Moat;
+import io.esastack.servicekeeper.core.retry.HedgingExecutor;
+import io.esastack.servicekeeper.core.retry.RetryableExecutor;
 
 import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
 
 import static java.lang.System.nanoTime;
 
 public class AsyncExecutionChainImpl extends AbstractExecutionChain {
 
+    private final RetryableExecutor executor;
+    private final HedgingExecutor hedging;
+
     private volatile long startTimeNs;
     private volatile long endTimeNs;
     private volatile int currentIndex;
 
     public AsyncExecutionChainImpl(List<Moat<?>> moats, FallbackHandler<?> fallbackHandler) {
+        this(moats, fallbackHandler, null);
+    }
+
+    public AsyncExecutionChainImpl(List<Moat<?>> moats, FallbackHandler<?> fallbackHandler,
+                                   RetryableExecutor executor) {
+        this(moats, fallbackHandler, executor, null);
+    }
+
+    public AsyncExecutionChainImpl(List<Moat<?>> moats, FallbackHandler<?> fallbackHandler,
+                                   RetryableExecutor executor, HedgingExecutor hedging) {
         super(moats, fallbackHandler);
+        this.executor = executor;
+        this.hedging = hedging;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <R> R doAsyncExecute(Context context, Supplier<OriginalInvocation> originalInvocation,
+                                   Executable<R> executable, AsyncResultHandler<?> handler) throws Throwable {
+        if ((executor == null && hedging == null && !hasTimeout()) || !(handler instanceof StageAdaptableHandler)) {
+            return super.doAsyncExecute(context, originalInvocation, executable, handler);
+        }
+
+        final StageAdaptableHandler<R> handler0 = (StageAdaptableHandler<R>) handler;
+        // Every attempt is bounded by the timeout separately, the same as the sync ones.
+        final Executable<CompletionStage<Object>> attempt = boundedAsync(context, () ->
+                (CompletionStage<Object>) handler0.toCompletionStage(executable.execute()));
+        // Every attempt of retry is hedged separately.
+        final Executable<CompletionStage<Object>> hedged = hedging == null
+                ? attempt : () -> hedging.doExecuteAsync(attempt);
+        final CompletionStage<?> stage = executor == null ? hedged.execute() : executor.doExecuteAsync(context,
+                originalInvocation == null ? null : originalInvocation.get(), hedged);
+        return handler0.fromCompletionStage(stage);
     }
 
     @Override
@@ -15,6 +15,11 @@
  */
 package io.esastack.servicekeeper.core.executionchain;
 
+import io.esastack.servicekeeper.core.common.ArrivalTimeHolder;
+import io.esastack.servicekeeper.core.common.Deadline;
+import io.esastack.servicekeeper.core.common.DeadlineHolder;
+import io.esastack.servicekeeper.core.common.Priority;
+import io.esastack.servicekeeper.core.common.PriorityHolder;
 import io.esastack.servicekeeper.core.exception.ServiceKeeperNotPermittedException;
 import io.esastack.servicekeeper.core.exception.ServiceKeeperWrapException;
 import io.esastack.servicekeeper.core.exception.ServiceRetryException;
@@ -29,8 +34,12 @@ public abstract class Context implements Serializable {
 
     private final String resourceId;
     private final transient Object[] args;
+    private final Priority priority;
+    private final transient Deadline deadline;
+    private final long arrivalTime;
 
     private ServiceKeeperNotPermittedException notPermittedCause;
+    private volatile boolean cancelled;
 
     public Context(String resourceId) {
         this(resourceId, null);
@@ -39,6 +48,9 @@ public abstract class Context implements Serializable {
     public Context(String resourceId, Object[] args) {
         this.resourceId = resourceId;
         this.args = args;
+        this.priority = PriorityHolder.get();
+        this.deadline = DeadlineHolder.get();
+        this.arrivalTime = ArrivalTimeHolder.get();
     }
 
     public String getResourceId() {
@@ -49,10 +61,48 @@ public abstract class Context implements Serializable {
         return args;
     }
 
+    /**
+     * Get the priority of current call, which is obtained from {@link PriorityHolder} when creating the context.
+     *
+     * @return priority, null if absent
+     */
+    public Priority getPriority() {
+        return priority;
+    }
+
+    /**
+     * Get the deadline of current call, which is obtained from {@link DeadlineHolder} when creating the context.
+     *
+     * @return deadline, null if absent
+     */
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Get the arrival time of the request which current call belongs to, which is obtained from
+     * {@link ArrivalTimeHolder} when creating the context.
+     *
+     * @return the epoch millis of the arrival time, -1 if absent
+     */
+    public long getArrivalTime() {
+        return arrivalTime;
+    }
+
     public ServiceKeeperNotPermittedException getNotPermittedCause() {
         return notPermittedCause;
     }
 
+    /**
+     * Whether current call has been cancelled by the caller, the outcome of the cancelled call is unknown so that it
+     * shouldn't be recorded.
+     *
+     * @return true or false
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
     /**
      * Get bizException
      *
@@ -78,6 +128,10 @@ public abstract class Context implements Serializable {
         this.notPermittedCause = notPermittedCause;
     }
 
+    void setCancelled(boolean cancelled) {
+        this.cancelled = cancelled;
+    }
+
     /**
      * Set bizException
      *
@@ -18,6 +18,8 @@ package io.esastack.servicekeeper.core.executionchain;
 import io.esastack.servicekeeper.core.asynchandle.RequestHandle;
 import io.esastack.servicekeeper.core.moats.Moat;
 
+import java.util.concurrent.CancellationException;
+
 /**
  * The execution chain is designed to ensure that you can access the resource securely, which is made up with many
  * {@link Moat}s which are constructed to protect original resource.
@@ -62,4 +64,14 @@ public interface ExecutionChain {
      * @param throwable throwable
      */
     void endWithError(Context ctx, Throwable throwable);
+
+    /**
+     * End the invocation which is cancelled by the caller, which releases the resources without counting the
+     * invocation as a success or a failure.
+     *
+     * @param ctx ctx
+     */
+    default void endWithCancellation(Context ctx) {
+        endWithError(ctx, new CancellationException());
+    }
 }
@@ -43,10 +43,10 @@ public class RetryableExecutionChain extends SyncExecutionChainImpl {
         } else {
             executor.doExecute(context,
                     originalInvocation == null ? null : originalInvocation.get(),
-                    () -> {
+                    bounded(context, () -> {
                         runnable.run();
                         return null;
-                    });
+                    }));
         }
     }
 
@@ -57,7 +57,7 @@ public class RetryableExecutionChain extends SyncExecutionChainImpl {
             return super.doExecute(context, originalInvocation, executable, true);
         } else {
             return executor.doExecute(context, originalInvocation == null
-                    ? null : originalInvocation.get(), executable);
+                    ? null : originalInvocation.get(), bounded(context, executable));
         }
     }
 
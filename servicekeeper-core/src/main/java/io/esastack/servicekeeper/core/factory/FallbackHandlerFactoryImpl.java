@@ -25,6 +25,7 @@ import io.esastack.servicekeeper.core.fallback.FallbackHandlerConfig;
 import io.esastack.servicekeeper.core.fallback.FallbackMethod;
 import io.esastack.servicekeeper.core.fallback.FallbackToException;
 import io.esastack.servicekeeper.core.fallback.FallbackToFunction;
+import io.esastack.servicekeeper.core.fallback.FallbackToLastKnownGood;
 import io.esastack.servicekeeper.core.fallback.FallbackToValue;
 import io.esastack.servicekeeper.core.utils.FallbackMethodUtils;
 import io.esastack.servicekeeper.core.utils.LogUtils;
@@ -34,6 +35,7 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class FallbackHandlerFactoryImpl implements FallbackHandlerFactory {
@@ -61,6 +63,23 @@ public class FallbackHandlerFactoryImpl implements FallbackHandlerFactory {
     }
 
     private FallbackHandler<?> doCreate(FallbackHandlerConfig config) {
+        final FallbackConfig fallbackConfig = config.getFallbackConfig();
+        final FallbackHandler<?> handler = doCreate0(config);
+        if (!fallbackConfig.isLastKnownGood()) {
+            return handler;
+        }
+
+        // The others are used when there is no last known good result.
+        final OriginalInvocation invocation = config.getOriginalInvocation();
+        final boolean asyncResult = invocation != null && invocation.getReturnType() != null
+                && CompletionStage.class.isAssignableFrom(invocation.getReturnType());
+        logger.info("Created fallback last known good handler successfully, config: {}", fallbackConfig);
+        return new FallbackToLastKnownGood(fallbackConfig.getLastKnownGoodMaxSize(),
+                fallbackConfig.getLastKnownGoodMaxWeight(), asyncResult, handler,
+                fallbackConfig.isAlsoApplyToBizException());
+    }
+
+    private FallbackHandler<?> doCreate0(FallbackHandlerConfig config) {
         final FallbackConfig fallbackConfig = config.getFallbackConfig();
         final OriginalInvocation invocation = config.getOriginalInvocation();
 
@@ -19,20 +19,31 @@ import esa.commons.logging.Logger;
 import io.esastack.servicekeeper.core.common.LimitableKey;
 import io.esastack.servicekeeper.core.common.OriginalInvocation;
 import io.esastack.servicekeeper.core.common.ResourceId;
+import io.esastack.servicekeeper.core.config.CacheConfig;
 import io.esastack.servicekeeper.core.config.CircuitBreakerConfig;
+import io.esastack.servicekeeper.core.config.CoDelConfig;
 import io.esastack.servicekeeper.core.config.ConcurrentLimitConfig;
+import io.esastack.servicekeeper.core.config.IsolationConfig;
 import io.esastack.servicekeeper.core.config.MoatConfig;
 import io.esastack.servicekeeper.core.config.RateLimitConfig;
+import io.esastack.servicekeeper.core.config.SingleFlightConfig;
+import io.esastack.servicekeeper.core.config.TimeoutConfig;
 import io.esastack.servicekeeper.core.internal.MoatCreationLimit;
 import io.esastack.servicekeeper.core.moats.MoatEventProcessor;
 import io.esastack.servicekeeper.core.moats.MoatType;
+import io.esastack.servicekeeper.core.moats.cache.CacheMoat;
 import io.esastack.servicekeeper.core.moats.circuitbreaker.CircuitBreakerMoat;
 import io.esastack.servicekeeper.core.moats.circuitbreaker.predicate.PredicateStrategy;
+import io.esastack.servicekeeper.core.moats.codel.CoDelMoat;
 import io.esastack.servicekeeper.core.moats.concurrentlimit.ConcurrentLimitMoat;
+import io.esastack.servicekeeper.core.moats.isolation.IsolationMoat;
 import io.esastack.servicekeeper.core.moats.ratelimit.RateLimitMoat;
+import io.esastack.servicekeeper.core.moats.singleflight.SingleFlightMoat;
+import io.esastack.servicekeeper.core.moats.timeout.TimeoutMoat;
 import io.esastack.servicekeeper.core.utils.LogUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 abstract class LimitableMoatFactory<CNF, M> extends AbstractMoatFactory<CNF, M> {
@@ -207,5 +218,114 @@ abstract class LimitableMoatFactory<CNF, M> extends AbstractMoatFactory<CNF, M>
         }
     }
 
-}
+    static class LimitableIsolationMoatFactory extends LimitableMoatFactory<IsolationConfig, IsolationMoat> {
+
+        LimitableIsolationMoatFactory(LimitableMoatFactoryContext context) {
+            super(context);
+        }
+
+        @Override
+        protected IsolationMoat doCreate0(ResourceId id, OriginalInvocation config1,
+                                          IsolationConfig config2, IsolationConfig immutableConfig) {
+            final IsolationMoat moat = new IsolationMoat(buildConfig(id, config1), config2,
+                    immutableConfig, Collections.emptyList());
+            logger.info("Created isolation moat successfully, resourceId: {}," +
+                    " config: {}, immutable config: {}", id, config2, immutableConfig);
+            return moat;
+        }
+
+        @Override
+        protected MoatType getType() {
+            return MoatType.ISOLATION;
+        }
+    }
+
+    static class LimitableTimeoutMoatFactory extends LimitableMoatFactory<TimeoutConfig, TimeoutMoat> {
+
+        LimitableTimeoutMoatFactory(LimitableMoatFactoryContext context) {
+            super(context);
+        }
 
+        @Override
+        protected TimeoutMoat doCreate0(ResourceId id, OriginalInvocation config1,
+                                        TimeoutConfig config2, TimeoutConfig immutableConfig) {
+            final TimeoutMoat moat = new TimeoutMoat(buildConfig(id, config1), config2,
+                    immutableConfig, Collections.emptyList());
+            logger.info("Created timeout moat successfully, resourceId: {}," +
+                    " config: {}, immutable config: {}", id, config2, immutableConfig);
+            return moat;
+        }
+
+        @Override
+        protected MoatType getType() {
+            return MoatType.TIMEOUT;
+        }
+    }
+
+    static class LimitableCacheMoatFactory extends LimitableMoatFactory<CacheConfig, CacheMoat> {
+
+        LimitableCacheMoatFactory(LimitableMoatFactoryContext context) {
+            super(context);
+        }
+
+        @Override
+        protected CacheMoat doCreate0(ResourceId id, OriginalInvocation config1,
+                                      CacheConfig config2, CacheConfig immutableConfig) {
+            final CacheMoat moat = new CacheMoat(buildConfig(id, config1), config2,
+                    immutableConfig, Collections.emptyList());
+            logger.info("Created cache moat successfully, resourceId: {}," +
+                    " config: {}, immutable config: {}", id, config2, immutableConfig);
+            return moat;
+        }
+
+        @Override
+        protected MoatType getType() {
+            return MoatType.CACHE;
+        }
+    }
+
+    static class LimitableSingleFlightMoatFactory extends LimitableMoatFactory<SingleFlightConfig, SingleFlightMoat> {
+
+        LimitableSingleFlightMoatFactory(LimitableMoatFactoryContext context) {
+            super(context);
+        }
+
+        @Override
+        protected SingleFlightMoat doCreate0(ResourceId id, OriginalInvocation config1,
+                                             SingleFlightConfig config2, SingleFlightConfig immutableConfig) {
+            final SingleFlightMoat moat = new SingleFlightMoat(buildConfig(id, config1), config2,
+                    immutableConfig, Collections.emptyList());
+            logger.info("Created single flight moat successfully, resourceId: {}," +
+                    " config: {}, immutable config: {}", id, config2, immutableConfig);
+            return moat;
+        }
+
+        @Override
+        protected MoatType getType() {
+            return MoatType.SINGLE_FLIGHT;
+        }
+    }
+
+    static class LimitableCoDelMoatFactory extends LimitableMoatFactory<CoDelConfig, CoDelMoat> {
+
+        LimitableCoDelMoatFactory(LimitableMoatFactoryContext context) {
+            super(context);
+        }
+
+        @Override
+        protected CoDelMoat doCreate0(ResourceId id, OriginalInvocation config1,
+                                      CoDelConfig config2, CoDelConfig immutableConfig) {
+            final CoDelMoat moat = new CoDelMoat(buildConfig(id, config1), config2,
+                    immutableConfig, Collections.emptyList());
+            logger.info("Created codel moat successfully, resourceId: {}," +
+                    " config: {}, immutable config: {}", id, config2, immutableConfig);
+            return moat;
+        }
+
+        @Override
+        protected MoatType getType() {
+            return MoatType.CODEL;
+        }
+    }
+
+}
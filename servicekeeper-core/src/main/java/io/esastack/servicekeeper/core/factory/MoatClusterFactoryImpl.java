@@ -19,29 +19,42 @@ import esa.commons.Checks;
 import esa.commons.StringUtils;
 import esa.commons.logging.Logger;
 import io.esastack.servicekeeper.core.common.ArgResourceId;
+import io.esastack.servicekeeper.core.common.GroupResourceId;
+import io.esastack.servicekeeper.core.common.LimitableKey;
 import io.esastack.servicekeeper.core.common.OriginalInvocation;
 import io.esastack.servicekeeper.core.common.ResourceId;
+import io.esastack.servicekeeper.core.config.CacheConfig;
 import io.esastack.servicekeeper.core.config.CircuitBreakerConfig;
+import io.esastack.servicekeeper.core.config.CoDelConfig;
 import io.esastack.servicekeeper.core.config.ConcurrentLimitConfig;
 import io.esastack.servicekeeper.core.config.FallbackConfig;
+import io.esastack.servicekeeper.core.config.HedgeConfig;
+import io.esastack.servicekeeper.core.config.IsolationConfig;
 import io.esastack.servicekeeper.core.config.RateLimitConfig;
 import io.esastack.servicekeeper.core.config.RetryConfig;
 import io.esastack.servicekeeper.core.config.ServiceKeeperConfig;
+import io.esastack.servicekeeper.core.config.SingleFlightConfig;
+import io.esastack.servicekeeper.core.config.TimeoutConfig;
 import io.esastack.servicekeeper.core.configsource.ExternalConfig;
 import io.esastack.servicekeeper.core.fallback.FallbackHandler;
 import io.esastack.servicekeeper.core.fallback.FallbackHandlerConfig;
 import io.esastack.servicekeeper.core.internal.ImmutableConfigs;
 import io.esastack.servicekeeper.core.internal.InternalMoatCluster;
-import io.esastack.servicekeeper.core.moats.FallbackMoatCluster;
-import io.esastack.servicekeeper.core.moats.FallbackMoatClusterImpl;
+import io.esastack.servicekeeper.core.moats.LifeCycleSupport;
 import io.esastack.servicekeeper.core.moats.Moat;
 import io.esastack.servicekeeper.core.moats.MoatCluster;
 import io.esastack.servicekeeper.core.moats.MoatClusterImpl;
 import io.esastack.servicekeeper.core.moats.MoatType;
 import io.esastack.servicekeeper.core.moats.RetryableMoatCluster;
+import io.esastack.servicekeeper.core.moats.cache.CacheMoat;
 import io.esastack.servicekeeper.core.moats.circuitbreaker.CircuitBreakerMoat;
+import io.esastack.servicekeeper.core.moats.codel.CoDelMoat;
 import io.esastack.servicekeeper.core.moats.concurrentlimit.ConcurrentLimitMoat;
+import io.esastack.servicekeeper.core.moats.isolation.IsolationMoat;
 import io.esastack.servicekeeper.core.moats.ratelimit.RateLimitMoat;
+import io.esastack.servicekeeper.core.moats.singleflight.SingleFlightMoat;
+import io.esastack.servicekeeper.core.moats.timeout.TimeoutMoat;
+import io.esastack.servicekeeper.core.retry.HedgingExecutor;
 import io.esastack.servicekeeper.core.retry.RetryOperations;
 import io.esastack.servicekeeper.core.retry.RetryableExecutor;
 import io.esastack.servicekeeper.core.utils.ConfigUtils;
@@ -51,16 +64,29 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
+import static io.esastack.servicekeeper.core.configsource.ExternalConfigUtils.hasBootstrapCache;
 import static io.esastack.servicekeeper.core.configsource.ExternalConfigUtils.hasBootstrapCircuitBreaker;
+import static io.esastack.servicekeeper.core.configsource.ExternalConfigUtils.hasBootstrapCoDel;
 import static io.esastack.servicekeeper.core.configsource.ExternalConfigUtils.hasBootstrapConcurrent;
+import static io.esastack.servicekeeper.core.configsource.ExternalConfigUtils.hasBootstrapHedge;
+import static io.esastack.servicekeeper.core.configsource.ExternalConfigUtils.hasBootstrapIsolation;
 import static io.esastack.servicekeeper.core.configsource.ExternalConfigUtils.hasBootstrapRate;
 import static io.esastack.servicekeeper.core.configsource.ExternalConfigUtils.hasBootstrapRetry;
+import static io.esastack.servicekeeper.core.configsource.ExternalConfigUtils.hasBootstrapSingleFlight;
+import static io.esastack.servicekeeper.core.configsource.ExternalConfigUtils.hasBootstrapTimeout;
+import static io.esastack.servicekeeper.core.moats.MoatType.CACHE;
 import static io.esastack.servicekeeper.core.moats.MoatType.CIRCUIT_BREAKER;
+import static io.esastack.servicekeeper.core.moats.MoatType.CODEL;
 import static io.esastack.servicekeeper.core.moats.MoatType.CONCURRENT_LIMIT;
+import static io.esastack.servicekeeper.core.moats.MoatType.ISOLATION;
 import static io.esastack.servicekeeper.core.moats.MoatType.RATE_LIMIT;
 import static io.esastack.servicekeeper.core.moats.MoatType.RETRY;
+import static io.esastack.servicekeeper.core.moats.MoatType.SINGLE_FLIGHT;
+import static io.esastack.servicekeeper.core.moats.MoatType.TIMEOUT;
 
 public class MoatClusterFactoryImpl implements MoatClusterFactory {
 
@@ -71,6 +97,11 @@ public class MoatClusterFactoryImpl implements MoatClusterFactory {
     private final InternalMoatCluster cluster;
     private final ImmutableConfigs configs;
 
+    /**
+     * The moats shared by the items of a group, see {@link #getOrCreateMoat(MoatType, ResourceId, Function)}.
+     */
+    private final Map<LimitableKey, Moat<?>> sharedMoats = new ConcurrentHashMap<>(16);
+
     public MoatClusterFactoryImpl(LimitableMoatFactoryContext ctx, InternalMoatCluster cluster,
                                   ImmutableConfigs configs) {
         Checks.checkNotNull(ctx, "ctx");
@@ -114,7 +145,7 @@ public class MoatClusterFactoryImpl implements MoatClusterFactory {
         final OriginalInvocation invocation0 = originalInvocation == null
                 ? null : originalInvocation.get();
         return cluster.computeIfAbsent(resourceId, (id) -> doCreate(resourceId,
-                invocation0, immutableConfig0, externalConfig0, isAsync));
+                invocation0, immutableConfig0, externalConfig0));
     }
 
     @Override
@@ -133,12 +164,12 @@ public class MoatClusterFactoryImpl implements MoatClusterFactory {
                     (CircuitBreakerConfig) configs.getConfig(
                             resourceId, ImmutableConfigs.ConfigType.CIRCUITBREAKER_CONFIG);
 
-            final CircuitBreakerMoat moat =
+            final CircuitBreakerMoat moat = getOrCreateMoat(CIRCUIT_BREAKER, resourceId, (id) ->
                     ((LimitableMoatFactory.LimitableCircuitBreakerMoatFactory) factories.get(CIRCUIT_BREAKER))
-                            .doCreate(resourceId,
+                            .doCreate(id,
                                     null,
                                     ConfigUtils.combine(immutableConfig, config),
-                                    immutableConfig);
+                                    immutableConfig));
 
             if (moat != null) {
                 // Add circuitBreaker moat.
@@ -150,11 +181,11 @@ public class MoatClusterFactoryImpl implements MoatClusterFactory {
             // New a RateLimit moat.
             final RateLimitConfig limitConfig =
                     (RateLimitConfig) configs.getConfig(resourceId, ImmutableConfigs.ConfigType.RATELIMIT_CONFIG);
-            final RateLimitMoat moat =
+            final RateLimitMoat moat = getOrCreateMoat(RATE_LIMIT, resourceId, (id) ->
                     ((LimitableMoatFactory.LimitableRateMoatFactory) factories.get(RATE_LIMIT))
-                            .doCreate0(resourceId,
+                            .doCreate0(id,
                                     null,
-                                    ConfigUtils.combine(limitConfig, config), limitConfig);
+                                    ConfigUtils.combine(limitConfig, config), limitConfig));
 
             if (moat != null) {
                 // Add rateLimiter moat.
@@ -166,10 +197,10 @@ public class MoatClusterFactoryImpl implements MoatClusterFactory {
             final ConcurrentLimitConfig limitConfig =
                     (ConcurrentLimitConfig) configs.getConfig(
                             resourceId, ImmutableConfigs.ConfigType.CONCURRENTLIMIT_CONFIG);
-            final ConcurrentLimitMoat moat =
+            final ConcurrentLimitMoat moat = getOrCreateMoat(CONCURRENT_LIMIT, resourceId, (id) ->
                     ((LimitableMoatFactory.LimitableConcurrentMoatFactory) factories.get(CONCURRENT_LIMIT))
-                            .doCreate0(resourceId, null,
-                                    ConfigUtils.combine(limitConfig, config), limitConfig);
+                            .doCreate0(id, null,
+                                    ConfigUtils.combine(limitConfig, config), limitConfig));
 
             if (moat != null) {
                 // Add concurrent limiter moat.
@@ -177,6 +208,85 @@ public class MoatClusterFactoryImpl implements MoatClusterFactory {
             }
         }
 
+        if (!(resourceId instanceof ArgResourceId) && hasBootstrapIsolation(config)
+                && !cluster0.contains(ISOLATION)) {
+            // New an isolation moat.
+            final IsolationConfig isolationConfig = (IsolationConfig) configs.getConfig(
+                    resourceId, ImmutableConfigs.ConfigType.ISOLATION_CONFIG);
+            final IsolationMoat moat = getOrCreateMoat(ISOLATION, resourceId, (id) ->
+                    ((LimitableMoatFactory.LimitableIsolationMoatFactory) factories.get(ISOLATION))
+                            .doCreate0(id, null,
+                                    ConfigUtils.combine(isolationConfig, config), isolationConfig));
+
+            if (moat != null) {
+                // Add isolation moat.
+                cluster0.add(moat);
+            }
+        }
+
+        if (!(resourceId instanceof ArgResourceId) && hasBootstrapTimeout(config)
+                && !cluster0.contains(TIMEOUT)) {
+            // New a timeout moat.
+            final TimeoutConfig timeoutConfig = (TimeoutConfig) configs.getConfig(
+                    resourceId, ImmutableConfigs.ConfigType.TIMEOUT_CONFIG);
+            final TimeoutMoat moat = getOrCreateMoat(TIMEOUT, resourceId, (id) ->
+                    ((LimitableMoatFactory.LimitableTimeoutMoatFactory) factories.get(TIMEOUT))
+                            .doCreate0(id, null,
+                                    ConfigUtils.combine(timeoutConfig, config), timeoutConfig));
+
+            if (moat != null) {
+                // Add timeout moat.
+                cluster0.add(moat);
+            }
+        }
+
+        if (!(resourceId instanceof ArgResourceId) && hasBootstrapCache(config)
+                && !cluster0.contains(CACHE)) {
+            // New a cache moat.
+            final CacheConfig cacheConfig = (CacheConfig) configs.getConfig(
+                    resourceId, ImmutableConfigs.ConfigType.CACHE_CONFIG);
+            final CacheMoat moat = getOrCreateMoat(CACHE, resourceId, (id) ->
+                    ((LimitableMoatFactory.LimitableCacheMoatFactory) factories.get(CACHE))
+                            .doCreate0(id, null,
+                                    ConfigUtils.combine(cacheConfig, config), cacheConfig));
+
+            if (moat != null) {
+                // Add cache moat.
+                cluster0.add(moat);
+            }
+        }
+
+        if (!(resourceId instanceof ArgResourceId) && hasBootstrapSingleFlight(config)
+                && !cluster0.contains(SINGLE_FLIGHT)) {
+            // New a single flight moat.
+            final SingleFlightConfig singleFlightConfig = (SingleFlightConfig) configs.getConfig(
+                    resourceId, ImmutableConfigs.ConfigType.SINGLE_FLIGHT_CONFIG);
+            final SingleFlightMoat moat = getOrCreateMoat(SINGLE_FLIGHT, resourceId, (id) ->
+                    ((LimitableMoatFactory.LimitableSingleFlightMoatFactory) factories.get(SINGLE_FLIGHT))
+                            .doCreate0(id, null,
+                                    ConfigUtils.combine(singleFlightConfig, config), singleFlightConfig));
+
+            if (moat != null) {
+                // Add single flight moat.
+                cluster0.add(moat);
+            }
+        }
+
+        if (!(resourceId instanceof ArgResourceId) && hasBootstrapCoDel(config) && !cluster0.contains(CODEL)) {
+            // New a codel moat.
+            final CoDelConfig coDelConfig = (CoDelConfig) configs.getConfig(
+                    resourceId, ImmutableConfigs.ConfigType.CODEL_CONFIG);
+            final CoDelMoat moat = getOrCreateMoat(CODEL, resourceId, (id) ->
+                    ((LimitableMoatFactory.LimitableCoDelMoatFactory) factories.get(CODEL))
+                            .doCreate0(id, null,
+                                    ConfigUtils.combine(coDelConfig, config), coDelConfig));
+
+            if (moat != null) {
+                // Add codel moat.
+                cluster0.add(moat);
+            }
+        }
+
         if (RetryableMoatCluster.isInstance(cluster0)) {
             if (hasBootstrapRetry(config) && ((RetryableMoatCluster) cluster0).retryExecutor() == null) {
                 final RetryConfig retryConfig = (RetryConfig) configs.getConfig(
@@ -191,6 +301,12 @@ public class MoatClusterFactoryImpl implements MoatClusterFactory {
                     ((RetryableMoatCluster) cluster0).updateRetryExecutor(null);
                 }
             }
+            if (hasBootstrapHedge(config) && ((RetryableMoatCluster) cluster0).hedgingExecutor() == null) {
+                final HedgeConfig hedgeConfig = (HedgeConfig) configs.getConfig(
+                        resourceId, ImmutableConfigs.ConfigType.HEDGE_CONFIG);
+                ((RetryableMoatCluster) cluster0).updateHedgingExecutor(createHedgingExecutor(resourceId,
+                        ConfigUtils.combine(hedgeConfig, config), hedgeConfig));
+            }
         }
     }
 
@@ -204,8 +320,7 @@ public class MoatClusterFactoryImpl implements MoatClusterFactory {
      * @return chain
      */
     private MoatCluster doCreate(final ResourceId resourceId, OriginalInvocation invocation,
-                                 ServiceKeeperConfig immutableConfig, ExternalConfig externalConfig,
-                                 boolean isAsync) {
+                                 ServiceKeeperConfig immutableConfig, ExternalConfig externalConfig) {
         final ServiceKeeperConfig combinedConfig = ConfigUtils.combine(immutableConfig, externalConfig);
 
         if (combinedConfig == null) {
@@ -219,13 +334,8 @@ public class MoatClusterFactoryImpl implements MoatClusterFactory {
         if (resourceId instanceof ArgResourceId) {
             return createArgMoatCluster(moats);
         } else {
-            if (isAsync) {
-                //Async don,t support Retry
-                return createFallbackMoatCluster(invocation, moats, combinedConfig);
-            } else {
-                return createRetryableMoatCluster(resourceId, invocation, moats,
-                        combinedConfig, immutableConfig);
-            }
+            return createRetryableMoatCluster(resourceId, invocation, moats,
+                    combinedConfig, immutableConfig);
         }
 
     }
@@ -236,7 +346,10 @@ public class MoatClusterFactoryImpl implements MoatClusterFactory {
                                       ExternalConfig externalConfig) {
 
         if (combinedConfig.getRateLimitConfig() != null || combinedConfig.getConcurrentLimitConfig() != null
-                || combinedConfig.getCircuitBreakerConfig() != null || combinedConfig.getRetryConfig() != null) {
+                || combinedConfig.getCircuitBreakerConfig() != null || combinedConfig.getRetryConfig() != null
+                || combinedConfig.getIsolationConfig() != null || combinedConfig.getHedgeConfig() != null
+                || combinedConfig.getTimeoutConfig() != null || combinedConfig.getCacheConfig() != null
+                || combinedConfig.getSingleFlightConfig() != null || combinedConfig.getCoDelConfig() != null) {
             logger.info("Begin to create a new moat cluster, resourceId: {}, config:{};" +
                             " immutable config: {}; external config: {}",
                     resourceId.getName(), combinedConfig,
@@ -248,41 +361,152 @@ public class MoatClusterFactoryImpl implements MoatClusterFactory {
 
         List<Moat<?>> moats = new ArrayList<>(3);
         if (combinedConfig.getRateLimitConfig() != null) {
-            final RateLimitMoat rateLimitMoat =
+            final RateLimitMoat rateLimitMoat = getOrCreateMoat(RATE_LIMIT, resourceId, (id) ->
                     ((LimitableMoatFactory.LimitableRateMoatFactory) factories.get(RATE_LIMIT))
-                            .doCreate(resourceId, invocation,
+                            .doCreate(id, invocation,
                                     combinedConfig.getRateLimitConfig(),
-                                    immutableConfig == null ? null : immutableConfig.getRateLimitConfig());
+                                    immutableConfig == null ? null : immutableConfig.getRateLimitConfig()));
             if (rateLimitMoat != null) {
                 moats.add(rateLimitMoat);
             }
         }
 
         if (combinedConfig.getConcurrentLimitConfig() != null) {
-            final ConcurrentLimitMoat concurrentLimitMoat =
+            final ConcurrentLimitMoat concurrentLimitMoat = getOrCreateMoat(CONCURRENT_LIMIT, resourceId, (id) ->
                     ((LimitableMoatFactory.LimitableConcurrentMoatFactory) factories.get(CONCURRENT_LIMIT))
-                            .doCreate(resourceId,
+                            .doCreate(id,
                                     invocation, combinedConfig.getConcurrentLimitConfig(),
-                                    immutableConfig == null ? null : immutableConfig.getConcurrentLimitConfig());
+                                    immutableConfig == null ? null : immutableConfig.getConcurrentLimitConfig()));
             if (concurrentLimitMoat != null) {
                 moats.add(concurrentLimitMoat);
             }
         }
 
         if (combinedConfig.getCircuitBreakerConfig() != null) {
-            final CircuitBreakerMoat circuitBreakerMoat =
+            final CircuitBreakerMoat circuitBreakerMoat = getOrCreateMoat(CIRCUIT_BREAKER, resourceId, (id) ->
                     ((LimitableMoatFactory.LimitableCircuitBreakerMoatFactory) factories.get(CIRCUIT_BREAKER))
-                            .doCreate(resourceId,
+                            .doCreate(id,
                                     invocation, combinedConfig.getCircuitBreakerConfig(),
-                                    immutableConfig == null ? null : immutableConfig.getCircuitBreakerConfig());
+                                    immutableConfig == null ? null : immutableConfig.getCircuitBreakerConfig()));
             if (circuitBreakerMoat != null) {
                 moats.add(circuitBreakerMoat);
             }
         }
 
+        // The calls are isolated by the method, so the isolation of args makes no sense.
+        if (combinedConfig.getIsolationConfig() != null && !(resourceId instanceof ArgResourceId)) {
+            final IsolationMoat isolationMoat = getOrCreateMoat(ISOLATION, resourceId, (id) ->
+                    ((LimitableMoatFactory.LimitableIsolationMoatFactory) factories.get(ISOLATION))
+                            .doCreate(id,
+                                    invocation, combinedConfig.getIsolationConfig(),
+                                    immutableConfig == null ? null : immutableConfig.getIsolationConfig()));
+            if (isolationMoat != null) {
+                moats.add(isolationMoat);
+            }
+        }
+
+        // The same as isolation, the timeout of args makes no sense.
+        if (combinedConfig.getTimeoutConfig() != null && !(resourceId instanceof ArgResourceId)) {
+            final TimeoutMoat timeoutMoat = getOrCreateMoat(TIMEOUT, resourceId, (id) ->
+                    ((LimitableMoatFactory.LimitableTimeoutMoatFactory) factories.get(TIMEOUT))
+                            .doCreate(id,
+                                    invocation, combinedConfig.getTimeoutConfig(),
+                                    immutableConfig == null ? null : immutableConfig.getTimeoutConfig()));
+            if (timeoutMoat != null) {
+                moats.add(timeoutMoat);
+            }
+        }
+
+        // The results are cached by all the args, so the cache of args makes no sense either.
+        if (combinedConfig.getCacheConfig() != null && !(resourceId instanceof ArgResourceId)) {
+            final CacheMoat cacheMoat = getOrCreateMoat(CACHE, resourceId, (id) ->
+                    ((LimitableMoatFactory.LimitableCacheMoatFactory) factories.get(CACHE))
+                            .doCreate(id,
+                                    invocation, combinedConfig.getCacheConfig(),
+                                    immutableConfig == null ? null : immutableConfig.getCacheConfig()));
+            if (cacheMoat != null) {
+                moats.add(cacheMoat);
+            }
+        }
+
+        // The same as cache, the calls are coalesced by all the args.
+        if (combinedConfig.getSingleFlightConfig() != null && !(resourceId instanceof ArgResourceId)) {
+            final SingleFlightMoat singleFlightMoat = getOrCreateMoat(SINGLE_FLIGHT, resourceId, (id) ->
+                    ((LimitableMoatFactory.LimitableSingleFlightMoatFactory) factories.get(SINGLE_FLIGHT))
+                            .doCreate(id,
+                                    invocation, combinedConfig.getSingleFlightConfig(),
+                                    immutableConfig == null ? null : immutableConfig.getSingleFlightConfig()));
+            if (singleFlightMoat != null) {
+                moats.add(singleFlightMoat);
+            }
+        }
+
+        // The queueing delay is measured by request, so that the codel moat is shared by all the args.
+        if (combinedConfig.getCoDelConfig() != null && !(resourceId instanceof ArgResourceId)) {
+            final CoDelMoat coDelMoat = getOrCreateMoat(CODEL, resourceId, (id) ->
+                    ((LimitableMoatFactory.LimitableCoDelMoatFactory) factories.get(CODEL))
+                            .doCreate(id,
+                                    invocation, combinedConfig.getCoDelConfig(),
+                                    immutableConfig == null ? null : immutableConfig.getCoDelConfig()));
+            if (coDelMoat != null) {
+                moats.add(coDelMoat);
+            }
+        }
+
         return moats;
     }
 
+    /**
+     * Get or create the moat of specified type. If the resourceId is an item of a shared group, the moat will be
+     * created with the {@link GroupResourceId} and shared by all the items of the group, so that all the traffic
+     * of the group feeds the same circuitBreaker, rateLimiter and concurrentLimiter. Otherwise, a new moat is
+     * created for the resourceId directly.
+     * <p>
+     * The shared moat is created outside of the lock of {@link #sharedMoats} and published by
+     * {@link Map#putIfAbsent(Object, Object)}, so that the slow creation never blocks the other keys. When several
+     * threads create the moat concurrently, only one of them is published and the others are discarded, which is
+     * safe because that a moat doesn't start any thread or register itself until it's used.
+     *
+     * @param type       type
+     * @param resourceId resourceId
+     * @param creator    the function to create moat with given resourceId
+     * @param <M>        moat
+     * @return moat, which may be null
+     */
+    @SuppressWarnings("unchecked")
+    private <M extends Moat<?>> M getOrCreateMoat(MoatType type, ResourceId resourceId,
+                                                  Function<ResourceId, M> creator) {
+        final GroupResourceId groupId = (resourceId instanceof ArgResourceId) || !configs.isSharedGroupItem(resourceId)
+                ? null : configs.getGroupId(resourceId);
+        if (groupId == null) {
+            return creator.apply(resourceId);
+        }
+
+        final LimitableKey key = new LimitableKey(groupId, type);
+        Moat<?> current = sharedMoats.get(key);
+        M created = null;
+        for (; ; ) {
+            // The shared moat may have been destroyed by dynamic config, just create a new one.
+            if (current != null && !((current instanceof LifeCycleSupport)
+                    && ((LifeCycleSupport) current).shouldDelete())) {
+                logger.info("Shared {}'s {} moat: {} with {}", groupId.getName(), type, current, resourceId);
+                return (M) current;
+            }
+            if (created == null && (created = creator.apply(groupId)) == null) {
+                return null;
+            }
+            if (current == null) {
+                if ((current = sharedMoats.putIfAbsent(key, created)) == null) {
+                    return created;
+                }
+            } else if (sharedMoats.replace(key, current, created)) {
+                return created;
+            } else {
+                current = sharedMoats.get(key);
+            }
+        }
+    }
+
     private MoatCluster createArgMoatCluster(List<Moat<?>> moats) {
         if (moats == null || moats.isEmpty()) {
             return null;
@@ -290,14 +514,6 @@ public class MoatClusterFactoryImpl implements MoatClusterFactory {
         return new MoatClusterImpl(moats, context.listeners());
     }
 
-    private FallbackMoatCluster createFallbackMoatCluster(OriginalInvocation invocation,
-                                                          List<Moat<?>> moats, ServiceKeeperConfig combinedConfig) {
-        return new FallbackMoatClusterImpl(
-                moats,
-                context.listeners(),
-                createFallbackHandler(invocation, combinedConfig.getFallbackConfig()));
-    }
-
     private RetryableMoatCluster createRetryableMoatCluster(ResourceId resourceId, OriginalInvocation invocation,
                                                             List<Moat<?>> moats, ServiceKeeperConfig combinedConfig,
                                                             ServiceKeeperConfig immutableConfig) {
@@ -305,7 +521,19 @@ public class MoatClusterFactoryImpl implements MoatClusterFactory {
                 moats,
                 context.listeners(),
                 createFallbackHandler(invocation, combinedConfig.getFallbackConfig()),
-                createRetryableExecutor(resourceId, invocation, combinedConfig.getRetryConfig(), immutableConfig));
+                createRetryableExecutor(resourceId, invocation, combinedConfig.getRetryConfig(), immutableConfig),
+                createHedgingExecutor(resourceId, combinedConfig.getHedgeConfig(),
+                        immutableConfig == null ? null : immutableConfig.getHedgeConfig()));
+    }
+
+    private HedgingExecutor createHedgingExecutor(ResourceId resourceId, HedgeConfig hedgeConfig,
+                                                  HedgeConfig immutableConfig) {
+        if (hedgeConfig == null) {
+            return null;
+        }
+        logger.info("Created hedging executor successfully, resourceId: {}, config: {}", resourceId.getName(),
+                hedgeConfig);
+        return new HedgingExecutor(resourceId, hedgeConfig, immutableConfig);
     }
 
 
@@ -30,7 +30,7 @@ public interface MoatFactory<KEY, CNF1, CNF2, RTU> {
      * @return map
      */
     static Map<MoatType, AbstractMoatFactory<?, ?>> factories(LimitableMoatFactoryContext context) {
-        final Map<MoatType, AbstractMoatFactory<?, ?>> factories = new HashMap<>(4);
+        final Map<MoatType, AbstractMoatFactory<?, ?>> factories = new HashMap<>(8);
         factories.putIfAbsent(MoatType.CIRCUIT_BREAKER,
                 new LimitableMoatFactory.LimitableCircuitBreakerMoatFactory(context));
 
@@ -40,6 +40,21 @@ public interface MoatFactory<KEY, CNF1, CNF2, RTU> {
         factories.putIfAbsent(MoatType.RATE_LIMIT,
                 new LimitableMoatFactory.LimitableRateMoatFactory(context));
 
+        factories.putIfAbsent(MoatType.ISOLATION,
+                new LimitableMoatFactory.LimitableIsolationMoatFactory(context));
+
+        factories.putIfAbsent(MoatType.TIMEOUT,
+                new LimitableMoatFactory.LimitableTimeoutMoatFactory(context));
+
+        factories.putIfAbsent(MoatType.CACHE,
+                new LimitableMoatFactory.LimitableCacheMoatFactory(context));
+
+        factories.putIfAbsent(MoatType.SINGLE_FLIGHT,
+                new LimitableMoatFactory.LimitableSingleFlightMoatFactory(context));
+
+        factories.putIfAbsent(MoatType.CODEL,
+                new LimitableMoatFactory.LimitableCoDelMoatFactory(context));
+
         factories.putIfAbsent(MoatType.RETRY,
                 new AbstractMoatFactory.RetryOperationFactory(context));
 
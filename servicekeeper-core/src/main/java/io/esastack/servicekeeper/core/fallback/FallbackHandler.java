@@ -51,6 +51,11 @@ public interface FallbackHandler<R> {
         /**
          * Fallback to function
          */
-        FALLBACK_TO_FUNCTION
+        FALLBACK_TO_FUNCTION,
+
+        /**
+         * Fallback to the last successful result
+         */
+        FALLBACK_TO_LAST_KNOWN_GOOD
     }
 }
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.fallback;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import esa.commons.Checks;
+import esa.commons.logging.Logger;
+import io.esastack.servicekeeper.core.asynchandle.AsyncResultHandler;
+import io.esastack.servicekeeper.core.asynchandle.StageAdaptableHandler;
+import io.esastack.servicekeeper.core.exception.FallbackFailsException;
+import io.esastack.servicekeeper.core.executionchain.AsyncContext;
+import io.esastack.servicekeeper.core.executionchain.Context;
+import io.esastack.servicekeeper.core.metrics.LastKnownGoodMetrics;
+import io.esastack.servicekeeper.core.utils.LogUtils;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.esastack.servicekeeper.core.fallback.FallbackHandler.FallbackType.FALLBACK_TO_LAST_KNOWN_GOOD;
+
+/**
+ * Fallbacks to the last successful result of the same resource and args. The successful results are recorded into a
+ * bounded cache on the normal path, which is limited by the max weight if it's positive, otherwise by the max size.
+ * The weight of a result is estimated by its length, eg: the length of {@link CharSequence} and array, the size of
+ * {@link Collection} and {@link Map}, and 1 for others. If there is no result recorded, fallbacks to the other
+ * handler, or throws the original cause if the other one is absent.
+ * <p>
+ * The recorded result of an asynchronous call is adapted to the return type by
+ * {@link StageAdaptableHandler#fromCompletionStage(java.util.concurrent.CompletionStage)}, so it's never returned
+ * when the {@link AsyncResultHandler} of the call isn't a {@link StageAdaptableHandler}.
+ */
+public class FallbackToLastKnownGood implements FallbackHandler<Object> {
+
+    private static final Logger logger = LogUtils.logger();
+
+    private final long maxSize;
+    private final long maxWeight;
+    private final boolean asyncResult;
+    private final FallbackHandler<?> otherwise;
+    private final boolean alsoApplyToBizException;
+    private final Cache<List<Object>, Object> results;
+    private final LongAdder hitTimes = new LongAdder();
+    private final LongAdder missTimes = new LongAdder();
+
+    public FallbackToLastKnownGood(long maxSize, long maxWeight, boolean asyncResult,
+                                   FallbackHandler<?> otherwise, boolean alsoApplyToBizException) {
+        Checks.checkArg(maxSize > 0L, "illegal maxSize: " + maxSize + " (expected > 0)");
+        Checks.checkArg(maxWeight >= 0L, "illegal maxWeight: " + maxWeight + " (expected >= 0)");
+        this.maxSize = maxSize;
+        this.maxWeight = maxWeight;
+        this.asyncResult = asyncResult;
+        this.otherwise = otherwise;
+        this.alsoApplyToBizException = alsoApplyToBizException;
+        this.results = maxWeight > 0L
+                ? Caffeine.newBuilder().maximumWeight(maxWeight)
+                .weigher((List<Object> key, Object value) -> weigh(value)).build()
+                : Caffeine.newBuilder().maximumSize(maxSize).build();
+    }
+
+    /**
+     * Records the successful result of current call.
+     *
+     * @param ctx    ctx
+     * @param result result, which is ignored if it's null
+     */
+    public void record(Context ctx, Object result) {
+        if (result != null) {
+            results.put(keyOf(ctx), result);
+        }
+    }
+
+    @Override
+    public Object handle(Context ctx) throws Throwable {
+        final Object result = results.getIfPresent(keyOf(ctx));
+        final AsyncResultHandler<?> handler = ctx instanceof AsyncContext
+                ? ((AsyncContext) ctx).getResultHandler() : null;
+        // The result can only be returned when it could be adapted to the return type.
+        if (result != null && (handler == null || handler instanceof StageAdaptableHandler)) {
+            hitTimes.increment();
+            if (logger.isDebugEnabled()) {
+                logger.debug(ctx.getResourceId() + " fallback to last known good result");
+            }
+            if (handler != null) {
+                return ((StageAdaptableHandler<?>) handler).fromCompletionStage(
+                        CompletableFuture.completedFuture(result));
+            }
+            return asyncResult ? CompletableFuture.completedFuture(result) : result;
+        }
+
+        missTimes.increment();
+        if (otherwise != null) {
+            return otherwise.handle(ctx);
+        }
+        if (ctx.getNotPermittedCause() != null) {
+            throw ctx.getNotPermittedCause();
+        }
+        if (ctx.getBizException() != null) {
+            throw ctx.getBizException();
+        }
+        throw new FallbackFailsException("No last known good result of " + ctx.getResourceId());
+    }
+
+    /**
+     * Get the number of fallbacks which are served by the recorded results.
+     *
+     * @return hit times
+     */
+    public long hitTimes() {
+        return hitTimes.sum();
+    }
+
+    /**
+     * Get the number of fallbacks which find no recorded result.
+     *
+     * @return miss times
+     */
+    public long missTimes() {
+        return missTimes.sum();
+    }
+
+    /**
+     * Get the estimated number of recorded results.
+     *
+     * @return size
+     */
+    public long size() {
+        return results.estimatedSize();
+    }
+
+    /**
+     * Obtains current {@link LastKnownGoodMetrics}.
+     *
+     * @return metrics
+     */
+    public LastKnownGoodMetrics metrics() {
+        return new Metrics();
+    }
+
+    @Override
+    public FallbackType getType() {
+        return FALLBACK_TO_LAST_KNOWN_GOOD;
+    }
+
+    @Override
+    public boolean alsoApplyToBizException() {
+        return alsoApplyToBizException;
+    }
+
+    @Override
+    public String toString() {
+        return "FallbackToLastKnownGood{" + "maxSize=" + maxSize +
+                ", maxWeight=" + maxWeight +
+                ", otherwise=" + otherwise +
+                ", alsoApplyToBizException=" + alsoApplyToBizException +
+                '}';
+    }
+
+    /**
+     * The handler may be shared by the resources with the same config, so the resource is a part of the key.
+     */
+    private static List<Object> keyOf(Context ctx) {
+        final Object[] args = ctx.getArgs();
+        if (args == null || args.length == 0) {
+            return Collections.singletonList(ctx.getResourceId());
+        }
+        final List<Object> key = new ArrayList<>(args.length + 1);
+        key.add(ctx.getResourceId());
+        Collections.addAll(key, args);
+        return key;
+    }
+
+    private static int weigh(Object value) {
+        final long weight;
+        if (value instanceof CharSequence) {
+            weight = ((CharSequence) value).length();
+        } else if (value instanceof Collection) {
+            weight = ((Collection<?>) value).size();
+        } else if (value instanceof Map) {
+            weight = ((Map<?, ?>) value).size();
+        } else if (value.getClass().isArray()) {
+            weight = Array.getLength(value);
+        } else {
+            weight = 1L;
+        }
+        return (int) Math.min(Math.max(weight, 1L), Integer.MAX_VALUE);
+    }
+
+    private class Metrics implements LastKnownGoodMetrics {
+
+        private final long hitTimes;
+        private final long missTimes;
+        private final long size;
+
+        private Metrics() {
+            this.hitTimes = FallbackToLastKnownGood.this.hitTimes.sum();
+            this.missTimes = FallbackToLastKnownGood.this.missTimes.sum();
+            this.size = results.estimatedSize();
+        }
+
+        @Override
+        public long hitTimes() {
+            return hitTimes;
+        }
+
+        @Override
+        public long missTimes() {
+            return missTimes;
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+    }
+}
@@ -52,6 +52,14 @@ public interface ImmutableConfigs {
      */
     Set<ResourceId> getGroupItems(GroupResourceId groupId);
 
+    /**
+     * Whether the specified {@link ResourceId} shares the moats with the other items of its group.
+     *
+     * @param resourceId resourceId
+     * @return true or false
+     */
+    boolean isSharedGroupItem(ResourceId resourceId);
+
     /**
      * Get maxSizeLimit of specified args.
      *
@@ -96,6 +104,36 @@ public interface ImmutableConfigs {
         /**
          * Fall back config.
          */
-        FALLBACK_CONFIG
+        FALLBACK_CONFIG,
+
+        /**
+         * Isolation config
+         */
+        ISOLATION_CONFIG,
+
+        /**
+         * Timeout config
+         */
+        TIMEOUT_CONFIG,
+
+        /**
+         * Cache config
+         */
+        CACHE_CONFIG,
+
+        /**
+         * Single flight config
+         */
+        SINGLE_FLIGHT_CONFIG,
+
+        /**
+         * CoDel config
+         */
+        CODEL_CONFIG,
+
+        /**
+         * Hedge config
+         */
+        HEDGE_CONFIG
     }
 }
@@ -25,6 +25,7 @@ import io.esastack.servicekeeper.core.moats.MoatType;
 
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
@@ -37,7 +38,16 @@ import static java.util.Collections.unmodifiableSet;
 public class ImmutableConfigsImpl implements ImmutableConfigs {
 
     private final Map<ResourceId, CompositeServiceKeeperConfig> configs = new ConcurrentHashMap<>(64);
+
+    /**
+     * The first saved item of every shared group, which the other items of the group are checked against.
+     */
+    private final Map<GroupResourceId, GroupReference> sharedGroupReferences = new ConcurrentHashMap<>(8);
     private static final CompositeServiceKeeperConfig NULL_CONFIG = new CompositeServiceKeeperConfig(null, null, null);
+    private static final ConfigType[] SHARED_CONFIG_TYPES = {ConfigType.CIRCUITBREAKER_CONFIG,
+            ConfigType.CONCURRENTLIMIT_CONFIG, ConfigType.RATELIMIT_CONFIG, ConfigType.ISOLATION_CONFIG,
+            ConfigType.TIMEOUT_CONFIG, ConfigType.CACHE_CONFIG, ConfigType.SINGLE_FLIGHT_CONFIG,
+            ConfigType.CODEL_CONFIG};
 
     @Override
     public Object getConfig(ResourceId resourceId, ConfigType type) {
@@ -78,6 +88,16 @@ public class ImmutableConfigsImpl implements ImmutableConfigs {
         return unmodifiableSet(groupItems);
     }
 
+    @Override
+    public boolean isSharedGroupItem(ResourceId resourceId) {
+        if (resourceId == null) {
+            return false;
+        }
+
+        CompositeServiceKeeperConfig config = configs.get(resourceId);
+        return config != null && config.isSharedGroup();
+    }
+
     @Override
     public Integer getMaxSizeLimit(final ResourceId methodId, String argName, MoatType type) {
         if (methodId == null || isEmpty(argName)) {
@@ -128,6 +148,7 @@ public class ImmutableConfigsImpl implements ImmutableConfigs {
             if (configTem == null) {
                 return NULL_CONFIG;
             }
+            checkSharedGroupConfig(key, configTem);
             return configTem;
         });
         if (config == NULL_CONFIG) {
@@ -136,6 +157,32 @@ public class ImmutableConfigsImpl implements ImmutableConfigs {
         return config;
     }
 
+    /**
+     * The moats of a shared group are shared by all the items of the group, so the items must not be configured
+     * differently, otherwise which configuration takes effect depends on which item is invoked firstly.
+     *
+     * @param resourceId resourceId
+     * @param config     the config to save
+     */
+    private void checkSharedGroupConfig(ResourceId resourceId, CompositeServiceKeeperConfig config) {
+        if (!config.isSharedGroup()) {
+            return;
+        }
+        final GroupReference reference = sharedGroupReferences.putIfAbsent(config.getGroup(),
+                new GroupReference(resourceId, config));
+        if (reference == null) {
+            return;
+        }
+        for (ConfigType type : SHARED_CONFIG_TYPES) {
+            if (!Objects.equals(getConfigByType(type, config.getMethodConfig()),
+                    getConfigByType(type, reference.config.getMethodConfig()))) {
+                throw new IllegalArgumentException("The " + type + " of " + resourceId.getName()
+                        + " conflicts with that of " + reference.resourceId.getName()
+                        + ", which share the moats of group: " + config.getGroup().getName());
+            }
+        }
+    }
+
     private Object getArgConfig(ArgResourceId argId, ConfigType type) {
         CompositeServiceKeeperConfig compositeConfig = configs.get(argId.getMethodId());
         CompositeServiceKeeperConfig.ArgsServiceKeeperConfig argsConfig;
@@ -190,9 +237,31 @@ public class ImmutableConfigsImpl implements ImmutableConfigs {
                 return config.getFallbackConfig();
             case RETRY_CONFIG:
                 return config.getRetryConfig();
+            case ISOLATION_CONFIG:
+                return config.getIsolationConfig();
+            case TIMEOUT_CONFIG:
+                return config.getTimeoutConfig();
+            case CACHE_CONFIG:
+                return config.getCacheConfig();
+            case SINGLE_FLIGHT_CONFIG:
+                return config.getSingleFlightConfig();
+            case CODEL_CONFIG:
+                return config.getCoDelConfig();
+            case HEDGE_CONFIG:
+                return config.getHedgeConfig();
             default:
                 return null;
         }
     }
-}
 
+    private static final class GroupReference {
+
+        private final ResourceId resourceId;
+        private final CompositeServiceKeeperConfig config;
+
+        private GroupReference(ResourceId resourceId, CompositeServiceKeeperConfig config) {
+            this.resourceId = resourceId;
+            this.config = config;
+        }
+    }
+}
@@ -75,6 +75,28 @@ public interface CircuitBreakerMetrics extends Metrics {
      */
     CircuitBreaker.State state();
 
+    /**
+     * Returns the latency in milliseconds at the given percentile of current window. If the latency circuit
+     * breaking is disabled or no call has been recorded, it returns -1.
+     *
+     * @param percentile percentile, eg: 99.0 means p99
+     * @return the latency at the percentile
+     */
+    default long latencyPercentile(double percentile) {
+        return -1L;
+    }
+
+    /**
+     * Returns the number of state transition events which have been dropped because that the dispatcher queue
+     * is full. The events of all circuitBreakers are dispatched by the same dispatcher, so the number is a global
+     * one rather than the one of current circuitBreaker.
+     *
+     * @return the number of dropped state transition events
+     */
+    default long numberOfDroppedEvents() {
+        return 0L;
+    }
+
     /**
      * Get the type of current collector.
      *
@@ -31,6 +31,44 @@ public interface ConcurrentLimitMetrics extends Metrics {
      */
     int currentCallCount();
 
+    /**
+     * Get the limit which is used to limit the concurrent calls currently, it's same as {@link #threshold()}
+     * unless the limit is computed adaptively.
+     *
+     * @return current limit
+     */
+    default int currentLimit() {
+        return threshold();
+    }
+
+    /**
+     * Get the number of calls which are waiting for permissions currently.
+     *
+     * @return queue depth
+     */
+    default int queueDepth() {
+        return 0;
+    }
+
+    /**
+     * Get the number of calls which have waited for permissions, no matter whether the permissions are acquired
+     * finally.
+     *
+     * @return number of waited calls
+     */
+    default long numberOfWaitedCalls() {
+        return 0L;
+    }
+
+    /**
+     * Get the average time in milliseconds which the waited calls spend on waiting for permissions.
+     *
+     * @return average wait time
+     */
+    default double averageWaitTimeMs() {
+        return 0.0d;
+    }
+
     /**
      * Get the type of current collector.
      *
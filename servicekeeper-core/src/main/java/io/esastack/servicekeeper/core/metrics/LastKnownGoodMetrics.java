@@ -0,0 +1,51 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.metrics;
+
+public interface LastKnownGoodMetrics extends Metrics {
+
+    /**
+     * The times of fallbacks which are served by the last known good results.
+     *
+     * @return times
+     */
+    long hitTimes();
+
+    /**
+     * The times of fallbacks which find no last known good result.
+     *
+     * @return times
+     */
+    long missTimes();
+
+    /**
+     * Obtains the estimated number of the recorded last known good results.
+     *
+     * @return size
+     */
+    long size();
+
+    /**
+     * Get the type of current collector.
+     *
+     * @return type
+     */
+    @Override
+    default Type type() {
+        return Type.LAST_KNOWN_GOOD;
+    }
+
+}
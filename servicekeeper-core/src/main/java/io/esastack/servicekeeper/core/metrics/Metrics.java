@@ -43,7 +43,17 @@ public interface Metrics {
         /**
          * Retry
          */
-        RETRY("Retry");
+        RETRY("Retry"),
+
+        /**
+         * SingleFlight
+         */
+        SINGLE_FLIGHT("SingleFlight"),
+
+        /**
+         * LastKnownGood
+         */
+        LAST_KNOWN_GOOD("LastKnownGood");
 
         /**
          * type name
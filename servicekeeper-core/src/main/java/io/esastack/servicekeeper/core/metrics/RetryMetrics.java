@@ -40,6 +40,16 @@ public interface RetryMetrics extends Metrics {
      */
     long totalRetriedCount();
 
+    /**
+     * The times of retries which are rejected because that the retry budget is exhausted, it's always 0 when
+     * there is no retry budget.
+     *
+     * @return times
+     */
+    default long budgetExhaustedTimes() {
+        return 0L;
+    }
+
     /**
      * Get the type of current collector.
      *
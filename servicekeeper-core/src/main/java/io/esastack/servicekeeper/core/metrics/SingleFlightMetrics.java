@@ -0,0 +1,45 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.metrics;
+
+public interface SingleFlightMetrics extends Metrics {
+
+    /**
+     * The times of calls which have shared the in-flight calls with the equal args instead of calling by
+     * themselves.
+     *
+     * @return times
+     */
+    long coalescedTimes();
+
+    /**
+     * Obtains current number of in-flight calls.
+     *
+     * @return in-flight calls
+     */
+    int inflightCalls();
+
+    /**
+     * Get the type of current collector.
+     *
+     * @return type
+     */
+    @Override
+    default Type type() {
+        return Type.SINGLE_FLIGHT;
+    }
+
+}
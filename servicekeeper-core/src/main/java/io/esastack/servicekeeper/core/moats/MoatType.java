@@ -35,7 +35,32 @@ public enum MoatType {
     /**
      * Retry moat
      */
-    RETRY("Retry");
+    RETRY("Retry"),
+
+    /**
+     * Isolation moat
+     */
+    ISOLATION("Isolation"),
+
+    /**
+     * Timeout moat
+     */
+    TIMEOUT("Timeout"),
+
+    /**
+     * Cache moat
+     */
+    CACHE("Cache"),
+
+    /**
+     * Single flight moat
+     */
+    SINGLE_FLIGHT("SingleFlight"),
+
+    /**
+     * CoDel moat
+     */
+    CODEL("CoDel");
 
     private final String value;
 
@@ -16,6 +16,7 @@
 package io.esastack.servicekeeper.core.moats;
 
 import io.esastack.servicekeeper.core.fallback.FallbackHandler;
+import io.esastack.servicekeeper.core.retry.HedgingExecutor;
 import io.esastack.servicekeeper.core.retry.RetryableExecutor;
 
 import java.util.List;
@@ -25,21 +26,37 @@ import java.util.concurrent.atomic.AtomicReference;
 public class RetryableMoatCluster extends FallbackMoatClusterImpl {
 
     private final AtomicReference<RetryableExecutor> retryable;
+    private final AtomicReference<HedgingExecutor> hedging;
 
     public RetryableMoatCluster(List<Moat<?>> moats, List<MoatClusterListener> listeners,
                                 FallbackHandler<?> fallbackHandler, RetryableExecutor retryable) {
+        this(moats, listeners, fallbackHandler, retryable, null);
+    }
+
+    public RetryableMoatCluster(List<Moat<?>> moats, List<MoatClusterListener> listeners,
+                                FallbackHandler<?> fallbackHandler, RetryableExecutor retryable,
+                                HedgingExecutor hedging) {
         super(moats, listeners, fallbackHandler);
         this.retryable = new AtomicReference<>(retryable);
+        this.hedging = new AtomicReference<>(hedging);
     }
 
     public RetryableExecutor retryExecutor() {
         return retryable.get();
     }
 
+    public HedgingExecutor hedgingExecutor() {
+        return hedging.get();
+    }
+
     public void updateRetryExecutor(RetryableExecutor executor) {
         retryable.updateAndGet(item -> executor);
     }
 
+    public void updateHedgingExecutor(HedgingExecutor executor) {
+        hedging.updateAndGet(item -> executor);
+    }
+
     public static boolean isInstance(MoatCluster moatCluster) {
         return moatCluster instanceof RetryableMoatCluster;
     }
@@ -48,6 +65,7 @@ public class RetryableMoatCluster extends FallbackMoatClusterImpl {
     public String toString() {
         return new StringJoiner(", ", RetryableMoatCluster.class.getSimpleName() + "[", "]")
                 .add("retryable=" + retryable).add(",")
+                .add("hedging=" + hedging).add(",")
                 .add("moats=" + getAll())
                 .toString();
     }
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.moats.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import esa.commons.Checks;
+import esa.commons.logging.Logger;
+import io.esastack.servicekeeper.core.common.ResourceId;
+import io.esastack.servicekeeper.core.config.CacheConfig;
+import io.esastack.servicekeeper.core.config.MoatConfig;
+import io.esastack.servicekeeper.core.configsource.ExternalConfig;
+import io.esastack.servicekeeper.core.executionchain.Context;
+import io.esastack.servicekeeper.core.listener.FondConfigListener;
+import io.esastack.servicekeeper.core.moats.AbstractMoat;
+import io.esastack.servicekeeper.core.moats.LifeCycleSupport;
+import io.esastack.servicekeeper.core.moats.MoatEventProcessor;
+import io.esastack.servicekeeper.core.moats.MoatType;
+import io.esastack.servicekeeper.core.utils.LogUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.esastack.servicekeeper.core.configsource.ExternalConfigUtils.hasCache;
+import static io.esastack.servicekeeper.core.utils.ConfigUtils.combine;
+
+/**
+ * The moat caches the successful results of an idempotent method by the args. The cached result is looked up by
+ * the execution chain before entering any moat, so that a hit bypasses both the original call and the permits of
+ * other moats. The moat itself never rejects a call, and it records the result when exiting.
+ * <p>
+ * A result keeps fresh in {@link CacheConfig#getTtl()}, and is retained as a stale one in the following
+ * {@link CacheConfig#getMaxStale()}. The stale result is returned when the circuitBreaker is open, and when another
+ * call is revalidating it if {@link CacheConfig#isStaleWhileRevalidate()} is true. The null results are never
+ * cached.
+ */
+public class CacheMoat extends AbstractMoat<CacheConfig> implements FondConfigListener<CacheConfig>, LifeCycleSupport {
+
+    private static final Logger logger = LogUtils.logger();
+
+    private final AtomicBoolean shouldDestroy = new AtomicBoolean(false);
+    private final LongAdder hitTimes = new LongAdder();
+    private final LongAdder staleHitTimes = new LongAdder();
+    private final LifeCycleType lifeCycleType;
+    private final CacheConfig immutableConfig;
+    private final String name;
+    private final Cache<List<Object>, Entry> cache;
+
+    private volatile CacheConfig config;
+
+    public CacheMoat(MoatConfig config, CacheConfig cacheConfig,
+                     CacheConfig immutableConfig,
+                     List<MoatEventProcessor> processors) {
+        super(processors, config);
+        Checks.checkNotNull(cacheConfig, "cacheConfig");
+        this.lifeCycleType = immutableConfig == null ? LifeCycleType.TEMPORARY : LifeCycleType.PERMANENT;
+        this.immutableConfig = immutableConfig;
+        this.config = cacheConfig;
+        this.name = config.getResourceId().getName();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheConfig.getMaxSize())
+                .expireAfterWrite(retention(cacheConfig), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Override
+    public void enter(Context ctx) {
+    }
+
+    @Override
+    public void exit(Context ctx) {
+        final List<Object> key = keyOf(ctx);
+        if (ctx.getNotPermittedCause() == null && ctx.getBizException() == null && ctx.getResult() != null) {
+            cache.put(key, new Entry(ctx.getResult()));
+            return;
+        }
+
+        // Give up the revalidation, so that the following call could retry it.
+        final Entry entry = cache.getIfPresent(key);
+        if (entry != null) {
+            entry.revalidating.set(false);
+        }
+    }
+
+    /**
+     * Obtains the cached result of the args of the context. The fresh result is always returned, and the stale
+     * one is only returned when {@link CacheConfig#isStaleWhileRevalidate()} is true and another call is
+     * revalidating it, otherwise current call is expected to revalidate it.
+     *
+     * @param ctx ctx
+     * @return cached result, null if absent
+     */
+    public Object get(Context ctx) {
+        final Entry entry = cache.getIfPresent(keyOf(ctx));
+        if (entry == null) {
+            return null;
+        }
+        final CacheConfig config = this.config;
+        if (System.nanoTime() - entry.createdNs < TimeUnit.MILLISECONDS.toNanos(config.getTtl())) {
+            hitTimes.increment();
+            return entry.value;
+        }
+        if (config.isStaleWhileRevalidate() && !entry.revalidating.compareAndSet(false, true)) {
+            staleHitTimes.increment();
+            return entry.value;
+        }
+        return null;
+    }
+
+    /**
+     * Obtains the cached result of the args of the context even if it's stale, which is used when the call is
+     * rejected by the circuitBreaker.
+     *
+     * @param ctx ctx
+     * @return cached result, null if absent
+     */
+    public Object getStale(Context ctx) {
+        final Entry entry = cache.getIfPresent(keyOf(ctx));
+        if (entry == null) {
+            return null;
+        }
+        staleHitTimes.increment();
+        return entry.value;
+    }
+
+    /**
+     * Get the number of calls which are returned with the fresh results.
+     *
+     * @return hit times
+     */
+    public long hitTimes() {
+        return hitTimes.sum();
+    }
+
+    /**
+     * Get the number of calls which are returned with the stale results.
+     *
+     * @return stale hit times
+     */
+    public long staleHitTimes() {
+        return staleHitTimes.sum();
+    }
+
+    /**
+     * Get the number of the cached results, which may include the expired ones which haven't been evicted.
+     *
+     * @return size
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    @Override
+    public CacheConfig config() {
+        return config;
+    }
+
+    @Override
+    public CacheConfig getFond(ExternalConfig config) {
+        if (immutableConfig == null && (!hasCache(config))) {
+            return null;
+        }
+        return combine(immutableConfig, config);
+    }
+
+    @Override
+    public void updateWithNewestConfig(CacheConfig config) {
+        logger.info("Begin to update cache: {} with the newest config: {}", name, config);
+        cache.policy().eviction().ifPresent(eviction -> eviction.setMaximum(config.getMaxSize()));
+        cache.policy().expireAfterWrite().ifPresent(expiration ->
+                expiration.setExpiresAfter(retention(config), TimeUnit.MILLISECONDS));
+        this.config = config;
+    }
+
+    @Override
+    public void updateWhenNewestConfigIsNull() {
+        if (lifeCycleType() == LifeCycleType.TEMPORARY) {
+            preDestroy();
+        } else {
+            updateWithNewestConfig(immutableConfig);
+        }
+    }
+
+    @Override
+    public boolean isConfigEquals(CacheConfig newestConfig) {
+        return config.equals(newestConfig);
+    }
+
+    @Override
+    public LifeCycleType lifeCycleType() {
+        return lifeCycleType;
+    }
+
+    @Override
+    public boolean shouldDelete() {
+        return shouldDestroy.get();
+    }
+
+    @Override
+    public ResourceId listeningKey() {
+        return ResourceId.from(name);
+    }
+
+    @Override
+    public String toString() {
+        return "CacheMoat-" + name;
+    }
+
+    /**
+     * The moat is expected to be the first one to enter, so that it always exits even if the call is rejected by
+     * other moats.
+     *
+     * @return order
+     */
+    @Override
+    public int getOrder() {
+        return -2;
+    }
+
+    @Override
+    public MoatType type() {
+        return MoatType.CACHE;
+    }
+
+    @Override
+    protected String name() {
+        return name;
+    }
+
+    /**
+     * The args are keyed together with the resourceId of the call, because the moat may be shared by all the
+     * methods of a group, whose equal args shouldn't share the result.
+     */
+    private static List<Object> keyOf(Context ctx) {
+        final Object[] args = ctx.getArgs();
+        if (args == null || args.length == 0) {
+            return Collections.singletonList(ctx.getResourceId());
+        }
+        final Object[] key = new Object[args.length + 1];
+        key[0] = ctx.getResourceId();
+        System.arraycopy(args, 0, key, 1, args.length);
+        return Arrays.asList(key);
+    }
+
+    private static long retention(CacheConfig config) {
+        return config.getTtl() + config.getMaxStale();
+    }
+
+    private void preDestroy() {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Prepare to destroy the cache moat: {}", name);
+        }
+        cache.invalidateAll();
+        preDestroy0();
+        shouldDestroy.getAndSet(true);
+    }
+
+    private static final class Entry {
+
+        private final Object value;
+        private final long createdNs = System.nanoTime();
+        private final AtomicBoolean revalidating = new AtomicBoolean(false);
+
+        private Entry(Object value) {
+            this.value = value;
+        }
+    }
+}
@@ -76,6 +76,16 @@ public interface CircuitBreaker {
      */
     void onFailure();
 
+    /**
+     * Record the spend time of an invocation, which is used to trip the circuitBreaker when the latency at
+     * configured percentile exceeds the threshold. It does nothing by default, so that the existing
+     * implementations needn't to care about it.
+     *
+     * @param spendTimeMs spend time in milliseconds
+     */
+    default void onSpendTime(long spendTimeMs) {
+    }
+
     /**
      * Get the internal of current circuitBreaker
      *
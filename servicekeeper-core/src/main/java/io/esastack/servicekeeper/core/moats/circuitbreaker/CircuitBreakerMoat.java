@@ -110,10 +110,15 @@ public class CircuitBreakerMoat extends AbstractMoat<CircuitBreakerConfig>
 
     @Override
     public void exit(Context ctx) {
+        if (ctx.isCancelled()) {
+            return;
+        }
+        final CircuitBreaker breaker = this.breaker.get();
+        breaker.onSpendTime(ctx.getSpendTimeMs());
         if (predicate.isSuccess(ctx)) {
-            breaker.get().onSuccess();
+            breaker.onSuccess();
         } else {
-            breaker.get().onFailure();
+            breaker.onFailure();
         }
     }
 
@@ -307,6 +312,16 @@ public class CircuitBreakerMoat extends AbstractMoat<CircuitBreakerConfig>
                     public CircuitBreaker.State state() {
                         return breaker.getState();
                     }
+
+                    @Override
+                    public long latencyPercentile(double percentile) {
+                        return breaker.metrics().latencyPercentile(percentile);
+                    }
+
+                    @Override
+                    public long numberOfDroppedEvents() {
+                        return breaker.metrics().numberOfDroppedEvents();
+                    }
                 });
     }
 
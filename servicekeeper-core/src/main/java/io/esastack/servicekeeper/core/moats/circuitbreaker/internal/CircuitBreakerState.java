@@ -15,9 +15,12 @@
  */
 package io.esastack.servicekeeper.core.moats.circuitbreaker.internal;
 
+import io.esastack.servicekeeper.core.common.LatencyHistogram;
+import io.esastack.servicekeeper.core.config.CircuitBreakerConfig;
 import io.esastack.servicekeeper.core.metrics.CircuitBreakerMetrics;
 import io.esastack.servicekeeper.core.moats.circuitbreaker.CircuitBreaker;
 
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.LongAdder;
 
 /**
@@ -26,6 +29,9 @@ import java.util.concurrent.atomic.LongAdder;
  */
 abstract class CircuitBreakerState {
 
+    private static final AtomicLongFieldUpdater<EwmaMetrics> NOT_PERMITTED_UPDATER =
+            AtomicLongFieldUpdater.newUpdater(EwmaMetrics.class, "numberOfNotPermittedCalls");
+
     CircuitBreakerStateMachine stateMachine;
 
     CircuitBreakerState(CircuitBreakerStateMachine stateMachine) {
@@ -49,6 +55,14 @@ abstract class CircuitBreakerState {
      */
     abstract void onFailure();
 
+    /**
+     * Record the spend time of a call, do nothing by default.
+     *
+     * @param spendTimeMs spend time in milliseconds
+     */
+    void onSpendTime(long spendTimeMs) {
+    }
+
     /**
      * Get collector
      *
@@ -63,62 +77,91 @@ abstract class CircuitBreakerState {
      */
     abstract CircuitBreaker.State getState();
 
-    class Metrics implements CircuitBreakerMetrics {
+    /**
+     * Creates a new {@link Metrics} according to the {@link CircuitBreakerConfig#getWindowType()}.
+     *
+     * @param ringBufferSize the size of window
+     * @return metrics
+     */
+    Metrics newMetrics(int ringBufferSize) {
+        if (stateMachine.config().getWindowType() == CircuitBreakerConfig.WindowType.EWMA) {
+            return new EwmaMetrics(ringBufferSize);
+        }
+        return new RingBitSetMetrics(ringBufferSize, null);
+    }
 
-        private final int ringBufferSize;
-        private final RingBitSet ringBitSet;
-        private final LongAdder numberOfNotPermittedCalls;
+    abstract class Metrics implements CircuitBreakerMetrics {
 
-        Metrics(int ringBufferSize) {
-            this(ringBufferSize, null);
-        }
+        final int ringBufferSize;
+        private final LatencyHistogram latencyHistogram;
+        private final float latencyPercentile;
+        private final long latencyThresholdMs;
 
-        private Metrics(int ringBufferSize, RingBitSet sourceSet) {
+        Metrics(int ringBufferSize) {
             this.ringBufferSize = ringBufferSize;
-            if (sourceSet != null) {
-                this.ringBitSet = new RingBitSet(this.ringBufferSize, sourceSet);
-            } else {
-                this.ringBitSet = new RingBitSet(this.ringBufferSize);
-            }
-            this.numberOfNotPermittedCalls = new LongAdder();
+            final CircuitBreakerConfig config = stateMachine.config();
+            this.latencyPercentile = config.getLatencyPercentile();
+            this.latencyThresholdMs = config.getLatencyThresholdMs();
+            this.latencyHistogram = latencyThresholdMs > 0L ? new LatencyHistogram() : null;
         }
 
         /**
-         * Creates a new CircuitBreakerMetrics instance and copies the content of the current RingBitSet
-         * into the new RingBitSet.
+         * Creates a new CircuitBreakerMetrics instance and copies the content of the current metrics into the new
+         * one.
          *
          * @param targetRingBufferSize the ringBufferSize of the new CircuitBreakerMetrics instances
          * @return a CircuitBreakerMetrics
          */
-        Metrics copy(int targetRingBufferSize) {
-            return new Metrics(targetRingBufferSize, this.ringBitSet);
-        }
+        abstract Metrics copy(int targetRingBufferSize);
 
         /**
          * Records a failed call and returns the current failure rate in percentage.
          *
          * @return the current failure rate  in percentage.
          */
-        float onError() {
-            int currentNumberOfFailedCalls = ringBitSet.setNextBit(true);
-            return getFailureRate(currentNumberOfFailedCalls);
-        }
+        abstract float onError();
 
         /**
          * Records a successful call and returns the current failure rate in percentage.
          *
          * @return the current failure rate in percentage.
          */
-        float onSuccess() {
-            int currentNumberOfFailedCalls = ringBitSet.setNextBit(false);
-            return getFailureRate(currentNumberOfFailedCalls);
-        }
+        abstract float onSuccess();
 
         /**
          * Records a call which was not permitted, because the CircuitBreaker internal is OPEN.
          */
-        void onCallNotPermitted() {
-            numberOfNotPermittedCalls.increment();
+        abstract void onCallNotPermitted();
+
+        /**
+         * Records the spend time of a call and returns the number of spend times recorded in current window.
+         *
+         * @param spendTimeMs spend time in milliseconds
+         * @return the number of spend times recorded, or -1 if the latency circuit breaking is disabled.
+         */
+        long onSpendTime(long spendTimeMs) {
+            if (latencyHistogram == null) {
+                return -1L;
+            }
+            return latencyHistogram.record(spendTimeMs);
+        }
+
+        /**
+         * Whether the latency at configured percentile exceeds the threshold.
+         *
+         * @return true if exceeds, otherwise false.
+         */
+        boolean isLatencyAboveThreshold() {
+            return latencyHistogram != null && latencyHistogram.percentile(latencyPercentile) > latencyThresholdMs;
+        }
+
+        /**
+         * Clears the spend times recorded in current window.
+         */
+        void resetLatency() {
+            if (latencyHistogram != null) {
+                latencyHistogram.reset();
+            }
         }
 
         /**
@@ -145,6 +188,75 @@ abstract class CircuitBreakerState {
             return numberOfBufferedCalls() - numberOfFailedCalls();
         }
 
+        @Override
+        public CircuitBreaker.State state() {
+            return stateMachine.getState();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long latencyPercentile(double percentile) {
+            return latencyHistogram == null ? -1L : latencyHistogram.percentile(percentile);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long numberOfDroppedEvents() {
+            return SateTransitionDispatcher.singleton().numberOfDroppedEvents();
+        }
+
+        float getFailureRate(int numberOfFailedCalls) {
+            if (numberOfBufferedCalls() < ringBufferSize) {
+                return -1.0f;
+            }
+            return numberOfFailedCalls * 100.0f / ringBufferSize;
+        }
+    }
+
+    /**
+     * The metrics which records the results of the latest ringBufferSize calls by a {@link RingBitSet}.
+     */
+    final class RingBitSetMetrics extends Metrics {
+
+        private final RingBitSet ringBitSet;
+        private final LongAdder numberOfNotPermittedCalls;
+
+        private RingBitSetMetrics(int ringBufferSize, RingBitSet sourceSet) {
+            super(ringBufferSize);
+            if (sourceSet != null) {
+                this.ringBitSet = new RingBitSet(this.ringBufferSize, sourceSet);
+            } else {
+                this.ringBitSet = new RingBitSet(this.ringBufferSize);
+            }
+            this.numberOfNotPermittedCalls = new LongAdder();
+        }
+
+        @Override
+        Metrics copy(int targetRingBufferSize) {
+            return new RingBitSetMetrics(targetRingBufferSize, this.ringBitSet);
+        }
+
+        @Override
+        float onError() {
+            int currentNumberOfFailedCalls = ringBitSet.setNextBit(true);
+            return getFailureRate(currentNumberOfFailedCalls);
+        }
+
+        @Override
+        float onSuccess() {
+            int currentNumberOfFailedCalls = ringBitSet.setNextBit(false);
+            return getFailureRate(currentNumberOfFailedCalls);
+        }
+
+        @Override
+        void onCallNotPermitted() {
+            numberOfNotPermittedCalls.increment();
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -168,18 +280,113 @@ abstract class CircuitBreakerState {
         public int numberOfFailedCalls() {
             return this.ringBitSet.cardinality();
         }
+    }
+
+    /**
+     * The metrics which tracks the failure rate as an exponentially weighted moving average, the weight of each call
+     * is 1 / ringBufferSize, and the failure rate also decays towards 0 with the half-life of
+     * {@link CircuitBreakerConfig#getWaitDurationInOpenState()} when there are no calls. Different from
+     * {@link RingBitSetMetrics}, it only occupies a couple of primitive fields whatever the ringBufferSize is, which
+     * is suitable for the circuitBreakers of high cardinality, eg: the arg level ones.
+     */
+    final class EwmaMetrics extends Metrics {
+
+        private final double weight;
+        private final double decayNanos;
+
+        private volatile double failureRate;
+        private volatile int numberOfBufferedCalls;
+        volatile long numberOfNotPermittedCalls;
+        private long lastUpdateNanos;
+
+        private EwmaMetrics(int ringBufferSize) {
+            super(ringBufferSize);
+            this.weight = 1.0d / Math.max(1, ringBufferSize);
+            final long halfLifeNanos = stateMachine.config().getWaitDurationInOpenState().toNanos();
+            this.decayNanos = halfLifeNanos / Math.log(2.0d);
+            this.lastUpdateNanos = System.nanoTime();
+        }
 
         @Override
-        public CircuitBreaker.State state() {
-            return stateMachine.getState();
+        Metrics copy(int targetRingBufferSize) {
+            final EwmaMetrics metrics = new EwmaMetrics(targetRingBufferSize);
+            synchronized (this) {
+                metrics.failureRate = failureRate;
+                metrics.numberOfBufferedCalls = Math.min(numberOfBufferedCalls, targetRingBufferSize);
+                metrics.lastUpdateNanos = lastUpdateNanos;
+            }
+            return metrics;
         }
 
-        private float getFailureRate(int numberOfFailedCalls) {
-            if (numberOfBufferedCalls() < ringBufferSize) {
+        @Override
+        float onError() {
+            return record(1.0d);
+        }
+
+        @Override
+        float onSuccess() {
+            return record(0.0d);
+        }
+
+        @Override
+        void onCallNotPermitted() {
+            NOT_PERMITTED_UPDATER.incrementAndGet(this);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public float failureRateThreshold() {
+            if (numberOfBufferedCalls < ringBufferSize) {
                 return -1.0f;
             }
-            return numberOfFailedCalls * 100.0f / ringBufferSize;
+            return (float) (failureRate * 100.0d);
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int numberOfBufferedCalls() {
+            return numberOfBufferedCalls;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long numberOfNotPermittedCalls() {
+            return numberOfNotPermittedCalls;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int numberOfFailedCalls() {
+            return (int) Math.round(failureRate * numberOfBufferedCalls);
+        }
+
+        private synchronized float record(double value) {
+            final long now = System.nanoTime();
+            double rate = failureRate;
+            final long elapsed = now - lastUpdateNanos;
+            if (elapsed > 0L && decayNanos > 0.0d) {
+                rate *= Math.exp(-elapsed / decayNanos);
+            }
+            rate += weight * (value - rate);
+            lastUpdateNanos = now;
+            failureRate = rate;
+
+            final int buffered = numberOfBufferedCalls;
+            if (buffered < ringBufferSize) {
+                numberOfBufferedCalls = buffered + 1;
+                if (buffered + 1 < ringBufferSize) {
+                    return -1.0f;
+                }
+            }
+            return (float) (rate * 100.0d);
+        }
     }
 }
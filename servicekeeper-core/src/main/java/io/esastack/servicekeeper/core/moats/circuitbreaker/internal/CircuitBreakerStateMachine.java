@@ -35,6 +35,7 @@ public class CircuitBreakerStateMachine implements CircuitBreaker {
     private final CircuitBreakerConfig immutableConfig;
     private final CircuitBreakerConfig circuitBreakerConfig;
     private final List<CircuitBreakerSateTransitionProcessor> processors;
+    private final SateTransitionDispatcher dispatcher;
 
     /**
      * Creates a circuitBreaker.
@@ -46,8 +47,16 @@ public class CircuitBreakerStateMachine implements CircuitBreaker {
     public CircuitBreakerStateMachine(String name, CircuitBreakerConfig circuitBreakerConfig,
                                       CircuitBreakerConfig immutableConfig,
                                       List<CircuitBreakerSateTransitionProcessor> processors) {
+        this(name, circuitBreakerConfig, immutableConfig, processors, SateTransitionDispatcher.singleton());
+    }
+
+    CircuitBreakerStateMachine(String name, CircuitBreakerConfig circuitBreakerConfig,
+                               CircuitBreakerConfig immutableConfig,
+                               List<CircuitBreakerSateTransitionProcessor> processors,
+                               SateTransitionDispatcher dispatcher) {
         Checks.checkNotEmptyArg(name, "name");
         Checks.checkNotNull(circuitBreakerConfig, "circuitBreakerConfig");
+        Checks.checkNotNull(dispatcher, "dispatcher");
 
         this.name = name;
         this.circuitBreakerConfig = circuitBreakerConfig;
@@ -66,6 +75,7 @@ public class CircuitBreakerStateMachine implements CircuitBreaker {
         }
 
         this.processors = (processors == null ? Collections.emptyList() : Collections.unmodifiableList(processors));
+        this.dispatcher = dispatcher;
     }
 
     /**
@@ -88,6 +98,11 @@ public class CircuitBreakerStateMachine implements CircuitBreaker {
         stateReference.get().onFailure();
     }
 
+    @Override
+    public void onSpendTime(long spendTimeMs) {
+        stateReference.get().onSpendTime(spendTimeMs);
+    }
+
     /**
      * Get the name of this CircuitBreaker.
      *
@@ -125,41 +140,31 @@ public class CircuitBreakerStateMachine implements CircuitBreaker {
 
     @Override
     public void transitionToOpenState() {
-        final State preState = getState();
         stateTransition(State.OPEN, currentState -> new OpenState(this,
                 currentState.getMetrics()));
-        processSateTransition(preState, State.OPEN);
     }
 
     @Override
     public void transitionToHalfOpenState() {
-        final State preState = getState();
         stateTransition(State.HALF_OPEN, currentState -> new HalfOpenState(this));
-        processSateTransition(preState, State.HALF_OPEN);
     }
 
     @Override
     public void transitionToClosedState() {
-        final State preState = getState();
         stateTransition(State.CLOSED, currentState ->
                 new ClosedState(this, currentState.getMetrics()));
-        processSateTransition(preState, State.CLOSED);
     }
 
     @Override
     public void forceToDisabledState() {
-        final State preState = getState();
         stateTransition(State.FORCED_DISABLED, currentState ->
                 new DisabledState(this));
-        processSateTransition(preState, State.FORCED_DISABLED);
     }
 
     @Override
     public void forceToForcedOpenState() {
-        final State preState = getState();
         stateTransition(State.FORCED_OPEN, currentState ->
                 new ForcedOpenState(this));
-        processSateTransition(preState, State.FORCED_OPEN);
     }
 
     @Override
@@ -169,14 +174,21 @@ public class CircuitBreakerStateMachine implements CircuitBreaker {
 
     private void stateTransition(CircuitBreaker.State newState,
                                  Function<CircuitBreakerState, CircuitBreakerState> newStateGenerator) {
-        stateReference.getAndUpdate(currentState -> {
+        final CircuitBreakerState preState = stateReference.getAndUpdate(currentState -> {
             if (currentState.getState() == newState) {
                 return currentState;
             }
-            LogUtils.logger().warn("The circuitBreaker transition from {} to {}, which name is {}",
-                    stateReference.get().getState(), newState, name());
             return newStateGenerator.apply(currentState);
         });
+
+        // Only the thread which has updated the state successfully logs and publishes the transition, the
+        // generator above may be applied several times under contention.
+        if (preState.getState() == newState) {
+            return;
+        }
+        LogUtils.logger().warn("The circuitBreaker transition from {} to {}, which name is {}",
+                preState.getState(), newState, name());
+        processSateTransition(preState.getState(), newState);
     }
 
     private void processSateTransition(CircuitBreaker.State preState, CircuitBreaker.State newState) {
@@ -184,9 +196,6 @@ public class CircuitBreakerStateMachine implements CircuitBreaker {
             return;
         }
 
-        for (CircuitBreakerSateTransitionProcessor processor : processors) {
-            processor.process(name, new CircuitBreakerSateTransitionEvent(preState, newState));
-        }
+        dispatcher.dispatch(name, new CircuitBreakerSateTransitionEvent(preState, newState), processors);
     }
 }
-
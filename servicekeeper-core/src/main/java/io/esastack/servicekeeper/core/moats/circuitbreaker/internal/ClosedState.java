@@ -22,6 +22,7 @@ final class ClosedState extends CircuitBreakerState {
 
     private final Metrics metrics;
     private final float failureRateThreshold;
+    private final int ringBufferSize;
 
     ClosedState(CircuitBreakerStateMachine stateMachine) {
         this(stateMachine, null);
@@ -31,11 +32,12 @@ final class ClosedState extends CircuitBreakerState {
         super(stateMachine);
         CircuitBreakerConfig config = stateMachine.config();
         if (metrics == null) {
-            this.metrics = new Metrics(config.getRingBufferSizeInClosedState());
+            this.metrics = newMetrics(config.getRingBufferSizeInClosedState());
         } else {
             this.metrics = metrics.copy(config.getRingBufferSizeInClosedState());
         }
         failureRateThreshold = config.getFailureRateThreshold();
+        ringBufferSize = config.getRingBufferSizeInClosedState();
     }
 
     @Override
@@ -53,6 +55,20 @@ final class ClosedState extends CircuitBreakerState {
         checkFailureRate(metrics.onError());
     }
 
+    @Override
+    void onSpendTime(long spendTimeMs) {
+        // The latency is evaluated once every ringBufferSize calls, and the spend times of the next window will be
+        // recorded from scratch.
+        if (metrics.onSpendTime(spendTimeMs) == ringBufferSize) {
+            if (metrics.isLatencyAboveThreshold()) {
+                // Keep the spend times for further query when the circuitBreaker is OPEN.
+                stateMachine.transitionToOpenState();
+            } else {
+                metrics.resetLatency();
+            }
+        }
+    }
+
     @Override
     Metrics getMetrics() {
         return metrics;
@@ -23,7 +23,7 @@ final class DisabledState extends CircuitBreakerState {
 
     DisabledState(CircuitBreakerStateMachine stateMachine) {
         super(stateMachine);
-        this.metrics = new Metrics(stateMachine.config()
+        this.metrics = newMetrics(stateMachine.config()
                 .getRingBufferSizeInClosedState());
     }
 
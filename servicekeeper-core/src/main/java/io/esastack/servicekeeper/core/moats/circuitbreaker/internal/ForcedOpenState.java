@@ -23,7 +23,7 @@ final class ForcedOpenState extends CircuitBreakerState {
 
     ForcedOpenState(CircuitBreakerStateMachine stateMachine) {
         super(stateMachine);
-        this.metrics = new Metrics(stateMachine.config()
+        this.metrics = newMetrics(stateMachine.config()
                 .getRingBufferSizeInClosedState());
     }
 
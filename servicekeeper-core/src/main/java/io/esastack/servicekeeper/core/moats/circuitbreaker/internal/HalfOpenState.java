@@ -26,7 +26,7 @@ final class HalfOpenState extends CircuitBreakerState {
     HalfOpenState(CircuitBreakerStateMachine stateMachine) {
         super(stateMachine);
         CircuitBreakerConfig circuitBreakerConfig = stateMachine.config();
-        this.metrics = new Metrics(
+        this.metrics = newMetrics(
                 circuitBreakerConfig.getRingBufferSizeInHalfOpenState());
         this.failureRateThreshold = circuitBreakerConfig.getFailureRateThreshold();
     }
@@ -51,6 +51,11 @@ final class HalfOpenState extends CircuitBreakerState {
         checkFailureRate(metrics.onError());
     }
 
+    @Override
+    void onSpendTime(long spendTimeMs) {
+        metrics.onSpendTime(spendTimeMs);
+    }
+
     @Override
     Metrics getMetrics() {
         return metrics;
@@ -63,14 +68,14 @@ final class HalfOpenState extends CircuitBreakerState {
 
     /**
      * Checks if the current failure rate is above or below the threshold.
-     * If the failure rate is above the threshold, transition the internal machine to OPEN internal.
+     * If the failure rate or the latency is above the threshold, transition the internal machine to OPEN internal.
      * If the failure rate is below the threshold, transition the internal machine to CLOSED internal.
      *
      * @param currentFailureRate the current failure rate
      */
     private void checkFailureRate(float currentFailureRate) {
         if (currentFailureRate != -1) {
-            if (currentFailureRate >= failureRateThreshold) {
+            if (currentFailureRate >= failureRateThreshold || metrics.isLatencyAboveThreshold()) {
                 stateMachine.transitionToOpenState();
             } else {
                 stateMachine.transitionToClosedState();
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.moats.circuitbreaker.internal;
+
+import esa.commons.Checks;
+import esa.commons.concurrent.MpscArrayQueue;
+import esa.commons.concurrent.ThreadFactories;
+import esa.commons.logging.Logger;
+import io.esastack.servicekeeper.core.moats.circuitbreaker.CircuitBreakerSateTransitionEvent;
+import io.esastack.servicekeeper.core.moats.circuitbreaker.CircuitBreakerSateTransitionProcessor;
+import io.esastack.servicekeeper.core.utils.LogUtils;
+import io.esastack.servicekeeper.core.utils.SystemConfigUtils;
+import io.esastack.servicekeeper.core.utils.TimerLogger;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Dispatches {@link CircuitBreakerSateTransitionEvent}s to {@link CircuitBreakerSateTransitionProcessor}s on a
+ * dedicated daemon thread, so that the request thread which triggers the transition only needs to offer the event
+ * to a bounded lock-free queue. The events are processed in the same order as they are published. When the queue is
+ * full, the event is handled by {@link OverflowPolicy} and the discarded ones are counted by
+ * {@link #numberOfDroppedEvents()}.
+ */
+public final class SateTransitionDispatcher {
+
+    public static final String QUEUE_CAPACITY_KEY = "servicekeeper.circuitbreaker.transition.queue.capacity";
+    public static final String OVERFLOW_POLICY_KEY = "servicekeeper.circuitbreaker.transition.overflow.policy";
+
+    private static final Logger logger = LogUtils.logger();
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    private static final String THREAD_NAME = "ServiceKeeper-CircuitBreaker-Transition-Dispatcher";
+
+    private static final SateTransitionDispatcher INSTANCE = new SateTransitionDispatcher(getQueueCapacity(),
+            getOverflowPolicy());
+
+    private final MpscArrayQueue<Task> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final LongAdder droppedEvents = new LongAdder();
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private final TimerLogger timerLogger = new TimerLogger();
+
+    private volatile Thread dispatcher;
+    private volatile boolean waiting;
+
+    SateTransitionDispatcher(int queueCapacity, OverflowPolicy overflowPolicy) {
+        Checks.checkArg(queueCapacity > 0, "queueCapacity must be positive");
+        Checks.checkNotNull(overflowPolicy, "overflowPolicy");
+        this.queue = new MpscArrayQueue<>(queueCapacity);
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public static SateTransitionDispatcher singleton() {
+        return INSTANCE;
+    }
+
+    /**
+     * Publishes the event to the dispatcher thread, the method never blocks the caller.
+     *
+     * @param name       the name of circuitBreaker
+     * @param event      event
+     * @param processors processors to process the event
+     */
+    void dispatch(String name, CircuitBreakerSateTransitionEvent event,
+                  List<CircuitBreakerSateTransitionProcessor> processors) {
+        final Task task = new Task(name, event, processors);
+        startIfNecessary();
+        if (queue.offer(task)) {
+            if (waiting) {
+                LockSupport.unpark(dispatcher);
+            }
+            return;
+        }
+
+        if (overflowPolicy == OverflowPolicy.CALLER_RUNS) {
+            task.run();
+            return;
+        }
+
+        droppedEvents.increment();
+        timerLogger.logPeriodically("The circuitBreaker transition event of {} from {} to {} has been dropped," +
+                        " because that the dispatcher queue is full, total dropped: {}",
+                name, event.preState(), event.currentState(), droppedEvents.sum());
+    }
+
+    /**
+     * Obtains the number of events which have been dropped because that the queue is full.
+     *
+     * @return number of dropped events
+     */
+    public long numberOfDroppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    /**
+     * Obtains the number of events which are waiting to be processed.
+     *
+     * @return number of pending events
+     */
+    public int numberOfPendingEvents() {
+        return queue.size();
+    }
+
+    public OverflowPolicy overflowPolicy() {
+        return overflowPolicy;
+    }
+
+    private void startIfNecessary() {
+        if (started.get() || !started.compareAndSet(false, true)) {
+            return;
+        }
+
+        final Thread thread = ThreadFactories.namedThreadFactory(THREAD_NAME, true).newThread(this::drainLoop);
+        dispatcher = thread;
+        thread.start();
+    }
+
+    private void drainLoop() {
+        final Thread current = Thread.currentThread();
+        while (!current.isInterrupted()) {
+            Task task = queue.poll();
+            if (task != null) {
+                task.run();
+                continue;
+            }
+
+            // Announce the waiting before the re-check, so that a concurrent producer either sees the flag and
+            // unparks the dispatcher or offers the task before the re-check.
+            waiting = true;
+            if (queue.isEmpty()) {
+                LockSupport.park(this);
+            }
+            waiting = false;
+        }
+    }
+
+    private static int getQueueCapacity() {
+        final String capacity = SystemConfigUtils.getFromEnvAndProp(QUEUE_CAPACITY_KEY);
+        try {
+            if (capacity != null) {
+                final int value = Integer.parseInt(capacity.trim());
+                if (value > 0) {
+                    return value;
+                }
+            }
+        } catch (NumberFormatException ex) {
+            // ignore
+        }
+
+        return DEFAULT_QUEUE_CAPACITY;
+    }
+
+    private static OverflowPolicy getOverflowPolicy() {
+        final String policy = SystemConfigUtils.getFromEnvAndProp(OVERFLOW_POLICY_KEY);
+        if (policy == null) {
+            return OverflowPolicy.DISCARD;
+        }
+        try {
+            return OverflowPolicy.valueOf(policy.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            logger.warn("Unsupported circuitBreaker transition overflow policy: {}, use {} instead",
+                    policy, OverflowPolicy.DISCARD);
+            return OverflowPolicy.DISCARD;
+        }
+    }
+
+    /**
+     * The policy to handle the event when the dispatcher queue is full.
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * Drop the event and count it.
+         */
+        DISCARD,
+
+        /**
+         * Process the event synchronously on the caller thread.
+         */
+        CALLER_RUNS
+    }
+
+    private static final class Task implements Runnable {
+
+        private final String name;
+        private final CircuitBreakerSateTransitionEvent event;
+        private final List<CircuitBreakerSateTransitionProcessor> processors;
+
+        private Task(String name, CircuitBreakerSateTransitionEvent event,
+                     List<CircuitBreakerSateTransitionProcessor> processors) {
+            this.name = name;
+            this.event = event;
+            this.processors = processors;
+        }
+
+        @Override
+        public void run() {
+            for (CircuitBreakerSateTransitionProcessor processor : processors) {
+                try {
+                    processor.process(name, event);
+                } catch (Throwable th) {
+                    logger.error("Failed to process circuitBreaker: {}'s transition event from {} to {} by {}",
+                            name, event.preState(), event.currentState(), processor, th);
+                }
+            }
+        }
+    }
+}
@@ -23,12 +23,20 @@ import io.esastack.servicekeeper.core.listener.FondConfigListener;
 import io.esastack.servicekeeper.core.utils.ClassCastUtils;
 
 import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class PredicateByException implements PredicateStrategy, PredicateConfigFilling,
         FondConfigListener<Class<? extends Throwable>[]> {
 
     private static final ResourceId DEFAULT_NOT_NAMED_ID = ResourceId.from("Not Named");
 
+    /**
+     * The max number of exception classes whose classification will be cached, which is used to avoid the cache
+     * growing unlimitedly when the exception classes are generated dynamically.
+     */
+    private static final int MAX_CACHED_CLASSES = 256;
+
     /**
      * This name is designed for dynamic configuration. You can change the maxSpendTimeMs by:
      * ${name}.ignoreExceptions: eg: com.servicekeeper.demos.DemoClass.method0.ignoreExceptions=
@@ -37,7 +45,7 @@ public class PredicateByException implements PredicateStrategy, PredicateConfigF
     private final ResourceId name;
     private final Class<? extends Throwable>[] originIgnoreExceptions;
 
-    private volatile Class<? extends Throwable>[] ignoreExceptions;
+    private volatile Classification classification;
 
     public PredicateByException() {
         this(DEFAULT_NOT_NAMED_ID);
@@ -49,7 +57,7 @@ public class PredicateByException implements PredicateStrategy, PredicateConfigF
 
     public PredicateByException(Class<? extends Throwable>[] ignoreExceptions,
                                 Class<? extends Throwable>[] originIgnoreExceptions, ResourceId name) {
-        this.ignoreExceptions = ignoreExceptions;
+        this.classification = new Classification(ignoreExceptions);
         this.originIgnoreExceptions = originIgnoreExceptions;
         this.name = name;
     }
@@ -60,16 +68,7 @@ public class PredicateByException implements PredicateStrategy, PredicateConfigF
         if (bizException == null) {
             return true;
         }
-        if (ignoreExceptions == null || ignoreExceptions.length == 0) {
-            return false;
-        }
-
-        for (Class<? extends Throwable> clazz : ignoreExceptions) {
-            if (isInstanceOf(bizException, clazz)) {
-                return true;
-            }
-        }
-        return false;
+        return classification.isIgnored(bizException.getClass());
     }
 
     @Override
@@ -83,17 +82,17 @@ public class PredicateByException implements PredicateStrategy, PredicateConfigF
 
     @Override
     public void updateWithNewestConfig(Class<? extends Throwable>[] newestConfig) {
-        ignoreExceptions = newestConfig;
+        classification = new Classification(newestConfig);
     }
 
     @Override
     public void updateWhenNewestConfigIsNull() {
-        ignoreExceptions = originIgnoreExceptions;
+        classification = new Classification(originIgnoreExceptions);
     }
 
     @Override
     public boolean isConfigEquals(Class<? extends Throwable>[] newestConfig) {
-        return Arrays.equals(ignoreExceptions, newestConfig);
+        return Arrays.equals(classification.ignoreExceptions, newestConfig);
     }
 
     @Override
@@ -103,10 +102,45 @@ public class PredicateByException implements PredicateStrategy, PredicateConfigF
 
     @Override
     public void fill(CircuitBreakerConfig config) {
-        config.updateIgnoreExceptions(ignoreExceptions);
+        config.updateIgnoreExceptions(classification.ignoreExceptions);
     }
 
-    private boolean isInstanceOf(final Throwable bizException, Class<? extends Throwable> clazz) {
-        return clazz.isAssignableFrom(bizException.getClass());
+    /**
+     * The ignoreExceptions and the cached classification of exception classes, which is replaced as a whole when
+     * the ignoreExceptions is updated, so that the stale classification will never be observed.
+     */
+    private static final class Classification {
+
+        private final Class<? extends Throwable>[] ignoreExceptions;
+        private final ConcurrentMap<Class<?>, Boolean> cache;
+
+        private Classification(Class<? extends Throwable>[] ignoreExceptions) {
+            this.ignoreExceptions = ignoreExceptions;
+            this.cache = (ignoreExceptions == null || ignoreExceptions.length == 0)
+                    ? null : new ConcurrentHashMap<>(8);
+        }
+
+        private boolean isIgnored(Class<?> exClazz) {
+            if (cache == null) {
+                return false;
+            }
+
+            final Boolean cached = cache.get(exClazz);
+            if (cached != null) {
+                return cached;
+            }
+
+            boolean ignored = false;
+            for (Class<? extends Throwable> clazz : ignoreExceptions) {
+                if (clazz.isAssignableFrom(exClazz)) {
+                    ignored = true;
+                    break;
+                }
+            }
+            if (cache.size() < MAX_CACHED_CLASSES) {
+                cache.putIfAbsent(exClazz, ignored);
+            }
+            return ignored;
+        }
     }
 }
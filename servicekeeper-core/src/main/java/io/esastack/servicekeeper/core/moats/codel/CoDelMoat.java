@@ -0,0 +1,211 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.moats.codel;
+
+import esa.commons.Checks;
+import esa.commons.StringUtils;
+import esa.commons.logging.Logger;
+import io.esastack.servicekeeper.core.common.ResourceId;
+import io.esastack.servicekeeper.core.config.CoDelConfig;
+import io.esastack.servicekeeper.core.config.MoatConfig;
+import io.esastack.servicekeeper.core.configsource.ExternalConfig;
+import io.esastack.servicekeeper.core.exception.QueueingDelayExceededException;
+import io.esastack.servicekeeper.core.executionchain.Context;
+import io.esastack.servicekeeper.core.listener.FondConfigListener;
+import io.esastack.servicekeeper.core.moats.AbstractMoat;
+import io.esastack.servicekeeper.core.moats.LifeCycleSupport;
+import io.esastack.servicekeeper.core.moats.MoatEventProcessor;
+import io.esastack.servicekeeper.core.moats.MoatType;
+import io.esastack.servicekeeper.core.utils.LogUtils;
+import io.esastack.servicekeeper.core.utils.TimerLogger;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.esastack.servicekeeper.core.configsource.ExternalConfigUtils.hasCoDel;
+import static io.esastack.servicekeeper.core.utils.ConfigUtils.combine;
+
+/**
+ * The moat sheds the requests which have been queued in the server for too long by the CoDel(controlled delay)
+ * algorithm. The queueing delay of a request is measured from its arrival time, see
+ * {@link Context#getArrivalTime()}, and the server is treated as overloaded during the next interval if the minimum
+ * queueing delay of the requests in an interval exceeds the target delay, which means the queue never drains.
+ * The requests which have been queued for longer than the interval are always shed, and the ones longer than the
+ * target delay are also shed while overloaded, so that the server serves the fresh requests whose clients are still
+ * waiting rather than the stale ones. The requests without arrival time are always permitted.
+ */
+public class CoDelMoat extends AbstractMoat<CoDelConfig> implements FondConfigListener<CoDelConfig>,
+        LifeCycleSupport {
+
+    private static final Logger logger = LogUtils.logger();
+
+    private static final long NO_DELAY = Long.MAX_VALUE;
+
+    private final TimerLogger timerLogger = new TimerLogger();
+    private final AtomicBoolean shouldDestroy = new AtomicBoolean(false);
+    private final AtomicLong intervalEnd = new AtomicLong();
+    private final AtomicLong minDelay = new AtomicLong(NO_DELAY);
+    private final LongAdder shedTimes = new LongAdder();
+    private final LifeCycleType lifeCycleType;
+    private final CoDelConfig immutableConfig;
+    private final String name;
+
+    private volatile CoDelConfig config;
+    private volatile boolean overloaded;
+
+    public CoDelMoat(MoatConfig config, CoDelConfig coDelConfig, CoDelConfig immutableConfig,
+                     List<MoatEventProcessor> processors) {
+        super(processors, config);
+        Checks.checkNotNull(coDelConfig, "coDelConfig");
+        this.lifeCycleType = immutableConfig == null ? LifeCycleType.TEMPORARY : LifeCycleType.PERMANENT;
+        this.immutableConfig = immutableConfig;
+        this.config = coDelConfig;
+        this.name = config.getResourceId().getName();
+    }
+
+    @Override
+    public void enter(Context ctx) throws QueueingDelayExceededException {
+        enter(ctx, System.currentTimeMillis());
+    }
+
+    void enter(Context ctx, long now) throws QueueingDelayExceededException {
+        final long arrivalTime = ctx.getArrivalTime();
+        if (arrivalTime < 0L) {
+            return;
+        }
+
+        final CoDelConfig config0 = config;
+        final long delay = Math.max(0L, now - arrivalTime);
+        final long end = intervalEnd.get();
+        if (now >= end && intervalEnd.compareAndSet(end, now + config0.getInterval())) {
+            // The previous interval without any request, eg: the first one, is treated as not overloaded.
+            final long min = minDelay.getAndSet(NO_DELAY);
+            overloaded = min != NO_DELAY && min > config0.getTargetDelay() && now - end < config0.getInterval();
+        }
+        minDelay.accumulateAndGet(delay, Math::min);
+
+        final long limit = overloaded ? config0.getTargetDelay() : config0.getInterval();
+        if (delay > limit) {
+            shedTimes.increment();
+            // ***  Note: Mustn't modify the log content which is used for keyword alarms.  **
+            timerLogger.logPeriodically("The queueing delay exceeds threshold {}, which name is {}", limit, name);
+            throw new QueueingDelayExceededException(StringUtils.concat("The queueing delay ",
+                    String.valueOf(delay), "ms of ", ctx.getResourceId(), " exceeds the limit ",
+                    String.valueOf(limit), "ms"), ctx);
+        }
+    }
+
+    @Override
+    public void exit(Context ctx) {
+        // Do nothing
+    }
+
+    /**
+     * Whether the server is treated as overloaded currently.
+     *
+     * @return true if overloaded
+     */
+    public boolean isOverloaded() {
+        return overloaded;
+    }
+
+    /**
+     * Get the number of the requests which have been shed.
+     *
+     * @return shed times
+     */
+    public long shedTimes() {
+        return shedTimes.sum();
+    }
+
+    @Override
+    public CoDelConfig config() {
+        return config;
+    }
+
+    @Override
+    public CoDelConfig getFond(ExternalConfig config) {
+        if (immutableConfig == null && (!hasCoDel(config))) {
+            return null;
+        }
+        return combine(immutableConfig, config);
+    }
+
+    @Override
+    public void updateWithNewestConfig(CoDelConfig config) {
+        logger.info("Begin to update codel: {} with the newest config: {}", name, config);
+        this.config = config;
+    }
+
+    @Override
+    public void updateWhenNewestConfigIsNull() {
+        if (lifeCycleType() == LifeCycleType.TEMPORARY) {
+            preDestroy();
+        } else {
+            updateWithNewestConfig(immutableConfig);
+        }
+    }
+
+    @Override
+    public boolean isConfigEquals(CoDelConfig newestConfig) {
+        return config.equals(newestConfig);
+    }
+
+    @Override
+    public LifeCycleType lifeCycleType() {
+        return lifeCycleType;
+    }
+
+    @Override
+    public boolean shouldDelete() {
+        return shouldDestroy.get();
+    }
+
+    @Override
+    public ResourceId listeningKey() {
+        return ResourceId.from(name);
+    }
+
+    @Override
+    public String toString() {
+        return "CoDelMoat-" + name;
+    }
+
+    @Override
+    public int getOrder() {
+        return -1;
+    }
+
+    @Override
+    public MoatType type() {
+        return MoatType.CODEL;
+    }
+
+    @Override
+    protected String name() {
+        return name;
+    }
+
+    private void preDestroy() {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Prepare to destroy the codel moat: {}", name);
+        }
+        preDestroy0();
+        shouldDestroy.getAndSet(true);
+    }
+}
@@ -19,12 +19,15 @@ import esa.commons.Checks;
 import io.esastack.servicekeeper.core.config.ConcurrentLimitConfig;
 import io.esastack.servicekeeper.core.metrics.ConcurrentLimitMetrics;
 
-import java.util.concurrent.atomic.AtomicInteger;
-
+/**
+ * The default {@link ConcurrentLimiter} which counts the concurrent calls by a single counter. The counter is padded
+ * against false sharing and the permission is acquired by a read-then-CAS loop, so a call which is rejected because
+ * of the threshold has been reached only reads the counter and never writes it.
+ */
 public class AtomicConcurrentLimiter implements ConcurrentLimiter {
 
     private final String name;
-    private final AtomicInteger callCounter;
+    private final PaddedCounter callCounter;
     private volatile int threshold;
     private final ConcurrentLimitConfig immutableConfig;
 
@@ -32,18 +35,13 @@ public class AtomicConcurrentLimiter implements ConcurrentLimiter {
         Checks.checkNotNull(config, "config");
         this.name = name;
         this.threshold = config.getThreshold();
-        this.callCounter = new AtomicInteger(0);
+        this.callCounter = new PaddedCounter();
         this.immutableConfig = immutableConfig;
     }
 
     @Override
     public boolean acquirePermission() {
-        if (callCounter.incrementAndGet() > threshold) {
-            callCounter.decrementAndGet();
-            return false;
-        } else {
-            return true;
-        }
+        return callCounter.tryAdd(1, threshold);
     }
 
     @Override
@@ -53,7 +51,7 @@ public class AtomicConcurrentLimiter implements ConcurrentLimiter {
 
     @Override
     public void release() {
-        callCounter.decrementAndGet();
+        callCounter.addAndGet(-1);
     }
 
     @Override
@@ -71,6 +69,16 @@ public class AtomicConcurrentLimiter implements ConcurrentLimiter {
         return ConcurrentLimitConfig.builder().threshold(threshold).build();
     }
 
+    @Override
+    public int currentLimit() {
+        return threshold;
+    }
+
+    @Override
+    public int currentCallCount() {
+        return callCounter.get();
+    }
+
     @Override
     public ConcurrentLimitMetrics metrics() {
         return new Metrics();
@@ -88,7 +96,7 @@ public class AtomicConcurrentLimiter implements ConcurrentLimiter {
 
         @Override
         public int currentCallCount() {
-            return callCounter.get();
+            return AtomicConcurrentLimiter.this.currentCallCount();
         }
     }
 }
@@ -0,0 +1,336 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.moats.concurrentlimit;
+
+import esa.commons.Checks;
+import io.esastack.servicekeeper.core.common.ServiceKeeperTimer;
+import io.esastack.servicekeeper.core.config.ConcurrentLimitConfig;
+import io.esastack.servicekeeper.core.metrics.ConcurrentLimitMetrics;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The limiter works as a bulkhead, the calls which exceed the threshold will wait in a bounded FIFO queue for at most
+ * {@link ConcurrentLimitConfig#getMaxWaitDuration()} instead of being rejected immediately. The permission released
+ * by a call is handed off to the head waiter directly, so that a new coming call could never steal the permission
+ * from the waiters.
+ * <p>
+ * The sync callers wait by {@link #acquirePermission()} which blocks the caller thread, and the async callers wait by
+ * {@link #acquirePermissionAsync()} which never blocks and is timed out by the {@link ServiceKeeperTimer}.
+ */
+public class BulkheadConcurrentLimiter implements ConcurrentLimiter {
+
+    private static final Waiter ACQUIRED = new Waiter(0L);
+
+    private final String name;
+    private final AtomicInteger callCounter = new AtomicInteger(0);
+    private final ConcurrentLimitConfig config;
+    private final ConcurrentLimitConfig immutableConfig;
+    private final long maxWaitNanos;
+    private final int maxQueueSize;
+
+    /**
+     * Guarded by itself.
+     */
+    private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+    private final LongAdder waitedCalls = new LongAdder();
+    private final LongAdder waitTimeNanos = new LongAdder();
+
+    private volatile int threshold;
+
+    /**
+     * The size of {@link #waiters}, which is only updated when holding the lock and could be read without it.
+     */
+    private volatile int queueDepth;
+
+    public BulkheadConcurrentLimiter(String name, ConcurrentLimitConfig config,
+                                     ConcurrentLimitConfig immutableConfig) {
+        Checks.checkNotNull(config, "config");
+        this.name = name;
+        this.config = config;
+        this.immutableConfig = immutableConfig;
+        this.threshold = config.getThreshold();
+        this.maxWaitNanos = config.getMaxWaitDuration().toNanos();
+        this.maxQueueSize = config.getMaxQueueSize();
+    }
+
+    @Override
+    public boolean acquirePermission() {
+        if (tryAcquirePermission()) {
+            return true;
+        }
+        final Waiter waiter = enqueue();
+        if (waiter == null) {
+            return false;
+        }
+        if (waiter == ACQUIRED) {
+            return true;
+        }
+
+        try {
+            return waiter.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException ex) {
+            return cancel(waiter);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return cancel(waiter);
+        }
+    }
+
+    @Override
+    public boolean tryAcquirePermission() {
+        // Don't barge in when there are waiters, the released permissions belong to them.
+        return queueDepth == 0 && tryIncrement();
+    }
+
+    @Override
+    public CompletionStage<Boolean> acquirePermissionAsync() {
+        if (tryAcquirePermission()) {
+            return CompletableFuture.completedFuture(true);
+        }
+        final Waiter waiter = enqueue();
+        if (waiter == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        if (waiter == ACQUIRED) {
+            return CompletableFuture.completedFuture(true);
+        }
+
+        waiter.timeout = ServiceKeeperTimer.schedule(() -> cancel(waiter),
+                TimeUnit.NANOSECONDS.toMillis(maxWaitNanos));
+        return waiter;
+    }
+
+    @Override
+    public boolean isWaitable() {
+        return maxWaitNanos > 0L && maxQueueSize > 0;
+    }
+
+    @Override
+    public void release() {
+        if (queueDepth == 0) {
+            callCounter.decrementAndGet();
+            // Re-check after the decrement, a waiter may be enqueued before it sees the released permission.
+            if (queueDepth != 0) {
+                complete(drain(), true);
+            }
+            return;
+        }
+
+        final Waiter waiter;
+        synchronized (waiters) {
+            waiter = waiters.poll();
+            queueDepth = waiters.size();
+            if (waiter == null) {
+                callCounter.decrementAndGet();
+            }
+        }
+        if (waiter != null) {
+            // Hand off the permission to the waiter directly, so the call counter keeps unchanged.
+            complete(waiter, true);
+        }
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public void changeThreshold(int newThreshold) {
+        this.threshold = newThreshold;
+        if (queueDepth != 0) {
+            complete(drain(), true);
+        }
+    }
+
+    @Override
+    public ConcurrentLimitConfig immutableConfig() {
+        return immutableConfig;
+    }
+
+    @Override
+    public ConcurrentLimitConfig config() {
+        return ConcurrentLimitConfig.from(config).threshold(threshold).build();
+    }
+
+    @Override
+    public int currentLimit() {
+        return threshold;
+    }
+
+    @Override
+    public int currentCallCount() {
+        return callCounter.get();
+    }
+
+    @Override
+    public ConcurrentLimitMetrics metrics() {
+        return new Metrics();
+    }
+
+    private boolean tryIncrement() {
+        for (; ; ) {
+            final int current = callCounter.get();
+            if (current >= threshold) {
+                return false;
+            }
+            if (callCounter.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Enqueues a new waiter.
+     *
+     * @return null if the queue is full, {@link #ACQUIRED} if the permission has been acquired during enqueuing,
+     * otherwise the waiter which will be completed when the permission is handed off.
+     */
+    private Waiter enqueue() {
+        if (maxWaitNanos <= 0L || maxQueueSize <= 0) {
+            return null;
+        }
+        final Waiter waiter = new Waiter(System.nanoTime());
+        final List<Waiter> acquired;
+        synchronized (waiters) {
+            if (waiters.size() >= maxQueueSize) {
+                return null;
+            }
+            waiters.offer(waiter);
+            queueDepth = waiters.size();
+            // Re-check after the enqueue, a permission may be released before it sees the waiter.
+            acquired = drainLocked();
+        }
+
+        if (acquired.remove(waiter)) {
+            complete(acquired, true);
+            return ACQUIRED;
+        }
+        complete(acquired, true);
+        return waiter;
+    }
+
+    private List<Waiter> drain() {
+        synchronized (waiters) {
+            return drainLocked();
+        }
+    }
+
+    private List<Waiter> drainLocked() {
+        List<Waiter> acquired = Collections.emptyList();
+        while (!waiters.isEmpty() && tryIncrement()) {
+            if (acquired.isEmpty()) {
+                acquired = new ArrayList<>(1);
+            }
+            acquired.add(waiters.poll());
+        }
+        queueDepth = waiters.size();
+        return acquired;
+    }
+
+    /**
+     * Cancels the waiter when it has waited for the max duration.
+     *
+     * @param waiter waiter
+     * @return true if the permission has been handed off to the waiter before it's cancelled.
+     */
+    private boolean cancel(Waiter waiter) {
+        final boolean removed;
+        synchronized (waiters) {
+            removed = waiters.remove(waiter);
+            queueDepth = waiters.size();
+        }
+        if (removed) {
+            complete(waiter, false);
+        }
+        return !waiter.isCompletedExceptionally() && waiter.join();
+    }
+
+    private void complete(List<Waiter> waiters, boolean acquired) {
+        for (Waiter waiter : waiters) {
+            complete(waiter, acquired);
+        }
+    }
+
+    private void complete(Waiter waiter, boolean acquired) {
+        // Complete the waiter out of the lock to wake up the waiting thread as soon as possible.
+        waitedCalls.increment();
+        waitTimeNanos.add(System.nanoTime() - waiter.startNanos);
+        final ScheduledFuture<?> timeout = waiter.timeout;
+        if (timeout != null) {
+            timeout.cancel(false);
+        }
+        if (!waiter.complete(acquired) && acquired) {
+            // The waiter has been completed by others (eg: cancelled by the async caller), so the permission handed
+            // off to it would never be released by the caller, release it to the next waiter.
+            release();
+        }
+    }
+
+    private static final class Waiter extends CompletableFuture<Boolean> {
+
+        private final long startNanos;
+        private volatile ScheduledFuture<?> timeout;
+
+        private Waiter(long startNanos) {
+            this.startNanos = startNanos;
+        }
+    }
+
+    private class Metrics implements ConcurrentLimitMetrics {
+
+        private Metrics() {
+        }
+
+        @Override
+        public int threshold() {
+            return threshold;
+        }
+
+        @Override
+        public int currentCallCount() {
+            return BulkheadConcurrentLimiter.this.currentCallCount();
+        }
+
+        @Override
+        public int queueDepth() {
+            return queueDepth;
+        }
+
+        @Override
+        public long numberOfWaitedCalls() {
+            return waitedCalls.sum();
+        }
+
+        @Override
+        public double averageWaitTimeMs() {
+            final long calls = waitedCalls.sum();
+            return calls == 0L ? 0.0d : waitTimeNanos.sum() / (double) calls / 1000_000.0d;
+        }
+    }
+}
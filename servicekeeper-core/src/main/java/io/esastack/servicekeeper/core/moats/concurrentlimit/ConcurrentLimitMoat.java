@@ -18,12 +18,15 @@ package io.esastack.servicekeeper.core.moats.concurrentlimit;
 import esa.commons.Checks;
 import esa.commons.StringUtils;
 import esa.commons.logging.Logger;
+import io.esastack.servicekeeper.core.common.HeapPressureMonitor;
+import io.esastack.servicekeeper.core.common.Priority;
 import io.esastack.servicekeeper.core.common.ResourceId;
 import io.esastack.servicekeeper.core.config.ConcurrentLimitConfig;
 import io.esastack.servicekeeper.core.config.MoatConfig;
 import io.esastack.servicekeeper.core.configsource.ExternalConfig;
 import io.esastack.servicekeeper.core.exception.ConcurrentOverflowException;
 import io.esastack.servicekeeper.core.exception.ServiceKeeperNotPermittedException;
+import io.esastack.servicekeeper.core.executionchain.AsyncContext;
 import io.esastack.servicekeeper.core.executionchain.Context;
 import io.esastack.servicekeeper.core.listener.FondConfigListener;
 import io.esastack.servicekeeper.core.metrics.ConcurrentLimitMetrics;
@@ -36,6 +39,7 @@ import io.esastack.servicekeeper.core.utils.LogUtils;
 import io.esastack.servicekeeper.core.utils.TimerLogger;
 
 import java.util.List;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static io.esastack.servicekeeper.core.configsource.ExternalConfigUtils.hasConcurrent;
@@ -66,14 +70,14 @@ public class ConcurrentLimitMoat extends AbstractMoat<ConcurrentLimitConfig>
     @Override
     public void enter(Context ctx) throws ServiceKeeperNotPermittedException {
         if (!hasProcessors) {
-            if (!limiter.acquirePermission()) {
+            if (!acquirePermission(ctx)) {
                 // ***  Note: Mustn't modify the log content which is used for keyword alarms.  **
                 timerLogger.logPeriodically("The concurrent exceeds limit {}, which name is {}",
                         limiter.config().getThreshold(), limiter.name());
                 throw notPermittedException(ctx);
             }
         } else {
-            if (limiter.acquirePermission()) {
+            if (acquirePermission(ctx)) {
                 process(MoatEventImpl.PERMITTED);
             } else {
                 process(MoatEventImpl.REJECTED_BY_CONCURRENT_LIMIT);
@@ -88,13 +92,17 @@ public class ConcurrentLimitMoat extends AbstractMoat<ConcurrentLimitConfig>
 
     @Override
     public void exit(Context ctx) {
-        limiter.release();
+        // The spend time of a cancelled call is meaningless for adjusting the limit.
+        if (ctx == null || ctx.isCancelled()) {
+            limiter.release();
+        } else {
+            limiter.release(ctx.getSpendTimeMs());
+        }
     }
 
     @Override
     public ConcurrentLimitConfig config() {
-        int threshold = this.limiter.metrics().threshold();
-        return ConcurrentLimitConfig.builder().threshold(threshold).build();
+        return limiter.config();
     }
 
     @Override
@@ -158,6 +166,44 @@ public class ConcurrentLimitMoat extends AbstractMoat<ConcurrentLimitConfig>
         return MoatType.CONCURRENT_LIMIT;
     }
 
+    /**
+     * Waits for a permission of the async call without blocking the caller thread, the acquired permission is kept
+     * by the ctx and taken by {@link #enter(Context)} later. It's used only when the limiter queues the calls which
+     * exceed the limit, see {@link ConcurrentLimiter#isWaitable()}.
+     *
+     * @param ctx ctx
+     * @return null if there is no need to wait, otherwise the stage which is completed when the permission is
+     * acquired or the wait times out, the ctx should enter the moats after that.
+     */
+    public CompletionStage<Boolean> acquirePermissionAsync(AsyncContext ctx) {
+        if (!limiter.isWaitable() || shouldShed(ctx)) {
+            return null;
+        }
+        if (limiter.tryAcquirePermission()) {
+            ctx.setConcurrentPermitted(true);
+            return null;
+        }
+        return limiter.acquirePermissionAsync().thenApply(acquired -> {
+            if (acquired) {
+                ctx.setConcurrentPermitted(true);
+            }
+            return acquired;
+        });
+    }
+
+    /**
+     * Releases the permission acquired by {@link #acquirePermissionAsync(AsyncContext)} if it has not been taken,
+     * eg: the call is rejected by another moat before entering current one.
+     *
+     * @param ctx ctx
+     */
+    public void releaseUntaken(AsyncContext ctx) {
+        if (ctx.isConcurrentPermitted()) {
+            ctx.setConcurrentPermitted(false);
+            limiter.release();
+        }
+    }
+
     /**
      * Get concurrentLimiter of current moat
      *
@@ -172,9 +218,36 @@ public class ConcurrentLimitMoat extends AbstractMoat<ConcurrentLimitConfig>
         return limiter.name();
     }
 
+    private boolean acquirePermission(Context ctx) {
+        if (ctx instanceof AsyncContext && ((AsyncContext) ctx).isConcurrentPermitted()) {
+            ((AsyncContext) ctx).setConcurrentPermitted(false);
+            return true;
+        }
+        if (shouldShed(ctx)) {
+            return false;
+        }
+        // The moats are entered on the caller thread of async executions, which mustn't be blocked by waiting,
+        // the async calls wait by acquirePermissionAsync(AsyncContext) before entering.
+        return ctx instanceof AsyncContext ? limiter.tryAcquirePermission() : limiter.acquirePermission();
+    }
+
+    private boolean shouldShed(Context ctx) {
+        final Priority priority = ctx == null ? null : ctx.getPriority();
+        final boolean byPriority = priority != null && priority.ratio() < 1.0d;
+        if (!byPriority && HeapPressureMonitor.currentFactor() >= 1.0d) {
+            return false;
+        }
+        final int limit = limiter.currentLimit();
+        final int available = limit - limiter.currentCallCount();
+        return HeapPressureMonitor.shouldShedUnderPressure(limit, available)
+                || (byPriority && priority.shouldShed(limit, available));
+    }
+
     private ServiceKeeperNotPermittedException notPermittedException(Context ctx) {
-        final int maxConcurrentLimit = limiter.metrics().threshold();
-        final int currentCallCount = limiter.metrics().currentCallCount();
+        final ConcurrentLimitMetrics metrics = limiter.metrics();
+        final int maxConcurrentLimit = metrics.threshold();
+        final int currentCallCount = metrics.currentCallCount();
+        final int currentLimit = metrics.currentLimit();
         return new ConcurrentOverflowException(
                 StringUtils.concat("The maxConcurrentLimit of ",
                         limiter.name(), ": " + maxConcurrentLimit), ctx,
@@ -188,6 +261,11 @@ public class ConcurrentLimitMoat extends AbstractMoat<ConcurrentLimitConfig>
                     public int currentCallCount() {
                         return currentCallCount;
                     }
+
+                    @Override
+                    public int currentLimit() {
+                        return currentLimit;
+                    }
                 }
         );
     }
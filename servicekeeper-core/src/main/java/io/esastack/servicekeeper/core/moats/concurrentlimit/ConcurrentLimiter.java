@@ -18,6 +18,9 @@ package io.esastack.servicekeeper.core.moats.concurrentlimit;
 import io.esastack.servicekeeper.core.config.ConcurrentLimitConfig;
 import io.esastack.servicekeeper.core.metrics.ConcurrentLimitMetrics;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
 public interface ConcurrentLimiter {
 
     /**
@@ -27,11 +30,51 @@ public interface ConcurrentLimiter {
      */
     boolean acquirePermission();
 
+    /**
+     * Try to acquire an permission from this limiter without waiting, even though the limiter supports to wait for
+     * permissions.
+     *
+     * @return true if acquire successfully, otherwise in contrast.
+     */
+    default boolean tryAcquirePermission() {
+        return acquirePermission();
+    }
+
+    /**
+     * Try to acquire an permission from this limiter asynchronously, the returned stage is completed with true when
+     * the permission is acquired and with false when the permission can't be acquired in the max wait duration. The
+     * caller thread is never blocked.
+     *
+     * @return stage of result
+     */
+    default CompletionStage<Boolean> acquirePermissionAsync() {
+        return CompletableFuture.completedFuture(tryAcquirePermission());
+    }
+
+    /**
+     * Whether the limiter may wait for a permission when the concurrent calls exceed the limit, if false, the
+     * {@link #acquirePermissionAsync()} is always completed immediately.
+     *
+     * @return true or false
+     */
+    default boolean isWaitable() {
+        return false;
+    }
+
     /**
      * Release an permission.
      */
     void release();
 
+    /**
+     * Release an permission with the spend time of the call, which could be used to adjust the limit.
+     *
+     * @param spendTimeMs spend time in milliseconds
+     */
+    default void release(long spendTimeMs) {
+        release();
+    }
+
     /**
      * Get the name of the limiter.
      *
@@ -60,6 +103,26 @@ public interface ConcurrentLimiter {
      */
     ConcurrentLimitConfig config();
 
+    /**
+     * Get the limit which is used to limit the concurrent calls currently, same as
+     * {@link ConcurrentLimitMetrics#currentLimit()} but without creating a metrics.
+     *
+     * @return current limit
+     */
+    default int currentLimit() {
+        return metrics().currentLimit();
+    }
+
+    /**
+     * Get the number of current concurrent calls, same as {@link ConcurrentLimitMetrics#currentCallCount()} but
+     * without creating a metrics.
+     *
+     * @return current call count
+     */
+    default int currentCallCount() {
+        return metrics().currentCallCount();
+    }
+
     /**
      * Get current collector.
      *
@@ -21,6 +21,7 @@ import io.esastack.servicekeeper.core.config.ConcurrentLimitConfig;
 import io.esastack.servicekeeper.core.moats.MoatEventProcessor;
 import io.esastack.servicekeeper.core.moats.Registry;
 import io.esastack.servicekeeper.core.utils.LogUtils;
+import io.esastack.servicekeeper.core.utils.SystemConfigUtils;
 
 import java.util.List;
 import java.util.Map;
@@ -28,6 +29,12 @@ import java.util.concurrent.ConcurrentHashMap;
 
 public class ConcurrentLimiterRegistry implements Registry<ConcurrentLimiter, ConcurrentLimitConfig> {
 
+    /**
+     * Whether to split the permits of fixed concurrentLimiters into per-core slabs, see
+     * {@link StripedConcurrentLimiter}.
+     */
+    public static final String STRIPED_ENABLE_KEY = "servicekeeper.concurrentlimit.striped.enable";
+
     private static final Logger logger = LogUtils.logger();
 
     private final Map<String, ConcurrentLimiter> limiterMap = new ConcurrentHashMap<>(64);
@@ -44,10 +51,10 @@ public class ConcurrentLimiterRegistry implements Registry<ConcurrentLimiter, Co
                                          final ConcurrentLimitConfig immutableConfig,
                                          final List<MoatEventProcessor> processors) {
         if (StringUtils.isEmpty(name)) {
-            return new AtomicConcurrentLimiter(null, config, immutableConfig);
+            return newLimiter(null, config, immutableConfig);
         }
         return limiterMap.computeIfAbsent(name,
-                key -> new AtomicConcurrentLimiter(name, config, immutableConfig));
+                key -> newLimiter(name, config, immutableConfig));
     }
 
     @Override
@@ -57,6 +64,20 @@ public class ConcurrentLimiterRegistry implements Registry<ConcurrentLimiter, Co
         }
     }
 
+    private static ConcurrentLimiter newLimiter(final String name, final ConcurrentLimitConfig config,
+                                                final ConcurrentLimitConfig immutableConfig) {
+        if (config.getAlgorithm() == ConcurrentLimitConfig.Algorithm.VEGAS) {
+            return new VegasConcurrentLimiter(name, config, immutableConfig);
+        }
+        if (!config.getMaxWaitDuration().isZero() && config.getMaxQueueSize() > 0) {
+            return new BulkheadConcurrentLimiter(name, config, immutableConfig);
+        }
+        if (SystemConfigUtils.getBooleanFromEnvAndProp(STRIPED_ENABLE_KEY, false)) {
+            return new StripedConcurrentLimiter(name, config, immutableConfig);
+        }
+        return new AtomicConcurrentLimiter(name, config, immutableConfig);
+    }
+
     private static class ConcurrentLimiterRegistryHolder {
         private static final ConcurrentLimiterRegistry INSTANCE = new ConcurrentLimiterRegistry();
     }
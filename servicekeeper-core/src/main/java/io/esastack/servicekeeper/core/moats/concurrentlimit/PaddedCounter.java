@@ -0,0 +1,121 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.moats.concurrentlimit;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * An int counter which is padded on both sides to occupy a cache line by itself, so that the CAS operations on it
+ * will not invalidate the cache lines of the neighbouring fields(false sharing). The acquisition is done by a
+ * read-then-CAS loop, which means a caller who sees that the counter has reached the limit fails without any write.
+ */
+final class PaddedCounter extends PaddedCounterRhsPadding {
+
+    private static final AtomicIntegerFieldUpdater<PaddedCounterValue> VALUE_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(PaddedCounterValue.class, "value");
+
+    PaddedCounter() {
+    }
+
+    int get() {
+        return value;
+    }
+
+    /**
+     * Adds the delta to the counter only when the result will not exceed the limit.
+     *
+     * @param delta delta, must be positive
+     * @param limit max value of the counter
+     * @return true if added, otherwise false
+     */
+    boolean tryAdd(int delta, int limit) {
+        for (;;) {
+            final int current = value;
+            if (current + delta > limit || current + delta < current) {
+                return false;
+            }
+            if (VALUE_UPDATER.compareAndSet(this, current, current + delta)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Adds at most {@code maxDelta} to the counter, the result will not exceed the limit.
+     *
+     * @param maxDelta max delta, must be positive
+     * @param limit    max value of the counter
+     * @return the delta which has been added actually, 0 if the counter has reached the limit
+     */
+    int tryAddUpTo(int maxDelta, int limit) {
+        for (;;) {
+            final int current = value;
+            final int delta = Math.min(maxDelta, limit - current);
+            if (delta <= 0) {
+                return 0;
+            }
+            if (VALUE_UPDATER.compareAndSet(this, current, current + delta)) {
+                return delta;
+            }
+        }
+    }
+
+    /**
+     * Subtracts at most {@code maxDelta} from the counter, the result will not be less than 0.
+     *
+     * @param maxDelta max delta, must be positive
+     * @return the delta which has been subtracted actually, 0 if the counter is 0
+     */
+    int tryRemoveUpTo(int maxDelta) {
+        for (;;) {
+            final int current = value;
+            final int delta = Math.min(maxDelta, current);
+            if (delta <= 0) {
+                return 0;
+            }
+            if (VALUE_UPDATER.compareAndSet(this, current, current - delta)) {
+                return delta;
+            }
+        }
+    }
+
+    int addAndGet(int delta) {
+        return VALUE_UPDATER.addAndGet(this, delta);
+    }
+
+    int getAndSet(int newValue) {
+        return VALUE_UPDATER.getAndSet(this, newValue);
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(value);
+    }
+}
+
+abstract class PaddedCounterLhsPadding {
+    long p01, p02, p03, p04, p05, p06, p07;
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+}
+
+abstract class PaddedCounterValue extends PaddedCounterLhsPadding {
+    volatile int value;
+}
+
+abstract class PaddedCounterRhsPadding extends PaddedCounterValue {
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+    long p30, p31, p32, p33, p34, p35, p36, p37;
+}
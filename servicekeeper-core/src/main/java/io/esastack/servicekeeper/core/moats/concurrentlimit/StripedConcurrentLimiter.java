@@ -0,0 +1,189 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.moats.concurrentlimit;
+
+import esa.commons.Checks;
+import io.esastack.servicekeeper.core.config.ConcurrentLimitConfig;
+import io.esastack.servicekeeper.core.metrics.ConcurrentLimitMetrics;
+
+/**
+ * The {@link ConcurrentLimiter} which splits the permits into per-core slabs. Each slab reserves a batch of permits
+ * from the shared counter and then hands them out locally, so that the threads running on different cores mostly
+ * update different cache lines instead of the shared one. When the shared counter has been exhausted, the permits
+ * cached by the other slabs will be stolen before rejecting the call, which makes sure that no call is rejected while
+ * there are free permits.
+ * <p>
+ * The surplus permits of a slab will be given back to the shared counter when released, and all the cached permits
+ * are given back when the threshold changes.
+ */
+public class StripedConcurrentLimiter implements ConcurrentLimiter {
+
+    private static final int MAX_SLABS = 64;
+    private static final int SLAB_BATCH_DIVISOR = 4;
+
+    private final String name;
+    private final ConcurrentLimitConfig config;
+    private final ConcurrentLimitConfig immutableConfig;
+
+    /**
+     * Number of permits which have been reserved from threshold, including the in-flight ones and the ones cached
+     * by slabs.
+     */
+    private final PaddedCounter reserved = new PaddedCounter();
+
+    /**
+     * Number of free permits cached by each slab.
+     */
+    private final PaddedCounter[] slabs;
+    private final int mask;
+
+    private volatile int threshold;
+    private volatile int batchSize;
+
+    public StripedConcurrentLimiter(String name, ConcurrentLimitConfig config, ConcurrentLimitConfig immutableConfig) {
+        this(name, config, immutableConfig, Runtime.getRuntime().availableProcessors());
+    }
+
+    StripedConcurrentLimiter(String name, ConcurrentLimitConfig config, ConcurrentLimitConfig immutableConfig,
+                             int parallelism) {
+        Checks.checkNotNull(config, "config");
+        Checks.checkArg(parallelism > 0, "parallelism must be positive");
+        this.name = name;
+        this.config = config;
+        this.immutableConfig = immutableConfig;
+        final int size = slabSize(parallelism);
+        this.slabs = new PaddedCounter[size];
+        for (int i = 0; i < size; i++) {
+            slabs[i] = new PaddedCounter();
+        }
+        this.mask = size - 1;
+        this.threshold = config.getThreshold();
+        this.batchSize = batchSize(threshold, size);
+    }
+
+    @Override
+    public boolean acquirePermission() {
+        final int index = index();
+        if (slabs[index].tryRemoveUpTo(1) == 1) {
+            return true;
+        }
+
+        final int got = reserved.tryAddUpTo(batchSize, threshold);
+        if (got > 0) {
+            if (got > 1) {
+                slabs[index].addAndGet(got - 1);
+            }
+            return true;
+        }
+
+        for (int i = 1; i < slabs.length; i++) {
+            if (slabs[(index + i) & mask].tryRemoveUpTo(1) == 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void release() {
+        final PaddedCounter slab = slabs[index()];
+        final int free = slab.addAndGet(1);
+        if (reserved.get() > threshold) {
+            reserved.addAndGet(-slab.tryRemoveUpTo(free));
+        } else if (free > (batchSize << 1)) {
+            reserved.addAndGet(-slab.tryRemoveUpTo(free - batchSize));
+        }
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public void changeThreshold(int newThreshold) {
+        this.threshold = newThreshold;
+        this.batchSize = batchSize(newThreshold, slabs.length);
+        for (PaddedCounter slab : slabs) {
+            reserved.addAndGet(-slab.getAndSet(0));
+        }
+    }
+
+    @Override
+    public ConcurrentLimitConfig immutableConfig() {
+        return immutableConfig;
+    }
+
+    @Override
+    public ConcurrentLimitConfig config() {
+        return ConcurrentLimitConfig.from(config).threshold(threshold).build();
+    }
+
+    @Override
+    public int currentLimit() {
+        return threshold;
+    }
+
+    @Override
+    public int currentCallCount() {
+        int count = reserved.get();
+        for (PaddedCounter slab : slabs) {
+            count -= slab.get();
+        }
+        return Math.max(0, count);
+    }
+
+    @Override
+    public ConcurrentLimitMetrics metrics() {
+        return new Metrics();
+    }
+
+    int slabSize() {
+        return slabs.length;
+    }
+
+    private int index() {
+        return (int) Thread.currentThread().getId() & mask;
+    }
+
+    private static int slabSize(int parallelism) {
+        int size = 1;
+        while (size < parallelism && size < MAX_SLABS) {
+            size <<= 1;
+        }
+        return size;
+    }
+
+    private static int batchSize(int threshold, int slabSize) {
+        return Math.max(1, threshold / (slabSize * SLAB_BATCH_DIVISOR));
+    }
+
+    private class Metrics implements ConcurrentLimitMetrics {
+
+        private Metrics() {
+        }
+
+        @Override
+        public int threshold() {
+            return threshold;
+        }
+
+        @Override
+        public int currentCallCount() {
+            return StripedConcurrentLimiter.this.currentCallCount();
+        }
+    }
+}
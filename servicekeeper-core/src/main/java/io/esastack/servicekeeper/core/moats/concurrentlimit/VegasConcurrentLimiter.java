@@ -0,0 +1,188 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.moats.concurrentlimit;
+
+import esa.commons.Checks;
+import io.esastack.servicekeeper.core.config.ConcurrentLimitConfig;
+import io.esastack.servicekeeper.core.metrics.ConcurrentLimitMetrics;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The limiter adjusts the limit adaptively by the algorithm of TCP Vegas. The spend time of a call which is observed
+ * when releasing the permission is regarded as a sample of RTT, and the minimum RTT is regarded as the RTT without
+ * load, so the size of queue in downstream can be estimated by: limit * (1 - minRtt / rtt). The limit grows when the
+ * estimated queue is small and shrinks when it's large, and is always bounded by
+ * [{@link ConcurrentLimitConfig#getMinThreshold()}, {@link ConcurrentLimitConfig#getThreshold()}].
+ * <p>
+ * The samples are dropped when another thread is updating the limit, so that releasing a permission never blocks.
+ */
+public class VegasConcurrentLimiter implements ConcurrentLimiter {
+
+    static final int INITIAL_LIMIT = 20;
+
+    /**
+     * The minimum RTT will be re-measured after so many samples, in case that the downstream has been changed.
+     */
+    static final int PROBE_INTERVAL = 1000;
+
+    private final String name;
+    private final AtomicInteger callCounter;
+    private final AtomicBoolean updating = new AtomicBoolean(false);
+    private final ConcurrentLimitConfig immutableConfig;
+    private final ConcurrentLimitConfig config;
+    private final int minThreshold;
+
+    private volatile int threshold;
+    private volatile int limit;
+
+    /**
+     * Guarded by {@link #updating}.
+     */
+    private long minRttMs;
+    private int samples;
+
+    public VegasConcurrentLimiter(String name, ConcurrentLimitConfig config, ConcurrentLimitConfig immutableConfig) {
+        Checks.checkNotNull(config, "config");
+        Checks.checkArg(config.getMinThreshold() <= config.getThreshold(),
+                "minThreshold must not be greater than threshold");
+        this.name = name;
+        this.config = config;
+        this.immutableConfig = immutableConfig;
+        this.minThreshold = config.getMinThreshold();
+        this.threshold = config.getThreshold();
+        this.limit = Math.min(Math.max(INITIAL_LIMIT, minThreshold), threshold);
+        this.callCounter = new AtomicInteger(0);
+    }
+
+    @Override
+    public boolean acquirePermission() {
+        if (callCounter.incrementAndGet() > limit) {
+            callCounter.decrementAndGet();
+            return false;
+        } else {
+            return true;
+        }
+    }
+
+    @Override
+    public void release() {
+        callCounter.decrementAndGet();
+    }
+
+    @Override
+    public void release(long spendTimeMs) {
+        final int inflight = callCounter.getAndDecrement();
+        if (updating.compareAndSet(false, true)) {
+            try {
+                update(Math.max(1L, spendTimeMs), inflight);
+            } finally {
+                updating.set(false);
+            }
+        }
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public void changeThreshold(int newThreshold) {
+        this.threshold = Math.max(newThreshold, minThreshold);
+        if (limit > this.threshold) {
+            limit = this.threshold;
+        }
+    }
+
+    @Override
+    public ConcurrentLimitConfig immutableConfig() {
+        return immutableConfig;
+    }
+
+    @Override
+    public ConcurrentLimitConfig config() {
+        return ConcurrentLimitConfig.from(config).threshold(threshold).build();
+    }
+
+    @Override
+    public int currentLimit() {
+        return limit;
+    }
+
+    @Override
+    public int currentCallCount() {
+        return callCounter.get();
+    }
+
+    @Override
+    public ConcurrentLimitMetrics metrics() {
+        return new Metrics();
+    }
+
+    private void update(long rttMs, int inflight) {
+        if (++samples >= PROBE_INTERVAL) {
+            samples = 0;
+            minRttMs = 0L;
+        }
+        if (minRttMs <= 0L || rttMs < minRttMs) {
+            minRttMs = rttMs;
+        }
+
+        final int current = limit;
+        final int queueSize = (int) Math.ceil(current * (1.0d - (double) minRttMs / rttMs));
+        final int step = Math.max(1, (int) Math.log10(current));
+        final int alpha = 3 * step;
+        final int beta = 6 * step;
+
+        int newLimit = current;
+        if (queueSize <= alpha) {
+            // Only grow the limit when the limit is really used, otherwise the limit may grow unboundedly.
+            if (inflight * 2 >= current) {
+                newLimit = (int) Math.min((long) current + step, Integer.MAX_VALUE);
+            }
+        } else if (queueSize >= beta) {
+            newLimit = current - step;
+        }
+
+        newLimit = Math.max(minThreshold, Math.min(newLimit, threshold));
+        if (newLimit != current) {
+            limit = newLimit;
+        }
+    }
+
+    private class Metrics implements ConcurrentLimitMetrics {
+
+        private Metrics() {
+        }
+
+        @Override
+        public int threshold() {
+            return threshold;
+        }
+
+        @Override
+        public int currentCallCount() {
+            return VegasConcurrentLimiter.this.currentCallCount();
+        }
+
+        @Override
+        public int currentLimit() {
+            return VegasConcurrentLimiter.this.currentLimit();
+        }
+    }
+}
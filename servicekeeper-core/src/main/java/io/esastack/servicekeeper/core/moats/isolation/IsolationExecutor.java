@@ -0,0 +1,291 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.moats.isolation;
+
+import esa.commons.Checks;
+import esa.commons.concurrent.ThreadFactories;
+import esa.commons.logging.Logger;
+import io.esastack.servicekeeper.core.config.IsolationConfig;
+import io.esastack.servicekeeper.core.executionchain.Executable;
+import io.esastack.servicekeeper.core.utils.LogUtils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The executor which executes the isolated calls of a resource. The number of calls which are executing or waiting
+ * for executing is bounded by threads + maxQueueSize, and the calls beyond it are rejected immediately by
+ * {@link #tryAcquire()}, so that a slow resource could only occupy its own threads.
+ * <p>
+ * When the {@link IsolationConfig.ExecutorType#VIRTUAL} is configured and the JDK supports virtual threads, every call
+ * is executed on a new virtual thread and the number of concurrent calls is limited by a semaphore. The virtual thread
+ * executor is obtained reflectively, because the project is compiled against JDK 8.
+ */
+class IsolationExecutor {
+
+    private static final Logger logger = LogUtils.logger();
+
+    private static final long KEEP_ALIVE_SECONDS = 60L;
+
+    private final String name;
+    private final IsolationConfig.ExecutorType executorType;
+    private final ExecutorService executor;
+    private final AtomicInteger pending = new AtomicInteger(0);
+
+    /**
+     * Limits the concurrent calls of virtual threads, which is null when the executor is a thread pool.
+     */
+    private final ResizableSemaphore permits;
+
+    private volatile int threads;
+    private volatile int capacity;
+
+    IsolationExecutor(String name, IsolationConfig config) {
+        Checks.checkNotNull(config, "config");
+        this.name = name;
+        this.threads = config.getThreads();
+        this.capacity = config.getThreads() + config.getMaxQueueSize();
+
+        final ExecutorService virtual = config.getExecutorType() == IsolationConfig.ExecutorType.VIRTUAL
+                ? newVirtualThreadPerTaskExecutor() : null;
+        if (virtual == null) {
+            if (config.getExecutorType() == IsolationConfig.ExecutorType.VIRTUAL) {
+                logger.warn("Virtual threads are unsupported by current JDK, use {} executor for isolation: {}" +
+                        " instead", IsolationConfig.ExecutorType.PLATFORM, name);
+            }
+            final ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads,
+                    KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    ThreadFactories.namedThreadFactory("ServiceKeeper-Isolation-" + name + "-", true));
+            pool.allowCoreThreadTimeOut(true);
+            this.executor = pool;
+            this.executorType = IsolationConfig.ExecutorType.PLATFORM;
+            this.permits = null;
+        } else {
+            this.executor = virtual;
+            this.executorType = IsolationConfig.ExecutorType.VIRTUAL;
+            this.permits = new ResizableSemaphore(threads);
+        }
+    }
+
+    /**
+     * Try to occupy a place of the executor.
+     *
+     * @return true if occupy successfully, otherwise the executor is full.
+     */
+    boolean tryAcquire() {
+        for (; ; ) {
+            final int current = pending.get();
+            if (current >= capacity) {
+                return false;
+            }
+            if (pending.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Executes the executable on the isolated executor and waits for the result, the place must have been occupied
+     * by {@link #tryAcquire()} and will be released once the executable completes.
+     *
+     * @param executable executable
+     * @param <R>        R
+     * @return result
+     * @throws Throwable the throwable thrown by the executable
+     */
+    <R> R execute(Executable<R> executable) throws Throwable {
+        return execute(executable, 0L, false);
+    }
+
+    /**
+     * Executes the executable on the isolated executor and waits for the result at most timeoutMs, the place must
+     * have been occupied by {@link #tryAcquire()} and will be released once the executable completes. Note that the
+     * place is still occupied after timeout until the executable really completes, which makes sure that the threads
+     * are bounded.
+     *
+     * @param executable executable
+     * @param timeoutMs  the max milliseconds to wait, which means waiting forever if it's not positive
+     * @param interrupt  whether to interrupt the executing thread when timeout
+     * @param <R>        R
+     * @return result
+     * @throws Throwable {@link TimeoutException} if timeout, or the throwable thrown by the executable
+     */
+    <R> R execute(Executable<R> executable, long timeoutMs, boolean interrupt) throws Throwable {
+        final IsolatedCall<R> call = new IsolatedCall<>(executable);
+        try {
+            executor.execute(call);
+        } catch (RejectedExecutionException ex) {
+            pending.decrementAndGet();
+            throw ex;
+        }
+
+        try {
+            return timeoutMs > 0L ? call.get(timeoutMs, TimeUnit.MILLISECONDS) : call.get();
+        } catch (ExecutionException ex) {
+            throw ex.getCause();
+        } catch (TimeoutException ex) {
+            call.abort(interrupt);
+            throw ex;
+        }
+    }
+
+    void resize(int threads, int maxQueueSize) {
+        final int pre = this.threads;
+        this.threads = threads;
+        this.capacity = threads + maxQueueSize;
+        if (permits != null) {
+            if (threads > pre) {
+                permits.release(threads - pre);
+            } else if (threads < pre) {
+                permits.reducePermits(pre - threads);
+            }
+            return;
+        }
+
+        final ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+        if (threads > pool.getMaximumPoolSize()) {
+            pool.setMaximumPoolSize(threads);
+            pool.setCorePoolSize(threads);
+        } else {
+            pool.setCorePoolSize(threads);
+            pool.setMaximumPoolSize(threads);
+        }
+    }
+
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    int pending() {
+        return pending.get();
+    }
+
+    String name() {
+        return name;
+    }
+
+    IsolationConfig.ExecutorType executorType() {
+        return executorType;
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            final Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (Throwable th) {
+            return null;
+        }
+    }
+
+    /**
+     * The isolated call which could be aborted by the caller when timeout, the executing thread is only interrupted
+     * while it's executing current call, and the interruption is cleared before the thread is reused.
+     */
+    private final class IsolatedCall<R> extends CompletableFuture<R> implements Runnable {
+
+        private static final int NEW = 0;
+        private static final int RUNNING = 1;
+        private static final int DONE = 2;
+        private static final int ABORTED = 3;
+        private static final int INTERRUPTING = 4;
+        private static final int INTERRUPTED = 5;
+
+        private final Executable<R> executable;
+        private final AtomicInteger state = new AtomicInteger(NEW);
+
+        private volatile Thread runner;
+
+        private IsolatedCall(Executable<R> executable) {
+            this.executable = executable;
+        }
+
+        @Override
+        public void run() {
+            runner = Thread.currentThread();
+            if (!state.compareAndSet(NEW, RUNNING)) {
+                // Aborted before executing.
+                pending.decrementAndGet();
+                return;
+            }
+
+            R result = null;
+            Throwable error = null;
+            boolean acquired = false;
+            try {
+                if (permits != null) {
+                    permits.acquire();
+                    acquired = true;
+                }
+                result = executable.execute();
+            } catch (Throwable th) {
+                error = th;
+            } finally {
+                if (acquired) {
+                    permits.release();
+                }
+                if (!state.compareAndSet(RUNNING, DONE)) {
+                    while (state.get() == INTERRUPTING) {
+                        Thread.yield();
+                    }
+                    // Clear the interruption caused by abort.
+                    Thread.interrupted();
+                }
+                // Release the place before completing, so that the caller could reuse it once the result is obtained.
+                pending.decrementAndGet();
+            }
+
+            if (error == null) {
+                complete(result);
+            } else {
+                completeExceptionally(error);
+            }
+        }
+
+        private void abort(boolean interrupt) {
+            if (state.compareAndSet(NEW, ABORTED)) {
+                return;
+            }
+            if (interrupt && state.compareAndSet(RUNNING, INTERRUPTING)) {
+                runner.interrupt();
+                state.set(INTERRUPTED);
+            }
+        }
+    }
+
+    private static final class ResizableSemaphore extends Semaphore {
+
+        private static final long serialVersionUID = 3150465211498286391L;
+
+        private ResizableSemaphore(int permits) {
+            super(permits);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
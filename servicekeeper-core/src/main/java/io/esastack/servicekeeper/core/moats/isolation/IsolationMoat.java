@@ -0,0 +1,205 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.moats.isolation;
+
+import esa.commons.Checks;
+import esa.commons.StringUtils;
+import esa.commons.logging.Logger;
+import io.esastack.servicekeeper.core.common.ResourceId;
+import io.esastack.servicekeeper.core.config.IsolationConfig;
+import io.esastack.servicekeeper.core.config.MoatConfig;
+import io.esastack.servicekeeper.core.configsource.ExternalConfig;
+import io.esastack.servicekeeper.core.exception.IsolationRejectedException;
+import io.esastack.servicekeeper.core.executionchain.Context;
+import io.esastack.servicekeeper.core.executionchain.Executable;
+import io.esastack.servicekeeper.core.listener.FondConfigListener;
+import io.esastack.servicekeeper.core.moats.AbstractMoat;
+import io.esastack.servicekeeper.core.moats.LifeCycleSupport;
+import io.esastack.servicekeeper.core.moats.MoatEventProcessor;
+import io.esastack.servicekeeper.core.moats.MoatType;
+import io.esastack.servicekeeper.core.utils.LogUtils;
+import io.esastack.servicekeeper.core.utils.TimerLogger;
+
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static io.esastack.servicekeeper.core.configsource.ExternalConfigUtils.hasIsolation;
+import static io.esastack.servicekeeper.core.utils.ConfigUtils.combine;
+
+/**
+ * The moat runs the original calls on a dedicated executor, see {@link IsolationExecutor}. The moat itself never
+ * rejects a call when entering, and the calls are rejected by {@link #execute(Context, Executable)} when the executor
+ * is full. Only the sync calls are isolated, because the async ones never block the caller thread.
+ */
+public class IsolationMoat extends AbstractMoat<IsolationConfig>
+        implements FondConfigListener<IsolationConfig>, LifeCycleSupport {
+
+    private static final Logger logger = LogUtils.logger();
+
+    private final TimerLogger timerLogger = new TimerLogger();
+    private final AtomicBoolean shouldDestroy = new AtomicBoolean(false);
+    private final LifeCycleType lifeCycleType;
+    private final IsolationConfig immutableConfig;
+    private final IsolationExecutor executor;
+
+    private volatile IsolationConfig config;
+
+    public IsolationMoat(MoatConfig config, IsolationConfig isolationConfig,
+                         IsolationConfig immutableConfig,
+                         List<MoatEventProcessor> processors) {
+        super(processors, config);
+        Checks.checkNotNull(isolationConfig, "isolationConfig");
+        this.lifeCycleType = immutableConfig == null ? LifeCycleType.TEMPORARY : LifeCycleType.PERMANENT;
+        this.immutableConfig = immutableConfig;
+        this.config = isolationConfig;
+        this.executor = new IsolationExecutor(config.getResourceId().getName(), isolationConfig);
+    }
+
+    @Override
+    public void enter(Context ctx) {
+    }
+
+    @Override
+    public void exit(Context ctx) {
+    }
+
+    /**
+     * Executes the executable on the isolated executor and waits for the result.
+     *
+     * @param ctx        ctx
+     * @param executable executable
+     * @param <R>        R
+     * @return result
+     * @throws Throwable {@link IsolationRejectedException} if the executor is full, or the throwable thrown by
+     *                   the executable
+     */
+    public <R> R execute(Context ctx, Executable<R> executable) throws Throwable {
+        return execute(ctx, executable, 0L, false);
+    }
+
+    /**
+     * Executes the executable on the isolated executor and waits for the result at most timeoutMs.
+     *
+     * @param ctx        ctx
+     * @param executable executable
+     * @param timeoutMs  the max milliseconds to wait, which means waiting forever if it's not positive
+     * @param interrupt  whether to interrupt the executing thread when timeout
+     * @param <R>        R
+     * @return result
+     * @throws Throwable {@link IsolationRejectedException} if the executor is full, {@link TimeoutException} if
+     *                   timeout, or the throwable thrown by the executable
+     */
+    public <R> R execute(Context ctx, Executable<R> executable, long timeoutMs, boolean interrupt) throws Throwable {
+        if (!executor.tryAcquire()) {
+            // ***  Note: Mustn't modify the log content which is used for keyword alarms.  **
+            timerLogger.logPeriodically("The isolated executor is full, threads: {}, maxQueueSize: {}," +
+                    " which name is {}", config.getThreads(), config.getMaxQueueSize(), executor.name());
+            throw new IsolationRejectedException(StringUtils.concat("The isolated executor of ",
+                    executor.name(), " is full"), ctx);
+        }
+        return executor.execute(executable, timeoutMs, interrupt);
+    }
+
+    /**
+     * Get the number of calls which are executing or waiting for executing.
+     *
+     * @return pending calls
+     */
+    public int pendingCalls() {
+        return executor.pending();
+    }
+
+    @Override
+    public IsolationConfig config() {
+        return config;
+    }
+
+    @Override
+    public IsolationConfig getFond(ExternalConfig config) {
+        if (immutableConfig == null && (!hasIsolation(config))) {
+            return null;
+        }
+        return combine(immutableConfig, config);
+    }
+
+    @Override
+    public void updateWithNewestConfig(IsolationConfig config) {
+        logger.info("Begin to update isolation: {} with the newest config: {}", executor.name(), config);
+        // The type of executor can't be changed dynamically.
+        this.config = IsolationConfig.from(config).executorType(this.config.getExecutorType()).build();
+        executor.resize(config.getThreads(), config.getMaxQueueSize());
+    }
+
+    @Override
+    public void updateWhenNewestConfigIsNull() {
+        if (lifeCycleType() == LifeCycleType.TEMPORARY) {
+            preDestroy();
+        } else {
+            updateWithNewestConfig(immutableConfig);
+        }
+    }
+
+    @Override
+    public boolean isConfigEquals(IsolationConfig newestConfig) {
+        return config.getThreads() == newestConfig.getThreads()
+                && config.getMaxQueueSize() == newestConfig.getMaxQueueSize();
+    }
+
+    @Override
+    public LifeCycleType lifeCycleType() {
+        return lifeCycleType;
+    }
+
+    @Override
+    public boolean shouldDelete() {
+        return shouldDestroy.get();
+    }
+
+    @Override
+    public ResourceId listeningKey() {
+        return ResourceId.from(executor.name());
+    }
+
+    @Override
+    public String toString() {
+        return "IsolationMoat-" + executor.name();
+    }
+
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+
+    @Override
+    public MoatType type() {
+        return MoatType.ISOLATION;
+    }
+
+    @Override
+    protected String name() {
+        return executor.name();
+    }
+
+    private void preDestroy() {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Prepare to destroy the isolation moat: {}", executor.name());
+        }
+        executor.shutdown();
+        preDestroy0();
+        shouldDestroy.getAndSet(true);
+    }
+}
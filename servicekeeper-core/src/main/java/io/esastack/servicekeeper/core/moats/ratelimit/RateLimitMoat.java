@@ -18,6 +18,8 @@ package io.esastack.servicekeeper.core.moats.ratelimit;
 import esa.commons.Checks;
 import esa.commons.StringUtils;
 import esa.commons.logging.Logger;
+import io.esastack.servicekeeper.core.common.HeapPressureMonitor;
+import io.esastack.servicekeeper.core.common.Priority;
 import io.esastack.servicekeeper.core.common.ResourceId;
 import io.esastack.servicekeeper.core.config.MoatConfig;
 import io.esastack.servicekeeper.core.config.RateLimitConfig;
@@ -68,17 +70,15 @@ public class RateLimitMoat extends AbstractMoat<RateLimitConfig> implements
 
     @Override
     public void enter(Context ctx) throws ServiceKeeperNotPermittedException {
-        Duration maxWaitDuration = Duration.ZERO;
-
         if (!hasProcessors) {
-            if (!limiter.acquirePermission(maxWaitDuration)) {
+            if (!acquirePermission(ctx)) {
                 // ***  Note: Mustn't modify the log content which is used for keyword alarms.  **
                 timerLogger.logPeriodically("The rate limit exceeds threshold {}, which name is {}",
                         limiter.config().getLimitForPeriod(), limiter.name());
                 throw notPermittedException(ctx);
             }
         } else {
-            if (limiter.acquirePermission(maxWaitDuration)) {
+            if (acquirePermission(ctx)) {
                 process(MoatEventImpl.PERMITTED);
             } else {
                 process(MoatEventImpl.REJECTED_BY_RATE_LIMIT);
@@ -177,6 +177,20 @@ public class RateLimitMoat extends AbstractMoat<RateLimitConfig> implements
         return limiter.name();
     }
 
+    private boolean acquirePermission(Context ctx) {
+        final Priority priority = ctx == null ? null : ctx.getPriority();
+        final boolean byPriority = priority != null && priority.ratio() < 1.0d;
+        if (byPriority || HeapPressureMonitor.currentFactor() < 1.0d) {
+            final int limit = limiter.config().getLimitForPeriod();
+            final int available = limiter.metrics().availablePermissions();
+            if (HeapPressureMonitor.shouldShedUnderPressure(limit, available)
+                    || (byPriority && priority.shouldShed(limit, available))) {
+                return false;
+            }
+        }
+        return limiter.acquirePermission(Duration.ZERO);
+    }
+
     private ServiceKeeperNotPermittedException notPermittedException(Context ctx) {
         return new RateLimitOverflowException(StringUtils.concat("The limitForPeriod of rateLimiter ",
                 limiter.name(), ": " + limiter.config().getLimitForPeriod()), ctx,
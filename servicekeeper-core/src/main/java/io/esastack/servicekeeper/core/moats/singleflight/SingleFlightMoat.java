@@ -0,0 +1,341 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.moats.singleflight;
+
+import esa.commons.Checks;
+import esa.commons.logging.Logger;
+import io.esastack.servicekeeper.core.common.ResourceId;
+import io.esastack.servicekeeper.core.config.MoatConfig;
+import io.esastack.servicekeeper.core.config.SingleFlightConfig;
+import io.esastack.servicekeeper.core.configsource.ExternalConfig;
+import io.esastack.servicekeeper.core.executionchain.Context;
+import io.esastack.servicekeeper.core.executionchain.Executable;
+import io.esastack.servicekeeper.core.listener.FondConfigListener;
+import io.esastack.servicekeeper.core.metrics.SingleFlightMetrics;
+import io.esastack.servicekeeper.core.moats.AbstractMoat;
+import io.esastack.servicekeeper.core.moats.LifeCycleSupport;
+import io.esastack.servicekeeper.core.moats.MoatEventProcessor;
+import io.esastack.servicekeeper.core.moats.MoatType;
+import io.esastack.servicekeeper.core.utils.LogUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static io.esastack.servicekeeper.core.configsource.ExternalConfigUtils.hasSingleFlight;
+import static io.esastack.servicekeeper.core.utils.ConfigUtils.combine;
+
+/**
+ * The moat coalesces the concurrent calls with the equal args. The first one, called the leader, goes through the
+ * execution chain as usual, and the others wait for it and share its result or exception, so that only the leader
+ * calls the original method and acquires the permits of other moats. The moat itself never rejects a call.
+ */
+public class SingleFlightMoat extends AbstractMoat<SingleFlightConfig>
+        implements FondConfigListener<SingleFlightConfig>, LifeCycleSupport {
+
+    private static final Logger logger = LogUtils.logger();
+
+    private final AtomicBoolean shouldDestroy = new AtomicBoolean(false);
+    private final LongAdder coalescedTimes = new LongAdder();
+    private final Map<List<Object>, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+    private final LifeCycleType lifeCycleType;
+    private final SingleFlightConfig immutableConfig;
+    private final String name;
+
+    private volatile SingleFlightConfig config;
+
+    public SingleFlightMoat(MoatConfig config, SingleFlightConfig singleFlightConfig,
+                            SingleFlightConfig immutableConfig,
+                            List<MoatEventProcessor> processors) {
+        super(processors, config);
+        Checks.checkNotNull(singleFlightConfig, "singleFlightConfig");
+        this.lifeCycleType = immutableConfig == null ? LifeCycleType.TEMPORARY : LifeCycleType.PERMANENT;
+        this.immutableConfig = immutableConfig;
+        this.config = singleFlightConfig;
+        this.name = config.getResourceId().getName();
+    }
+
+    @Override
+    public void enter(Context ctx) {
+    }
+
+    @Override
+    public void exit(Context ctx) {
+    }
+
+    /**
+     * Executes the sync call as the leader if there is no in-flight call with the equal args, otherwise waits for
+     * the in-flight one and returns its result or throws its exception.
+     *
+     * @param ctx  ctx
+     * @param call the call which goes through the execution chain
+     * @param <R>  R
+     * @return result
+     * @throws Throwable any throwable
+     */
+    @SuppressWarnings("unchecked")
+    public <R> R execute(Context ctx, Executable<R> call) throws Throwable {
+        if (!config.isEnable()) {
+            return call.execute();
+        }
+
+        final List<Object> key = keyOf(ctx);
+        final CompletableFuture<Object> flight = new CompletableFuture<>();
+        final CompletableFuture<Object> inflight = flights.putIfAbsent(key, flight);
+        if (inflight != null) {
+            coalescedTimes.increment();
+            try {
+                return (R) inflight.get();
+            } catch (ExecutionException ex) {
+                throw ex.getCause();
+            }
+        }
+
+        try {
+            final R result = call.execute();
+            land(key, flight, result, null);
+            return result;
+        } catch (Throwable th) {
+            land(key, flight, null, th);
+            throw th;
+        }
+    }
+
+    /**
+     * Executes the async call as the leader if there is no in-flight call with the equal args, otherwise returns a
+     * stage which is completed by the in-flight one. The cancellation of the shared stage never affects others,
+     * but the followers share the cancellation of the leader.
+     *
+     * @param ctx     ctx
+     * @param call    the call which goes through the execution chain
+     * @param adapter the function to adapt the result of the call to {@link CompletionStage}
+     * @param <R>     R
+     * @return the flight of current call
+     * @throws Throwable any throwable
+     */
+    public <R> Flight<R> executeAsync(Context ctx, Executable<R> call,
+                                      Function<R, CompletionStage<?>> adapter) throws Throwable {
+        if (!config.isEnable()) {
+            return new Flight<>(call.execute(), null);
+        }
+
+        final List<Object> key = keyOf(ctx);
+        final CompletableFuture<Object> flight = new CompletableFuture<>();
+        final CompletableFuture<Object> inflight = flights.putIfAbsent(key, flight);
+        if (inflight != null) {
+            coalescedTimes.increment();
+            return new Flight<>(null, inflight.thenApply(Function.identity()));
+        }
+
+        final R result;
+        try {
+            result = call.execute();
+        } catch (Throwable th) {
+            land(key, flight, null, th);
+            throw th;
+        }
+        adapter.apply(result).whenComplete((r, t) -> land(key, flight, r, t));
+        return new Flight<>(result, null);
+    }
+
+    /**
+     * Get the number of calls which have shared the in-flight calls instead of calling by themselves.
+     *
+     * @return coalesced times
+     */
+    public long coalescedTimes() {
+        return coalescedTimes.sum();
+    }
+
+    /**
+     * Get the number of in-flight calls.
+     *
+     * @return in-flight calls
+     */
+    public int inflightCalls() {
+        return flights.size();
+    }
+
+    /**
+     * Obtains current {@link SingleFlightMetrics}.
+     *
+     * @return metrics
+     */
+    public SingleFlightMetrics metrics() {
+        return new Metrics();
+    }
+
+    @Override
+    public SingleFlightConfig config() {
+        return config;
+    }
+
+    @Override
+    public SingleFlightConfig getFond(ExternalConfig config) {
+        if (immutableConfig == null && (!hasSingleFlight(config))) {
+            return null;
+        }
+        return combine(immutableConfig, config);
+    }
+
+    @Override
+    public void updateWithNewestConfig(SingleFlightConfig config) {
+        logger.info("Begin to update single flight: {} with the newest config: {}", name, config);
+        this.config = config;
+    }
+
+    @Override
+    public void updateWhenNewestConfigIsNull() {
+        if (lifeCycleType() == LifeCycleType.TEMPORARY) {
+            preDestroy();
+        } else {
+            updateWithNewestConfig(immutableConfig);
+        }
+    }
+
+    @Override
+    public boolean isConfigEquals(SingleFlightConfig newestConfig) {
+        return config.equals(newestConfig);
+    }
+
+    @Override
+    public LifeCycleType lifeCycleType() {
+        return lifeCycleType;
+    }
+
+    @Override
+    public boolean shouldDelete() {
+        return shouldDestroy.get();
+    }
+
+    @Override
+    public ResourceId listeningKey() {
+        return ResourceId.from(name);
+    }
+
+    @Override
+    public String toString() {
+        return "SingleFlightMoat-" + name;
+    }
+
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+
+    @Override
+    public MoatType type() {
+        return MoatType.SINGLE_FLIGHT;
+    }
+
+    @Override
+    protected String name() {
+        return name;
+    }
+
+    /**
+     * Removes the flight before completing it, so that the calls arriving later start a new flight rather than
+     * sharing the completed one.
+     */
+    private void land(List<Object> key, CompletableFuture<Object> flight, Object result, Throwable th) {
+        flights.remove(key, flight);
+        if (th == null) {
+            flight.complete(result);
+        } else {
+            flight.completeExceptionally(th);
+        }
+    }
+
+    /**
+     * The args are keyed together with the resourceId of the call, because the moat may be shared by all the
+     * methods of a group, whose concurrent calls with equal args shouldn't be coalesced.
+     */
+    private static List<Object> keyOf(Context ctx) {
+        final Object[] args = ctx.getArgs();
+        if (args == null || args.length == 0) {
+            return Collections.singletonList(ctx.getResourceId());
+        }
+        final Object[] key = new Object[args.length + 1];
+        key[0] = ctx.getResourceId();
+        System.arraycopy(args, 0, key, 1, args.length);
+        return Arrays.asList(key);
+    }
+
+    private void preDestroy() {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Prepare to destroy the single flight moat: {}", name);
+        }
+        preDestroy0();
+        shouldDestroy.getAndSet(true);
+    }
+
+    private class Metrics implements SingleFlightMetrics {
+
+        private final long coalescedTimes;
+        private final int inflightCalls;
+
+        private Metrics() {
+            this.coalescedTimes = SingleFlightMoat.this.coalescedTimes.sum();
+            this.inflightCalls = flights.size();
+        }
+
+        @Override
+        public long coalescedTimes() {
+            return coalescedTimes;
+        }
+
+        @Override
+        public int inflightCalls() {
+            return inflightCalls;
+        }
+    }
+
+    /**
+     * The outcome of an async call, either the result of the leader or the shared stage of a follower.
+     *
+     * @param <R> R
+     */
+    public static final class Flight<R> {
+
+        private final R result;
+        private final CompletionStage<Object> shared;
+
+        private Flight(R result, CompletionStage<Object> shared) {
+            this.result = result;
+            this.shared = shared;
+        }
+
+        public boolean isLeader() {
+            return shared == null;
+        }
+
+        public R result() {
+            return result;
+        }
+
+        public CompletionStage<Object> shared() {
+            return shared;
+        }
+    }
+}
@@ -0,0 +1,422 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.moats.timeout;
+
+import esa.commons.Checks;
+import esa.commons.StringUtils;
+import esa.commons.logging.Logger;
+import io.esastack.servicekeeper.core.common.Deadline;
+import io.esastack.servicekeeper.core.common.DeadlineHolder;
+import io.esastack.servicekeeper.core.common.LatencyHistogram;
+import io.esastack.servicekeeper.core.common.ResourceId;
+import io.esastack.servicekeeper.core.common.ServiceKeeperTimer;
+import io.esastack.servicekeeper.core.config.MoatConfig;
+import io.esastack.servicekeeper.core.config.TimeoutConfig;
+import io.esastack.servicekeeper.core.configsource.ExternalConfig;
+import io.esastack.servicekeeper.core.exception.DeadlineExceededException;
+import io.esastack.servicekeeper.core.exception.TimeoutExceededException;
+import io.esastack.servicekeeper.core.executionchain.Context;
+import io.esastack.servicekeeper.core.executionchain.Executable;
+import io.esastack.servicekeeper.core.listener.FondConfigListener;
+import io.esastack.servicekeeper.core.moats.AbstractMoat;
+import io.esastack.servicekeeper.core.moats.LifeCycleSupport;
+import io.esastack.servicekeeper.core.moats.MoatEventProcessor;
+import io.esastack.servicekeeper.core.moats.MoatType;
+import io.esastack.servicekeeper.core.moats.isolation.IsolationMoat;
+import io.esastack.servicekeeper.core.utils.LogUtils;
+import io.esastack.servicekeeper.core.utils.TimerLogger;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.esastack.servicekeeper.core.configsource.ExternalConfigUtils.hasTimeout;
+import static io.esastack.servicekeeper.core.utils.ConfigUtils.combine;
+
+/**
+ * The moat bounds the time which a call could spend, and the call beyond it is ended with
+ * {@link TimeoutExceededException}, which is treated as a failure by the circuitBreaker and releases the permits of
+ * other moats immediately. The moat itself never rejects a call when entering.
+ * <p>
+ * The sync calls are bounded by waiting for the isolated executor if the {@link IsolationMoat} exists, otherwise by
+ * interrupting the caller thread. If {@link TimeoutConfig#isInterruptible()} is false and there is no isolation, the
+ * caller can't be released until the call completes, and the late result is treated as timeout. The async calls are
+ * bounded by completing the result exceptionally and cancelling the original one.
+ * <p>
+ * The timeout is bounded by the {@link Deadline} propagated by the caller as well, and the earlier one is propagated
+ * to the nested calls. The call is rejected with {@link DeadlineExceededException} when entering if the remaining
+ * time of the deadline is less than the expected latency of the resource, so that the doomed work is avoided.
+ */
+public class TimeoutMoat extends AbstractMoat<TimeoutConfig>
+        implements FondConfigListener<TimeoutConfig>, LifeCycleSupport {
+
+    private static final Logger logger = LogUtils.logger();
+
+    /**
+     * The percentile of the latencies of successful calls which is used as the expected latency.
+     */
+    private static final double EXPECTED_LATENCY_PERCENTILE = 50.0d;
+
+    /**
+     * The min number of latencies observed before the expected latency is available.
+     */
+    private static final int MIN_SAMPLES = 100;
+
+    /**
+     * The number of latencies observed by a histogram before it's rotated, so that the expected latency follows the
+     * recent latency of the resource.
+     */
+    private static final int SAMPLES_PER_PERIOD = 1000;
+
+    private final TimerLogger timerLogger = new TimerLogger();
+    private final AtomicBoolean shouldDestroy = new AtomicBoolean(false);
+    private final LongAdder timeoutTimes = new LongAdder();
+    private final LongAdder rejectedTimes = new LongAdder();
+    private final LifeCycleType lifeCycleType;
+    private final TimeoutConfig immutableConfig;
+    private final String name;
+
+    private volatile TimeoutConfig config;
+    private volatile LatencyHistogram current = new LatencyHistogram();
+    private volatile LatencyHistogram previous;
+
+    public TimeoutMoat(MoatConfig config, TimeoutConfig timeoutConfig,
+                       TimeoutConfig immutableConfig,
+                       List<MoatEventProcessor> processors) {
+        super(processors, config);
+        Checks.checkNotNull(timeoutConfig, "timeoutConfig");
+        this.lifeCycleType = immutableConfig == null ? LifeCycleType.TEMPORARY : LifeCycleType.PERMANENT;
+        this.immutableConfig = immutableConfig;
+        this.config = timeoutConfig;
+        this.name = config.getResourceId().getName();
+    }
+
+    @Override
+    public void enter(Context ctx) throws DeadlineExceededException {
+        final Deadline deadline = ctx == null ? null : ctx.getDeadline();
+        if (deadline == null) {
+            return;
+        }
+        final long expected = expectedLatency();
+        final long remaining = deadline.remainingMillis();
+        if (expected > 0L && remaining < expected) {
+            rejectedTimes.increment();
+            throw new DeadlineExceededException(StringUtils.concat("The remaining ", String.valueOf(remaining),
+                    "ms of the deadline is less than the expected latency ", String.valueOf(expected),
+                    "ms of ", name), ctx);
+        }
+    }
+
+    @Override
+    public void exit(Context ctx) {
+        if (ctx == null || ctx.isCancelled() || ctx.getNotPermittedCause() != null || ctx.getBizException() != null) {
+            return;
+        }
+        final LatencyHistogram current0 = current;
+        if (current0.record(ctx.getSpendTimeMs()) == SAMPLES_PER_PERIOD) {
+            previous = current0;
+            current = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Obtains the expected latency of current resource, which is the median latency of the recent successful calls.
+     *
+     * @return expected latency in milliseconds, -1 if there are not enough samples
+     */
+    public long expectedLatency() {
+        final LatencyHistogram previous0 = previous;
+        if (previous0 != null) {
+            return previous0.percentile(EXPECTED_LATENCY_PERCENTILE);
+        }
+        final LatencyHistogram current0 = current;
+        return current0.totalCount() >= MIN_SAMPLES ? current0.percentile(EXPECTED_LATENCY_PERCENTILE) : -1L;
+    }
+
+    /**
+     * Executes the sync executable and waits for the result at most {@link TimeoutConfig#getTimeout()}, which is
+     * bounded by the remaining time of the deadline of the context as well.
+     *
+     * @param ctx        ctx
+     * @param executable executable
+     * @param isolation  the isolation to execute the executable, which may be null
+     * @param <R>        R
+     * @return result
+     * @throws Throwable {@link TimeoutExceededException} if timeout, or the throwable thrown by the executable
+     */
+    public <R> R execute(Context ctx, Executable<R> executable, IsolationMoat isolation) throws Throwable {
+        final TimeoutConfig config = this.config;
+        final Deadline deadline = deadline(ctx, config);
+        final long timeoutMs = timeoutMs(deadline);
+        final Executable<R> propagated = DeadlineHolder.wrap(deadline, executable);
+        if (isolation != null) {
+            try {
+                return isolation.execute(ctx, propagated, timeoutMs, config.isInterruptible());
+            } catch (TimeoutException ex) {
+                throw timeout(timeoutMs, null);
+            }
+        }
+
+        if (!config.isInterruptible()) {
+            final long startTime = System.nanoTime();
+            final R result = propagated.execute();
+            if (System.nanoTime() - startTime > timeoutMs * 1_000_000L) {
+                throw timeout(timeoutMs, null);
+            }
+            return result;
+        }
+
+        final Interrupter interrupter = new Interrupter(Thread.currentThread());
+        final ScheduledFuture<?> timer = ServiceKeeperTimer.schedule(interrupter, timeoutMs);
+        final R result;
+        try {
+            result = propagated.execute();
+        } catch (Throwable th) {
+            if (interrupter.complete()) {
+                timer.cancel(false);
+                throw th;
+            }
+            throw timeout(timeoutMs, th);
+        }
+        if (interrupter.complete()) {
+            timer.cancel(false);
+            return result;
+        }
+        throw timeout(timeoutMs, null);
+    }
+
+    /**
+     * Executes the async executable and returns a stage which will be completed with
+     * {@link TimeoutExceededException} if the original one hasn't completed in {@link TimeoutConfig#getTimeout()},
+     * the original stage will be cancelled if possible. The timeout is bounded by the remaining time of the deadline
+     * of the context as well.
+     *
+     * @param ctx        ctx
+     * @param executable executable
+     * @param <R>        R
+     * @return stage
+     * @throws Throwable the throwable thrown by the executable
+     */
+    public <R> CompletionStage<R> executeAsync(Context ctx, Executable<? extends CompletionStage<R>> executable)
+            throws Throwable {
+        final Deadline deadline = deadline(ctx, config);
+        final long timeoutMs = timeoutMs(deadline);
+        final CompletionStage<R> stage = DeadlineHolder.wrap(deadline, executable).execute();
+        final CompletableFuture<R> result = new CompletableFuture<>();
+        // The dependents of the result, eg: the fallback, are executed when timing out, so don't run them on the
+        // timer thread.
+        final ScheduledFuture<?> timer = ServiceKeeperTimer.scheduleOnWorker(() -> {
+            if (result.completeExceptionally(timeoutException(timeoutMs, null))) {
+                recordTimeout(timeoutMs);
+                cancel(stage);
+            }
+        }, timeoutMs);
+
+        // Propagate the cancellation to the original stage.
+        result.whenComplete((r, t) -> {
+            if (result.isCancelled()) {
+                cancel(stage);
+            }
+        });
+        stage.whenComplete((r, t) -> {
+            timer.cancel(false);
+            if (t == null) {
+                result.complete(r);
+            } else {
+                result.completeExceptionally(t);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Get the number of calls which have been rejected because that the remaining time of the deadline is less than
+     * the expected latency.
+     *
+     * @return rejected times
+     */
+    public long rejectedTimes() {
+        return rejectedTimes.sum();
+    }
+
+    /**
+     * Get the number of calls which have timed out.
+     *
+     * @return timeout times
+     */
+    public long timeoutTimes() {
+        return timeoutTimes.sum();
+    }
+
+    @Override
+    public TimeoutConfig config() {
+        return config;
+    }
+
+    @Override
+    public TimeoutConfig getFond(ExternalConfig config) {
+        if (immutableConfig == null && (!hasTimeout(config))) {
+            return null;
+        }
+        return combine(immutableConfig, config);
+    }
+
+    @Override
+    public void updateWithNewestConfig(TimeoutConfig config) {
+        logger.info("Begin to update timeout: {} with the newest config: {}", name, config);
+        this.config = config;
+    }
+
+    @Override
+    public void updateWhenNewestConfigIsNull() {
+        if (lifeCycleType() == LifeCycleType.TEMPORARY) {
+            preDestroy();
+        } else {
+            updateWithNewestConfig(immutableConfig);
+        }
+    }
+
+    @Override
+    public boolean isConfigEquals(TimeoutConfig newestConfig) {
+        return config.equals(newestConfig);
+    }
+
+    @Override
+    public LifeCycleType lifeCycleType() {
+        return lifeCycleType;
+    }
+
+    @Override
+    public boolean shouldDelete() {
+        return shouldDestroy.get();
+    }
+
+    @Override
+    public ResourceId listeningKey() {
+        return ResourceId.from(name);
+    }
+
+    @Override
+    public String toString() {
+        return "TimeoutMoat-" + name;
+    }
+
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+
+    @Override
+    public MoatType type() {
+        return MoatType.TIMEOUT;
+    }
+
+    @Override
+    protected String name() {
+        return name;
+    }
+
+    private TimeoutExceededException timeout(long timeoutMs, Throwable cause) {
+        recordTimeout(timeoutMs);
+        return timeoutException(timeoutMs, cause);
+    }
+
+    private void recordTimeout(long timeoutMs) {
+        timeoutTimes.increment();
+        // ***  Note: Mustn't modify the log content which is used for keyword alarms.  **
+        timerLogger.logPeriodically("The call has timed out after {}ms, which name is {}", timeoutMs, name);
+    }
+
+    private TimeoutExceededException timeoutException(long timeoutMs, Throwable cause) {
+        return new TimeoutExceededException(StringUtils.concat("The call of ", name,
+                " has timed out after ", String.valueOf(timeoutMs), "ms"), cause);
+    }
+
+    /**
+     * Obtains the deadline of current call, which is the earlier one of the timeout and the deadline propagated by
+     * the caller, and will be propagated to the nested calls.
+     */
+    private static Deadline deadline(Context ctx, TimeoutConfig config) {
+        return Deadline.after(config.getTimeout()).min(ctx == null ? null : ctx.getDeadline());
+    }
+
+    private static long timeoutMs(Deadline deadline) {
+        return Math.max(deadline.remainingMillis(), 1L);
+    }
+
+    private static void cancel(CompletionStage<?> stage) {
+        if (stage instanceof Future) {
+            ((Future<?>) stage).cancel(false);
+        }
+    }
+
+    private void preDestroy() {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Prepare to destroy the timeout moat: {}", name);
+        }
+        preDestroy0();
+        shouldDestroy.getAndSet(true);
+    }
+
+    /**
+     * Interrupts the caller thread when timeout, the interruption is only delivered before the call completes and
+     * is cleared by {@link #complete()}, so that it never leaks to the following codes of the caller.
+     */
+    private static final class Interrupter implements Runnable {
+
+        private static final int RUNNING = 0;
+        private static final int DONE = 1;
+        private static final int INTERRUPTING = 2;
+        private static final int INTERRUPTED = 3;
+
+        private final Thread caller;
+        private final AtomicInteger state = new AtomicInteger(RUNNING);
+
+        private Interrupter(Thread caller) {
+            this.caller = caller;
+        }
+
+        @Override
+        public void run() {
+            if (state.compareAndSet(RUNNING, INTERRUPTING)) {
+                caller.interrupt();
+                state.set(INTERRUPTED);
+            }
+        }
+
+        /**
+         * Completes the call.
+         *
+         * @return true if the call completes in time, otherwise false and the interruption has been cleared.
+         */
+        private boolean complete() {
+            if (state.compareAndSet(RUNNING, DONE)) {
+                return true;
+            }
+            while (state.get() == INTERRUPTING) {
+                Thread.yield();
+            }
+            Thread.interrupted();
+            return false;
+        }
+    }
+}
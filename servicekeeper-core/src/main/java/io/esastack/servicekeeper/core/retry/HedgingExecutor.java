@@ -0,0 +1,336 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.retry;
+
+import esa.commons.Checks;
+import esa.commons.logging.Logger;
+import io.esastack.servicekeeper.core.common.LatencyHistogram;
+import io.esastack.servicekeeper.core.common.ResourceId;
+import io.esastack.servicekeeper.core.common.ServiceKeeperTimer;
+import io.esastack.servicekeeper.core.config.HedgeConfig;
+import io.esastack.servicekeeper.core.configsource.ExternalConfig;
+import io.esastack.servicekeeper.core.executionchain.Executable;
+import io.esastack.servicekeeper.core.listener.FondConfigListener;
+import io.esastack.servicekeeper.core.moats.LifeCycleSupport;
+import io.esastack.servicekeeper.core.retry.internal.RetryBudget;
+import io.esastack.servicekeeper.core.utils.LogUtils;
+
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.esastack.servicekeeper.core.configsource.ExternalConfigUtils.hasHedge;
+import static io.esastack.servicekeeper.core.moats.LifeCycleSupport.LifeCycleType.PERMANENT;
+import static io.esastack.servicekeeper.core.moats.LifeCycleSupport.LifeCycleType.TEMPORARY;
+import static io.esastack.servicekeeper.core.utils.ConfigUtils.combine;
+
+/**
+ * Issues a hedged attempt of the asynchronous executable when the first attempt hasn't completed after a delay, and
+ * completes with whichever attempt succeeds first, the loser will be cancelled if possible. The delay is either
+ * fixed or derived from the observed latency of the resource, and the hedged attempts are limited by both the
+ * {@link RetryBudget} and the max number of hedges in flight, so that hedging can't amplify the load on a resource
+ * which is already slow.
+ * <p>
+ * Note that the executable will be executed twice at most, so it's only designed for the idempotent calls.
+ */
+public class HedgingExecutor implements FondConfigListener<HedgeConfig>, LifeCycleSupport {
+
+    private static final Logger logger = LogUtils.logger();
+
+    /**
+     * The min number of observed latencies before the percentile is used as the delay.
+     */
+    static final int MIN_SAMPLES = 100;
+
+    /**
+     * The number of latencies observed by a histogram before it's rotated, so that the delay follows the recent
+     * latency of the resource.
+     */
+    static final int SAMPLES_PER_PERIOD = 1000;
+
+    private final ResourceId resourceId;
+    private final HedgeConfig immutableConfig;
+    private final LifeCycleType lifeCycleType;
+    private final AtomicBoolean shouldDelete = new AtomicBoolean();
+    private final AtomicInteger hedgesInFlight = new AtomicInteger();
+    private final LongAdder hedgedTimes = new LongAdder();
+    private final LongAdder hedgeWonTimes = new LongAdder();
+    private final LongAdder hedgeRejectedTimes = new LongAdder();
+
+    private volatile HedgeConfig config;
+    private volatile RetryBudget budget;
+    private volatile LatencyHistogram current = new LatencyHistogram();
+    private volatile LatencyHistogram previous;
+
+    public HedgingExecutor(String name, HedgeConfig config) {
+        this(ResourceId.from(name), config, config);
+    }
+
+    public HedgingExecutor(ResourceId resourceId, HedgeConfig config, HedgeConfig immutableConfig) {
+        Checks.checkNotNull(resourceId, "resourceId");
+        Checks.checkNotNull(config, "config");
+        this.resourceId = resourceId;
+        this.config = config;
+        this.immutableConfig = immutableConfig;
+        this.lifeCycleType = immutableConfig == null ? TEMPORARY : PERMANENT;
+        this.budget = newBudget(config);
+    }
+
+    /**
+     * Executes the asynchronous executable with hedging.
+     *
+     * @param executable executable which returns the stage of a single attempt
+     * @param <R>        type parameter
+     * @return the stage of the first successful attempt, or the failure of the last attempt if all of them failed
+     * @throws Throwable the throwable thrown by the first attempt
+     */
+    public <R> CompletionStage<R> doExecuteAsync(Executable<? extends CompletionStage<R>> executable)
+            throws Throwable {
+        return new Hedge<>(executable).start();
+    }
+
+    /**
+     * Obtains the delay to wait for the first attempt before issuing the hedged one.
+     *
+     * @return delay in milliseconds
+     */
+    public long delayMillis() {
+        final HedgeConfig config0 = config;
+        if (config0.getPercentile() <= 0.0d) {
+            return config0.getDelay();
+        }
+        final LatencyHistogram previous0 = previous;
+        if (previous0 != null) {
+            return previous0.percentile(config0.getPercentile());
+        }
+        final LatencyHistogram current0 = current;
+        return current0.totalCount() >= MIN_SAMPLES
+                ? current0.percentile(config0.getPercentile()) : config0.getDelay();
+    }
+
+    public HedgeConfig config() {
+        return config;
+    }
+
+    public int hedgesInFlight() {
+        return hedgesInFlight.get();
+    }
+
+    public long hedgedTimes() {
+        return hedgedTimes.sum();
+    }
+
+    public long hedgeWonTimes() {
+        return hedgeWonTimes.sum();
+    }
+
+    public long hedgeRejectedTimes() {
+        return hedgeRejectedTimes.sum();
+    }
+
+    @Override
+    public HedgeConfig getFond(ExternalConfig config) {
+        if (immutableConfig == null && !hasHedge(config)) {
+            return null;
+        }
+        return combine(immutableConfig, config);
+    }
+
+    @Override
+    public synchronized void updateWithNewestConfig(HedgeConfig newestConfig) {
+        if (!this.config.equals(newestConfig)) {
+            logger.info("Begin to update hedging executor: {} with the newest config: {}", resourceId, newestConfig);
+            if (!Objects.equals(this.config.getBudgetConfig(), newestConfig.getBudgetConfig())) {
+                this.budget = newBudget(newestConfig);
+            }
+            this.config = newestConfig;
+        }
+    }
+
+    @Override
+    public void updateWhenNewestConfigIsNull() {
+        if (this.lifeCycleType == PERMANENT) {
+            updateWithNewestConfig(immutableConfig);
+        } else {
+            shouldDelete.compareAndSet(false, true);
+        }
+    }
+
+    @Override
+    public boolean isConfigEquals(HedgeConfig newestConfig) {
+        return config.equals(newestConfig);
+    }
+
+    @Override
+    public ResourceId listeningKey() {
+        return resourceId;
+    }
+
+    @Override
+    public LifeCycleType lifeCycleType() {
+        return lifeCycleType;
+    }
+
+    @Override
+    public boolean shouldDelete() {
+        return shouldDelete.get();
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", HedgingExecutor.class.getSimpleName() + "[", "]")
+                .add("resourceId=" + resourceId)
+                .add("immutableConfig=" + immutableConfig)
+                .add("lifeCycleType=" + lifeCycleType)
+                .add("config=" + config)
+                .toString();
+    }
+
+    private static RetryBudget newBudget(HedgeConfig config) {
+        return config.getBudgetConfig() == null ? null : new RetryBudget(config.getBudgetConfig());
+    }
+
+    private void recordLatency(long startNs) {
+        if (config.getPercentile() <= 0.0d) {
+            return;
+        }
+        final LatencyHistogram current0 = current;
+        if (current0.record((System.nanoTime() - startNs) / 1_000_000L) == SAMPLES_PER_PERIOD) {
+            previous = current0;
+            current = new LatencyHistogram();
+        }
+    }
+
+    private boolean tryAcquireHedge() {
+        if (hedgesInFlight.incrementAndGet() > config.getMaxConcurrentHedges()) {
+            hedgesInFlight.decrementAndGet();
+            hedgeRejectedTimes.increment();
+            return false;
+        }
+        final RetryBudget budget0 = budget;
+        if (budget0 != null && !budget0.tryWithdraw()) {
+            hedgesInFlight.decrementAndGet();
+            hedgeRejectedTimes.increment();
+            return false;
+        }
+        return true;
+    }
+
+    private static void cancel(CompletionStage<?> stage) {
+        if (stage instanceof Future) {
+            ((Future<?>) stage).cancel(false);
+        }
+    }
+
+    private final class Hedge<T> {
+
+        private final Executable<? extends CompletionStage<T>> executable;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        /**
+         * The number of attempts which haven't completed, the result fails only when all of them failed.
+         */
+        private final AtomicInteger pending = new AtomicInteger(1);
+
+        private volatile CompletionStage<T> primary;
+        private volatile CompletionStage<T> hedged;
+        private volatile Future<?> delaying;
+
+        private Hedge(Executable<? extends CompletionStage<T>> executable) {
+            this.executable = executable;
+            result.whenComplete((r, t) -> cancelPending());
+        }
+
+        private CompletionStage<T> start() throws Throwable {
+            final RetryBudget budget0 = budget;
+            if (budget0 != null) {
+                budget0.deposit();
+            }
+            final long startNs = System.nanoTime();
+            final CompletionStage<T> stage = executable.execute();
+            if (stage == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            primary = stage;
+            stage.whenComplete((r, t) -> onComplete(r, t, startNs, false));
+            if (!result.isDone()) {
+                delaying = ServiceKeeperTimer.scheduleOnWorker(this::hedge, delayMillis());
+                // Re-check after publishing the timeout, the result may be completed concurrently.
+                if (result.isDone()) {
+                    cancelPending();
+                }
+            }
+            return result;
+        }
+
+        private void hedge() {
+            if (result.isDone() || !tryAcquireHedge()) {
+                return;
+            }
+            pending.incrementAndGet();
+            hedgedTimes.increment();
+
+            final long startNs = System.nanoTime();
+            final CompletionStage<T> stage;
+            try {
+                stage = executable.execute();
+            } catch (Throwable th) {
+                onComplete(null, th, startNs, true);
+                return;
+            }
+            if (stage == null) {
+                onComplete(null, null, startNs, true);
+                return;
+            }
+            hedged = stage;
+            stage.whenComplete((r, t) -> onComplete(r, t, startNs, true));
+            // Re-check after publishing the stage, the result may be completed concurrently.
+            if (result.isDone()) {
+                cancel(stage);
+            }
+        }
+
+        private void onComplete(T value, Throwable th, long startNs, boolean isHedged) {
+            if (isHedged) {
+                hedgesInFlight.decrementAndGet();
+            }
+            if (th == null) {
+                recordLatency(startNs);
+                if (result.complete(value) && isHedged) {
+                    hedgeWonTimes.increment();
+                }
+            } else if (pending.decrementAndGet() == 0) {
+                result.completeExceptionally(th instanceof CompletionException && th.getCause() != null
+                        ? th.getCause() : th);
+            }
+        }
+
+        private void cancelPending() {
+            final Future<?> timeout = delaying;
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+            cancel(primary);
+            cancel(hedged);
+        }
+    }
+}
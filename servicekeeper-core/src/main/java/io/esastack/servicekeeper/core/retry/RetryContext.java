@@ -26,9 +26,12 @@ public class RetryContext {
 
     private final Context context;
     private final OriginalInvocation invocation;
+    private final long startTimeNs = System.nanoTime();
 
     private Throwable lastThrowable;
     private volatile int retriedCount;
+    private volatile long lastDelayMs;
+    private volatile long lastAttemptSpendMs;
 
     private static final AtomicIntegerFieldUpdater<RetryContext> RETRIED_COUNT_UPDATER =
             AtomicIntegerFieldUpdater.newUpdater(RetryContext.class, "retriedCount");
@@ -55,6 +58,41 @@ public class RetryContext {
         return retriedCount;
     }
 
+    /**
+     * Obtains the delay of last back off, which is designed for the stateful back off policies.
+     *
+     * @return delay in milliseconds, 0 means there is no back off yet.
+     */
+    public long getLastDelayMs() {
+        return lastDelayMs;
+    }
+
+    public void setLastDelayMs(long lastDelayMs) {
+        this.lastDelayMs = lastDelayMs;
+    }
+
+    /**
+     * Obtains the time elapsed since the first attempt began, including all the attempts and back offs.
+     *
+     * @return elapsed time in milliseconds
+     */
+    public long getElapsedMs() {
+        return (System.nanoTime() - startTimeNs) / 1_000_000L;
+    }
+
+    /**
+     * Obtains the time spent by last completed attempt.
+     *
+     * @return spend time in milliseconds, 0 means there is no completed attempt yet.
+     */
+    public long getLastAttemptSpendMs() {
+        return lastAttemptSpendMs;
+    }
+
+    void recordAttempt(long attemptStartNs) {
+        this.lastAttemptSpendMs = (System.nanoTime() - attemptStartNs) / 1_000_000L;
+    }
+
     void registerThrowable(Throwable th) {
         RETRIED_COUNT_UPDATER.addAndGet(this, 1);
         this.lastThrowable = th instanceof ServiceKeeperWrapException ? th.getCause() : th;
@@ -19,6 +19,8 @@ import io.esastack.servicekeeper.core.config.RetryConfig;
 import io.esastack.servicekeeper.core.executionchain.Executable;
 import io.esastack.servicekeeper.core.metrics.RetryMetrics;
 
+import java.util.concurrent.CompletionStage;
+
 public interface RetryOperations {
 
     /**
@@ -32,6 +34,23 @@ public interface RetryOperations {
      */
     <T> T execute(RetryContext context, Executable<T> executable) throws Throwable;
 
+    /**
+     * Executes the asynchronous {@link Executable} with retry, which re-invokes the executable when the returned
+     * {@link CompletionStage} fails and never blocks current thread to back off. Cancelling the returned stage stops
+     * the following attempts.
+     *
+     * @param context    context
+     * @param executable executable which returns the stage of a single attempt
+     * @param <T>        generic type
+     * @return the stage of the final result
+     * @throws Throwable any throwable
+     */
+    default <T> CompletionStage<T> executeAsync(RetryContext context,
+                                                Executable<? extends CompletionStage<T>> executable)
+            throws Throwable {
+        return executable.execute();
+    }
+
     /**
      * Obtains current config
      *
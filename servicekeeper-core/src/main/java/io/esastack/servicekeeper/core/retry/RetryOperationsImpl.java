@@ -17,7 +17,9 @@ package io.esastack.servicekeeper.core.retry;
 
 import esa.commons.Checks;
 import esa.commons.logging.Logger;
+import io.esastack.servicekeeper.core.common.Deadline;
 import io.esastack.servicekeeper.core.common.ResourceId;
+import io.esastack.servicekeeper.core.common.ServiceKeeperTimer;
 import io.esastack.servicekeeper.core.config.RetryConfig;
 import io.esastack.servicekeeper.core.configsource.ExternalConfig;
 import io.esastack.servicekeeper.core.exception.BackOffInterruptedException;
@@ -27,12 +29,19 @@ import io.esastack.servicekeeper.core.listener.FondConfigListener;
 import io.esastack.servicekeeper.core.metrics.RetryMetrics;
 import io.esastack.servicekeeper.core.moats.LifeCycleSupport;
 import io.esastack.servicekeeper.core.retry.internal.BackOffPolicy;
+import io.esastack.servicekeeper.core.retry.internal.RetryBudget;
 import io.esastack.servicekeeper.core.retry.internal.RetryablePredicate;
 import io.esastack.servicekeeper.core.utils.LogUtils;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.LongAdder;
 
@@ -53,11 +62,18 @@ public class RetryOperationsImpl implements RetryOperations, FondConfigListener<
     private final LifeCycleSupport.LifeCycleType lifeCycleType;
     private final AtomicBoolean shouldDelete = new AtomicBoolean();
     private final List<RetryEventProcessor> processors;
+
+    /**
+     * Whether there are some processors besides the built-in statistics, the events are only built and dispatched
+     * when it's true, otherwise the statistics are updated directly.
+     */
+    private final boolean hasCustomProcessors;
     private final RetryEventProcessImpl statistics = new RetryEventProcessImpl();
 
     private volatile RetryConfig config;
     private volatile BackOffPolicy backOffPolicy;
     private volatile RetryablePredicate predicate;
+    private volatile RetryBudget budget;
 
     public RetryOperationsImpl(ResourceId resourceId, List<RetryEventProcessor> processors,
                                BackOffPolicy backOffPolicy, RetryablePredicate predicate,
@@ -71,7 +87,9 @@ public class RetryOperationsImpl implements RetryOperations, FondConfigListener<
         this.config = config;
         this.backOffPolicy = backOffPolicy;
         this.predicate = predicate;
+        this.budget = newBudget(config);
         this.lifeCycleType = immutableConfig == null ? TEMPORARY : PERMANENT;
+        this.hasCustomProcessors = processors != null && !processors.isEmpty();
         if (processors == null) {
             this.processors = Collections.singletonList(statistics);
         } else {
@@ -87,39 +105,75 @@ public class RetryOperationsImpl implements RetryOperations, FondConfigListener<
         }
 
         // First time execution, which mustn't back off.
+        long attemptStartNs = System.nanoTime();
         try {
-            return executable.execute();
+            final T result = executable.execute();
+            depositBudget();
+            return result;
         } catch (Throwable t) {
+            context.recordAttempt(attemptStartNs);
             context.registerThrowable(t);
         }
 
+        final RetryConfig config0 = config;
         if (!predicate.canRetry(context)) {
             throw context.getLastThrowable();
         }
+        long delay = nextDelay(context, config0);
+        if (isBeyondDeadline(context, config0, delay) || !tryAcquireBudget()) {
+            throw context.getLastThrowable();
+        }
 
         // Begins to real retry.
-        final RetryEvent startEvent = buildStartEvt(context);
-        processors.forEach((processor) -> processor.process(resourceId.getName(), startEvent));
+        fireStart(context);
 
-        while (predicate.canRetry(context)) {
+        ServiceRetryException cause = null;
+        while (true) {
             try {
-                backOffPolicy.backOff(context);
+                backOff(context, delay);
+                attemptStartNs = System.nanoTime();
                 final T result = executable.execute();
+                context.recordAttempt(attemptStartNs);
                 context.registerThrowable(null);
 
-                final RetryEvent endEvent = buildEndEvt(context);
-                processors.forEach((processor) -> processor.process(resourceId.getName(), endEvent));
+                fireEnd(context);
                 return result;
             } catch (BackOffInterruptedException ex) {
                 throw ex;
             } catch (Throwable th) {
+                context.recordAttempt(attemptStartNs);
                 context.registerThrowable(th);
             }
+
+            if (!predicate.canRetry(context)) {
+                break;
+            }
+            delay = nextDelay(context, config0);
+            if (isBeyondDeadline(context, config0, delay)) {
+                cause = createDeadlineExceededCause(context, config0);
+                break;
+            }
+            if (!tryAcquireBudget()) {
+                cause = createBudgetExhaustedCause(context);
+                break;
+            }
+        }
+
+        fireEnd(context);
+        throw cause == null ? createFailsCause(context) : cause;
+    }
+
+    @Override
+    public <T> CompletionStage<T> executeAsync(RetryContext context,
+                                               Executable<? extends CompletionStage<T>> executable)
+            throws Throwable {
+        if (!needRetry()) {
+            return executable.execute();
         }
 
-        final RetryEvent endEvent = buildEndEvt(context);
-        processors.forEach((processor) -> processor.process(resourceId.getName(), endEvent));
-        throw createFailsCause(context);
+        final AsyncRetry<T> retry = new AsyncRetry<>(context, executable);
+        retry.attempt();
+        return retry.result;
     }
 
     @Override
@@ -143,6 +197,9 @@ public class RetryOperationsImpl implements RetryOperations, FondConfigListener<
             logger.info("Begin to update retry operations: {} with the newest config: {}", resourceId, newestConfig);
             this.predicate = RetryablePredicate.newInstance(newestConfig);
             this.backOffPolicy = BackOffPolicy.newInstance(newestConfig.getBackoffConfig());
+            if (!Objects.equals(this.config.getBudgetConfig(), newestConfig.getBudgetConfig())) {
+                this.budget = newBudget(newestConfig);
+            }
             this.config = newestConfig;
         }
     }
@@ -193,6 +250,95 @@ public class RetryOperationsImpl implements RetryOperations, FondConfigListener<
         return config.getMaxAttempts() != null && config.getMaxAttempts() > 1;
     }
 
+    private void depositBudget() {
+        final RetryBudget budget0 = budget;
+        if (budget0 != null) {
+            budget0.deposit();
+        }
+    }
+
+    private boolean tryAcquireBudget() {
+        final RetryBudget budget0 = budget;
+        if (budget0 == null || budget0.tryWithdraw()) {
+            return true;
+        }
+        statistics.budgetExhaustedTimes.increment();
+        return false;
+    }
+
+    /**
+     * Obtains the delay of next attempt in advance when the deadline is configured or propagated by the caller, so
+     * that the attempt whose back off would exceed the deadline won't be scheduled. Negative value means the back off
+     * policy sleeps by itself.
+     */
+    private long nextDelay(final RetryContext context, final RetryConfig config) {
+        return config.getDeadline() > 0L || propagatedDeadline(context) != null
+                ? backOffPolicy.delayMillis(context) : -1L;
+    }
+
+    private void backOff(final RetryContext context, final long delay) throws BackOffInterruptedException {
+        if (delay < 0L) {
+            backOffPolicy.backOff(context);
+            return;
+        }
+        if (delay == 0L) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            throw new BackOffInterruptedException("Thread was interrupted while back off sleeping", e);
+        }
+    }
+
+    private static boolean isBeyondDeadline(final RetryContext context, final RetryConfig config, final long delay) {
+        if (config.getDeadline() > 0L && context.getElapsedMs() + Math.max(delay, 0L) >= config.getDeadline()) {
+            return true;
+        }
+        final Deadline deadline = propagatedDeadline(context);
+        return deadline != null && deadline.remainingMillis() <= Math.max(delay, 0L);
+    }
+
+    /**
+     * Obtains the timeout of current asynchronous attempt, which is bounded by the remaining time of the deadline
+     * and the deadline propagated by the caller.
+     *
+     * @return timeout in milliseconds, non-positive value means the attempt never times out.
+     */
+    private static long attemptTimeout(final RetryContext context, final RetryConfig config) {
+        long timeout = config.getAttemptTimeout();
+        if (config.getDeadline() > 0L) {
+            final long remaining = Math.max(config.getDeadline() - context.getElapsedMs(), 1L);
+            timeout = timeout > 0L ? Math.min(timeout, remaining) : remaining;
+        }
+        final Deadline deadline = propagatedDeadline(context);
+        if (deadline != null) {
+            final long remaining = Math.max(deadline.remainingMillis(), 1L);
+            timeout = timeout > 0L ? Math.min(timeout, remaining) : remaining;
+        }
+        return timeout;
+    }
+
+    private static Deadline propagatedDeadline(final RetryContext context) {
+        return context.getContext() == null ? null : context.getContext().getDeadline();
+    }
+
+    private ServiceRetryException createDeadlineExceededCause(final RetryContext context, final RetryConfig config) {
+        final String deadline = config.getDeadline() > 0L
+                ? "the retry deadline of " + config.getDeadline() + "ms" : "the deadline of the call";
+        return new ServiceRetryException(resourceId.getName() + " has exceeded " + deadline + " after retried " +
+                (context.getRetriedCount() - 1) + " times", context.getLastThrowable());
+    }
+
+    private ServiceRetryException createBudgetExhaustedCause(final RetryContext context) {
+        return new ServiceRetryException(resourceId.getName() + " has exhausted the retry budget after retried " +
+                (context.getRetriedCount() - 1) + " times", context.getLastThrowable());
+    }
+
+    private static RetryBudget newBudget(RetryConfig config) {
+        return config.getBudgetConfig() == null ? null : new RetryBudget(config.getBudgetConfig());
+    }
+
     private ServiceRetryException createFailsCause(final RetryContext context) {
         if (config.getMaxAttempts() == context.getRetriedCount()) {
             return new ServiceRetryException(resourceId.getName() +
@@ -203,6 +349,28 @@ public class RetryOperationsImpl implements RetryOperations, FondConfigListener<
         }
     }
 
+    private void fireStart(final RetryContext context) {
+        if (!hasCustomProcessors) {
+            statistics.onStart();
+            return;
+        }
+        final RetryEvent event = buildStartEvt(context);
+        for (RetryEventProcessor processor : processors) {
+            processor.process(resourceId.getName(), event);
+        }
+    }
+
+    private void fireEnd(final RetryContext context) {
+        if (!hasCustomProcessors) {
+            statistics.onEnd(context);
+            return;
+        }
+        final RetryEvent event = buildEndEvt(context);
+        for (RetryEventProcessor processor : processors) {
+            processor.process(resourceId.getName(), event);
+        }
+    }
+
     private RetryEvent buildStartEvt(final RetryContext ctx) {
         return new RetryEvent() {
             @Override
@@ -231,16 +399,168 @@ public class RetryOperationsImpl implements RetryOperations, FondConfigListener<
         };
     }
 
+    /**
+     * The state of an asynchronous retry, the attempts are executed one by one, so there is no race between them.
+     */
+    private final class AsyncRetry<T> {
+
+        private final RetryContext context;
+        private final Executable<? extends CompletionStage<T>> executable;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private final RetryConfig config;
+
+        private volatile boolean started;
+        private volatile CompletionStage<T> current;
+        private volatile Future<?> backingOff;
+        private volatile Future<?> timingOut;
+
+        private AsyncRetry(RetryContext context, Executable<? extends CompletionStage<T>> executable) {
+            this.context = context;
+            this.executable = executable;
+            this.config = RetryOperationsImpl.this.config;
+            result.whenComplete((r, t) -> {
+                if (result.isCancelled()) {
+                    cancelPending();
+                }
+            });
+        }
+
+        private void attempt() {
+            if (result.isDone()) {
+                return;
+            }
+
+            final long attemptStartNs = System.nanoTime();
+            final CompletionStage<T> stage;
+            try {
+                stage = executable.execute();
+            } catch (Throwable th) {
+                context.recordAttempt(attemptStartNs);
+                onFailure(th);
+                return;
+            }
+
+            if (stage == null) {
+                onSuccess(null);
+                return;
+            }
+            current = stage;
+
+            // Either the completion or the timeout of the attempt is handled, but not both of them.
+            final AtomicBoolean completed = new AtomicBoolean();
+            final long timeout = attemptTimeout(context, config);
+            if (timeout > 0L) {
+                timingOut = ServiceKeeperTimer.scheduleOnWorker(() -> {
+                    if (completed.compareAndSet(false, true)) {
+                        context.recordAttempt(attemptStartNs);
+                        if (stage instanceof Future) {
+                            ((Future<?>) stage).cancel(false);
+                        }
+                        onFailure(new TimeoutException(resourceId.getName() + "'s attempt timed out after " +
+                                timeout + "ms"));
+                    }
+                }, timeout);
+            }
+            stage.whenComplete((r, t) -> {
+                if (!completed.compareAndSet(false, true)) {
+                    return;
+                }
+                context.recordAttempt(attemptStartNs);
+                final Future<?> timeout0 = timingOut;
+                if (timeout0 != null) {
+                    timeout0.cancel(false);
+                }
+                if (t == null) {
+                    onSuccess(r);
+                } else {
+                    onFailure(t instanceof CompletionException && t.getCause() != null ? t.getCause() : t);
+                }
+            });
+        }
+
+        private void onSuccess(T value) {
+            if (started) {
+                context.registerThrowable(null);
+                fireEnd(context);
+            } else {
+                depositBudget();
+            }
+            result.complete(value);
+        }
+
+        private void onFailure(Throwable th) {
+            if (result.isDone()) {
+                return;
+            }
+
+            context.registerThrowable(th);
+            ServiceRetryException cause = null;
+            long delay = 0L;
+            if (!predicate.canRetry(context)) {
+                cause = createFailsCause(context);
+            } else {
+                delay = backOffPolicy.delayMillis(context);
+                if (isBeyondDeadline(context, config, delay)) {
+                    cause = createDeadlineExceededCause(context, config);
+                } else if (!tryAcquireBudget()) {
+                    cause = createBudgetExhaustedCause(context);
+                }
+            }
+            if (cause != null) {
+                if (started) {
+                    fireEnd(context);
+                    result.completeExceptionally(cause);
+                } else {
+                    result.completeExceptionally(context.getLastThrowable());
+                }
+                return;
+            }
+
+            if (!started) {
+                started = true;
+                fireStart(context);
+            }
+
+            if (delay <= 0L) {
+                attempt();
+                return;
+            }
+            backingOff = ServiceKeeperTimer.scheduleOnWorker(this::attempt, delay);
+            // Re-check after publishing the timeout, the result may be cancelled concurrently.
+            if (result.isCancelled()) {
+                cancelPending();
+            }
+        }
+
+        private void cancelPending() {
+            final Future<?> timeout = backingOff;
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+            final Future<?> timeout0 = timingOut;
+            if (timeout0 != null) {
+                timeout0.cancel(false);
+            }
+            final CompletionStage<T> stage = current;
+            if (stage instanceof Future) {
+                ((Future<?>) stage).cancel(false);
+            }
+        }
+    }
+
     private class Metrics implements RetryMetrics {
 
         private final int maxAttempts;
         private final long retriedTimes;
         private final long totalRetriedCount;
+        private final long budgetExhaustedTimes;
 
         private Metrics() {
             this.maxAttempts = config.getMaxAttempts();
             this.retriedTimes = statistics.retriedTimes.sum();
             this.totalRetriedCount = statistics.totalRetriedCount.sum();
+            this.budgetExhaustedTimes = statistics.budgetExhaustedTimes.sum();
         }
 
         @Override
@@ -258,6 +578,11 @@ public class RetryOperationsImpl implements RetryOperations, FondConfigListener<
             return totalRetriedCount;
         }
 
+        @Override
+        public long budgetExhaustedTimes() {
+            return budgetExhaustedTimes;
+        }
+
         @Override
         public Type type() {
             return Type.RETRY;
@@ -268,6 +593,7 @@ public class RetryOperationsImpl implements RetryOperations, FondConfigListener<
 
         private final LongAdder retriedTimes = new LongAdder();
         private final LongAdder totalRetriedCount = new LongAdder();
+        private final LongAdder budgetExhaustedTimes = new LongAdder();
 
         @Override
         public void process(String name, RetryEvent event) {
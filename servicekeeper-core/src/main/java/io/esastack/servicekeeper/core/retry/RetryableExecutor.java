@@ -22,6 +22,7 @@ import io.esastack.servicekeeper.core.executionchain.Executable;
 import io.esastack.servicekeeper.core.executionchain.Executor;
 
 import java.util.StringJoiner;
+import java.util.concurrent.CompletionStage;
 
 public class RetryableExecutor implements Executor {
 
@@ -69,6 +70,23 @@ public class RetryableExecutor implements Executor {
         return operations.execute(buildContext(context, invocation), executable);
     }
 
+    /**
+     * Executes the asynchronous executable with retry, the backoff between attempts is scheduled on a shared timer
+     * instead of blocking current thread.
+     *
+     * @param context    internal
+     * @param invocation original invocation
+     * @param executable executable which returns the stage of a single attempt
+     * @param <R>        type parameter
+     * @return the stage of the final result
+     * @throws Throwable any throwable
+     */
+    public <R> CompletionStage<R> doExecuteAsync(Context context, OriginalInvocation invocation,
+                                                 Executable<? extends CompletionStage<R>> executable)
+            throws Throwable {
+        return operations.executeAsync(buildContext(context, invocation), executable);
+    }
+
     @Override
     public String toString() {
         return new StringJoiner(", ", RetryableExecutor.class.getSimpleName() + "[", "]")
@@ -18,7 +18,10 @@ package io.esastack.servicekeeper.core.retry.internal;
 import io.esastack.servicekeeper.core.config.BackoffConfig;
 import io.esastack.servicekeeper.core.exception.BackOffInterruptedException;
 import io.esastack.servicekeeper.core.retry.RetryContext;
+import io.esastack.servicekeeper.core.retry.internal.impl.DecorrelatedJitterBackOffPolicy;
+import io.esastack.servicekeeper.core.retry.internal.impl.EqualJitterBackOffPolicy;
 import io.esastack.servicekeeper.core.retry.internal.impl.ExponentialBackOffPolicy;
+import io.esastack.servicekeeper.core.retry.internal.impl.FullJitterBackOffPolicy;
 
 /**
  * Usually, it's not a good idea to retry continuously, due that the original resource needs some time to back to
@@ -34,6 +37,17 @@ public interface BackOffPolicy {
      */
     void backOff(RetryContext context) throws BackOffInterruptedException;
 
+    /**
+     * Obtains the time to back off in milliseconds without blocking current thread, which is used to schedule the
+     * next attempt of an asynchronous retry.
+     *
+     * @param context context
+     * @return delay in milliseconds, non-positive value means retrying immediately.
+     */
+    default long delayMillis(RetryContext context) {
+        return 0L;
+    }
+
     /**
      * Constructs a {@link BackOffPolicy} instance using {@link BackoffConfig}.
      *
@@ -44,7 +58,21 @@ public interface BackOffPolicy {
         if (config == null) {
             return new ExponentialBackOffPolicy(-1L, -1L, -1.0d);
         }
-        return new ExponentialBackOffPolicy(config.getDelay(), config.getMaxDelay(), config.getMultiplier());
+        if (config.getJitter() == null) {
+            return new ExponentialBackOffPolicy(config.getDelay(), config.getMaxDelay(), config.getMultiplier());
+        }
+        switch (config.getJitter()) {
+            case FULL:
+                return new FullJitterBackOffPolicy(config.getDelay(), config.getMaxDelay(), config.getMultiplier());
+            case EQUAL:
+                return new EqualJitterBackOffPolicy(config.getDelay(), config.getMaxDelay(),
+                        config.getMultiplier());
+            case DECORRELATED:
+                return new DecorrelatedJitterBackOffPolicy(config.getDelay(), config.getMaxDelay(),
+                        config.getMultiplier());
+            default:
+                return new ExponentialBackOffPolicy(config.getDelay(), config.getMaxDelay(), config.getMultiplier());
+        }
     }
 
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.retry.internal;
+
+import esa.commons.Checks;
+import io.esastack.servicekeeper.core.config.RetryBudgetConfig;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The budget to limit the retries of a resource, which earns tokens from the successful first attempts and spends
+ * one token per retry. The tokens expire after {@link #WINDOW_SECONDS}, so that a long healthy period can't save up
+ * tokens for a storm of retries during an outage. The budget is approximate because that the window is rolled over
+ * without locking.
+ */
+public class RetryBudget {
+
+    static final int WINDOW_SECONDS = 10;
+
+    private static final int DEPOSITS = 0;
+    private static final int WITHDRAWALS = 1;
+
+    private final double ratio;
+    private final long minRetriesInWindow;
+    private final AtomicLongArray seconds = new AtomicLongArray(WINDOW_SECONDS);
+    private final AtomicLongArray counts = new AtomicLongArray(WINDOW_SECONDS * 2);
+
+    public RetryBudget(RetryBudgetConfig config) {
+        Checks.checkNotNull(config, "config");
+        Checks.checkArg(config.getRatio() >= 0.0d, "ratio must not be negative");
+        Checks.checkArg(config.getMinRetriesPerSecond() >= 0, "minRetriesPerSecond must not be negative");
+        this.ratio = config.getRatio();
+        this.minRetriesInWindow = (long) config.getMinRetriesPerSecond() * WINDOW_SECONDS;
+        for (int i = 0; i < WINDOW_SECONDS; i++) {
+            seconds.set(i, Long.MIN_VALUE);
+        }
+    }
+
+    /**
+     * Earns tokens when the first attempt of a call succeeds.
+     */
+    public void deposit() {
+        counts.incrementAndGet(slot(currentSecond(), DEPOSITS));
+    }
+
+    /**
+     * Tries to spend a token before retrying.
+     *
+     * @return true if the retry is allowed, otherwise false.
+     */
+    public boolean tryWithdraw() {
+        final long now = currentSecond();
+        long deposits = 0L;
+        long withdrawals = 0L;
+        for (int i = 0; i < WINDOW_SECONDS; i++) {
+            if (now - seconds.get(i) < WINDOW_SECONDS) {
+                deposits += counts.get(i * 2 + DEPOSITS);
+                withdrawals += counts.get(i * 2 + WITHDRAWALS);
+            }
+        }
+
+        if (withdrawals < minRetriesInWindow + (long) (deposits * ratio)) {
+            counts.incrementAndGet(slot(now, WITHDRAWALS));
+            return true;
+        }
+        return false;
+    }
+
+    long currentSecond() {
+        return TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+    }
+
+    private int slot(long second, int type) {
+        final int index = (int) Math.floorMod(second, (long) WINDOW_SECONDS);
+        final long previous = seconds.get(index);
+        if (previous < second && seconds.compareAndSet(index, previous, second)) {
+            // Rolls over the expired slot, the counts added concurrently by others may be lost.
+            counts.set(index * 2 + DEPOSITS, 0L);
+            counts.set(index * 2 + WITHDRAWALS, 0L);
+        }
+        return index * 2 + type;
+    }
+}
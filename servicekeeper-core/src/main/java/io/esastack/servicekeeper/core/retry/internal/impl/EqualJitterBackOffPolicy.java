@@ -0,0 +1,41 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.retry.internal.impl;
+
+import io.esastack.servicekeeper.core.retry.RetryContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Backs off half of the exponential delay plus a random time between 0 and the other half, which keeps a minimum
+ * delay between the retries.
+ */
+public class EqualJitterBackOffPolicy extends ExponentialBackOffPolicy {
+
+    public EqualJitterBackOffPolicy(long delay, long maxDelay, double multiplier) {
+        super(delay, maxDelay, multiplier);
+    }
+
+    @Override
+    long computeDelay(RetryContext context) {
+        final long exponential = super.computeDelay(context);
+        if (exponential <= 0L) {
+            return exponential;
+        }
+        final long half = exponential / 2;
+        return half + ThreadLocalRandom.current().nextLong(exponential - half + 1L);
+    }
+}
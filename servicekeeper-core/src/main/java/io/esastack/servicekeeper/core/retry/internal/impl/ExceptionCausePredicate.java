@@ -44,8 +44,9 @@ public class ExceptionCausePredicate extends ExceptionPredicateImpl {
         if (superValue == (defaultValue)) {
             Throwable cause = th;
             do {
-                if (this.exceptions.containsKey(cause.getClass())) {
-                    return exceptions.get(cause.getClass());
+                final Boolean value = classifier.classify(cause.getClass());
+                if (value != null) {
+                    return value;
                 }
                 cause = cause.getCause();
                 superValue = super.canRetry0(cause);
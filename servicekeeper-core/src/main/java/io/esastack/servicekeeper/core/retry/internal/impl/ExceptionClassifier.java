@@ -0,0 +1,107 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.retry.internal.impl;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Classifies the exception classes by the configured include and exclude rules, the rule of the nearest super class
+ * wins. The results are cached in a fixed-size table which is indexed by the identity hash code of the class, so the
+ * memory is bounded no matter how many different exceptions are thrown, and a colliding class just overwrites the
+ * slot. The classifiers are shared by all the predicates which have identical rules, and the number of shared
+ * classifiers is bounded too, because the rules may be updated by the dynamic config again and again.
+ */
+final class ExceptionClassifier {
+
+    static final int CACHE_SIZE = 64;
+
+    static final int MAX_SHARED_CLASSIFIERS = 256;
+
+    private static final ConcurrentMap<Map<Class<? extends Throwable>, Boolean>, ExceptionClassifier> CLASSIFIERS =
+            new ConcurrentHashMap<>();
+
+    private final Map<Class<? extends Throwable>, Boolean> rules;
+
+    /**
+     * The entries are immutable, so it's safe to read and write the table without synchronization.
+     */
+    private final Entry[] cache = new Entry[CACHE_SIZE];
+
+    private ExceptionClassifier(Map<Class<? extends Throwable>, Boolean> rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * Obtains the shared classifier of the given rules.
+     *
+     * @param rules the exception classes and whether they are retryable
+     * @return classifier
+     */
+    static ExceptionClassifier of(Map<Class<? extends Throwable>, Boolean> rules) {
+        final Map<Class<? extends Throwable>, Boolean> rules0 = rules == null || rules.isEmpty()
+                ? Collections.emptyMap() : Collections.unmodifiableMap(new HashMap<>(rules));
+        final ExceptionClassifier classifier = CLASSIFIERS.get(rules0);
+        if (classifier != null) {
+            return classifier;
+        }
+        if (CLASSIFIERS.size() >= MAX_SHARED_CLASSIFIERS) {
+            // Drop all the shared ones, the predicates in use still hold their own classifiers, so that the
+            // classifiers of the outdated rules and the exception classes referenced by them can be collected.
+            CLASSIFIERS.clear();
+        }
+        return CLASSIFIERS.computeIfAbsent(rules0, ExceptionClassifier::new);
+    }
+
+    static int sharedClassifiers() {
+        return CLASSIFIERS.size();
+    }
+
+    /**
+     * Classifies the exception class.
+     *
+     * @param exClazz exception class
+     * @return the value of the nearest rule, or null if there is no rule matches the class.
+     */
+    Boolean classify(Class<?> exClazz) {
+        final int index = System.identityHashCode(exClazz) & (CACHE_SIZE - 1);
+        final Entry entry = cache[index];
+        if (entry != null && entry.exClazz == exClazz) {
+            return entry.value;
+        }
+
+        Boolean value = null;
+        for (Class<?> cls = exClazz; cls != null && value == null; cls = cls.getSuperclass()) {
+            value = rules.get(cls);
+        }
+        cache[index] = new Entry(exClazz, value);
+        return value;
+    }
+
+    private static final class Entry {
+
+        private final Class<?> exClazz;
+        private final Boolean value;
+
+        private Entry(Class<?> exClazz, Boolean value) {
+            this.exClazz = exClazz;
+            this.value = value;
+        }
+    }
+}
@@ -18,12 +18,10 @@ package io.esastack.servicekeeper.core.retry.internal.impl;
 import esa.commons.Checks;
 
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 public class ExceptionPredicateImpl extends ExceptionPredicate {
 
-    final ConcurrentMap<Class<? extends Throwable>, Boolean> exceptions = new ConcurrentHashMap<>(8);
+    final ExceptionClassifier classifier;
 
     final Boolean defaultValue;
 
@@ -31,9 +29,7 @@ public class ExceptionPredicateImpl extends ExceptionPredicate {
                            Map<Class<? extends Throwable>, Boolean> exceptions,
                            Boolean defaultValue) {
         super(maxAttempts);
-        if (exceptions != null) {
-            this.exceptions.putAll(exceptions);
-        }
+        this.classifier = ExceptionClassifier.of(exceptions);
         Checks.checkNotNull(defaultValue, "defaultValue");
         this.defaultValue = defaultValue;
     }
@@ -44,22 +40,7 @@ public class ExceptionPredicateImpl extends ExceptionPredicate {
             return defaultValue;
         }
 
-        final Class<? extends Throwable> exClazz = th.getClass();
-        if (exceptions.containsKey(exClazz)) {
-            return exceptions.get(exClazz);
-        }
-
-        // Check from super classes
-        Boolean value = null;
-        for (Class<?> cls = exClazz; !cls.equals(Object.class) && value == null; cls = cls.getSuperclass()) {
-            value = exceptions.get(cls);
-        }
-
-        // ConcurrentMap doesn't allow null value
-        if (value != null) {
-            this.exceptions.put(exClazz, value);
-        }
-
+        final Boolean value = classifier.classify(th.getClass());
         return value == null ? defaultValue : value;
     }
 
@@ -41,6 +41,7 @@ public class ExponentialBackOffPolicy implements BackOffPolicy {
         if (currentDelay < 0) {
             return;
         }
+        context.setLastDelayMs(currentDelay);
 
         try {
             Thread.sleep(currentDelay);
@@ -49,6 +50,13 @@ public class ExponentialBackOffPolicy implements BackOffPolicy {
         }
     }
 
+    @Override
+    public long delayMillis(RetryContext context) {
+        final long currentDelay = computeDelay(context);
+        context.setLastDelayMs(currentDelay);
+        return currentDelay;
+    }
+
     /**
      * Obtains current delay time, and the package accessible is only designed for junit test.
      *
@@ -59,4 +67,12 @@ public class ExponentialBackOffPolicy implements BackOffPolicy {
         return (long) Math.min(maxDelay, delay * Math.pow(multiplier, context.getRetriedCount() - 1));
     }
 
+    long delay() {
+        return delay;
+    }
+
+    long maxDelay() {
+        return maxDelay;
+    }
+
 }
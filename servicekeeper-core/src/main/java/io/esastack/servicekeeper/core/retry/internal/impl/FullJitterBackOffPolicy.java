@@ -0,0 +1,36 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.retry.internal.impl;
+
+import io.esastack.servicekeeper.core.retry.RetryContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Backs off a random time between 0 and the exponential delay, which spreads out the retries most.
+ */
+public class FullJitterBackOffPolicy extends ExponentialBackOffPolicy {
+
+    public FullJitterBackOffPolicy(long delay, long maxDelay, double multiplier) {
+        super(delay, maxDelay, multiplier);
+    }
+
+    @Override
+    long computeDelay(RetryContext context) {
+        final long exponential = super.computeDelay(context);
+        return exponential <= 0L ? exponential : ThreadLocalRandom.current().nextLong(exponential + 1L);
+    }
+}
@@ -16,20 +16,33 @@
 package io.esastack.servicekeeper.core.utils;
 
 import io.esastack.servicekeeper.core.config.BackoffConfig;
+import io.esastack.servicekeeper.core.config.CacheConfig;
 import io.esastack.servicekeeper.core.config.CircuitBreakerConfig;
+import io.esastack.servicekeeper.core.config.CoDelConfig;
 import io.esastack.servicekeeper.core.config.ConcurrentLimitConfig;
 import io.esastack.servicekeeper.core.config.FallbackConfig;
+import io.esastack.servicekeeper.core.config.HedgeConfig;
+import io.esastack.servicekeeper.core.config.IsolationConfig;
 import io.esastack.servicekeeper.core.config.RateLimitConfig;
+import io.esastack.servicekeeper.core.config.RetryBudgetConfig;
 import io.esastack.servicekeeper.core.config.RetryConfig;
 import io.esastack.servicekeeper.core.config.ServiceKeeperConfig;
+import io.esastack.servicekeeper.core.config.SingleFlightConfig;
+import io.esastack.servicekeeper.core.config.TimeoutConfig;
 import io.esastack.servicekeeper.core.configsource.DynamicConfig;
 import io.esastack.servicekeeper.core.configsource.ExternalConfig;
 
+import static io.esastack.servicekeeper.core.configsource.ExternalConfigUtils.hasBootstrapCache;
 import static io.esastack.servicekeeper.core.configsource.ExternalConfigUtils.hasBootstrapCircuitBreaker;
+import static io.esastack.servicekeeper.core.configsource.ExternalConfigUtils.hasBootstrapCoDel;
 import static io.esastack.servicekeeper.core.configsource.ExternalConfigUtils.hasBootstrapConcurrent;
 import static io.esastack.servicekeeper.core.configsource.ExternalConfigUtils.hasBootstrapDynamic;
+import static io.esastack.servicekeeper.core.configsource.ExternalConfigUtils.hasBootstrapHedge;
+import static io.esastack.servicekeeper.core.configsource.ExternalConfigUtils.hasBootstrapIsolation;
 import static io.esastack.servicekeeper.core.configsource.ExternalConfigUtils.hasBootstrapRate;
 import static io.esastack.servicekeeper.core.configsource.ExternalConfigUtils.hasBootstrapRetry;
+import static io.esastack.servicekeeper.core.configsource.ExternalConfigUtils.hasBootstrapSingleFlight;
+import static io.esastack.servicekeeper.core.configsource.ExternalConfigUtils.hasBootstrapTimeout;
 import static io.esastack.servicekeeper.core.configsource.ExternalConfigUtils.hasFallback;
 import static io.esastack.servicekeeper.core.moats.circuitbreaker.CircuitBreaker.State.FORCED_DISABLED;
 import static io.esastack.servicekeeper.core.moats.circuitbreaker.CircuitBreaker.State.FORCED_OPEN;
@@ -76,6 +89,24 @@ public final class ConfigUtils {
         if (hasBootstrapRetry(config)) {
             builder.retryConfig(combine(RetryConfig.ofDefault(), config));
         }
+        if (hasBootstrapIsolation(config)) {
+            builder.isolationConfig(combine(IsolationConfig.ofDefault(), config));
+        }
+        if (hasBootstrapTimeout(config)) {
+            builder.timeoutConfig(combine(TimeoutConfig.ofDefault(), config));
+        }
+        if (hasBootstrapCache(config)) {
+            builder.cacheConfig(combine(CacheConfig.ofDefault(), config));
+        }
+        if (hasBootstrapSingleFlight(config)) {
+            builder.singleFlightConfig(combine(SingleFlightConfig.ofDefault(), config));
+        }
+        if (hasBootstrapCoDel(config)) {
+            builder.coDelConfig(combine(CoDelConfig.ofDefault(), config));
+        }
+        if (hasBootstrapHedge(config)) {
+            builder.hedgeConfig(combine(HedgeConfig.ofDefault(), config));
+        }
         return builder.build();
     }
 
@@ -116,6 +147,159 @@ public final class ConfigUtils {
             builder.retryConfig(combine(immutable.getRetryConfig(), config));
         }
 
+        if (immutable.getIsolationConfig() == null) {
+            if (hasBootstrapIsolation(config)) {
+                builder.isolationConfig(combine(IsolationConfig.ofDefault(), config));
+            }
+        } else {
+            builder.isolationConfig(combine(immutable.getIsolationConfig(), config));
+        }
+
+        if (immutable.getTimeoutConfig() == null) {
+            if (hasBootstrapTimeout(config)) {
+                builder.timeoutConfig(combine(TimeoutConfig.ofDefault(), config));
+            }
+        } else {
+            builder.timeoutConfig(combine(immutable.getTimeoutConfig(), config));
+        }
+
+        if (immutable.getCacheConfig() == null) {
+            if (hasBootstrapCache(config)) {
+                builder.cacheConfig(combine(CacheConfig.ofDefault(), config));
+            }
+        } else {
+            builder.cacheConfig(combine(immutable.getCacheConfig(), config));
+        }
+
+        if (immutable.getSingleFlightConfig() == null) {
+            if (hasBootstrapSingleFlight(config)) {
+                builder.singleFlightConfig(combine(SingleFlightConfig.ofDefault(), config));
+            }
+        } else {
+            builder.singleFlightConfig(combine(immutable.getSingleFlightConfig(), config));
+        }
+
+        if (immutable.getCoDelConfig() == null) {
+            if (hasBootstrapCoDel(config)) {
+                builder.coDelConfig(combine(CoDelConfig.ofDefault(), config));
+            }
+        } else {
+            builder.coDelConfig(combine(immutable.getCoDelConfig(), config));
+        }
+
+        if (immutable.getHedgeConfig() == null) {
+            if (hasBootstrapHedge(config)) {
+                builder.hedgeConfig(combine(HedgeConfig.ofDefault(), config));
+            }
+        } else {
+            builder.hedgeConfig(combine(immutable.getHedgeConfig(), config));
+        }
+
+        return builder.build();
+    }
+
+    public static IsolationConfig combine(final IsolationConfig config, final ExternalConfig external) {
+        if (external == null) {
+            return config == null ? null : IsolationConfig.from(config).build();
+        }
+        final IsolationConfig.Builder builder = (config == null
+                ? IsolationConfig.builder() : IsolationConfig.from(config));
+
+        if (external.getIsolationThreads() != null) {
+            builder.threads(external.getIsolationThreads());
+        }
+        if (external.getIsolationQueueSize() != null) {
+            builder.maxQueueSize(external.getIsolationQueueSize());
+        }
+        if (external.getIsolationExecutorType() != null) {
+            builder.executorType(external.getIsolationExecutorType());
+        }
+        return builder.build();
+    }
+
+    public static HedgeConfig combine(final HedgeConfig config, final ExternalConfig external) {
+        if (external == null) {
+            return config == null ? null : HedgeConfig.from(config).build();
+        }
+        final HedgeConfig.Builder builder = (config == null
+                ? HedgeConfig.builder() : HedgeConfig.from(config));
+
+        if (external.getHedgeDelay() != null) {
+            builder.delay(external.getHedgeDelay());
+        }
+        if (external.getHedgePercentile() != null) {
+            builder.percentile(external.getHedgePercentile());
+        }
+        if (external.getMaxConcurrentHedges() != null) {
+            builder.maxConcurrentHedges(external.getMaxConcurrentHedges());
+        }
+        return builder.build();
+    }
+
+    public static TimeoutConfig combine(final TimeoutConfig config, final ExternalConfig external) {
+        if (external == null) {
+            return config == null ? null : TimeoutConfig.from(config).build();
+        }
+        final TimeoutConfig.Builder builder = (config == null
+                ? TimeoutConfig.builder() : TimeoutConfig.from(config));
+
+        if (external.getTimeout() != null) {
+            builder.timeout(external.getTimeout());
+        }
+        if (external.getTimeoutInterruptible() != null) {
+            builder.interruptible(external.getTimeoutInterruptible());
+        }
+        return builder.build();
+    }
+
+    public static CacheConfig combine(final CacheConfig config, final ExternalConfig external) {
+        if (external == null) {
+            return config == null ? null : CacheConfig.from(config).build();
+        }
+        final CacheConfig.Builder builder = (config == null
+                ? CacheConfig.builder() : CacheConfig.from(config));
+
+        if (external.getCacheTtl() != null) {
+            builder.ttl(external.getCacheTtl());
+        }
+        if (external.getCacheMaxSize() != null) {
+            builder.maxSize(external.getCacheMaxSize());
+        }
+        if (external.getCacheMaxStale() != null) {
+            builder.maxStale(external.getCacheMaxStale());
+        }
+        if (external.getCacheStaleWhileRevalidate() != null) {
+            builder.staleWhileRevalidate(external.getCacheStaleWhileRevalidate());
+        }
+        return builder.build();
+    }
+
+    public static SingleFlightConfig combine(final SingleFlightConfig config, final ExternalConfig external) {
+        if (external == null) {
+            return config == null ? null : SingleFlightConfig.from(config).build();
+        }
+        final SingleFlightConfig.Builder builder = (config == null
+                ? SingleFlightConfig.builder() : SingleFlightConfig.from(config));
+
+        if (external.getSingleFlight() != null) {
+            builder.enable(external.getSingleFlight());
+        }
+        return builder.build();
+    }
+
+    public static CoDelConfig combine(final CoDelConfig config, final ExternalConfig external) {
+        if (external == null) {
+            return config == null ? null : CoDelConfig.from(config).build();
+        }
+        final CoDelConfig.Builder builder = (config == null
+                ? CoDelConfig.builder() : CoDelConfig.from(config));
+
+        if (external.getCodelTargetDelay() != null) {
+            builder.targetDelay(external.getCodelTargetDelay());
+        }
+        if (external.getCodelInterval() != null) {
+            builder.interval(external.getCodelInterval());
+        }
         return builder.build();
     }
 
@@ -167,6 +351,12 @@ public final class ConfigUtils {
         if (external.getMaxSpendTimeMs() != null) {
             builder.maxSpendTimeMs(external.getMaxSpendTimeMs());
         }
+        if (external.getLatencyPercentile() != null) {
+            builder.latencyPercentile(external.getLatencyPercentile());
+        }
+        if (external.getLatencyThresholdMs() != null) {
+            builder.latencyThresholdMs(external.getLatencyThresholdMs());
+        }
         if (external.getFailureRateThreshold() != null) {
             builder.failureRateThreshold(external.getFailureRateThreshold());
         }
@@ -176,6 +366,9 @@ public final class ConfigUtils {
         if (external.getPredicateStrategy() != null) {
             builder.predicateStrategy(external.getPredicateStrategy());
         }
+        if (external.getWindowType() != null) {
+            builder.windowType(external.getWindowType());
+        }
         if (external.getWaitDurationInOpenState() != null) {
             builder.waitDurationInOpenState(external.getWaitDurationInOpenState());
         }
@@ -216,6 +409,18 @@ public final class ConfigUtils {
             allIsNull = false;
             builder.alsoApplyToBizException(external.getAlsoApplyFallbackToBizException());
         }
+        if (external.getFallbackToLastKnownGood() != null) {
+            allIsNull = false;
+            builder.lastKnownGood(external.getFallbackToLastKnownGood());
+        }
+        if (external.getLastKnownGoodMaxSize() != null) {
+            allIsNull = false;
+            builder.lastKnownGoodMaxSize(external.getLastKnownGoodMaxSize());
+        }
+        if (external.getLastKnownGoodMaxWeight() != null) {
+            allIsNull = false;
+            builder.lastKnownGoodMaxWeight(external.getLastKnownGoodMaxWeight());
+        }
 
         if (config == null && allIsNull) {
             return null;
@@ -238,6 +443,12 @@ public final class ConfigUtils {
         if (dynamic.getExcludeExceptions() != null && dynamic.getExcludeExceptions().length > 0) {
             builder.excludeExceptions(dynamic.getExcludeExceptions());
         }
+        if (dynamic.getAttemptTimeout() != null) {
+            builder.attemptTimeout(dynamic.getAttemptTimeout());
+        }
+        if (dynamic.getRetryDeadline() != null) {
+            builder.deadline(dynamic.getRetryDeadline());
+        }
 
         boolean config0 = config != null && config.getBackoffConfig() != null;
         BackoffConfig.Builder builder0 = config0
@@ -254,11 +465,27 @@ public final class ConfigUtils {
         if (dynamic.getMultiplier() != null) {
             builder0.multiplier(dynamic.getMultiplier());
         }
+        if (dynamic.getJitter() != null) {
+            builder0.jitter(dynamic.getJitter());
+        }
 
         if (config0 || hasExternalBackOffConfig) {
             builder.backoffConfig(builder0.build());
         }
 
+        final boolean budget0 = config != null && config.getBudgetConfig() != null;
+        final RetryBudgetConfig.Builder budgetBuilder = budget0
+                ? RetryBudgetConfig.copyFrom(config.getBudgetConfig()) : RetryBudgetConfig.builder();
+        if (dynamic.getRetryBudgetRatio() != null) {
+            budgetBuilder.ratio(dynamic.getRetryBudgetRatio());
+        }
+        if (dynamic.getMinRetriesPerSecond() != null) {
+            budgetBuilder.minRetriesPerSecond(dynamic.getMinRetriesPerSecond());
+        }
+        if (budget0 || dynamic.getRetryBudgetRatio() != null) {
+            builder.budgetConfig(budgetBuilder.build());
+        }
+
         return builder.build();
     }
 }
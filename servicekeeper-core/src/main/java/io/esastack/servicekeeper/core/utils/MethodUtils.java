@@ -18,27 +18,47 @@ package io.esastack.servicekeeper.core.utils;
 import esa.commons.StringUtils;
 import io.esastack.servicekeeper.core.annotation.Alias;
 import io.esastack.servicekeeper.core.annotation.Backoff;
+import io.esastack.servicekeeper.core.annotation.Budget;
 import io.esastack.servicekeeper.core.annotation.CircuitBreaker;
 import io.esastack.servicekeeper.core.annotation.ConcurrentLimiter;
 import io.esastack.servicekeeper.core.annotation.Fallback;
 import io.esastack.servicekeeper.core.annotation.Group;
+import io.esastack.servicekeeper.core.annotation.Hedged;
+import io.esastack.servicekeeper.core.annotation.Isolation;
 import io.esastack.servicekeeper.core.annotation.RateLimiter;
+import io.esastack.servicekeeper.core.annotation.RequestPriority;
+import io.esastack.servicekeeper.core.annotation.ResultCache;
 import io.esastack.servicekeeper.core.annotation.Retryable;
+import io.esastack.servicekeeper.core.annotation.SingleFlight;
+import io.esastack.servicekeeper.core.annotation.Timeout;
 import io.esastack.servicekeeper.core.common.GroupResourceId;
+import io.esastack.servicekeeper.core.common.Priority;
+import io.esastack.servicekeeper.core.common.PriorityExtractor;
 import io.esastack.servicekeeper.core.config.BackoffConfig;
+import io.esastack.servicekeeper.core.config.CacheConfig;
 import io.esastack.servicekeeper.core.config.CircuitBreakerConfig;
 import io.esastack.servicekeeper.core.config.ConcurrentLimitConfig;
 import io.esastack.servicekeeper.core.config.FallbackConfig;
+import io.esastack.servicekeeper.core.config.HedgeConfig;
+import io.esastack.servicekeeper.core.config.IsolationConfig;
 import io.esastack.servicekeeper.core.config.RateLimitConfig;
+import io.esastack.servicekeeper.core.config.RetryBudgetConfig;
 import io.esastack.servicekeeper.core.config.RetryConfig;
 import io.esastack.servicekeeper.core.config.ServiceKeeperConfig;
+import io.esastack.servicekeeper.core.config.SingleFlightConfig;
+import io.esastack.servicekeeper.core.config.TimeoutConfig;
 import io.esastack.servicekeeper.core.entry.CompositeServiceKeeperConfig;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class MethodUtils {
 
+    private static final Map<Class<? extends PriorityExtractor>, PriorityExtractor> EXTRACTORS =
+            new ConcurrentHashMap<>();
+
     private MethodUtils() {
     }
 
@@ -80,10 +100,10 @@ public final class MethodUtils {
             if (group == null) {
                 return null;
             } else {
-                return builder.group(group).build();
+                return builder.group(group).sharedGroup(isSharedGroup(method)).build();
             }
         } else {
-            return builder.group(group).build();
+            return builder.group(group).sharedGroup(isSharedGroup(method)).build();
         }
     }
 
@@ -95,12 +115,48 @@ public final class MethodUtils {
         return method.getDeclaringClass().getName() + "." + method.getName();
     }
 
+    /**
+     * Get the priority of the call from the {@link RequestPriority} of method.
+     *
+     * @param method method
+     * @param args   arguments of the call
+     * @return priority, null if the method isn't annotated with {@link RequestPriority}
+     */
+    public static Priority getPriority(Method method, Object[] args) {
+        final RequestPriority requestPriority = method.getAnnotation(RequestPriority.class);
+        if (requestPriority == null) {
+            return null;
+        }
+        if (requestPriority.extractor() != PriorityExtractor.None.class) {
+            final Priority priority = EXTRACTORS.computeIfAbsent(requestPriority.extractor(),
+                    MethodUtils::newExtractor).extract(args);
+            if (priority != null) {
+                return priority;
+            }
+        }
+        return requestPriority.value();
+    }
+
+    private static PriorityExtractor newExtractor(Class<? extends PriorityExtractor> extractorClass) {
+        try {
+            return extractorClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalArgumentException("Failed to instantiate the extractor: "
+                    + extractorClass.getName() + " of @RequestPriority", ex);
+        }
+    }
+
     private static boolean hasMethodAnnotation(Method method) {
         return method.getAnnotation(ConcurrentLimiter.class) != null
                 || method.getAnnotation(RateLimiter.class) != null
                 || method.getAnnotation(CircuitBreaker.class) != null
                 || method.getAnnotation(Fallback.class) != null
-                || method.getAnnotation(Retryable.class) != null;
+                || method.getAnnotation(Retryable.class) != null
+                || method.getAnnotation(Isolation.class) != null
+                || method.getAnnotation(Hedged.class) != null
+                || method.getAnnotation(Timeout.class) != null
+                || method.getAnnotation(ResultCache.class) != null
+                || method.getAnnotation(SingleFlight.class) != null;
     }
 
     private static ServiceKeeperConfig getAnnotatedConfig(Method method) {
@@ -109,6 +165,11 @@ public final class MethodUtils {
         CircuitBreakerConfig circuitBreakerConfig = null;
         FallbackConfig fallbackConfig = null;
         RetryConfig retryConfig = null;
+        IsolationConfig isolationConfig = null;
+        TimeoutConfig timeoutConfig = null;
+        CacheConfig cacheConfig = null;
+        SingleFlightConfig singleFlightConfig = null;
+        HedgeConfig hedgeConfig = null;
 
         final ConcurrentLimiter concurrentLimiter = method.getAnnotation(ConcurrentLimiter.class);
         if (concurrentLimiter != null) {
@@ -117,6 +178,10 @@ public final class MethodUtils {
                             concurrentLimiter.threshold(),
                             concurrentLimiter.value(),
                             ConcurrentLimiter.DEFAULT_VALUE))
+                    .algorithm(concurrentLimiter.algorithm())
+                    .minThreshold(concurrentLimiter.minThreshold())
+                    .maxWaitDuration(DurationUtils.parse(concurrentLimiter.maxWaitDuration()))
+                    .maxQueueSize(concurrentLimiter.maxQueueSize())
                     .build();
         }
 
@@ -143,6 +208,9 @@ public final class MethodUtils {
                     .ringBufferSizeInHalfOpenState(circuitBreaker.ringBufferSizeInHalfOpenState())
                     .waitDurationInOpenState(DurationUtils.parse(circuitBreaker.waitDurationInOpenState()))
                     .maxSpendTimeMs(circuitBreaker.maxSpendTimeMs())
+                    .latencyPercentile(circuitBreaker.latencyPercentile())
+                    .latencyThresholdMs(circuitBreaker.latencyThresholdMs())
+                    .windowType(circuitBreaker.windowType())
                     .predicateStrategy(circuitBreaker.predicateStrategy())
                     .build();
         }
@@ -152,7 +220,10 @@ public final class MethodUtils {
             FallbackConfig.Builder builder = FallbackConfig.builder()
                     .specifiedException(fallback.fallbackExceptionClass())
                     .specifiedValue(fallback.fallbackValue())
-                    .alsoApplyToBizException(fallback.alsoApplyToBizException());
+                    .alsoApplyToBizException(fallback.alsoApplyToBizException())
+                    .lastKnownGood(fallback.fallbackToLastKnownGood())
+                    .lastKnownGoodMaxSize(fallback.lastKnownGoodMaxSize())
+                    .lastKnownGoodMaxWeight(fallback.lastKnownGoodMaxWeight());
             if (fallback.fallbackClass() == Void.class && StringUtils.isEmpty(fallback.fallbackMethod())) {
                 fallbackConfig = builder.build();
             } else {
@@ -176,24 +247,84 @@ public final class MethodUtils {
                     .maxAttempts(AnnotationUtils.resolve("RetryConfig.maxAttempts",
                             retryable.maxAttempts(),
                             retryable.value(),
-                            Retryable.DEFAULT_MAX_ATTEMPTS));
+                            Retryable.DEFAULT_MAX_ATTEMPTS))
+                    .attemptTimeout(retryable.attemptTimeout())
+                    .deadline(retryable.deadline());
             Backoff backoff = retryable.backoff();
             if (backoff.delay() != 0) {
                 builder.backoffConfig(BackoffConfig.builder()
                         .delay(backoff.delay())
                         .maxDelay(backoff.maxDelay())
                         .multiplier(backoff.multiplier())
+                        .jitter(backoff.jitter())
+                        .build());
+            }
+            Budget budget = retryable.budget();
+            if (budget.ratio() > 0) {
+                builder.budgetConfig(RetryBudgetConfig.builder()
+                        .ratio(budget.ratio())
+                        .minRetriesPerSecond(budget.minRetriesPerSecond())
                         .build());
             }
             retryConfig = builder.build();
         }
 
+        final Isolation isolation = method.getAnnotation(Isolation.class);
+        if (isolation != null) {
+            isolationConfig = IsolationConfig.builder()
+                    .threads(isolation.threads())
+                    .maxQueueSize(isolation.maxQueueSize())
+                    .executorType(isolation.executorType())
+                    .build();
+        }
+
+        final Timeout timeout = method.getAnnotation(Timeout.class);
+        if (timeout != null) {
+            timeoutConfig = TimeoutConfig.builder()
+                    .timeout(timeout.value())
+                    .interruptible(timeout.interruptible())
+                    .build();
+        }
+
+        final ResultCache resultCache = method.getAnnotation(ResultCache.class);
+        if (resultCache != null) {
+            cacheConfig = CacheConfig.builder()
+                    .ttl(resultCache.ttl())
+                    .maxSize(resultCache.maxSize())
+                    .maxStale(resultCache.maxStale())
+                    .staleWhileRevalidate(resultCache.staleWhileRevalidate())
+                    .build();
+        }
+
+        if (method.getAnnotation(SingleFlight.class) != null) {
+            singleFlightConfig = SingleFlightConfig.ofDefault();
+        }
+
+        final Hedged hedged = method.getAnnotation(Hedged.class);
+        if (hedged != null) {
+            Budget budget = hedged.budget();
+            hedgeConfig = HedgeConfig.builder()
+                    .delay(hedged.delay())
+                    .percentile(hedged.percentile())
+                    .maxConcurrentHedges(hedged.maxConcurrentHedges())
+                    .budgetConfig(budget.ratio() > 0 ? RetryBudgetConfig.builder()
+                            .ratio(budget.ratio())
+                            .minRetriesPerSecond(budget.minRetriesPerSecond())
+                            .build() : null)
+                    .build();
+        }
+
         return ServiceKeeperConfig.builder()
                 .concurrentLimiterConfig(concurrentConfig)
                 .circuitBreakerConfig(circuitBreakerConfig)
                 .rateLimiterConfig(rateLimitConfig)
                 .fallbackConfig(fallbackConfig)
                 .retryConfig(retryConfig)
+                .isolationConfig(isolationConfig)
+                .hedgeConfig(hedgeConfig)
+                .timeoutConfig(timeoutConfig)
+                .cacheConfig(cacheConfig)
+                .singleFlightConfig(singleFlightConfig)
                 .build();
     }
 
@@ -201,5 +332,10 @@ public final class MethodUtils {
         final Group group = method.getAnnotation(Group.class);
         return group == null ? null : GroupResourceId.from(group.value());
     }
+
+    static boolean isSharedGroup(Method method) {
+        final Group group = method.getAnnotation(Group.class);
+        return group != null && group.shared();
+    }
 }
 
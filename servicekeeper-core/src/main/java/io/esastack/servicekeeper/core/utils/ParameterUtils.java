@@ -97,6 +97,7 @@ public final class ParameterUtils {
                     .waitDurationInOpenState(DurationUtils.parse(argsCircuitBreaker.waitDurationInOpenState()))
                     .maxSpendTimeMs(argsCircuitBreaker.maxSpendTimeMs())
                     .predicateStrategy(argsCircuitBreaker.predicateStrategy())
+                    .windowType(argsCircuitBreaker.windowType())
                     .build();
         }
 
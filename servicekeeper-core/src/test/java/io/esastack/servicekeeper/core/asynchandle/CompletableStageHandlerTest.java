@@ -36,6 +36,7 @@ import io.esastack.servicekeeper.core.moats.ratelimit.RateLimitMoat;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -263,6 +264,31 @@ class CompletableStageHandlerTest {
                 0, false);
     }
 
+    @Test
+    void testCancellationIsNotCountedAsFailure() throws Throwable {
+        final String name = "testCancellationIsNotCountedAsFailure";
+        final ConcurrentLimitMoat concurrentLimit = new ConcurrentLimitMoat(getConfig(name),
+                ConcurrentLimitConfig.builder().threshold(1).build(), null, Collections.emptyList());
+        final CircuitBreakerMoat circuitBreaker = new CircuitBreakerMoat(getConfig(name),
+                CircuitBreakerConfig.builder().ringBufferSizeInClosedState(1).build(),
+                CircuitBreakerConfig.ofDefault(), new PredicateByException());
+        final AsyncExecutionChain chain = new AsyncExecutionChainImpl(Arrays.asList(concurrentLimit,
+                circuitBreaker), null);
+
+        final CompletableFuture<String> inflight = new CompletableFuture<>();
+        final CompletionStage<String> result = chain.asyncExecute(new AsyncContext(name), null,
+                () -> inflight, new CompletableStageHandler<>());
+        then(result.toCompletableFuture().cancel(false)).isTrue();
+        then(inflight.isCancelled()).isTrue();
+
+        // The permit is released, but the cancelled call is counted as neither a success nor a failure.
+        then(concurrentLimit.getConcurrentLimiter().currentCallCount()).isEqualTo(0);
+        then(circuitBreaker.getCircuitBreaker().metrics().numberOfFailedCalls()).isEqualTo(0);
+        then(circuitBreaker.getCircuitBreaker().metrics().numberOfSuccessfulCalls()).isEqualTo(0);
+        then(chain.asyncExecute(new AsyncContext(name), null, () -> CompletableFuture.completedFuture("ABC"),
+                new CompletableStageHandler<>()).toCompletableFuture().get()).isEqualTo("ABC");
+    }
+
     private void testAsyncExecute(Executable<CompletionStage<String>> executable,
                                   Supplier<List<Moat<?>>> moatsSupplier,
                                   boolean useFallback,
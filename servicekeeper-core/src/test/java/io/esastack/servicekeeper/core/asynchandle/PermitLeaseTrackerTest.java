@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.asynchandle;
+
+import io.esastack.servicekeeper.core.common.ResourceId;
+import io.esastack.servicekeeper.core.config.ConcurrentLimitConfig;
+import io.esastack.servicekeeper.core.config.MoatConfig;
+import io.esastack.servicekeeper.core.exception.LeaseExpiredException;
+import io.esastack.servicekeeper.core.executionchain.AsyncContext;
+import io.esastack.servicekeeper.core.executionchain.AsyncExecutionChainImpl;
+import io.esastack.servicekeeper.core.moats.concurrentlimit.ConcurrentLimitMoat;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+
+class PermitLeaseTrackerTest {
+
+    @Test
+    void testDisabled() {
+        final PermitLeaseTracker tracker = new PermitLeaseTracker(Duration.ZERO);
+        then(tracker.isEnabled()).isFalse();
+        then(PermitLeaseTracker.singleton().isEnabled()).isFalse();
+
+        final ConcurrentLimitMoat moat = newMoat("testDisabled");
+        final RequestHandleImpl handle = tryToExecute(moat);
+        tracker.track(handle);
+        then(tracker.numberOfLeases()).isEqualTo(0);
+        handle.endWithSuccess();
+    }
+
+    @Test
+    void testReclaimLeakedPermits() {
+        final PermitLeaseTracker tracker = new PermitLeaseTracker(Duration.ofMillis(50L));
+        final ConcurrentLimitMoat moat = newMoat("testReclaimLeakedPermits");
+
+        final RequestHandleImpl handle = tryToExecute(moat);
+        then(handle.isAllowed()).isTrue();
+        then(tryToExecute(moat).isAllowed()).isFalse();
+
+        tracker.track(handle);
+        then(tracker.numberOfLeases()).isEqualTo(1);
+        await().atMost(3L, TimeUnit.SECONDS).until(() -> tracker.numberOfReclaimedPermits() == 1L);
+        then(tracker.numberOfLeases()).isEqualTo(0);
+        then(handle.isReclaimed()).isTrue();
+        then(handle.getCtx().getBizException()).isInstanceOf(LeaseExpiredException.class);
+        then(moat.getConcurrentLimiter().metrics().currentCallCount()).isEqualTo(0);
+
+        // The ending after reclaimed is ignored
+        assertDoesNotThrow(handle::endWithSuccess);
+        then(moat.getConcurrentLimiter().metrics().currentCallCount()).isEqualTo(0);
+
+        final RequestHandleImpl handle1 = tryToExecute(moat);
+        then(handle1.isAllowed()).isTrue();
+        handle1.endWithSuccess();
+    }
+
+    @Test
+    void testEndBeforeExpired() {
+        final PermitLeaseTracker tracker = new PermitLeaseTracker(Duration.ofMinutes(1L));
+        final ConcurrentLimitMoat moat = newMoat("testEndBeforeExpired");
+
+        final RequestHandleImpl handle = tryToExecute(moat);
+        tracker.track(handle);
+        then(tracker.numberOfLeases()).isEqualTo(1);
+        handle.endWithResult("Hello");
+        then(tracker.numberOfLeases()).isEqualTo(0);
+
+        tracker.sweep();
+        then(tracker.numberOfReclaimedPermits()).isEqualTo(0L);
+        then(handle.isReclaimed()).isFalse();
+        then(moat.getConcurrentLimiter().metrics().currentCallCount()).isEqualTo(0);
+    }
+
+    private static ConcurrentLimitMoat newMoat(String name) {
+        return new ConcurrentLimitMoat(new MoatConfig(ResourceId.from(name)),
+                ConcurrentLimitConfig.builder().threshold(1).build(), null, Collections.emptyList());
+    }
+
+    private static RequestHandleImpl tryToExecute(ConcurrentLimitMoat moat) {
+        return (RequestHandleImpl) new AsyncExecutionChainImpl(Collections.singletonList(moat), null)
+                .tryToExecute(new AsyncContext(moat.getConcurrentLimiter().name()));
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.collapser;
+
+import io.esastack.servicekeeper.core.asynchandle.RequestHandle;
+import io.esastack.servicekeeper.core.common.OriginalInvocation;
+import io.esastack.servicekeeper.core.common.ResourceId;
+import io.esastack.servicekeeper.core.config.MoatConfig;
+import io.esastack.servicekeeper.core.config.TimeoutConfig;
+import io.esastack.servicekeeper.core.entry.CompositeServiceKeeperConfig;
+import io.esastack.servicekeeper.core.entry.ServiceKeeperAsyncEntry;
+import io.esastack.servicekeeper.core.exception.RateLimitOverflowException;
+import io.esastack.servicekeeper.core.exception.TimeoutExceededException;
+import io.esastack.servicekeeper.core.moats.timeout.TimeoutMoat;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RequestCollapserTest {
+
+    @Test
+    void testDispatchByMaxBatchSize() throws Exception {
+        final String name = "testDispatchByMaxBatchSize";
+        final RequestHandle handle = allowedHandle();
+        final ServiceKeeperAsyncEntry entry = mockEntry(name, handle);
+        final List<List<String>> batches = new CopyOnWriteArrayList<>();
+        final RequestCollapser<String, String> collapser = RequestCollapser.<String, String>builder(name,
+                keys -> {
+                    batches.add(keys);
+                    return CompletableFuture.completedFuture(hello(keys));
+                }).entry(entry).window(Duration.ofSeconds(10L)).maxBatchSize(3).build();
+        then(collapser.toString()).isEqualTo("RequestCollapser-testDispatchByMaxBatchSize");
+
+        final CompletionStage<String> a = collapser.submit("A");
+        final CompletionStage<String> b = collapser.submit("B");
+        then(collapser.pendingCalls()).isEqualTo(2);
+        then(batches).isEmpty();
+
+        // The duplicate keys are dispatched only once.
+        final CompletionStage<String> a0 = collapser.submit("A");
+        then(batches).containsExactly(Arrays.asList("A", "B"));
+        then(collapser.pendingCalls()).isEqualTo(0);
+        then(a.toCompletableFuture().get(3L, TimeUnit.SECONDS)).isEqualTo("Hello A");
+        then(b.toCompletableFuture().get(3L, TimeUnit.SECONDS)).isEqualTo("Hello B");
+        then(a0.toCompletableFuture().get(3L, TimeUnit.SECONDS)).isEqualTo("Hello A");
+
+        // The permission is acquired by the batch rather than each call.
+        verify(entry, times(1)).tryAsyncExecute(eq(name), (CompositeServiceKeeperConfig) isNull(),
+                any(OriginalInvocation.class));
+        verify(handle).endWithResult(any());
+        then(collapser.batchTimes()).isEqualTo(1L);
+        then(collapser.collapsedTimes()).isEqualTo(3L);
+    }
+
+    @Test
+    void testDispatchByWindow() throws Exception {
+        final String name = "testDispatchByWindow";
+        final RequestHandle handle = allowedHandle();
+        final RequestCollapser<String, String> collapser = RequestCollapser.<String, String>builder(name,
+                keys -> CompletableFuture.completedFuture(hello(keys)))
+                .entry(mockEntry(name, handle)).window(Duration.ofMillis(20L)).maxBatchSize(100).build();
+
+        final List<CompletionStage<String>> results = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            results.add(collapser.submit("A" + i));
+        }
+        for (int i = 0; i < 10; i++) {
+            then(results.get(i).toCompletableFuture().get(3L, TimeUnit.SECONDS)).isEqualTo("Hello A" + i);
+        }
+        then(collapser.batchTimes()).isEqualTo(1L);
+
+        // The absent key is completed with null
+        final RequestCollapser<String, String> collapser0 = RequestCollapser.<String, String>builder(name,
+                keys -> CompletableFuture.completedFuture(new HashMap<>()))
+                .entry(mockEntry(name, handle)).window(Duration.ofMillis(1L)).build();
+        then(collapser0.submit("A").toCompletableFuture().get(3L, TimeUnit.SECONDS)).isNull();
+    }
+
+    @Test
+    void testBlockingBatchFunctionNeverDelaysTimer() throws Throwable {
+        final String name = "testBlockingBatchFunctionNeverDelaysTimer";
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final RequestCollapser<String, String> collapser = RequestCollapser.<String, String>builder(name,
+                keys -> {
+                    entered.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return CompletableFuture.completedFuture(hello(keys));
+                }).entry(mockEntry(name, allowedHandle())).window(Duration.ofMillis(1L)).build();
+
+        final CompletionStage<String> a = collapser.submit("A");
+        then(entered.await(3L, TimeUnit.SECONDS)).isTrue();
+        try {
+            // The batch function is blocking, but an unrelated timeout still fires in time.
+            final TimeoutMoat timeout = new TimeoutMoat(new MoatConfig(ResourceId.from(name)),
+                    TimeoutConfig.builder().timeout(20L).build(), null, Collections.emptyList());
+            final CompletableFuture<String> result = timeout.executeAsync(null,
+                    () -> new CompletableFuture<String>()).toCompletableFuture();
+            thenThrownBy(() -> result.get(1L, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(TimeoutExceededException.class);
+        } finally {
+            release.countDown();
+        }
+        then(a.toCompletableFuture().get(3L, TimeUnit.SECONDS)).isEqualTo("Hello A");
+    }
+
+    @Test
+    void testRejectedOrFailed() {
+        final String name = "testRejectedOrFailed";
+        final RateLimitOverflowException cause = new RateLimitOverflowException("Rejected", null, null);
+        final RequestHandle rejected = mock(RequestHandle.class);
+        when(rejected.isAllowed()).thenReturn(false);
+        when(rejected.getNotAllowedCause()).thenReturn(cause);
+        final RequestCollapser<String, String> collapser = RequestCollapser.<String, String>builder(name,
+                keys -> CompletableFuture.completedFuture(hello(keys)))
+                .entry(mockEntry(name, rejected)).maxBatchSize(1).build();
+        thenThrownBy(() -> collapser.submit("A").toCompletableFuture().get(3L, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class).hasCause(cause);
+        verify(rejected).endWithError(cause);
+
+        final RequestHandle handle = allowedHandle();
+        final IllegalStateException ex = new IllegalStateException("Failed");
+        final CompletableFuture<Map<String, String>> failed = new CompletableFuture<>();
+        failed.completeExceptionally(ex);
+        final RequestCollapser<String, String> collapser0 = RequestCollapser.<String, String>builder(name,
+                keys -> failed).entry(mockEntry(name, handle)).maxBatchSize(1).build();
+        thenThrownBy(() -> collapser0.submit("A").toCompletableFuture().get(3L, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class).hasCause(ex);
+        verify(handle).endWithError(ex);
+    }
+
+    @Test
+    void testNullStage() {
+        final String name = "testNullStage";
+        final RequestHandle handle = allowedHandle();
+        final RequestCollapser<String, String> collapser = RequestCollapser.<String, String>builder(name,
+                keys -> null).entry(mockEntry(name, handle)).maxBatchSize(1).build();
+        thenThrownBy(() -> collapser.submit("A").toCompletableFuture().get(3L, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class).hasCauseInstanceOf(IllegalStateException.class);
+        verify(handle).endWithError(any(IllegalStateException.class));
+    }
+
+    @Test
+    void testIllegalArgs() {
+        thenThrownBy(() -> RequestCollapser.builder("", keys -> null))
+                .isInstanceOf(IllegalArgumentException.class);
+        thenThrownBy(() -> RequestCollapser.builder("testIllegalArgs", keys -> null).maxBatchSize(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        thenThrownBy(() -> RequestCollapser.builder("testIllegalArgs", keys -> null).window(Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Map<String, String> hello(List<String> keys) {
+        final Map<String, String> values = new HashMap<>();
+        for (String key : keys) {
+            values.put(key, "Hello " + key);
+        }
+        return values;
+    }
+
+    private static RequestHandle allowedHandle() {
+        final RequestHandle handle = mock(RequestHandle.class);
+        when(handle.isAllowed()).thenReturn(true);
+        return handle;
+    }
+
+    private static ServiceKeeperAsyncEntry mockEntry(String name, RequestHandle handle) {
+        final ServiceKeeperAsyncEntry entry = mock(ServiceKeeperAsyncEntry.class);
+        when(entry.tryAsyncExecute(eq(name), (CompositeServiceKeeperConfig) isNull(),
+                any(OriginalInvocation.class))).thenReturn(handle);
+        return entry;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.common;
+
+import io.esastack.servicekeeper.core.executionchain.SyncContext;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class ArrivalTimeHolderTest {
+
+    @Test
+    void testParse() {
+        then(ArrivalTimeHolder.parse(null)).isEqualTo(-1L);
+        then(ArrivalTimeHolder.parse(" ")).isEqualTo(-1L);
+        then(ArrivalTimeHolder.parse("unknown")).isEqualTo(-1L);
+        then(ArrivalTimeHolder.parse("-1625097600123")).isEqualTo(-1L);
+        then(ArrivalTimeHolder.parse("t=1625097600.123")).isEqualTo(1625097600123L);
+        then(ArrivalTimeHolder.parse("1625097600")).isEqualTo(1625097600000L);
+        then(ArrivalTimeHolder.parse(" 1625097600123 ")).isEqualTo(1625097600123L);
+        then(ArrivalTimeHolder.parse("t=1625097600123456")).isEqualTo(1625097600123L);
+    }
+
+    @Test
+    void testArrivalTimeHolder() {
+        then(ArrivalTimeHolder.get()).isEqualTo(-1L);
+        then(new SyncContext("testArrivalTimeHolder").getArrivalTime()).isEqualTo(-1L);
+
+        then(ArrivalTimeHolder.replace(1000L)).isEqualTo(-1L);
+        then(new SyncContext("testArrivalTimeHolder").getArrivalTime()).isEqualTo(1000L);
+
+        then(ArrivalTimeHolder.replace(2000L)).isEqualTo(1000L);
+        then(ArrivalTimeHolder.get()).isEqualTo(2000L);
+
+        ArrivalTimeHolder.set(-1L);
+        then(ArrivalTimeHolder.get()).isEqualTo(-1L);
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.common;
+
+import io.esastack.servicekeeper.core.executionchain.Executable;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class DeadlineTest {
+
+    @Test
+    void testDeadline() {
+        final Deadline deadline = Deadline.after(1000L);
+        then(deadline.isExpired()).isFalse();
+        then(deadline.remainingMillis()).isBetween(0L, 1000L);
+
+        final Deadline earlier = Deadline.after(0L);
+        then(earlier.isExpired()).isTrue();
+        then(deadline.min(earlier)).isSameAs(earlier);
+        then(earlier.min(deadline)).isSameAs(earlier);
+        then(deadline.min(null)).isSameAs(deadline);
+    }
+
+    @Test
+    void testWrap() throws Throwable {
+        final Runnable runnable = () -> then(DeadlineHolder.get()).isNull();
+        then(DeadlineHolder.wrap(runnable)).isSameAs(runnable);
+        final Executable<Deadline> executable = DeadlineHolder::get;
+        then(DeadlineHolder.wrap(null, executable)).isSameAs(executable);
+
+        final Deadline deadline = Deadline.after(1000L);
+        DeadlineHolder.set(deadline);
+        final Callable<Deadline> callable;
+        try {
+            callable = DeadlineHolder.wrap((Callable<Deadline>) DeadlineHolder::get);
+        } finally {
+            DeadlineHolder.remove();
+        }
+        // The deadline is handed off to the wrapped callable and restored after calling.
+        then(callable.call()).isSameAs(deadline);
+        then(DeadlineHolder.get()).isNull();
+
+        final Deadline other = Deadline.after(100L);
+        then(DeadlineHolder.wrap(other, executable).execute()).isSameAs(other);
+        then(DeadlineHolder.get()).isNull();
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.within;
+
+class HeapPressureMonitorTest {
+
+    @Test
+    void testDisabledByDefault() {
+        then(HeapPressureMonitor.currentFactor()).isEqualTo(1.0d);
+        then(HeapPressureMonitor.shouldShedUnderPressure(10, 0)).isFalse();
+    }
+
+    @Test
+    void testScaleDownByUsage() {
+        final HeapPressureMonitor monitor = new HeapPressureMonitor(0.9d, 0.25d, 0.1d, 0.1d);
+        monitor.sample(0.5d, 1L, 0L, 1000L);
+        then(monitor.factor()).isEqualTo(1.0d);
+
+        monitor.sample(0.95d, 2L, 0L, 2000L);
+        then(monitor.factor()).isEqualTo(0.5d);
+        monitor.sample(0.95d, 3L, 0L, 3000L);
+        then(monitor.factor()).isEqualTo(0.25d);
+        monitor.sample(0.95d, 4L, 0L, 4000L);
+        monitor.sample(0.95d, 5L, 0L, 5000L);
+        then(monitor.factor()).isEqualTo(0.1d);
+
+        // Recover smoothly after the pressure subsides
+        monitor.sample(0.5d, 6L, 0L, 6000L);
+        then(monitor.factor()).isCloseTo(0.2d, within(1.0e-9d));
+        for (int i = 0; i < 10; i++) {
+            monitor.sample(0.5d, 6L, 0L, 7000L + i * 1000L);
+        }
+        then(monitor.factor()).isEqualTo(1.0d);
+    }
+
+    @Test
+    void testScaleDownByGcTime() {
+        final HeapPressureMonitor monitor = new HeapPressureMonitor(0.9d, 0.25d, 0.1d, 0.1d);
+        monitor.sample(0.0d, 1L, 100L, 1000L);
+        monitor.sample(0.0d, 2L, 300L, 2000L);
+        then(monitor.factor()).isEqualTo(1.0d);
+
+        monitor.sample(0.0d, 3L, 600L, 3000L);
+        then(monitor.factor()).isEqualTo(0.5d);
+
+        monitor.sample(0.0d, 4L, 650L, 4000L);
+        then(monitor.factor()).isCloseTo(0.6d, within(1.0e-9d));
+    }
+
+    @Test
+    void testScaleDownByNotification() {
+        final HeapPressureMonitor monitor = new HeapPressureMonitor(0.9d, 0.25d, 0.1d, 0.1d);
+        monitor.onThresholdExceeded(1L);
+        then(monitor.factor()).isEqualTo(0.5d);
+    }
+
+    @Test
+    void testScaleDownOncePerGc() {
+        final HeapPressureMonitor monitor = new HeapPressureMonitor(0.9d, 0.25d, 0.1d, 0.1d);
+        monitor.sample(0.95d, 1L, 0L, 1000L);
+        then(monitor.factor()).isEqualTo(0.5d);
+
+        // The usage after GC stays high without new GC
+        monitor.sample(0.95d, 1L, 0L, 2000L);
+        monitor.sample(0.95d, 1L, 0L, 3000L);
+        then(monitor.factor()).isEqualTo(0.5d);
+
+        // The same GC is both notified and sampled
+        monitor.onThresholdExceeded(2L);
+        then(monitor.factor()).isEqualTo(0.25d);
+        monitor.sample(0.95d, 2L, 0L, 4000L);
+        then(monitor.factor()).isEqualTo(0.25d);
+        monitor.onThresholdExceeded(2L);
+        then(monitor.factor()).isEqualTo(0.25d);
+
+        monitor.sample(0.95d, 3L, 0L, 5000L);
+        then(monitor.factor()).isEqualTo(0.125d);
+    }
+
+    @Test
+    void testConcurrentScaleDown() throws InterruptedException {
+        final HeapPressureMonitor monitor = new HeapPressureMonitor(0.9d, 0.25d, 0.1d, 0.1d);
+        final int threads = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch end = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            new Thread(() -> {
+                try {
+                    start.await();
+                    monitor.onThresholdExceeded(1L);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    end.countDown();
+                }
+            }).start();
+        }
+        start.countDown();
+        end.await();
+        // The same GC notified concurrently only decreases the factor once
+        then(monitor.factor()).isEqualTo(0.5d);
+    }
+
+    @Test
+    void testShouldShed() {
+        final HeapPressureMonitor monitor = new HeapPressureMonitor(0.9d, 0.25d, 0.1d, 0.1d);
+        then(monitor.shouldShed(10, 0)).isFalse();
+
+        monitor.onThresholdExceeded(1L);
+        then(monitor.shouldShed(10, 6)).isFalse();
+        then(monitor.shouldShed(10, 5)).isTrue();
+        then(monitor.shouldShed(0, 0)).isFalse();
+
+        monitor.onThresholdExceeded(2L);
+        monitor.onThresholdExceeded(3L);
+        monitor.onThresholdExceeded(4L);
+        then(monitor.factor()).isEqualTo(0.1d);
+        // One call is always permitted
+        then(monitor.shouldShed(5, 5)).isFalse();
+        then(monitor.shouldShed(5, 4)).isTrue();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testIndexOf() {
+        for (long value = 0L; value < 16L; value++) {
+            then(LatencyHistogram.indexOf(value)).isEqualTo((int) value);
+            then(LatencyHistogram.highestEquivalentValue((int) value)).isEqualTo(value);
+        }
+        then(LatencyHistogram.indexOf(-1L)).isEqualTo(0);
+
+        long value = 16L;
+        while (value < LatencyHistogram.MAX_TRACKABLE_VALUE) {
+            final long highest = LatencyHistogram.highestEquivalentValue(LatencyHistogram.indexOf(value));
+            then(highest).isGreaterThanOrEqualTo(value);
+            then((double) (highest - value) / value).isLessThanOrEqualTo(1.0d / 16);
+            value = value * 3 / 2 + 1;
+        }
+        then(LatencyHistogram.indexOf(Long.MAX_VALUE))
+                .isEqualTo(LatencyHistogram.indexOf(LatencyHistogram.MAX_TRACKABLE_VALUE));
+    }
+
+    @Test
+    void testPercentile() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        then(histogram.percentile(99.0d)).isEqualTo(-1L);
+
+        for (long i = 1L; i <= 100L; i++) {
+            then(histogram.record(i)).isEqualTo(i);
+        }
+        then(histogram.totalCount()).isEqualTo(100L);
+        then(histogram.percentile(0.0d)).isEqualTo(1L);
+        then(histogram.percentile(10.0d)).isEqualTo(10L);
+        then(histogram.percentile(50.0d)).isBetween(50L, 53L);
+        then(histogram.percentile(99.0d)).isBetween(99L, 103L);
+        then(histogram.percentile(100.0d)).isBetween(100L, 103L);
+
+        histogram.reset();
+        then(histogram.totalCount()).isEqualTo(0L);
+        then(histogram.percentile(50.0d)).isEqualTo(-1L);
+    }
+
+    @Test
+    void testConcurrentRecord() throws InterruptedException {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final int threads = 4;
+        final CountDownLatch latch = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    histogram.record(j % 10);
+                }
+                latch.countDown();
+            }).start();
+        }
+        latch.await();
+        then(histogram.totalCount()).isEqualTo(4000L);
+        then(histogram.percentile(100.0d)).isEqualTo(9L);
+        then(histogram.percentile(50.0d)).isEqualTo(4L);
+    }
+}
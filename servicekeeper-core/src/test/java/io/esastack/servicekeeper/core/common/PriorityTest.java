@@ -0,0 +1,67 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.common;
+
+import io.esastack.servicekeeper.core.executionchain.SyncContext;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class PriorityTest {
+
+    @Test
+    void testHeadroom() {
+        then(Priority.CRITICAL.headroom(10)).isEqualTo(0);
+        then(Priority.HIGH.headroom(10)).isEqualTo(0);
+        then(Priority.NORMAL.headroom(10)).isEqualTo(0);
+        then(Priority.LOW.headroom(10)).isEqualTo(5);
+        then(Priority.LOW.headroom(0)).isEqualTo(0);
+        then(Priority.LOW.headroom(Integer.MAX_VALUE)).isGreaterThan(0);
+    }
+
+    @Test
+    void testShouldShed() {
+        then(Priority.CRITICAL.shouldShed(10, 1)).isFalse();
+        then(Priority.LOW.shouldShed(10, 6)).isFalse();
+        then(Priority.LOW.shouldShed(10, 5)).isTrue();
+        then(Priority.NORMAL.shouldShed(10, 1)).isFalse();
+        then(Priority.NORMAL.shouldShed(1, 0)).isFalse();
+    }
+
+    @Test
+    void testParse() {
+        then(Priority.parse(null)).isNull();
+        then(Priority.parse(" ")).isNull();
+        then(Priority.parse("unknown")).isNull();
+        then(Priority.parse("critical")).isEqualTo(Priority.CRITICAL);
+        then(Priority.parse(" Low ")).isEqualTo(Priority.LOW);
+    }
+
+    @Test
+    void testPriorityHolder() {
+        then(PriorityHolder.get()).isNull();
+        then(new SyncContext("testPriorityHolder").getPriority()).isNull();
+
+        then(PriorityHolder.replace(Priority.HIGH)).isNull();
+        then(new SyncContext("testPriorityHolder").getPriority()).isEqualTo(Priority.HIGH);
+
+        then(PriorityHolder.replace(Priority.LOW)).isEqualTo(Priority.HIGH);
+        then(PriorityHolder.get()).isEqualTo(Priority.LOW);
+
+        PriorityHolder.set(null);
+        then(PriorityHolder.get()).isNull();
+    }
+}
@@ -19,8 +19,10 @@ import io.esastack.servicekeeper.core.asynchandle.CompletableStageHandler;
 import io.esastack.servicekeeper.core.common.ResourceId;
 import io.esastack.servicekeeper.core.config.CircuitBreakerConfig;
 import io.esastack.servicekeeper.core.config.ConcurrentLimitConfig;
+import io.esastack.servicekeeper.core.config.HedgeConfig;
 import io.esastack.servicekeeper.core.config.MoatConfig;
 import io.esastack.servicekeeper.core.config.RateLimitConfig;
+import io.esastack.servicekeeper.core.config.RetryConfig;
 import io.esastack.servicekeeper.core.exception.CircuitBreakerNotPermittedException;
 import io.esastack.servicekeeper.core.exception.ConcurrentOverflowException;
 import io.esastack.servicekeeper.core.exception.RateLimitOverflowException;
@@ -38,6 +40,11 @@ import io.esastack.servicekeeper.core.moats.circuitbreaker.CircuitBreakerMoat;
 import io.esastack.servicekeeper.core.moats.circuitbreaker.predicate.PredicateByException;
 import io.esastack.servicekeeper.core.moats.concurrentlimit.ConcurrentLimitMoat;
 import io.esastack.servicekeeper.core.moats.ratelimit.RateLimitMoat;
+import io.esastack.servicekeeper.core.retry.HedgingExecutor;
+import io.esastack.servicekeeper.core.retry.RetryOperationsImpl;
+import io.esastack.servicekeeper.core.retry.RetryableExecutor;
+import io.esastack.servicekeeper.core.retry.internal.impl.ExceptionPredicate;
+import io.esastack.servicekeeper.core.retry.internal.impl.ExponentialBackOffPolicy;
 import io.esastack.servicekeeper.core.utils.RandomUtils;
 import org.junit.jupiter.api.Test;
 
@@ -53,7 +60,9 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.BDDAssertions.then;
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -132,6 +141,54 @@ class AsyncExecutionChainTest {
         then(normalCount.get()).isEqualTo(maxConcurrentLimit);
     }
 
+    @Test
+    void testAsyncWaitForConcurrentPermission() throws Throwable {
+        final String name = "testAsyncWaitForConcurrentPermission";
+        final ConcurrentLimitMoat moat = new ConcurrentLimitMoat(getConfig(name), ConcurrentLimitConfig.builder()
+                .threshold(1).maxWaitDuration(Duration.ofSeconds(10L)).maxQueueSize(1).build(), null,
+                Collections.emptyList());
+        final List<Moat<?>> moats = Collections.singletonList(moat);
+
+        final CompletableFuture<String> first = new CompletableFuture<>();
+        final CompletionStage<String> firstResult = asyncExecute(moats, name, () -> first);
+
+        // The second call waits for the permission without blocking the caller thread.
+        final CompletionStage<String> second = asyncExecute(moats, name,
+                () -> CompletableFuture.completedFuture("second"));
+        then(second.toCompletableFuture().isDone()).isFalse();
+        then(moat.getConcurrentLimiter().metrics().queueDepth()).isEqualTo(1);
+
+        // The queue is full
+        assertThrows(ConcurrentOverflowException.class, () -> asyncExecute(moats, name,
+                () -> CompletableFuture.completedFuture("third")));
+
+        first.complete("first");
+        then(firstResult.toCompletableFuture().get(3L, TimeUnit.SECONDS)).isEqualTo("first");
+        then(second.toCompletableFuture().get(3L, TimeUnit.SECONDS)).isEqualTo("second");
+        await().untilAsserted(() ->
+                then(moat.getConcurrentLimiter().metrics().currentCallCount()).isEqualTo(0));
+    }
+
+    @Test
+    void testAsyncWaitForConcurrentPermissionTimeout() throws Throwable {
+        final String name = "testAsyncWaitForConcurrentPermissionTimeout";
+        final ConcurrentLimitMoat moat = new ConcurrentLimitMoat(getConfig(name), ConcurrentLimitConfig.builder()
+                .threshold(1).maxWaitDuration(Duration.ofMillis(20L)).maxQueueSize(1).build(), null,
+                Collections.emptyList());
+        final List<Moat<?>> moats = Collections.singletonList(moat);
+
+        final CompletableFuture<String> first = new CompletableFuture<>();
+        asyncExecute(moats, name, () -> first);
+
+        final CompletionStage<String> second = asyncExecute(moats, name,
+                () -> CompletableFuture.completedFuture("second"));
+        assertThatThrownBy(() -> second.toCompletableFuture().get(3L, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(ConcurrentOverflowException.class);
+
+        first.complete("first");
+        then(moat.getConcurrentLimiter().metrics().currentCallCount()).isEqualTo(0);
+    }
+
     @Test
     void testAsyncTriggerRateLimit0() {
         final Executable<CompletableFuture<String>> executable = () -> CompletableFuture.supplyAsync(() -> "Hello");
@@ -323,6 +380,106 @@ class AsyncExecutionChainTest {
                 .isEqualTo("fallbackMethod");
     }
 
+    @Test
+    void testAsyncRetry() throws Throwable {
+        final String name = "testAsyncRetry";
+        final List<Moat<?>> moats = Collections.singletonList(new ConcurrentLimitMoat(getConfig(name),
+                ConcurrentLimitConfig.builder().threshold(1).build(), null, Collections.emptyList()));
+        final RetryableExecutor executor = new RetryableExecutor(new RetryOperationsImpl(ResourceId.from(name),
+                null, new ExponentialBackOffPolicy(10L, 10L, 1.0d), new ExceptionPredicate(3),
+                RetryConfig.ofDefault(), null));
+        final AsyncExecutionChain chain = new AsyncExecutionChainImpl(moats, null, executor);
+
+        final AtomicInteger attempts = new AtomicInteger();
+        final Executable<CompletionStage<String>> executable = () -> CompletableFuture.supplyAsync(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException();
+            }
+            return "ABC";
+        });
+
+        final CompletionStage<String> result = chain.asyncExecute(new AsyncContext(name), null,
+                executable, new CompletableStageHandler<>());
+        then(result.toCompletableFuture().get(3L, TimeUnit.SECONDS)).isEqualTo("ABC");
+        then(attempts.get()).isEqualTo(3);
+
+        // The permit is occupied by all the attempts once and released after the final result.
+        attempts.set(0);
+        final CompletionStage<String> result1 = chain.asyncExecute(new AsyncContext(name), null,
+                executable, new CompletableStageHandler<>());
+        then(result1.toCompletableFuture().get(3L, TimeUnit.SECONDS)).isEqualTo("ABC");
+    }
+
+    @Test
+    void testAsyncRetryCancelled() throws Throwable {
+        final String name = "testAsyncRetryCancelled";
+        final List<Moat<?>> moats = Collections.singletonList(new ConcurrentLimitMoat(getConfig(name),
+                ConcurrentLimitConfig.builder().threshold(1).build(), null, Collections.emptyList()));
+        final RetryableExecutor executor = new RetryableExecutor(new RetryOperationsImpl(ResourceId.from(name),
+                null, new ExponentialBackOffPolicy(200L, 200L, 1.0d), new ExceptionPredicate(3),
+                RetryConfig.ofDefault(), null));
+        final AsyncExecutionChain chain = new AsyncExecutionChainImpl(moats, null, executor);
+
+        final AtomicInteger attempts = new AtomicInteger();
+        final Executable<CompletionStage<String>> executable = () -> {
+            attempts.incrementAndGet();
+            final CompletableFuture<String> future = new CompletableFuture<>();
+            future.completeExceptionally(new IllegalStateException());
+            return future;
+        };
+
+        final CompletionStage<String> result = chain.asyncExecute(new AsyncContext(name), null,
+                executable, new CompletableStageHandler<>());
+        then(result.toCompletableFuture().cancel(false)).isTrue();
+
+        // The following attempts are stopped and the permit is released.
+        TimeUnit.MILLISECONDS.sleep(400L);
+        then(attempts.get()).isEqualTo(1);
+        final CompletableFuture<String> inflight = new CompletableFuture<>();
+        chain.asyncExecute(new AsyncContext(name), null, () -> inflight, new CompletableStageHandler<>());
+        inflight.complete("ABC");
+    }
+
+    @Test
+    void testAsyncHedge() throws Throwable {
+        final String name = "testAsyncHedge";
+        final List<Moat<?>> moats = Collections.singletonList(new ConcurrentLimitMoat(getConfig(name),
+                ConcurrentLimitConfig.builder().threshold(1).build(), null, Collections.emptyList()));
+        final HedgingExecutor hedging = new HedgingExecutor(name, HedgeConfig.builder().delay(10L).build());
+        final AsyncExecutionChain chain = new AsyncExecutionChainImpl(moats, null, null, hedging);
+
+        final List<CompletableFuture<String>> attempts = new ArrayList<>();
+        final Executable<CompletionStage<String>> executable = () -> {
+            final CompletableFuture<String> future = new CompletableFuture<>();
+            synchronized (attempts) {
+                attempts.add(future);
+                if (attempts.size() > 1) {
+                    future.complete("ABC");
+                }
+            }
+            return future;
+        };
+
+        final CompletionStage<String> result = chain.asyncExecute(new AsyncContext(name), null,
+                executable, new CompletableStageHandler<>());
+        then(result.toCompletableFuture().get(3L, TimeUnit.SECONDS)).isEqualTo("ABC");
+        then(attempts.size()).isEqualTo(2);
+        // The slow attempt is cancelled and the permit is released once.
+        await().atMost(3L, TimeUnit.SECONDS).until(() -> attempts.get(0).isCancelled());
+        await().atMost(3L, TimeUnit.SECONDS).until(() -> hedging.hedgeWonTimes() == 1L);
+        final CompletableFuture<String> inflight = new CompletableFuture<>();
+        chain.asyncExecute(new AsyncContext(name), null, () -> inflight, new CompletableStageHandler<>());
+        inflight.complete("ABC");
+    }
+
+    private static CompletionStage<String> asyncExecute(List<Moat<?>> moats, String name,
+                                                        Executable<CompletableFuture<String>> executable)
+            throws Throwable {
+        // The chain records the states of a single call, so every call needs a new chain.
+        return new AsyncExecutionChainImpl(moats, null).asyncExecute(new AsyncContext(name), null,
+                executable, new CompletableStageHandler<>());
+    }
+
     private CompletionStage<String> fallbackMethod() {
         return CompletableFuture.completedFuture("fallbackMethod");
     }
@@ -25,6 +25,7 @@ import io.esastack.servicekeeper.core.executionchain.Context;
 import io.esastack.servicekeeper.core.fallback.FallbackHandlerConfig;
 import io.esastack.servicekeeper.core.fallback.FallbackToException;
 import io.esastack.servicekeeper.core.fallback.FallbackToFunction;
+import io.esastack.servicekeeper.core.fallback.FallbackToLastKnownGood;
 import io.esastack.servicekeeper.core.fallback.FallbackToValue;
 import org.junit.jupiter.api.Test;
 
@@ -61,6 +62,20 @@ class FallbackHandlerFactoryImplTest {
         then(factory.get(config)).isNull();
     }
 
+    @Test
+    void testFallbackToLastKnownGood() {
+        final FallbackConfig fallbackConfig = FallbackConfig.builder().specifiedValue("Hello World!")
+                .lastKnownGood(true).lastKnownGoodMaxSize(10L).build();
+        FallbackHandlerConfig config = new FallbackHandlerConfig(fallbackConfig,
+                new OriginalInvocation(String.class, new Class[0]));
+        then(factory.get(config)).isInstanceOf(FallbackToLastKnownGood.class);
+        then(factory.get(config).toString()).contains("otherwise=FallbackToValue");
+
+        config = new FallbackHandlerConfig(FallbackConfig.builder().lastKnownGood(true).build(),
+                new OriginalInvocation(int.class, new Class[0]));
+        then(factory.get(config)).isInstanceOf(FallbackToLastKnownGood.class);
+    }
+
     @Test
     void testFallbackToFunction() throws Throwable {
         // Case1: return value type doesn't match
@@ -17,8 +17,10 @@ package io.esastack.servicekeeper.core.factory;
 
 import esa.commons.StringUtils;
 import io.esastack.servicekeeper.core.common.ArgResourceId;
+import io.esastack.servicekeeper.core.common.GroupResourceId;
 import io.esastack.servicekeeper.core.common.ResourceId;
 import io.esastack.servicekeeper.core.config.BackoffConfig;
+import io.esastack.servicekeeper.core.config.CacheConfig;
 import io.esastack.servicekeeper.core.config.CircuitBreakerConfig;
 import io.esastack.servicekeeper.core.config.ConcurrentLimitConfig;
 import io.esastack.servicekeeper.core.config.FallbackConfig;
@@ -26,16 +28,23 @@ import io.esastack.servicekeeper.core.config.RateLimitConfig;
 import io.esastack.servicekeeper.core.config.RetryConfig;
 import io.esastack.servicekeeper.core.config.ServiceKeeperConfig;
 import io.esastack.servicekeeper.core.configsource.ExternalConfig;
+import io.esastack.servicekeeper.core.entry.CompositeServiceKeeperConfig;
+import io.esastack.servicekeeper.core.executionchain.SyncContext;
+import io.esastack.servicekeeper.core.executionchain.SyncExecutionChainImpl;
 import io.esastack.servicekeeper.core.fallback.FallbackHandler;
 import io.esastack.servicekeeper.core.internal.ImmutableConfigs;
 import io.esastack.servicekeeper.core.internal.InternalMoatCluster;
 import io.esastack.servicekeeper.core.internal.impl.CacheMoatClusterImpl;
 import io.esastack.servicekeeper.core.internal.impl.ImmutableConfigsImpl;
 import io.esastack.servicekeeper.core.moats.FallbackMoatCluster;
+import io.esastack.servicekeeper.core.moats.Moat;
 import io.esastack.servicekeeper.core.moats.MoatCluster;
 import io.esastack.servicekeeper.core.moats.MoatClusterImpl;
 import io.esastack.servicekeeper.core.moats.RetryableMoatCluster;
+import io.esastack.servicekeeper.core.moats.cache.CacheMoat;
+import io.esastack.servicekeeper.core.moats.circuitbreaker.CircuitBreakerMoat;
 import io.esastack.servicekeeper.core.moats.circuitbreaker.predicate.PredicateBySpendTime;
+import io.esastack.servicekeeper.core.moats.ratelimit.RateLimitMoat;
 import io.esastack.servicekeeper.core.utils.RandomUtils;
 import org.assertj.core.api.BDDAssertions;
 import org.junit.jupiter.api.Test;
@@ -43,9 +52,11 @@ import org.junit.jupiter.api.Test;
 import java.lang.reflect.Method;
 import java.time.Duration;
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 
 import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
 
 class MoatClusterFactoryImplTest {
 
@@ -86,6 +97,121 @@ class MoatClusterFactoryImplTest {
         BDDAssertions.then(cluster.getAll()).isEmpty();
     }
 
+    @Test
+    void testSharedGroupMoats() {
+        final GroupResourceId groupId = GroupResourceId.from("testSharedGroupMoats");
+        final ServiceKeeperConfig config = ServiceKeeperConfig.builder()
+                .circuitBreakerConfig(CircuitBreakerConfig.ofDefault())
+                .rateLimiterConfig(RateLimitConfig.builder().limitForPeriod(1).build())
+                .concurrentLimiterConfig(ConcurrentLimitConfig.ofDefault())
+                .build();
+
+        final ResourceId resourceId0 = ResourceId.from("testSharedGroupMoats0");
+        final ResourceId resourceId1 = ResourceId.from("testSharedGroupMoats1");
+        final ResourceId resourceId2 = ResourceId.from("testSharedGroupMoats2");
+        immutableConfigs.getOrCompute(resourceId0, () -> CompositeServiceKeeperConfig.builder()
+                .methodConfig(config).group(groupId).sharedGroup(true).build());
+        immutableConfigs.getOrCompute(resourceId1, () -> CompositeServiceKeeperConfig.builder()
+                .methodConfig(config).group(groupId).sharedGroup(true).build());
+        immutableConfigs.getOrCompute(resourceId2, () -> CompositeServiceKeeperConfig.builder()
+                .methodConfig(config).group(groupId).build());
+
+        final List<Moat<?>> moats0 = factory.getOrCreate(resourceId0, () -> null, () -> config,
+                () -> null, false).getAll();
+        final List<Moat<?>> moats1 = factory.getOrCreate(resourceId1, () -> null, () -> config,
+                () -> null, true).getAll();
+        final List<Moat<?>> moats2 = factory.getOrCreate(resourceId2, () -> null, () -> config,
+                () -> null, false).getAll();
+
+        then(moats0.size()).isEqualTo(3);
+        then(moats1.size()).isEqualTo(3);
+        then(moats2.size()).isEqualTo(3);
+        for (int i = 0; i < moats0.size(); i++) {
+            then(moats0.get(i)).isSameAs(moats1.get(i));
+            then(moats0.get(i)).isNotSameAs(moats2.get(i));
+        }
+        for (Moat<?> moat : moats0) {
+            if (moat instanceof RateLimitMoat) {
+                then(((RateLimitMoat) moat).rateLimiter().name()).isEqualTo(groupId.getName());
+            } else if (moat instanceof CircuitBreakerMoat) {
+                then(((CircuitBreakerMoat) moat).getCircuitBreaker().name()).isEqualTo(groupId.getName());
+            }
+        }
+
+        cluster.remove(resourceId0);
+        cluster.remove(resourceId1);
+        cluster.remove(resourceId2);
+    }
+
+    @Test
+    void testSharedGroupCache() throws Throwable {
+        final GroupResourceId groupId = GroupResourceId.from("testSharedGroupCache");
+        final ServiceKeeperConfig config = ServiceKeeperConfig.builder()
+                .cacheConfig(CacheConfig.ofDefault())
+                .build();
+
+        final ResourceId resourceId0 = ResourceId.from("testSharedGroupCache0");
+        final ResourceId resourceId1 = ResourceId.from("testSharedGroupCache1");
+        immutableConfigs.getOrCompute(resourceId0, () -> CompositeServiceKeeperConfig.builder()
+                .methodConfig(config).group(groupId).sharedGroup(true).build());
+        immutableConfigs.getOrCompute(resourceId1, () -> CompositeServiceKeeperConfig.builder()
+                .methodConfig(config).group(groupId).sharedGroup(true).build());
+
+        final List<Moat<?>> moats0 = factory.getOrCreate(resourceId0, () -> null, () -> config,
+                () -> null, false).getAll();
+        final List<Moat<?>> moats1 = factory.getOrCreate(resourceId1, () -> null, () -> config,
+                () -> null, false).getAll();
+        then(moats0.size()).isEqualTo(1);
+        then(moats0.get(0)).isInstanceOf(CacheMoat.class).isSameAs(moats1.get(0));
+
+        // The methods of the group share the cache, but never the results of the equal args.
+        then(new SyncExecutionChainImpl(moats0, null).execute(new SyncContext(resourceId0.getName(),
+                new Object[]{42}), null, () -> "a")).isEqualTo("a");
+        then(new SyncExecutionChainImpl(moats1, null).execute(new SyncContext(resourceId1.getName(),
+                new Object[]{42}), null, () -> "b")).isEqualTo("b");
+        then(new SyncExecutionChainImpl(moats0, null).execute(new SyncContext(resourceId0.getName(),
+                new Object[]{42}), null, () -> "c")).isEqualTo("a");
+        then(((CacheMoat) moats0.get(0)).size()).isEqualTo(2L);
+
+        cluster.remove(resourceId0);
+        cluster.remove(resourceId1);
+    }
+
+    @Test
+    void testSharedGroupMoatsWithConflictConfigs() {
+        final GroupResourceId groupId = GroupResourceId.from("testSharedGroupMoatsWithConflictConfigs");
+        final ServiceKeeperConfig config0 = ServiceKeeperConfig.builder()
+                .rateLimiterConfig(RateLimitConfig.builder().limitForPeriod(1).build())
+                .build();
+        final ServiceKeeperConfig config1 = ServiceKeeperConfig.builder()
+                .rateLimiterConfig(RateLimitConfig.builder().limitForPeriod(10).build())
+                .build();
+
+        final ResourceId resourceId0 = ResourceId.from("testSharedGroupMoatsWithConflictConfigs0");
+        final ResourceId resourceId1 = ResourceId.from("testSharedGroupMoatsWithConflictConfigs1");
+        immutableConfigs.getOrCompute(resourceId0, () -> CompositeServiceKeeperConfig.builder()
+                .methodConfig(config0).group(groupId).sharedGroup(true).build());
+        thenThrownBy(() -> immutableConfigs.getOrCompute(resourceId1, () -> CompositeServiceKeeperConfig.builder()
+                .methodConfig(config1).group(groupId).sharedGroup(true).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+        then(immutableConfigs.getGroupItems(groupId)).containsExactly(resourceId0);
+
+        // The items configured differently are allowed as long as they don't share the moats.
+        final ResourceId resourceId2 = ResourceId.from("testSharedGroupMoatsWithConflictConfigs2");
+        immutableConfigs.getOrCompute(resourceId2, () -> CompositeServiceKeeperConfig.builder()
+                .methodConfig(config1).group(groupId).build());
+
+        final RateLimitMoat moat0 = (RateLimitMoat) factory.getOrCreate(resourceId0, () -> null, () -> config0,
+                () -> null, false).getAll().get(0);
+        final RateLimitMoat moat2 = (RateLimitMoat) factory.getOrCreate(resourceId2, () -> null, () -> config1,
+                () -> null, false).getAll().get(0);
+        then(moat0.rateLimiter().config().getLimitForPeriod()).isEqualTo(1);
+        then(moat2.rateLimiter().config().getLimitForPeriod()).isEqualTo(10);
+
+        cluster.remove(resourceId0);
+        cluster.remove(resourceId2);
+    }
+
     @Test
     void testCount() {
         final int originalCount = cluster.getAll().size();
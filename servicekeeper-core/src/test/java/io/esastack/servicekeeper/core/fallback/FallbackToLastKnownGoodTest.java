@@ -0,0 +1,159 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.fallback;
+
+import io.esastack.servicekeeper.core.asynchandle.AsyncResultHandler;
+import io.esastack.servicekeeper.core.asynchandle.StageAdaptableHandler;
+import io.esastack.servicekeeper.core.common.ResourceId;
+import io.esastack.servicekeeper.core.config.ConcurrentLimitConfig;
+import io.esastack.servicekeeper.core.config.MoatConfig;
+import io.esastack.servicekeeper.core.exception.ConcurrentOverflowException;
+import io.esastack.servicekeeper.core.executionchain.AsyncContext;
+import io.esastack.servicekeeper.core.executionchain.Context;
+import io.esastack.servicekeeper.core.executionchain.SyncContext;
+import io.esastack.servicekeeper.core.executionchain.SyncExecutionChainImpl;
+import io.esastack.servicekeeper.core.metrics.LastKnownGoodMetrics;
+import io.esastack.servicekeeper.core.metrics.Metrics;
+import io.esastack.servicekeeper.core.moats.Moat;
+import io.esastack.servicekeeper.core.moats.concurrentlimit.ConcurrentLimitMoat;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FallbackToLastKnownGoodTest {
+
+    @Test
+    void testFallbackWhenRejected() throws Throwable {
+        final String name = "testFallbackWhenRejected";
+        final ConcurrentLimitMoat limit = new ConcurrentLimitMoat(new MoatConfig(ResourceId.from(name)),
+                ConcurrentLimitConfig.builder().threshold(1).build(), null, Collections.emptyList());
+        final List<Moat<?>> moats = Collections.singletonList(limit);
+        final FallbackToLastKnownGood fallback = new FallbackToLastKnownGood(10L, 0L, false, null, false);
+        then(fallback.getType()).isEqualTo(FallbackHandler.FallbackType.FALLBACK_TO_LAST_KNOWN_GOOD);
+
+        Object result = new SyncExecutionChainImpl(moats, fallback).execute(
+                new SyncContext(name, new Object[]{"A"}), null, () -> "Hello A");
+        then(result).isEqualTo("Hello A");
+        then(fallback.size()).isEqualTo(1L);
+
+        then(limit.getConcurrentLimiter().acquirePermission()).isTrue();
+        try {
+            result = new SyncExecutionChainImpl(moats, fallback).execute(
+                    new SyncContext(name, new Object[]{"A"}), null, () -> "Hello A0");
+            then(result).isEqualTo("Hello A");
+            then(fallback.hitTimes()).isEqualTo(1L);
+
+            // There is no last known good result of B
+            thenThrownBy(() -> new SyncExecutionChainImpl(moats, fallback).execute(
+                    new SyncContext(name, new Object[]{"B"}), null, () -> "Hello B"))
+                    .isInstanceOf(ConcurrentOverflowException.class);
+            then(fallback.missTimes()).isEqualTo(1L);
+
+            final LastKnownGoodMetrics metrics = fallback.metrics();
+            then(metrics.type()).isEqualTo(Metrics.Type.LAST_KNOWN_GOOD);
+            then(metrics.hitTimes()).isEqualTo(1L);
+            then(metrics.missTimes()).isEqualTo(1L);
+            then(metrics.size()).isEqualTo(1L);
+        } finally {
+            limit.getConcurrentLimiter().release();
+        }
+    }
+
+    @Test
+    void testFallbackToOtherwise() throws Throwable {
+        final Context ctx = mock(Context.class);
+        when(ctx.getResourceId()).thenReturn("testFallbackToOtherwise");
+        when(ctx.getArgs()).thenReturn(new Object[]{"A"});
+
+        final FallbackToLastKnownGood fallback = new FallbackToLastKnownGood(10L, 0L, false,
+                new FallbackToValue("Fallback", false), false);
+        then(fallback.handle(ctx)).isEqualTo("Fallback");
+        then(fallback.missTimes()).isEqualTo(1L);
+
+        fallback.record(ctx, "Hello A");
+        then(fallback.handle(ctx)).isEqualTo("Hello A");
+        then(fallback.hitTimes()).isEqualTo(1L);
+
+        // The same args of another resource is a different key
+        when(ctx.getResourceId()).thenReturn("testFallbackToOtherwise0");
+        then(fallback.handle(ctx)).isEqualTo("Fallback");
+    }
+
+    @Test
+    void testAsyncResult() throws Throwable {
+        final Context ctx = mock(Context.class);
+        when(ctx.getResourceId()).thenReturn("testAsyncResult");
+
+        final FallbackToLastKnownGood fallback = new FallbackToLastKnownGood(10L, 0L, true, null, false);
+        fallback.record(ctx, "Hello");
+        then(((CompletableFuture<?>) fallback.handle(ctx)).get(3L, TimeUnit.SECONDS)).isEqualTo("Hello");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testAdaptedByAsyncResultHandler() throws Throwable {
+        final AsyncContext ctx = mock(AsyncContext.class);
+        when(ctx.getResourceId()).thenReturn("testAdaptedByAsyncResultHandler");
+        final RuntimeException cause = new RuntimeException("Failed");
+        when(ctx.getBizException()).thenReturn(cause);
+
+        final StageAdaptableHandler<Object> handler = mock(StageAdaptableHandler.class);
+        when(handler.fromCompletionStage(any())).thenAnswer(invocation -> new AtomicReference<>(
+                ((CompletionStage<?>) invocation.getArgument(0)).toCompletableFuture().join()));
+        when(ctx.getResultHandler()).thenReturn((AsyncResultHandler) handler);
+
+        // The async result of other types, eg: ListenableFuture, is adapted by the handler.
+        final FallbackToLastKnownGood fallback = new FallbackToLastKnownGood(10L, 0L, false, null, false);
+        fallback.record(ctx, "Hello");
+        then(((AtomicReference<?>) fallback.handle(ctx)).get()).isEqualTo("Hello");
+
+        // The result is never returned when it can't be adapted.
+        when(ctx.getResultHandler()).thenReturn(mock(AsyncResultHandler.class));
+        thenThrownBy(() -> fallback.handle(ctx)).isSameAs(cause);
+        then(fallback.hitTimes()).isEqualTo(1L);
+        then(fallback.missTimes()).isEqualTo(1L);
+    }
+
+    @Test
+    void testBoundedByWeight() {
+        final Context ctx = mock(Context.class);
+        when(ctx.getResourceId()).thenReturn("testBoundedByWeight");
+
+        final FallbackToLastKnownGood fallback = new FallbackToLastKnownGood(10L, 10L, false, null, false);
+        when(ctx.getArgs()).thenReturn(new Object[]{"A"});
+        fallback.record(ctx, "Hello A");
+        when(ctx.getArgs()).thenReturn(new Object[]{"B"});
+        fallback.record(ctx, "Hello B");
+        await().atMost(3L, TimeUnit.SECONDS).until(() -> fallback.size() == 1L);
+
+        thenThrownBy(() -> new FallbackToLastKnownGood(0L, 0L, false, null, false))
+                .isInstanceOf(IllegalArgumentException.class);
+        thenThrownBy(() -> new FallbackToLastKnownGood(10L, -1L, false, null, false))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
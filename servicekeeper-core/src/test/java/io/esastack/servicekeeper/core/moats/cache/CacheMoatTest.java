@@ -0,0 +1,194 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.moats.cache;
+
+import io.esastack.servicekeeper.core.asynchandle.CompletableStageHandler;
+import io.esastack.servicekeeper.core.common.ResourceId;
+import io.esastack.servicekeeper.core.config.CacheConfig;
+import io.esastack.servicekeeper.core.config.CircuitBreakerConfig;
+import io.esastack.servicekeeper.core.config.ConcurrentLimitConfig;
+import io.esastack.servicekeeper.core.config.MoatConfig;
+import io.esastack.servicekeeper.core.configsource.ExternalConfig;
+import io.esastack.servicekeeper.core.exception.CircuitBreakerNotPermittedException;
+import io.esastack.servicekeeper.core.executionchain.AsyncContext;
+import io.esastack.servicekeeper.core.executionchain.AsyncExecutionChainImpl;
+import io.esastack.servicekeeper.core.executionchain.Context;
+import io.esastack.servicekeeper.core.executionchain.SyncContext;
+import io.esastack.servicekeeper.core.executionchain.SyncExecutionChainImpl;
+import io.esastack.servicekeeper.core.moats.LifeCycleSupport;
+import io.esastack.servicekeeper.core.moats.Moat;
+import io.esastack.servicekeeper.core.moats.MoatType;
+import io.esastack.servicekeeper.core.moats.circuitbreaker.CircuitBreakerMoat;
+import io.esastack.servicekeeper.core.moats.circuitbreaker.predicate.PredicateByException;
+import io.esastack.servicekeeper.core.moats.concurrentlimit.ConcurrentLimitMoat;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CacheMoatTest {
+
+    @Test
+    void testCacheHit() throws Throwable {
+        final String name = "testCacheHit";
+        final ConcurrentLimitMoat limit = new ConcurrentLimitMoat(new MoatConfig(ResourceId.from(name)),
+                ConcurrentLimitConfig.builder().threshold(1).build(), null, Collections.emptyList());
+        final CacheMoat moat = newMoat(name, CacheConfig.ofDefault(), null);
+        final List<Moat<?>> moats = Arrays.asList(moat, limit);
+        final SyncExecutionChainImpl chain = new SyncExecutionChainImpl(moats, null);
+        then(moat.type()).isEqualTo(MoatType.CACHE);
+        then(moat.toString()).isEqualTo("CacheMoat-testCacheHit");
+
+        final AtomicInteger calls = new AtomicInteger();
+        then(chain.execute(new SyncContext(name, new Object[]{"A"}), null,
+                () -> "Hello " + calls.incrementAndGet())).isEqualTo("Hello 1");
+        then(chain.execute(new SyncContext(name, new Object[]{"A"}), null,
+                () -> "Hello " + calls.incrementAndGet())).isEqualTo("Hello 1");
+        then(chain.execute(new SyncContext(name, new Object[]{"B"}), null,
+                () -> "Hello " + calls.incrementAndGet())).isEqualTo("Hello 2");
+        then(calls.get()).isEqualTo(2);
+        then(moat.hitTimes()).isEqualTo(1L);
+        then(moat.size()).isEqualTo(2L);
+
+        // The cached result is returned without acquiring the permit.
+        then(limit.getConcurrentLimiter().acquirePermission()).isTrue();
+        then(new SyncExecutionChainImpl(moats, null).execute(new SyncContext(name, new Object[]{"A"}), null,
+                () -> "Hello " + calls.incrementAndGet())).isEqualTo("Hello 1");
+        limit.getConcurrentLimiter().release();
+
+        // The failures and the null results are never cached.
+        thenThrownBy(() -> chain.execute(new SyncContext(name, new Object[]{"C"}), null, () -> {
+            throw new IllegalStateException();
+        })).isInstanceOf(IllegalStateException.class);
+        final Object result = chain.execute(new SyncContext(name, new Object[]{"D"}), null, () -> null);
+        then(result).isNull();
+        then(moat.size()).isEqualTo(2L);
+    }
+
+    @Test
+    void testStaleWhenBroken() throws Throwable {
+        final String name = "testStaleWhenBroken";
+        final ConcurrentLimitMoat limit = new ConcurrentLimitMoat(new MoatConfig(ResourceId.from(name)),
+                ConcurrentLimitConfig.builder().threshold(1).build(), null, Collections.emptyList());
+        final CircuitBreakerMoat breaker = new CircuitBreakerMoat(new MoatConfig(ResourceId.from(name)),
+                CircuitBreakerConfig.ofDefault(), null, new PredicateByException());
+        final CacheMoat moat = newMoat(name, CacheConfig.builder().ttl(20L).maxStale(3000L).build(), null);
+        final SyncExecutionChainImpl chain = new SyncExecutionChainImpl(Arrays.asList(moat, limit, breaker), null);
+
+        then(chain.execute(new SyncContext(name, new Object[]{"A"}), null, () -> "OK")).isEqualTo("OK");
+        TimeUnit.MILLISECONDS.sleep(50L);
+        breaker.getCircuitBreaker().forceToForcedOpenState();
+
+        // The stale result is returned and the permit is released.
+        then(chain.execute(new SyncContext(name, new Object[]{"A"}), null, () -> "NEW")).isEqualTo("OK");
+        then(moat.staleHitTimes()).isEqualTo(1L);
+        then(limit.getConcurrentLimiter().metrics().currentCallCount()).isEqualTo(0);
+
+        // The call is rejected as usual without the cached result.
+        thenThrownBy(() -> chain.execute(new SyncContext(name, new Object[]{"B"}), null, () -> "NEW"))
+                .isInstanceOf(CircuitBreakerNotPermittedException.class);
+        then(limit.getConcurrentLimiter().metrics().currentCallCount()).isEqualTo(0);
+    }
+
+    @Test
+    void testStaleWhileRevalidate() throws InterruptedException {
+        final CacheMoat moat = newMoat("testStaleWhileRevalidate", CacheConfig.builder().ttl(20L)
+                .staleWhileRevalidate(true).build(), null);
+        final Context ctx = mock(Context.class);
+        when(ctx.getArgs()).thenReturn(new Object[]{"A"});
+        when(ctx.getResult()).thenReturn("OK");
+        then(moat.get(ctx)).isNull();
+        moat.exit(ctx);
+        then(moat.get(ctx)).isEqualTo("OK");
+
+        TimeUnit.MILLISECONDS.sleep(50L);
+        // The first call revalidates it, and the others get the stale result meanwhile.
+        then(moat.get(ctx)).isNull();
+        then(moat.get(ctx)).isEqualTo("OK");
+        then(moat.staleHitTimes()).isEqualTo(1L);
+
+        // The revalidation fails, so that the next call revalidates it again.
+        when(ctx.getBizException()).thenReturn(new IllegalStateException());
+        moat.exit(ctx);
+        then(moat.get(ctx)).isNull();
+        then(moat.get(ctx)).isEqualTo("OK");
+
+        when(ctx.getBizException()).thenReturn(null);
+        moat.exit(ctx);
+        then(moat.get(ctx)).isEqualTo("OK");
+        then(moat.hitTimes()).isEqualTo(2L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testAsyncExecutionChain() throws Throwable {
+        final String name = "testAsyncCacheHit";
+        final CacheMoat moat = newMoat(name, CacheConfig.ofDefault(), null);
+        final AsyncExecutionChainImpl chain = new AsyncExecutionChainImpl(Collections.singletonList(moat), null);
+
+        final AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            final CompletionStage<String> result = chain.asyncExecute(new AsyncContext(name, new Object[]{"A"}),
+                    null, () -> CompletableFuture.completedFuture("Hello " + calls.incrementAndGet()),
+                    new CompletableStageHandler<>());
+            then(result.toCompletableFuture().get(3L, TimeUnit.SECONDS)).isEqualTo("Hello 1");
+        }
+        then(calls.get()).isEqualTo(1);
+        then(moat.hitTimes()).isEqualTo(1L);
+    }
+
+    @Test
+    void testUpdateWithExternalConfig() {
+        final CacheConfig immutableConfig = CacheConfig.builder().ttl(100L).build();
+        final CacheMoat moat = newMoat("testUpdateWithExternalConfig", immutableConfig, immutableConfig);
+        then(moat.lifeCycleType()).isEqualTo(LifeCycleSupport.LifeCycleType.PERMANENT);
+
+        final ExternalConfig config = new ExternalConfig();
+        config.setCacheTtl(200L);
+        config.setCacheMaxSize(10L);
+        config.setCacheMaxStale(0L);
+        config.setCacheStaleWhileRevalidate(true);
+        moat.onUpdate(config);
+        then(moat.config()).isEqualTo(CacheConfig.builder().ttl(200L).maxSize(10L).maxStale(0L)
+                .staleWhileRevalidate(true).build());
+
+        // Reset to the immutable config
+        moat.onUpdate(null);
+        then(moat.config()).isEqualTo(immutableConfig);
+        then(moat.shouldDelete()).isFalse();
+
+        // Temporary moat should be destroyed
+        final CacheMoat temporary = newMoat("testUpdateWithExternalConfig0", immutableConfig, null);
+        then(temporary.lifeCycleType()).isEqualTo(LifeCycleSupport.LifeCycleType.TEMPORARY);
+        temporary.onUpdate(new ExternalConfig());
+        then(temporary.shouldDelete()).isTrue();
+    }
+
+    private static CacheMoat newMoat(String name, CacheConfig config, CacheConfig immutableConfig) {
+        return new CacheMoat(new MoatConfig(ResourceId.from(name)), config, immutableConfig,
+                Collections.emptyList());
+    }
+}
@@ -36,9 +36,11 @@ import org.junit.jupiter.api.Test;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.BDDAssertions.then;
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -116,7 +118,8 @@ class CircuitBreakerMoatTest {
             breakerMoat0.exit(ctx);
             breakerMoat1.exit(ctx);
         }
-        then(isOpen.get()).isTrue();
+        // The transition events are dispatched asynchronously
+        await().atMost(3L, TimeUnit.SECONDS).untilTrue(isOpen);
         assertDoesNotThrow(() -> breakerMoat0.enter(ctx));
         try {
             breakerMoat1.enter(ctx);
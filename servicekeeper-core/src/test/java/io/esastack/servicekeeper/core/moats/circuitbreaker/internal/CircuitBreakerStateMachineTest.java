@@ -191,4 +191,95 @@ class CircuitBreakerStateMachineTest {
         }
     }
 
+    @Test
+    void testTransitionByLatency() {
+        final CircuitBreakerConfig config = CircuitBreakerConfig.builder()
+                .ringBufferSizeInClosedState(10)
+                .ringBufferSizeInHalfOpenState(5)
+                .waitDurationInOpenState(waitDurationInOpenState)
+                .latencyPercentile(90.0f)
+                .latencyThresholdMs(100L)
+                .build();
+        final CircuitBreakerStateMachine breaker = new CircuitBreakerStateMachine("testTransitionByLatency",
+                config, null, null);
+        then(breaker.metrics().latencyPercentile(90.0d)).isEqualTo(-1L);
+
+        // The p90 doesn't exceed the threshold
+        for (int i = 0; i < 10; i++) {
+            breaker.onSpendTime(i == 0 ? 1000L : 10L);
+            breaker.onSuccess();
+        }
+        then(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        then(breaker.metrics().latencyPercentile(90.0d)).isEqualTo(-1L);
+
+        // The p90 exceeds the threshold
+        for (int i = 0; i < 10; i++) {
+            breaker.onSpendTime(i < 2 ? 1000L : 10L);
+            breaker.onSuccess();
+        }
+        then(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        then(breaker.metrics().latencyPercentile(90.0d)).isBetween(1000L, 1100L);
+        then(breaker.metrics().latencyPercentile(50.0d)).isEqualTo(10L);
+        then(breaker.metrics().numberOfDroppedEvents())
+                .isEqualTo(SateTransitionDispatcher.singleton().numberOfDroppedEvents());
+
+        await().untilAsserted(() -> then(breaker.isCallPermitted()).isTrue());
+        then(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        for (int i = 0; i < 5; i++) {
+            breaker.onSpendTime(1000L);
+            breaker.onSuccess();
+        }
+        then(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        await().untilAsserted(() -> then(breaker.isCallPermitted()).isTrue());
+        for (int i = 0; i < 5; i++) {
+            breaker.onSpendTime(10L);
+            breaker.onSuccess();
+        }
+        then(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void testEwmaWindow() {
+        final CircuitBreakerConfig config = CircuitBreakerConfig.builder()
+                .failureRateThreshold(50.0f)
+                .ringBufferSizeInClosedState(10)
+                .ringBufferSizeInHalfOpenState(5)
+                .waitDurationInOpenState(Duration.ofSeconds(60L))
+                .windowType(CircuitBreakerConfig.WindowType.EWMA)
+                .build();
+        final CircuitBreakerStateMachine breaker = new CircuitBreakerStateMachine("testEwmaWindow",
+                config, null, null);
+
+        for (int i = 0; i < 9; i++) {
+            breaker.onFailure();
+        }
+        // Not enough calls
+        then(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        then(breaker.metrics().failureRateThreshold()).isEqualTo(-1.0f);
+        then(breaker.metrics().numberOfBufferedCalls()).isEqualTo(9);
+
+        breaker.reset();
+        for (int i = 0; i < 10; i++) {
+            breaker.onSuccess();
+        }
+        then(breaker.metrics().failureRateThreshold()).isEqualTo(0.0f);
+        then(breaker.metrics().numberOfSuccessfulCalls()).isEqualTo(10);
+
+        // failure rate: 1 - 0.9^6 < 50%
+        for (int i = 0; i < 6; i++) {
+            breaker.onFailure();
+        }
+        then(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        then(breaker.metrics().failureRateThreshold()).isBetween(46.0f, 47.0f);
+        then(breaker.metrics().numberOfFailedCalls()).isEqualTo(5);
+
+        // failure rate: 1 - 0.9^7 > 50%
+        breaker.onFailure();
+        then(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        then(breaker.isCallPermitted()).isFalse();
+        then(breaker.metrics().numberOfNotPermittedCalls()).isEqualTo(1L);
+        then(breaker.metrics().maxNumberOfBufferedCalls()).isEqualTo(10);
+    }
+
 }
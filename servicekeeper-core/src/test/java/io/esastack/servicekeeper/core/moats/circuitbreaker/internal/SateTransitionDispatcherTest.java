@@ -0,0 +1,147 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.moats.circuitbreaker.internal;
+
+import io.esastack.servicekeeper.core.config.CircuitBreakerConfig;
+import io.esastack.servicekeeper.core.moats.circuitbreaker.CircuitBreaker;
+import io.esastack.servicekeeper.core.moats.circuitbreaker.CircuitBreakerSateTransitionEvent;
+import io.esastack.servicekeeper.core.moats.circuitbreaker.CircuitBreakerSateTransitionProcessor;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.awaitility.Awaitility.await;
+
+class SateTransitionDispatcherTest {
+
+    @Test
+    void testDispatchInOrder() {
+        final SateTransitionDispatcher dispatcher = new SateTransitionDispatcher(16,
+                SateTransitionDispatcher.OverflowPolicy.DISCARD);
+        final List<CircuitBreaker.State> states = new CopyOnWriteArrayList<>();
+        final AtomicReference<Thread> processThread = new AtomicReference<>();
+        final CircuitBreakerSateTransitionProcessor processor = (name, event) -> {
+            processThread.set(Thread.currentThread());
+            states.add(event.currentState());
+        };
+
+        final CircuitBreakerStateMachine stateMachine = new CircuitBreakerStateMachine("testDispatchInOrder",
+                CircuitBreakerConfig.ofDefault(), null, Collections.singletonList(processor), dispatcher);
+        stateMachine.transitionToOpenState();
+        stateMachine.transitionToOpenState();
+        stateMachine.transitionToHalfOpenState();
+        stateMachine.transitionToClosedState();
+
+        await().atMost(3L, TimeUnit.SECONDS).until(() -> states.size() == 3);
+        then(states).containsExactly(CircuitBreaker.State.OPEN, CircuitBreaker.State.HALF_OPEN,
+                CircuitBreaker.State.CLOSED);
+        then(processThread.get()).isNotSameAs(Thread.currentThread());
+        then(dispatcher.numberOfDroppedEvents()).isEqualTo(0L);
+    }
+
+    @Test
+    void testOverflowWithDiscard() throws InterruptedException {
+        final SateTransitionDispatcher dispatcher = new SateTransitionDispatcher(2,
+                SateTransitionDispatcher.OverflowPolicy.DISCARD);
+        final CountDownLatch processing = new CountDownLatch(1);
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final CircuitBreakerSateTransitionProcessor processor = (name, event) -> {
+            processing.countDown();
+            try {
+                blocker.await();
+            } catch (InterruptedException ignored) {
+            }
+        };
+        final List<CircuitBreakerSateTransitionProcessor> processors = Collections.singletonList(processor);
+
+        final CircuitBreakerSateTransitionEvent event = new CircuitBreakerSateTransitionEvent(
+                CircuitBreaker.State.CLOSED, CircuitBreaker.State.OPEN);
+        dispatcher.dispatch("testOverflowWithDiscard", event, processors);
+        then(processing.await(3L, TimeUnit.SECONDS)).isTrue();
+
+        dispatcher.dispatch("testOverflowWithDiscard", event, processors);
+        dispatcher.dispatch("testOverflowWithDiscard", event, processors);
+        then(dispatcher.numberOfPendingEvents()).isEqualTo(2);
+        dispatcher.dispatch("testOverflowWithDiscard", event, processors);
+        then(dispatcher.numberOfDroppedEvents()).isEqualTo(1L);
+
+        blocker.countDown();
+        await().atMost(3L, TimeUnit.SECONDS).until(() -> dispatcher.numberOfPendingEvents() == 0);
+    }
+
+    @Test
+    void testOverflowWithCallerRuns() throws InterruptedException {
+        final SateTransitionDispatcher dispatcher = new SateTransitionDispatcher(2,
+                SateTransitionDispatcher.OverflowPolicy.CALLER_RUNS);
+        final CountDownLatch processing = new CountDownLatch(1);
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final Thread caller = Thread.currentThread();
+        final AtomicReference<Thread> callerRunThread = new AtomicReference<>();
+        final CircuitBreakerSateTransitionProcessor processor = (name, event) -> {
+            if (Thread.currentThread() == caller) {
+                callerRunThread.set(caller);
+                return;
+            }
+            processing.countDown();
+            try {
+                blocker.await();
+            } catch (InterruptedException ignored) {
+            }
+        };
+        final List<CircuitBreakerSateTransitionProcessor> processors = Collections.singletonList(processor);
+
+        final CircuitBreakerSateTransitionEvent event = new CircuitBreakerSateTransitionEvent(
+                CircuitBreaker.State.CLOSED, CircuitBreaker.State.OPEN);
+        dispatcher.dispatch("testOverflowWithCallerRuns", event, processors);
+        then(processing.await(3L, TimeUnit.SECONDS)).isTrue();
+
+        dispatcher.dispatch("testOverflowWithCallerRuns", event, processors);
+        dispatcher.dispatch("testOverflowWithCallerRuns", event, processors);
+        then(callerRunThread.get()).isNull();
+        dispatcher.dispatch("testOverflowWithCallerRuns", event, processors);
+        then(callerRunThread.get()).isSameAs(caller);
+        then(dispatcher.numberOfDroppedEvents()).isEqualTo(0L);
+
+        blocker.countDown();
+        await().atMost(3L, TimeUnit.SECONDS).until(() -> dispatcher.numberOfPendingEvents() == 0);
+    }
+
+    @Test
+    void testProcessorError() {
+        final SateTransitionDispatcher dispatcher = new SateTransitionDispatcher(16,
+                SateTransitionDispatcher.OverflowPolicy.DISCARD);
+        final List<CircuitBreaker.State> states = new CopyOnWriteArrayList<>();
+        final CircuitBreakerSateTransitionProcessor processor = (name, event) -> {
+            states.add(event.currentState());
+            throw new IllegalStateException();
+        };
+        final List<CircuitBreakerSateTransitionProcessor> processors = Collections.singletonList(processor);
+
+        dispatcher.dispatch("testProcessorError", new CircuitBreakerSateTransitionEvent(
+                CircuitBreaker.State.CLOSED, CircuitBreaker.State.OPEN), processors);
+        dispatcher.dispatch("testProcessorError", new CircuitBreakerSateTransitionEvent(
+                CircuitBreaker.State.OPEN, CircuitBreaker.State.HALF_OPEN), processors);
+
+        await().atMost(3L, TimeUnit.SECONDS).until(() -> states.size() == 2);
+        then(states).containsExactly(CircuitBreaker.State.OPEN, CircuitBreaker.State.HALF_OPEN);
+    }
+}
@@ -84,6 +84,30 @@ class PredicateByExceptionTest {
         then(predicate.isConfigEquals(new Class[0])).isTrue();
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    void testClassificationAfterUpdate() {
+        final Context ctx = mock(Context.class);
+        final PredicateByException predicate = new PredicateByException(ResourceId.from("ABC"));
+
+        when(ctx.getBizException()).thenReturn(new IllegalArgumentException());
+        then(predicate.isSuccess(ctx)).isFalse();
+        then(predicate.isSuccess(ctx)).isFalse();
+
+        predicate.updateWithNewestConfig(new Class[]{RuntimeException.class});
+        then(predicate.isSuccess(ctx)).isTrue();
+        then(predicate.isSuccess(ctx)).isTrue();
+
+        predicate.updateWithNewestConfig(new Class[]{IllegalStateException.class});
+        then(predicate.isSuccess(ctx)).isFalse();
+
+        when(ctx.getBizException()).thenReturn(new IllegalStateException());
+        then(predicate.isSuccess(ctx)).isTrue();
+
+        predicate.updateWhenNewestConfigIsNull();
+        then(predicate.isSuccess(ctx)).isFalse();
+    }
+
     @Test
     void testListeningKey() {
         final PredicateByException predicate = new PredicateByException(ResourceId.from("ABC"));
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.moats.codel;
+
+import io.esastack.servicekeeper.core.common.ResourceId;
+import io.esastack.servicekeeper.core.config.CoDelConfig;
+import io.esastack.servicekeeper.core.config.MoatConfig;
+import io.esastack.servicekeeper.core.configsource.ExternalConfig;
+import io.esastack.servicekeeper.core.exception.QueueingDelayExceededException;
+import io.esastack.servicekeeper.core.exception.ServiceKeeperNotPermittedException;
+import io.esastack.servicekeeper.core.executionchain.Context;
+import io.esastack.servicekeeper.core.moats.LifeCycleSupport;
+import io.esastack.servicekeeper.core.moats.MoatType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CoDelMoatTest {
+
+    @Test
+    void testShedWhenExceedingInterval() {
+        final CoDelMoat moat = newMoat("testShedWhenExceedingInterval", CoDelConfig.ofDefault(), null);
+        then(moat.type()).isEqualTo(MoatType.CODEL);
+        then(moat.toString()).isEqualTo("CoDelMoat-testShedWhenExceedingInterval");
+
+        // Without arrival time
+        moat.enter(ctx(-1L), 1000L);
+
+        moat.enter(ctx(950L), 1000L);
+        moat.enter(ctx(500L), 1000L);
+        thenThrownBy(() -> moat.enter(ctx(499L), 1000L))
+                .isInstanceOf(QueueingDelayExceededException.class)
+                .matches(th -> ((ServiceKeeperNotPermittedException) th).getCauseType()
+                        == ServiceKeeperNotPermittedException.CauseType.QUEUEING_DELAY_EXCEEDED);
+        then(moat.isOverloaded()).isFalse();
+        then(moat.shedTimes()).isEqualTo(1L);
+    }
+
+    @Test
+    void testShedWhenOverloaded() {
+        final CoDelMoat moat = newMoat("testShedWhenOverloaded",
+                CoDelConfig.builder().targetDelay(5L).interval(100L).build(), null);
+
+        // The queue never drains in the first interval [1000, 1100)
+        moat.enter(ctx(980L), 1000L);
+        moat.enter(ctx(1030L), 1050L);
+        moat.enter(ctx(1089L), 1099L);
+        then(moat.isOverloaded()).isFalse();
+        then(moat.shedTimes()).isEqualTo(0L);
+
+        // Overloaded in the second interval [1100, 1200), the stale requests are shed
+        thenThrownBy(() -> moat.enter(ctx(1090L), 1100L)).isInstanceOf(QueueingDelayExceededException.class);
+        then(moat.isOverloaded()).isTrue();
+        moat.enter(ctx(1120L), 1123L);
+        thenThrownBy(() -> moat.enter(ctx(1150L), 1160L)).isInstanceOf(QueueingDelayExceededException.class);
+        then(moat.shedTimes()).isEqualTo(2L);
+
+        // The queue has drained in the second interval, so that the third one isn't overloaded
+        moat.enter(ctx(1150L), 1200L);
+        then(moat.isOverloaded()).isFalse();
+    }
+
+    @Test
+    void testNotOverloadedAfterIdleInterval() {
+        final CoDelMoat moat = newMoat("testNotOverloadedAfterIdleInterval",
+                CoDelConfig.builder().targetDelay(5L).interval(100L).build(), null);
+
+        moat.enter(ctx(980L), 1000L);
+        thenThrownBy(() -> moat.enter(ctx(1080L), 1100L)).isInstanceOf(QueueingDelayExceededException.class);
+        then(moat.isOverloaded()).isTrue();
+
+        // No request arrived in the interval [1200, 1300)
+        moat.enter(ctx(1280L), 1300L);
+        then(moat.isOverloaded()).isFalse();
+    }
+
+    @Test
+    void testUpdateConfig() {
+        final CoDelConfig immutableConfig = CoDelConfig.builder().targetDelay(10L).build();
+        final CoDelMoat moat = newMoat("testUpdateConfig", immutableConfig, immutableConfig);
+        then(moat.lifeCycleType()).isEqualTo(LifeCycleSupport.LifeCycleType.PERMANENT);
+
+        final ExternalConfig config = new ExternalConfig();
+        then(moat.getFond(config)).isEqualTo(immutableConfig);
+        config.setCodelTargetDelay(20L);
+        config.setCodelInterval(200L);
+        final CoDelConfig fond = moat.getFond(config);
+        then(fond.getTargetDelay()).isEqualTo(20L);
+        then(fond.getInterval()).isEqualTo(200L);
+
+        then(moat.isConfigEquals(fond)).isFalse();
+        moat.updateWithNewestConfig(fond);
+        then(moat.config()).isEqualTo(fond);
+        moat.enter(ctx(1850L), 2000L);
+
+        moat.updateWhenNewestConfigIsNull();
+        then(moat.config()).isEqualTo(immutableConfig);
+        then(moat.shouldDelete()).isFalse();
+
+        final CoDelMoat temporary = newMoat("testUpdateConfig", CoDelConfig.ofDefault(), null);
+        then(temporary.getFond(new ExternalConfig())).isNull();
+        temporary.updateWhenNewestConfigIsNull();
+        then(temporary.shouldDelete()).isTrue();
+    }
+
+    private static CoDelMoat newMoat(String name, CoDelConfig config, CoDelConfig immutableConfig) {
+        return new CoDelMoat(new MoatConfig(ResourceId.from(name)), config, immutableConfig,
+                Collections.emptyList());
+    }
+
+    private static Context ctx(long arrivalTime) {
+        final Context ctx = mock(Context.class);
+        when(ctx.getArrivalTime()).thenReturn(arrivalTime);
+        when(ctx.getResourceId()).thenReturn("test");
+        return ctx;
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.moats.concurrentlimit;
+
+import io.esastack.servicekeeper.core.config.ConcurrentLimitConfig;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.awaitility.Awaitility.await;
+
+class BulkheadConcurrentLimiterTest {
+
+    @Test
+    void testAcquireWithoutWaiting() {
+        final BulkheadConcurrentLimiter limiter = new BulkheadConcurrentLimiter("testAcquireWithoutWaiting",
+                config(2, Duration.ofSeconds(10L), 2), null);
+        then(limiter.acquirePermission()).isTrue();
+        then(limiter.tryAcquirePermission()).isTrue();
+        then(limiter.tryAcquirePermission()).isFalse();
+        then(limiter.metrics().currentCallCount()).isEqualTo(2);
+
+        limiter.release();
+        limiter.release();
+        then(limiter.metrics().currentCallCount()).isEqualTo(0);
+        then(limiter.metrics().numberOfWaitedCalls()).isEqualTo(0L);
+    }
+
+    @Test
+    void testWaitTimeout() {
+        final BulkheadConcurrentLimiter limiter = new BulkheadConcurrentLimiter("testWaitTimeout",
+                config(1, Duration.ofMillis(20L), 1), null);
+        then(limiter.acquirePermission()).isTrue();
+
+        final long start = System.nanoTime();
+        then(limiter.acquirePermission()).isFalse();
+        then(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(19L);
+        then(limiter.metrics().queueDepth()).isEqualTo(0);
+        then(limiter.metrics().numberOfWaitedCalls()).isEqualTo(1L);
+        then(limiter.metrics().averageWaitTimeMs()).isGreaterThan(0.0d);
+        then(limiter.metrics().currentCallCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testHandOffToSyncWaiter() throws Exception {
+        final BulkheadConcurrentLimiter limiter = new BulkheadConcurrentLimiter("testHandOffToSyncWaiter",
+                config(1, Duration.ofSeconds(10L), 1), null);
+        then(limiter.acquirePermission()).isTrue();
+
+        final CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(limiter::acquirePermission);
+        await().atMost(3L, TimeUnit.SECONDS).until(() -> limiter.metrics().queueDepth() == 1);
+
+        // The queue is full
+        then(limiter.acquirePermission()).isFalse();
+        // The permission belongs to the waiter
+        then(limiter.tryAcquirePermission()).isFalse();
+
+        limiter.release();
+        then(waiting.get(3L, TimeUnit.SECONDS)).isTrue();
+        then(limiter.metrics().currentCallCount()).isEqualTo(1);
+        then(limiter.metrics().queueDepth()).isEqualTo(0);
+
+        limiter.release();
+        then(limiter.metrics().currentCallCount()).isEqualTo(0);
+    }
+
+    @Test
+    void testHandOffInFifoOrder() throws Exception {
+        final BulkheadConcurrentLimiter limiter = new BulkheadConcurrentLimiter("testHandOffInFifoOrder",
+                config(1, Duration.ofSeconds(10L), 2), null);
+        then(limiter.acquirePermission()).isTrue();
+
+        final CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(limiter::acquirePermission);
+        await().atMost(3L, TimeUnit.SECONDS).until(() -> limiter.metrics().queueDepth() == 1);
+        final CompletableFuture<Boolean> second = CompletableFuture.supplyAsync(limiter::acquirePermission);
+        await().atMost(3L, TimeUnit.SECONDS).until(() -> limiter.metrics().queueDepth() == 2);
+        then(limiter.acquirePermission()).isFalse();
+
+        limiter.release();
+        then(first.get(3L, TimeUnit.SECONDS)).isTrue();
+        then(second.isDone()).isFalse();
+
+        limiter.release();
+        then(second.get(3L, TimeUnit.SECONDS)).isTrue();
+        then(limiter.metrics().currentCallCount()).isEqualTo(1);
+        then(limiter.metrics().numberOfWaitedCalls()).isEqualTo(2L);
+    }
+
+    @Test
+    void testHandOffToAsyncWaiter() throws Exception {
+        final BulkheadConcurrentLimiter limiter = new BulkheadConcurrentLimiter("testHandOffToAsyncWaiter",
+                config(1, Duration.ofSeconds(10L), 2), null);
+        then(limiter.isWaitable()).isTrue();
+        then(limiter.acquirePermissionAsync().toCompletableFuture().getNow(false)).isTrue();
+
+        final CompletionStage<Boolean> first = limiter.acquirePermissionAsync();
+        final CompletionStage<Boolean> second = limiter.acquirePermissionAsync();
+        then(first.toCompletableFuture().isDone()).isFalse();
+        then(second.toCompletableFuture().isDone()).isFalse();
+        then(limiter.metrics().queueDepth()).isEqualTo(2);
+        then(limiter.acquirePermissionAsync().toCompletableFuture().getNow(true)).isFalse();
+
+        // Hand off in FIFO order
+        limiter.release();
+        then(first.toCompletableFuture().getNow(false)).isTrue();
+        then(second.toCompletableFuture().isDone()).isFalse();
+
+        limiter.release();
+        then(second.toCompletableFuture().getNow(false)).isTrue();
+        then(limiter.metrics().currentCallCount()).isEqualTo(1);
+        then(limiter.metrics().numberOfWaitedCalls()).isEqualTo(2L);
+    }
+
+    @Test
+    void testAsyncWaitTimeout() throws Exception {
+        final BulkheadConcurrentLimiter limiter = new BulkheadConcurrentLimiter("testAsyncWaitTimeout",
+                config(1, Duration.ofMillis(20L), 1), null);
+        then(limiter.acquirePermission()).isTrue();
+
+        final CompletionStage<Boolean> stage = limiter.acquirePermissionAsync();
+        then(stage.toCompletableFuture().get(3L, TimeUnit.SECONDS)).isFalse();
+        then(limiter.metrics().queueDepth()).isEqualTo(0);
+
+        limiter.release();
+        then(limiter.metrics().currentCallCount()).isEqualTo(0);
+    }
+
+    @Test
+    void testReleaseWhenHandOffToCancelledWaiter() {
+        final BulkheadConcurrentLimiter limiter = new BulkheadConcurrentLimiter(
+                "testReleaseWhenHandOffToCancelledWaiter", config(1, Duration.ofSeconds(10L), 2), null);
+        then(limiter.acquirePermission()).isTrue();
+
+        final CompletionStage<Boolean> cancelled = limiter.acquirePermissionAsync();
+        final CompletionStage<Boolean> next = limiter.acquirePermissionAsync();
+        then(cancelled.toCompletableFuture().cancel(false)).isTrue();
+
+        // The permission handed off to the cancelled waiter is passed to the next one.
+        limiter.release();
+        then(next.toCompletableFuture().getNow(false)).isTrue();
+        then(limiter.metrics().currentCallCount()).isEqualTo(1);
+
+        limiter.release();
+        then(limiter.metrics().currentCallCount()).isEqualTo(0);
+    }
+
+    @Test
+    void testNotWaitable() {
+        final BulkheadConcurrentLimiter limiter = new BulkheadConcurrentLimiter("testNotWaitable",
+                config(1, Duration.ZERO, 2), null);
+        then(limiter.isWaitable()).isFalse();
+        then(limiter.acquirePermissionAsync().toCompletableFuture().getNow(false)).isTrue();
+        then(limiter.acquirePermissionAsync().toCompletableFuture().getNow(true)).isFalse();
+    }
+
+    @Test
+    void testChangeThreshold() throws Exception {
+        final BulkheadConcurrentLimiter limiter = new BulkheadConcurrentLimiter("testChangeThreshold",
+                config(1, Duration.ofSeconds(10L), 2), null);
+        then(limiter.acquirePermission()).isTrue();
+        final CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(limiter::acquirePermission);
+        final CompletableFuture<Boolean> second = CompletableFuture.supplyAsync(limiter::acquirePermission);
+        await().atMost(3L, TimeUnit.SECONDS).until(() -> limiter.metrics().queueDepth() == 2);
+
+        limiter.changeThreshold(3);
+        then(first.get(3L, TimeUnit.SECONDS)).isTrue();
+        then(second.get(3L, TimeUnit.SECONDS)).isTrue();
+        then(limiter.metrics().currentCallCount()).isEqualTo(3);
+        then(limiter.config()).isEqualTo(ConcurrentLimitConfig.from(config(1, Duration.ofSeconds(10L), 2))
+                .threshold(3).build());
+    }
+
+    @Test
+    void testConcurrentAcquire() throws Exception {
+        final BulkheadConcurrentLimiter limiter = new BulkheadConcurrentLimiter("testConcurrentAcquire",
+                config(4, Duration.ofSeconds(10L), 64), null);
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[32];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = CompletableFuture.runAsync(() -> {
+                for (int j = 0; j < 100; j++) {
+                    then(limiter.acquirePermission()).isTrue();
+                    then(limiter.metrics().currentCallCount()).isLessThanOrEqualTo(4);
+                    limiter.release();
+                }
+            });
+        }
+        CompletableFuture.allOf(futures).get(30L, TimeUnit.SECONDS);
+        then(limiter.metrics().currentCallCount()).isEqualTo(0);
+        then(limiter.metrics().queueDepth()).isEqualTo(0);
+    }
+
+    @Test
+    void testRegistry() {
+        final ConcurrentLimiterRegistry registry = ConcurrentLimiterRegistry.singleton();
+        then(registry.getOrCreate("testRegistry", config(1, Duration.ofSeconds(1L), 1), null, null))
+                .isInstanceOf(BulkheadConcurrentLimiter.class);
+        then(registry.getOrCreate(null, config(1, Duration.ZERO, 1), null, null))
+                .isInstanceOf(AtomicConcurrentLimiter.class);
+        then(registry.getOrCreate(null, config(1, Duration.ofSeconds(1L), 0), null, null))
+                .isInstanceOf(AtomicConcurrentLimiter.class);
+        registry.unRegister("testRegistry");
+    }
+
+    private static ConcurrentLimitConfig config(int threshold, Duration maxWaitDuration, int maxQueueSize) {
+        return ConcurrentLimitConfig.builder()
+                .threshold(threshold)
+                .maxWaitDuration(maxWaitDuration)
+                .maxQueueSize(maxQueueSize)
+                .build();
+    }
+}
@@ -15,11 +15,13 @@
  */
 package io.esastack.servicekeeper.core.moats.concurrentlimit;
 
+import io.esastack.servicekeeper.core.common.Priority;
 import io.esastack.servicekeeper.core.common.ResourceId;
 import io.esastack.servicekeeper.core.config.ConcurrentLimitConfig;
 import io.esastack.servicekeeper.core.config.MoatConfig;
 import io.esastack.servicekeeper.core.configsource.ExternalConfig;
 import io.esastack.servicekeeper.core.exception.ConcurrentOverflowException;
+import io.esastack.servicekeeper.core.executionchain.Context;
 import io.esastack.servicekeeper.core.moats.LifeCycleSupport;
 import io.esastack.servicekeeper.core.moats.MoatEvent;
 import io.esastack.servicekeeper.core.moats.MoatEventProcessor;
@@ -34,6 +36,8 @@ import java.util.concurrent.CountDownLatch;
 import static org.assertj.core.api.BDDAssertions.then;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 class ConcurrentLimitMoatTest {
 
@@ -232,4 +236,40 @@ class ConcurrentLimitMoatTest {
         BDDAssertions.then(limitMoat3.getConcurrentLimiter().metrics().threshold()).isEqualTo(this.maxConcurrentLimit);
     }
 
+    @Test
+    void testShedByPriority() {
+        final MoatConfig moatConfig = new MoatConfig(ResourceId.from("testShedByPriority"));
+        final ConcurrentLimitMoat limitMoat = new ConcurrentLimitMoat(moatConfig,
+                ConcurrentLimitConfig.builder().threshold(10).build(), null, Collections.emptyList());
+        for (int i = 0; i < 5; i++) {
+            assertDoesNotThrow(() -> limitMoat.enter(null));
+        }
+
+        // LOW can only use half of the limit
+        final Context low = contextOf(Priority.LOW);
+        assertThrows(ConcurrentOverflowException.class, () -> limitMoat.enter(low));
+
+        // NORMAL can use the whole limit as the calls without priority
+        final Context normal = contextOf(Priority.NORMAL);
+        for (int i = 0; i < 5; i++) {
+            assertDoesNotThrow(() -> limitMoat.enter(normal));
+        }
+        assertThrows(ConcurrentOverflowException.class, () -> limitMoat.enter(normal));
+        assertThrows(ConcurrentOverflowException.class, () -> limitMoat.enter(contextOf(Priority.HIGH)));
+        assertThrows(ConcurrentOverflowException.class, () -> limitMoat.enter(contextOf(Priority.CRITICAL)));
+
+        for (int i = 0; i < 6; i++) {
+            limitMoat.exit(null);
+        }
+        assertDoesNotThrow(() -> limitMoat.enter(low));
+        then(limitMoat.getConcurrentLimiter().metrics().currentCallCount()).isEqualTo(5);
+        then(limitMoat.getConcurrentLimiter().currentCallCount()).isEqualTo(5);
+        then(limitMoat.getConcurrentLimiter().currentLimit()).isEqualTo(10);
+    }
+
+    private static Context contextOf(Priority priority) {
+        final Context ctx = mock(Context.class);
+        when(ctx.getPriority()).thenReturn(priority);
+        return ctx;
+    }
 }
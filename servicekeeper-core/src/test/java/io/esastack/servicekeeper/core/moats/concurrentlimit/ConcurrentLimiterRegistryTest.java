@@ -40,4 +40,19 @@ class ConcurrentLimiterRegistryTest {
         then(registry.getOrCreate("test", ConcurrentLimitConfig.ofDefault(), null))
                 .isNotSameAs(limiter);
     }
+
+    @Test
+    void testCreateStriped() {
+        System.setProperty(ConcurrentLimiterRegistry.STRIPED_ENABLE_KEY, "true");
+        try {
+            then(registry.getOrCreate("testCreateStriped", ConcurrentLimitConfig.ofDefault(), null))
+                    .isInstanceOf(StripedConcurrentLimiter.class);
+        } finally {
+            System.clearProperty(ConcurrentLimiterRegistry.STRIPED_ENABLE_KEY);
+            registry.unRegister("testCreateStriped");
+        }
+        then(registry.getOrCreate("testCreateStriped", ConcurrentLimitConfig.ofDefault(), null))
+                .isInstanceOf(AtomicConcurrentLimiter.class);
+        registry.unRegister("testCreateStriped");
+    }
 }
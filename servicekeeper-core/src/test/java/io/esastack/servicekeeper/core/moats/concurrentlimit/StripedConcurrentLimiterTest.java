@@ -0,0 +1,158 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.moats.concurrentlimit;
+
+import io.esastack.servicekeeper.core.config.ConcurrentLimitConfig;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class StripedConcurrentLimiterTest {
+
+    @Test
+    void testSlabSize() {
+        final ConcurrentLimitConfig config = ConcurrentLimitConfig.builder().threshold(10).build();
+        then(new StripedConcurrentLimiter("testSlabSize", config, null, 1).slabSize()).isEqualTo(1);
+        then(new StripedConcurrentLimiter("testSlabSize", config, null, 3).slabSize()).isEqualTo(4);
+        then(new StripedConcurrentLimiter("testSlabSize", config, null, 1024).slabSize()).isEqualTo(64);
+    }
+
+    @Test
+    void testAcquirePermission() {
+        final StripedConcurrentLimiter limiter = new StripedConcurrentLimiter("testAcquirePermission",
+                ConcurrentLimitConfig.builder().threshold(100).build(), null, 4);
+        for (int i = 0; i < 100; i++) {
+            then(limiter.acquirePermission()).isTrue();
+        }
+        then(limiter.acquirePermission()).isFalse();
+        then(limiter.metrics().currentCallCount()).isEqualTo(100);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.release();
+        }
+        then(limiter.metrics().currentCallCount()).isEqualTo(0);
+        for (int i = 0; i < 100; i++) {
+            then(limiter.acquirePermission()).isTrue();
+        }
+        then(limiter.acquirePermission()).isFalse();
+    }
+
+    @Test
+    void testStealFromOtherSlabs() throws InterruptedException {
+        final StripedConcurrentLimiter limiter = new StripedConcurrentLimiter("testStealFromOtherSlabs",
+                ConcurrentLimitConfig.builder().threshold(64).build(), null, 2);
+
+        // Cache all the permits in the slab of another thread.
+        final Thread other = new Thread(() -> {
+            for (int i = 0; i < 64; i++) {
+                limiter.acquirePermission();
+            }
+            for (int i = 0; i < 64; i++) {
+                limiter.release();
+            }
+        });
+        other.start();
+        other.join();
+        then(limiter.metrics().currentCallCount()).isEqualTo(0);
+
+        for (int i = 0; i < 64; i++) {
+            then(limiter.acquirePermission()).isTrue();
+        }
+        then(limiter.acquirePermission()).isFalse();
+    }
+
+    @Test
+    void testChangeThreshold() {
+        final ConcurrentLimitConfig config = ConcurrentLimitConfig.builder().threshold(16)
+                .maxWaitDuration(Duration.ofMillis(10L)).maxQueueSize(8).build();
+        final StripedConcurrentLimiter limiter = new StripedConcurrentLimiter("testChangeThreshold",
+                config, null, 2);
+        for (int i = 0; i < 16; i++) {
+            then(limiter.acquirePermission()).isTrue();
+        }
+        then(limiter.acquirePermission()).isFalse();
+
+        limiter.changeThreshold(20);
+        then(limiter.config()).isEqualTo(ConcurrentLimitConfig.from(config).threshold(20).build());
+        for (int i = 0; i < 4; i++) {
+            then(limiter.acquirePermission()).isTrue();
+        }
+        then(limiter.acquirePermission()).isFalse();
+
+        limiter.changeThreshold(10);
+        for (int i = 0; i < 10; i++) {
+            limiter.release();
+        }
+        then(limiter.metrics().currentCallCount()).isEqualTo(10);
+        then(limiter.acquirePermission()).isFalse();
+        limiter.release();
+        then(limiter.acquirePermission()).isTrue();
+        then(limiter.acquirePermission()).isFalse();
+    }
+
+    @Test
+    void testConcurrentAcquire() throws InterruptedException {
+        for (int threads = 1; threads <= 64; threads <<= 1) {
+            final ConcurrentLimitConfig config = ConcurrentLimitConfig.builder().threshold(threads / 2 + 1).build();
+            doTestConcurrentAcquire(new AtomicConcurrentLimiter("testConcurrentAcquire", config, null),
+                    threads);
+            doTestConcurrentAcquire(new StripedConcurrentLimiter("testConcurrentAcquire", config, null),
+                    threads);
+        }
+    }
+
+    private static void doTestConcurrentAcquire(ConcurrentLimiter limiter, int threads)
+            throws InterruptedException {
+        final int threshold = limiter.config().getThreshold();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final AtomicInteger permitted = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            final Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ignored) {
+                }
+                for (int j = 0; j < 2000; j++) {
+                    if (limiter.acquirePermission()) {
+                        permitted.incrementAndGet();
+                        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                        inFlight.decrementAndGet();
+                        limiter.release();
+                    }
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        then(maxInFlight.get()).isLessThanOrEqualTo(threshold);
+        then(permitted.get()).isGreaterThan(0);
+        then(limiter.metrics().currentCallCount()).isEqualTo(0);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.moats.concurrentlimit;
+
+import io.esastack.servicekeeper.core.config.ConcurrentLimitConfig;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
+
+class VegasConcurrentLimiterTest {
+
+    private final ConcurrentLimitConfig limitConfig = ConcurrentLimitConfig.builder()
+            .threshold(100)
+            .minThreshold(5)
+            .algorithm(ConcurrentLimitConfig.Algorithm.VEGAS)
+            .build();
+
+    @Test
+    void testInitialLimit() {
+        VegasConcurrentLimiter limiter = new VegasConcurrentLimiter("testInitialLimit", limitConfig, null);
+        then(limiter.metrics().currentLimit()).isEqualTo(VegasConcurrentLimiter.INITIAL_LIMIT);
+        then(limiter.metrics().threshold()).isEqualTo(100);
+        for (int i = 0; i < VegasConcurrentLimiter.INITIAL_LIMIT; i++) {
+            then(limiter.acquirePermission()).isTrue();
+        }
+        then(limiter.acquirePermission()).isFalse();
+        then(limiter.metrics().currentCallCount()).isEqualTo(VegasConcurrentLimiter.INITIAL_LIMIT);
+
+        limiter = new VegasConcurrentLimiter("testInitialLimit", ConcurrentLimitConfig.from(limitConfig)
+                .threshold(10).build(), null);
+        then(limiter.metrics().currentLimit()).isEqualTo(10);
+
+        thenThrownBy(() -> new VegasConcurrentLimiter("testInitialLimit", ConcurrentLimitConfig.from(limitConfig)
+                .threshold(1).build(), null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testGrowLimit() {
+        final VegasConcurrentLimiter limiter = new VegasConcurrentLimiter("testGrowLimit", limitConfig, null);
+
+        // The rtt keeps stable, so the limit grows to the threshold.
+        for (int round = 0; round < 100; round++) {
+            runRound(limiter, 10L);
+        }
+        then(limiter.metrics().currentLimit()).isEqualTo(100);
+        then(limiter.metrics().currentCallCount()).isEqualTo(0);
+    }
+
+    @Test
+    void testShrinkLimit() {
+        final VegasConcurrentLimiter limiter = new VegasConcurrentLimiter("testShrinkLimit", limitConfig, null);
+        runRound(limiter, 10L);
+        final int limit = limiter.metrics().currentLimit();
+        then(limit).isGreaterThan(VegasConcurrentLimiter.INITIAL_LIMIT);
+
+        // The rtt increases, so the limit shrinks to the minThreshold.
+        runRound(limiter, 100L);
+        then(limiter.metrics().currentLimit()).isLessThan(limit);
+        for (int round = 0; round < 20; round++) {
+            runRound(limiter, 100L);
+        }
+        then(limiter.metrics().currentLimit()).isEqualTo(5);
+        then(limiter.metrics().currentCallCount()).isEqualTo(0);
+
+        // The minimum rtt is re-measured after PROBE_INTERVAL samples, so the limit grows again.
+        for (int i = 0; i < VegasConcurrentLimiter.PROBE_INTERVAL; i++) {
+            runRound(limiter, 100L);
+            if (limiter.metrics().currentLimit() > 5) {
+                break;
+            }
+        }
+        then(limiter.metrics().currentLimit()).isGreaterThan(5);
+    }
+
+    @Test
+    void testNotGrowWhenLimitIsNotUsed() {
+        final VegasConcurrentLimiter limiter = new VegasConcurrentLimiter("testNotGrowWhenLimitIsNotUsed",
+                limitConfig, null);
+        for (int i = 0; i < 1000; i++) {
+            then(limiter.acquirePermission()).isTrue();
+            limiter.release(10L);
+        }
+        then(limiter.metrics().currentLimit()).isEqualTo(VegasConcurrentLimiter.INITIAL_LIMIT);
+    }
+
+    @Test
+    void testChangeThreshold() {
+        final VegasConcurrentLimiter limiter = new VegasConcurrentLimiter("testChangeThreshold", limitConfig, null);
+        limiter.changeThreshold(10);
+        then(limiter.metrics().currentLimit()).isEqualTo(10);
+        then(limiter.metrics().threshold()).isEqualTo(10);
+        then(limiter.config()).isEqualTo(ConcurrentLimitConfig.from(limitConfig).threshold(10).build());
+
+        // The threshold should never be less than minThreshold
+        limiter.changeThreshold(1);
+        then(limiter.metrics().currentLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void testCreatedByRegistry() {
+        then(ConcurrentLimiterRegistry.singleton().getOrCreate(null, limitConfig, null, null))
+                .isInstanceOf(VegasConcurrentLimiter.class);
+        then(ConcurrentLimiterRegistry.singleton().getOrCreate(null, ConcurrentLimitConfig.ofDefault(), null, null))
+                .isInstanceOf(AtomicConcurrentLimiter.class);
+    }
+
+    private static void runRound(ConcurrentLimiter limiter, long spendTimeMs) {
+        int acquired = 0;
+        while (limiter.acquirePermission()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limiter.release(spendTimeMs);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.moats.isolation;
+
+import io.esastack.servicekeeper.core.common.ResourceId;
+import io.esastack.servicekeeper.core.config.IsolationConfig;
+import io.esastack.servicekeeper.core.config.MoatConfig;
+import io.esastack.servicekeeper.core.configsource.ExternalConfig;
+import io.esastack.servicekeeper.core.exception.IsolationRejectedException;
+import io.esastack.servicekeeper.core.executionchain.SyncContext;
+import io.esastack.servicekeeper.core.executionchain.SyncExecutionChainImpl;
+import io.esastack.servicekeeper.core.moats.LifeCycleSupport;
+import io.esastack.servicekeeper.core.moats.MoatType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class IsolationMoatTest {
+
+    @Test
+    void testExecuteOnIsolatedThread() throws Throwable {
+        final IsolationMoat moat = newMoat("testExecuteOnIsolatedThread", IsolationConfig.ofDefault(), null);
+        final Thread caller = Thread.currentThread();
+        then(moat.execute(null, () -> Thread.currentThread() != caller)).isTrue();
+        then(moat.pendingCalls()).isEqualTo(0);
+
+        thenThrownBy(() -> moat.execute(null, () -> {
+            throw new IllegalStateException();
+        })).isInstanceOf(IllegalStateException.class);
+        then(moat.pendingCalls()).isEqualTo(0);
+        then(moat.type()).isEqualTo(MoatType.ISOLATION);
+        then(moat.toString()).isEqualTo("IsolationMoat-testExecuteOnIsolatedThread");
+    }
+
+    @Test
+    void testRejectWhenFull() throws Throwable {
+        final IsolationMoat moat = newMoat("testRejectWhenFull", IsolationConfig.builder()
+                .threads(1).maxQueueSize(1).build(), null);
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> execute(moat, blocker));
+        final CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> execute(moat, blocker));
+        await().atMost(3L, TimeUnit.SECONDS).until(() -> moat.pendingCalls() == 2);
+
+        thenThrownBy(() -> moat.execute(null, () -> true)).isInstanceOf(IsolationRejectedException.class);
+
+        blocker.countDown();
+        then(running.get(3L, TimeUnit.SECONDS)).isTrue();
+        then(queued.get(3L, TimeUnit.SECONDS)).isTrue();
+        then(moat.pendingCalls()).isEqualTo(0);
+        then(moat.execute(null, () -> true)).isTrue();
+    }
+
+    @Test
+    void testVirtualExecutor() throws Throwable {
+        final IsolationMoat moat = newMoat("testVirtualExecutor", IsolationConfig.builder()
+                .executorType(IsolationConfig.ExecutorType.VIRTUAL).build(), null);
+        // Falls back to platform threads when virtual threads are unsupported.
+        then(moat.execute(null, () -> true)).isTrue();
+        then(moat.config().getExecutorType()).isEqualTo(IsolationConfig.ExecutorType.VIRTUAL);
+    }
+
+    @Test
+    void testUpdateWithExternalConfig() throws Throwable {
+        final IsolationConfig immutableConfig = IsolationConfig.builder().threads(1).maxQueueSize(0).build();
+        final IsolationMoat moat = newMoat("testUpdateWithExternalConfig", immutableConfig, immutableConfig);
+        then(moat.lifeCycleType()).isEqualTo(LifeCycleSupport.LifeCycleType.PERMANENT);
+
+        final ExternalConfig config = new ExternalConfig();
+        config.setIsolationThreads(2);
+        config.setIsolationQueueSize(1);
+        moat.onUpdate(config);
+        then(moat.config()).isEqualTo(IsolationConfig.builder().threads(2).maxQueueSize(1).build());
+
+        final CountDownLatch blocker = new CountDownLatch(1);
+        for (int i = 0; i < 3; i++) {
+            CompletableFuture.supplyAsync(() -> execute(moat, blocker));
+        }
+        await().atMost(3L, TimeUnit.SECONDS).until(() -> moat.pendingCalls() == 3);
+        thenThrownBy(() -> moat.execute(null, () -> true)).isInstanceOf(IsolationRejectedException.class);
+        blocker.countDown();
+        await().atMost(3L, TimeUnit.SECONDS).until(() -> moat.pendingCalls() == 0);
+
+        // Reset to the immutable config
+        moat.onUpdate(null);
+        then(moat.config()).isEqualTo(immutableConfig);
+        then(moat.shouldDelete()).isFalse();
+
+        // Temporary moat should be destroyed
+        final IsolationMoat temporary = newMoat("testUpdateWithExternalConfig0", immutableConfig, null);
+        then(temporary.lifeCycleType()).isEqualTo(LifeCycleSupport.LifeCycleType.TEMPORARY);
+        temporary.onUpdate(new ExternalConfig());
+        then(temporary.shouldDelete()).isTrue();
+    }
+
+    @Test
+    void testExecutionChain() throws Throwable {
+        final IsolationMoat moat = newMoat("testExecutionChain", IsolationConfig.ofDefault(), null);
+        final Thread caller = Thread.currentThread();
+        final SyncExecutionChainImpl chain = new SyncExecutionChainImpl(Collections.singletonList(moat), null);
+        then(chain.execute(new SyncContext("testExecutionChain"), null,
+                () -> Thread.currentThread() != caller)).isEqualTo(true);
+    }
+
+    private static IsolationMoat newMoat(String name, IsolationConfig config, IsolationConfig immutableConfig) {
+        return new IsolationMoat(new MoatConfig(ResourceId.from(name)), config, immutableConfig,
+                Collections.emptyList());
+    }
+
+    private static boolean execute(IsolationMoat moat, CountDownLatch blocker) {
+        try {
+            return moat.execute(null, () -> blocker.await(3L, TimeUnit.SECONDS));
+        } catch (Throwable th) {
+            return false;
+        }
+    }
+}
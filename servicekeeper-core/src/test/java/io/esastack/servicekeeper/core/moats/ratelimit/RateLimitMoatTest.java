@@ -15,11 +15,13 @@
  */
 package io.esastack.servicekeeper.core.moats.ratelimit;
 
+import io.esastack.servicekeeper.core.common.Priority;
 import io.esastack.servicekeeper.core.common.ResourceId;
 import io.esastack.servicekeeper.core.config.MoatConfig;
 import io.esastack.servicekeeper.core.config.RateLimitConfig;
 import io.esastack.servicekeeper.core.configsource.ExternalConfig;
 import io.esastack.servicekeeper.core.exception.RateLimitOverflowException;
+import io.esastack.servicekeeper.core.executionchain.Context;
 import io.esastack.servicekeeper.core.moats.LifeCycleSupport;
 import io.esastack.servicekeeper.core.moats.MoatEvent;
 import io.esastack.servicekeeper.core.moats.MoatEventProcessor;
@@ -274,4 +276,34 @@ class RateLimitMoatTest {
 
         latch.await();
     }
+
+    @Test
+    void testShedByPriority() {
+        final MoatConfig moatConfig = new MoatConfig(ResourceId.from("testShedByPriority"));
+        final RateLimitMoat limitMoat = new RateLimitMoat(moatConfig, RateLimitConfig.builder()
+                .limitRefreshPeriod(Duration.ofSeconds(30L)).limitForPeriod(10).build(),
+                null, Collections.emptyList());
+        for (int i = 0; i < 5; i++) {
+            assertDoesNotThrow(() -> limitMoat.enter(null));
+        }
+
+        // LOW can only use half of the limitForPeriod
+        final Context low = contextOf(Priority.LOW);
+        assertThrows(RateLimitOverflowException.class, () -> limitMoat.enter(low));
+
+        // NORMAL can use the whole limit as the calls without priority
+        final Context normal = contextOf(Priority.NORMAL);
+        for (int i = 0; i < 5; i++) {
+            assertDoesNotThrow(() -> limitMoat.enter(normal));
+        }
+        assertThrows(RateLimitOverflowException.class, () -> limitMoat.enter(normal));
+        assertThrows(RateLimitOverflowException.class, () -> limitMoat.enter(contextOf(Priority.HIGH)));
+        assertThrows(RateLimitOverflowException.class, () -> limitMoat.enter(contextOf(Priority.CRITICAL)));
+    }
+
+    private static Context contextOf(Priority priority) {
+        final Context ctx = mock(Context.class);
+        when(ctx.getPriority()).thenReturn(priority);
+        return ctx;
+    }
 }
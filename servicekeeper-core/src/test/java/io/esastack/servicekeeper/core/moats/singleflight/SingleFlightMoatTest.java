@@ -0,0 +1,246 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.moats.singleflight;
+
+import io.esastack.servicekeeper.core.asynchandle.CompletableStageHandler;
+import io.esastack.servicekeeper.core.common.ResourceId;
+import io.esastack.servicekeeper.core.config.ConcurrentLimitConfig;
+import io.esastack.servicekeeper.core.config.MoatConfig;
+import io.esastack.servicekeeper.core.config.SingleFlightConfig;
+import io.esastack.servicekeeper.core.configsource.ExternalConfig;
+import io.esastack.servicekeeper.core.executionchain.AsyncContext;
+import io.esastack.servicekeeper.core.executionchain.AsyncExecutionChainImpl;
+import io.esastack.servicekeeper.core.executionchain.Executable;
+import io.esastack.servicekeeper.core.executionchain.SyncContext;
+import io.esastack.servicekeeper.core.executionchain.SyncExecutionChainImpl;
+import io.esastack.servicekeeper.core.moats.LifeCycleSupport;
+import io.esastack.servicekeeper.core.moats.Moat;
+import io.esastack.servicekeeper.core.moats.MoatType;
+import io.esastack.servicekeeper.core.moats.concurrentlimit.ConcurrentLimitMoat;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class SingleFlightMoatTest {
+
+    @Test
+    void testCoalesceSyncCalls() throws Throwable {
+        final String name = "testCoalesceSyncCalls";
+        final ConcurrentLimitMoat limit = new ConcurrentLimitMoat(new MoatConfig(ResourceId.from(name)),
+                ConcurrentLimitConfig.builder().threshold(1).build(), null, Collections.emptyList());
+        final SingleFlightMoat moat = newMoat(name, SingleFlightConfig.ofDefault(), null);
+        final List<Moat<?>> moats = Arrays.asList(moat, limit);
+        then(moat.type()).isEqualTo(MoatType.SINGLE_FLIGHT);
+        then(moat.toString()).isEqualTo("SingleFlightMoat-testCoalesceSyncCalls");
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(call(moats, name, () -> {
+                    latch.await();
+                    return "Hello " + calls.incrementAndGet();
+                })));
+            }
+
+            // The followers don't acquire the permit, so none of them is rejected by the concurrent limit.
+            await().atMost(3L, TimeUnit.SECONDS).until(() -> moat.coalescedTimes() == 3L);
+            then(moat.inflightCalls()).isEqualTo(1);
+            latch.countDown();
+            for (Future<Object> result : results) {
+                then(result.get(3L, TimeUnit.SECONDS)).isEqualTo("Hello 1");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        then(calls.get()).isEqualTo(1);
+        then(moat.inflightCalls()).isEqualTo(0);
+
+        // The call arriving later starts a new flight
+        final Object result = new SyncExecutionChainImpl(moats, null).execute(
+                new SyncContext(name, new Object[]{"A"}), null, () -> "Hello " + calls.incrementAndGet());
+        then(result).isEqualTo("Hello 2");
+        then(moat.coalescedTimes()).isEqualTo(3L);
+    }
+
+    @Test
+    void testShareException() throws Exception {
+        final String name = "testShareException";
+        final SingleFlightMoat moat = newMoat(name, SingleFlightConfig.ofDefault(), null);
+        final List<Moat<?>> moats = Collections.singletonList(moat);
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                results.add(executor.submit(call(moats, name, () -> {
+                    calls.incrementAndGet();
+                    latch.await();
+                    throw new IllegalStateException("Failed");
+                })));
+            }
+
+            await().atMost(3L, TimeUnit.SECONDS).until(() -> moat.coalescedTimes() == 1L);
+            latch.countDown();
+            for (Future<Object> result : results) {
+                thenThrownBy(() -> result.get(3L, TimeUnit.SECONDS))
+                        .isInstanceOf(ExecutionException.class)
+                        .hasCauseInstanceOf(IllegalStateException.class);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        then(calls.get()).isEqualTo(1);
+        then(moat.inflightCalls()).isEqualTo(0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testAsyncExecutionChain() throws Throwable {
+        final String name = "testAsyncSingleFlight";
+        final SingleFlightMoat moat = newMoat(name, SingleFlightConfig.ofDefault(), null);
+        final List<Moat<?>> moats = Collections.singletonList(moat);
+
+        final CompletableFuture<String> future = new CompletableFuture<>();
+        final AtomicInteger calls = new AtomicInteger();
+        final List<CompletionStage<String>> results = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            results.add(new AsyncExecutionChainImpl(moats, null).asyncExecute(
+                    new AsyncContext(name, new Object[]{"A"}), null, () -> {
+                        calls.incrementAndGet();
+                        return future;
+                    }, new CompletableStageHandler<>()));
+        }
+        then(calls.get()).isEqualTo(1);
+        then(moat.coalescedTimes()).isEqualTo(1L);
+        then(moat.inflightCalls()).isEqualTo(1);
+
+        future.complete("Hello");
+        for (CompletionStage<String> result : results) {
+            then(result.toCompletableFuture().get(3L, TimeUnit.SECONDS)).isEqualTo("Hello");
+        }
+        then(moat.inflightCalls()).isEqualTo(0);
+    }
+
+    @Test
+    void testSharedByMethods() throws Throwable {
+        // The moat of a shared group is used by all the methods of the group.
+        final SingleFlightMoat moat = newMoat("testSharedByMethods", SingleFlightConfig.ofDefault(), null);
+        final List<Moat<?>> moats = Collections.singletonList(moat);
+
+        final List<CompletableFuture<String>> futures = new ArrayList<>();
+        final List<CompletionStage<String>> results = new ArrayList<>();
+        for (String name : new String[]{"a", "b", "a"}) {
+            results.add(new AsyncExecutionChainImpl(moats, null).asyncExecute(
+                    new AsyncContext(name, new Object[]{42}), null, () -> {
+                        final CompletableFuture<String> future = new CompletableFuture<>();
+                        futures.add(future);
+                        return future;
+                    }, new CompletableStageHandler<>()));
+        }
+        // The calls of different methods with the equal args are never coalesced.
+        then(futures.size()).isEqualTo(2);
+        then(moat.metrics().coalescedTimes()).isEqualTo(1L);
+        then(moat.metrics().inflightCalls()).isEqualTo(2);
+
+        futures.get(0).complete("a");
+        futures.get(1).complete("b");
+        then(results.get(0).toCompletableFuture().get(3L, TimeUnit.SECONDS)).isEqualTo("a");
+        then(results.get(1).toCompletableFuture().get(3L, TimeUnit.SECONDS)).isEqualTo("b");
+        then(results.get(2).toCompletableFuture().get(3L, TimeUnit.SECONDS)).isEqualTo("a");
+        then(moat.metrics().inflightCalls()).isEqualTo(0);
+    }
+
+    @Test
+    void testDisabled() throws Throwable {
+        final String name = "testSingleFlightDisabled";
+        final SingleFlightMoat moat = newMoat(name, SingleFlightConfig.builder().enable(false).build(), null);
+        final List<Moat<?>> moats = Collections.singletonList(moat);
+
+        final AtomicInteger calls = new AtomicInteger();
+        final Object result = new SyncExecutionChainImpl(moats, null).execute(
+                new SyncContext(name, new Object[]{"A"}), null, () -> {
+                    // The nested call with the equal args is not coalesced.
+                    return new SyncExecutionChainImpl(moats, null).execute(
+                            new SyncContext(name, new Object[]{"A"}), null, calls::incrementAndGet);
+                });
+        then(result).isEqualTo(1);
+        then(moat.coalescedTimes()).isEqualTo(0L);
+    }
+
+    @Test
+    void testUpdateWithExternalConfig() {
+        final SingleFlightConfig immutableConfig = SingleFlightConfig.ofDefault();
+        final SingleFlightMoat moat = newMoat("testUpdateWithExternalConfig", immutableConfig, immutableConfig);
+        then(moat.lifeCycleType()).isEqualTo(LifeCycleSupport.LifeCycleType.PERMANENT);
+
+        final ExternalConfig config = new ExternalConfig();
+        config.setSingleFlight(false);
+        moat.onUpdate(config);
+        then(moat.config()).isEqualTo(SingleFlightConfig.builder().enable(false).build());
+
+        // Reset to the immutable config
+        moat.onUpdate(null);
+        then(moat.config()).isEqualTo(immutableConfig);
+        then(moat.shouldDelete()).isFalse();
+
+        // Temporary moat should be destroyed
+        final SingleFlightMoat temporary = newMoat("testUpdateWithExternalConfig0", immutableConfig, null);
+        then(temporary.lifeCycleType()).isEqualTo(LifeCycleSupport.LifeCycleType.TEMPORARY);
+        temporary.onUpdate(new ExternalConfig());
+        then(temporary.shouldDelete()).isTrue();
+    }
+
+    private static Callable<Object> call(List<Moat<?>> moats, String name, Executable<Object> executable) {
+        return () -> {
+            try {
+                return new SyncExecutionChainImpl(moats, null).execute(new SyncContext(name, new Object[]{"A"}),
+                        null, executable);
+            } catch (Exception | Error ex) {
+                throw ex;
+            } catch (Throwable th) {
+                throw new IllegalStateException(th);
+            }
+        };
+    }
+
+    private static SingleFlightMoat newMoat(String name, SingleFlightConfig config,
+                                            SingleFlightConfig immutableConfig) {
+        return new SingleFlightMoat(new MoatConfig(ResourceId.from(name)), config, immutableConfig,
+                Collections.emptyList());
+    }
+}
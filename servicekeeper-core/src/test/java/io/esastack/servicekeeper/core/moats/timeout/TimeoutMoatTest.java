@@ -0,0 +1,256 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.moats.timeout;
+
+import io.esastack.servicekeeper.core.asynchandle.CompletableStageHandler;
+import io.esastack.servicekeeper.core.common.Deadline;
+import io.esastack.servicekeeper.core.common.DeadlineHolder;
+import io.esastack.servicekeeper.core.common.ResourceId;
+import io.esastack.servicekeeper.core.config.CircuitBreakerConfig;
+import io.esastack.servicekeeper.core.config.ConcurrentLimitConfig;
+import io.esastack.servicekeeper.core.config.IsolationConfig;
+import io.esastack.servicekeeper.core.config.MoatConfig;
+import io.esastack.servicekeeper.core.config.TimeoutConfig;
+import io.esastack.servicekeeper.core.configsource.ExternalConfig;
+import io.esastack.servicekeeper.core.exception.DeadlineExceededException;
+import io.esastack.servicekeeper.core.exception.TimeoutExceededException;
+import io.esastack.servicekeeper.core.executionchain.AsyncContext;
+import io.esastack.servicekeeper.core.executionchain.AsyncExecutionChainImpl;
+import io.esastack.servicekeeper.core.executionchain.Context;
+import io.esastack.servicekeeper.core.executionchain.SyncContext;
+import io.esastack.servicekeeper.core.executionchain.SyncExecutionChainImpl;
+import io.esastack.servicekeeper.core.moats.LifeCycleSupport;
+import io.esastack.servicekeeper.core.moats.Moat;
+import io.esastack.servicekeeper.core.moats.MoatType;
+import io.esastack.servicekeeper.core.moats.circuitbreaker.CircuitBreakerMoat;
+import io.esastack.servicekeeper.core.moats.circuitbreaker.predicate.PredicateByException;
+import io.esastack.servicekeeper.core.moats.concurrentlimit.ConcurrentLimitMoat;
+import io.esastack.servicekeeper.core.moats.isolation.IsolationMoat;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TimeoutMoatTest {
+
+    @Test
+    void testInterruptCaller() throws Throwable {
+        final TimeoutMoat moat = newMoat("testInterruptCaller", TimeoutConfig.builder().timeout(20L).build(), null);
+        then(moat.execute(null, () -> "OK", null)).isEqualTo("OK");
+
+        thenThrownBy(() -> moat.execute(null, () -> {
+            Thread.sleep(3000L);
+            return "OK";
+        }, null)).isInstanceOf(TimeoutExceededException.class)
+                .hasCauseInstanceOf(InterruptedException.class);
+        // The interruption mustn't leak to the caller.
+        then(Thread.currentThread().isInterrupted()).isFalse();
+        then(moat.timeoutTimes()).isEqualTo(1L);
+        then(moat.type()).isEqualTo(MoatType.TIMEOUT);
+        then(moat.toString()).isEqualTo("TimeoutMoat-testInterruptCaller");
+    }
+
+    @Test
+    void testNotInterruptible() throws Throwable {
+        final TimeoutMoat moat = newMoat("testNotInterruptible", TimeoutConfig.builder()
+                .timeout(20L).interruptible(false).build(), null);
+        then(moat.execute(null, () -> "OK", null)).isEqualTo("OK");
+
+        // The late result is treated as timeout.
+        thenThrownBy(() -> moat.execute(null, () -> {
+            Thread.sleep(50L);
+            return "OK";
+        }, null)).isInstanceOf(TimeoutExceededException.class);
+        then(moat.timeoutTimes()).isEqualTo(1L);
+    }
+
+    @Test
+    void testWithIsolation() throws Throwable {
+        final TimeoutMoat moat = newMoat("testWithIsolation", TimeoutConfig.builder().timeout(20L).build(), null);
+        final IsolationMoat isolation = new IsolationMoat(new MoatConfig(ResourceId.from("testWithIsolation")),
+                IsolationConfig.builder().threads(1).maxQueueSize(0).build(), null, Collections.emptyList());
+        final Thread caller = Thread.currentThread();
+        then(moat.execute(null, () -> Thread.currentThread() != caller, isolation)).isTrue();
+
+        thenThrownBy(() -> moat.execute(null, () -> {
+            Thread.sleep(3000L);
+            return true;
+        }, isolation)).isInstanceOf(TimeoutExceededException.class);
+        // The isolated thread has been interrupted and released.
+        await().atMost(3L, TimeUnit.SECONDS).until(() -> isolation.pendingCalls() == 0);
+        then(moat.execute(null, () -> !Thread.currentThread().isInterrupted(), isolation)).isTrue();
+        then(moat.timeoutTimes()).isEqualTo(1L);
+    }
+
+    @Test
+    void testExecuteAsync() throws Throwable {
+        final TimeoutMoat moat = newMoat("testExecuteAsync", TimeoutConfig.builder().timeout(20L).build(), null);
+        then(moat.executeAsync(null, () -> CompletableFuture.completedFuture("OK"))
+                .toCompletableFuture().get(3L, TimeUnit.SECONDS)).isEqualTo("OK");
+
+        final CompletableFuture<String> original = new CompletableFuture<>();
+        final CompletableFuture<String> result = moat.executeAsync(null, () -> original).toCompletableFuture();
+        thenThrownBy(() -> result.get(3L, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutExceededException.class);
+        await().atMost(3L, TimeUnit.SECONDS).until(original::isCancelled);
+        then(moat.timeoutTimes()).isEqualTo(1L);
+
+        // Cancelling the result cancels the original one.
+        final CompletableFuture<String> original0 = new CompletableFuture<>();
+        moat.executeAsync(null, () -> original0).toCompletableFuture().cancel(true);
+        then(original0.isCancelled()).isTrue();
+    }
+
+    @Test
+    void testUpdateWithExternalConfig() {
+        final TimeoutConfig immutableConfig = TimeoutConfig.builder().timeout(100L).build();
+        final TimeoutMoat moat = newMoat("testUpdateWithExternalConfig", immutableConfig, immutableConfig);
+        then(moat.lifeCycleType()).isEqualTo(LifeCycleSupport.LifeCycleType.PERMANENT);
+
+        final ExternalConfig config = new ExternalConfig();
+        config.setTimeout(200L);
+        config.setTimeoutInterruptible(false);
+        moat.onUpdate(config);
+        then(moat.config()).isEqualTo(TimeoutConfig.builder().timeout(200L).interruptible(false).build());
+
+        // Reset to the immutable config
+        moat.onUpdate(null);
+        then(moat.config()).isEqualTo(immutableConfig);
+        then(moat.shouldDelete()).isFalse();
+
+        // Temporary moat should be destroyed
+        final TimeoutMoat temporary = newMoat("testUpdateWithExternalConfig0", immutableConfig, null);
+        then(temporary.lifeCycleType()).isEqualTo(LifeCycleSupport.LifeCycleType.TEMPORARY);
+        temporary.onUpdate(new ExternalConfig());
+        then(temporary.shouldDelete()).isTrue();
+    }
+
+    @Test
+    void testExecutionChain() {
+        final String name = "testExecutionChain";
+        final ConcurrentLimitMoat limit = new ConcurrentLimitMoat(new MoatConfig(ResourceId.from(name)),
+                ConcurrentLimitConfig.builder().threshold(1).build(), null, Collections.emptyList());
+        final CircuitBreakerMoat breaker = new CircuitBreakerMoat(new MoatConfig(ResourceId.from(name)),
+                CircuitBreakerConfig.ofDefault(), null, new PredicateByException());
+        final TimeoutMoat moat = newMoat(name, TimeoutConfig.builder().timeout(20L).build(), null);
+        final List<Moat<?>> moats = Arrays.asList(limit, breaker, moat);
+
+        thenThrownBy(() -> new SyncExecutionChainImpl(moats, null).execute(new SyncContext(name), null, () -> {
+            Thread.sleep(3000L);
+            return "OK";
+        })).isInstanceOf(TimeoutExceededException.class);
+        then(limit.getConcurrentLimiter().metrics().currentCallCount()).isEqualTo(0);
+        then(breaker.getCircuitBreaker().metrics().numberOfFailedCalls()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testAsyncExecutionChain() throws Throwable {
+        final String name = "testAsyncExecutionChain";
+        final ConcurrentLimitMoat limit = new ConcurrentLimitMoat(new MoatConfig(ResourceId.from(name)),
+                ConcurrentLimitConfig.builder().threshold(1).build(), null, Collections.emptyList());
+        final CircuitBreakerMoat breaker = new CircuitBreakerMoat(new MoatConfig(ResourceId.from(name)),
+                CircuitBreakerConfig.ofDefault(), null, new PredicateByException());
+        final TimeoutMoat moat = newMoat(name, TimeoutConfig.builder().timeout(20L).build(), null);
+        final AsyncExecutionChainImpl chain = new AsyncExecutionChainImpl(Arrays.asList(limit, breaker, moat),
+                null);
+
+        final CompletableFuture<String> original = new CompletableFuture<>();
+        final CompletionStage<String> result = chain.asyncExecute(new AsyncContext(name), null,
+                () -> original, new CompletableStageHandler<>());
+        thenThrownBy(() -> result.toCompletableFuture().get(3L, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutExceededException.class);
+        await().atMost(3L, TimeUnit.SECONDS).until(original::isCancelled);
+        // The permit is released as soon as timeout.
+        then(limit.getConcurrentLimiter().metrics().currentCallCount()).isEqualTo(0);
+        then(breaker.getCircuitBreaker().metrics().numberOfFailedCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void testPropagateDeadline() throws Throwable {
+        final String name = "testPropagateDeadline";
+        // The outer call never interrupts the caller, so that only the nested one could.
+        final TimeoutMoat outer = newMoat(name, TimeoutConfig.builder().timeout(50L).interruptible(false).build(),
+                null);
+        final TimeoutMoat inner = newMoat(name + "0", TimeoutConfig.builder().timeout(3000L).build(), null);
+        final SyncExecutionChainImpl outerChain = new SyncExecutionChainImpl(Collections.singletonList(outer), null);
+        final SyncExecutionChainImpl innerChain = new SyncExecutionChainImpl(Collections.singletonList(inner), null);
+
+        // The nested call is bounded by the deadline of the outer one rather than its own timeout.
+        final long startTime = System.nanoTime();
+        thenThrownBy(() -> outerChain.execute(new SyncContext(name), null, () -> {
+            then(DeadlineHolder.get()).isNotNull();
+            return innerChain.execute(new SyncContext(name + "0"), null, () -> {
+                Thread.sleep(3000L);
+                return "OK";
+            });
+        })).isInstanceOf(TimeoutExceededException.class);
+        then(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)).isLessThan(3000L);
+        then(inner.timeoutTimes()).isEqualTo(1L);
+        then(DeadlineHolder.get()).isNull();
+
+        // The call is rejected directly once the deadline has been exceeded.
+        DeadlineHolder.set(Deadline.after(0L));
+        try {
+            thenThrownBy(() -> innerChain.execute(new SyncContext(name + "0"), null, () -> "OK"))
+                    .isInstanceOf(DeadlineExceededException.class);
+        } finally {
+            DeadlineHolder.remove();
+        }
+    }
+
+    @Test
+    void testRejectByExpectedLatency() {
+        final String name = "testRejectByExpectedLatency";
+        final TimeoutMoat moat = newMoat(name, TimeoutConfig.builder().timeout(3000L).build(), null);
+        final Context ctx = mock(Context.class);
+        when(ctx.getSpendTimeMs()).thenReturn(200L);
+        when(ctx.getDeadline()).thenReturn(Deadline.after(100L));
+        then(moat.expectedLatency()).isEqualTo(-1L);
+        moat.enter(ctx);
+
+        for (int i = 0; i < 100; i++) {
+            moat.exit(ctx);
+        }
+        then(moat.expectedLatency()).isBetween(200L, 220L);
+        thenThrownBy(() -> moat.enter(ctx)).isInstanceOf(DeadlineExceededException.class);
+        then(moat.rejectedTimes()).isEqualTo(1L);
+
+        // The call without deadline is never rejected.
+        when(ctx.getDeadline()).thenReturn(null);
+        moat.enter(ctx);
+        when(ctx.getDeadline()).thenReturn(Deadline.after(1000L));
+        moat.enter(ctx);
+        then(moat.rejectedTimes()).isEqualTo(1L);
+    }
+
+    private static TimeoutMoat newMoat(String name, TimeoutConfig config, TimeoutConfig immutableConfig) {
+        return new TimeoutMoat(new MoatConfig(ResourceId.from(name)), config, immutableConfig,
+                Collections.emptyList());
+    }
+}
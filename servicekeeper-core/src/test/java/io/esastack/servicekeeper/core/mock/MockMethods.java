@@ -25,7 +25,10 @@ import io.esastack.servicekeeper.core.annotation.ConcurrentLimiter;
 import io.esastack.servicekeeper.core.annotation.Fallback;
 import io.esastack.servicekeeper.core.annotation.Group;
 import io.esastack.servicekeeper.core.annotation.RateLimiter;
+import io.esastack.servicekeeper.core.annotation.RequestPriority;
 import io.esastack.servicekeeper.core.annotation.Retryable;
+import io.esastack.servicekeeper.core.common.Priority;
+import io.esastack.servicekeeper.core.common.PriorityExtractor;
 import io.esastack.servicekeeper.core.moats.circuitbreaker.predicate.PredicateByExceptionAndSpendTime;
 
 public class MockMethods {
@@ -182,4 +185,22 @@ public class MockMethods {
     private static class SubClass extends SupClass {
 
     }
+
+    @RequestPriority(Priority.LOW)
+    public void methodWithPriority(String priority) {
+
+    }
+
+    @RequestPriority(value = Priority.LOW, extractor = MockPriorityExtractor.class)
+    public void methodWithPriorityExtractor(String priority) {
+
+    }
+
+    public static class MockPriorityExtractor implements PriorityExtractor {
+
+        @Override
+        public Priority extract(Object[] args) {
+            return Priority.parse((String) args[0]);
+        }
+    }
 }
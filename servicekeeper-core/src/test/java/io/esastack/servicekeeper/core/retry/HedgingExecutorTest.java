@@ -0,0 +1,157 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.retry;
+
+import io.esastack.servicekeeper.core.config.HedgeConfig;
+import io.esastack.servicekeeper.core.config.RetryBudgetConfig;
+import io.esastack.servicekeeper.core.executionchain.Executable;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HedgingExecutorTest {
+
+    @Test
+    void testPrimaryCompletesBeforeDelay() throws Throwable {
+        final HedgingExecutor hedging = new HedgingExecutor("testPrimaryCompletesBeforeDelay",
+                HedgeConfig.builder().delay(200L).build());
+        final List<CompletableFuture<String>> attempts = new CopyOnWriteArrayList<>();
+        final CompletionStage<String> result = hedging.doExecuteAsync(attempt(attempts));
+        attempts.get(0).complete("ABC");
+
+        then(result.toCompletableFuture().get(3L, TimeUnit.SECONDS)).isEqualTo("ABC");
+        TimeUnit.MILLISECONDS.sleep(300L);
+        then(attempts.size()).isEqualTo(1);
+        then(hedging.hedgedTimes()).isEqualTo(0L);
+    }
+
+    @Test
+    void testHedgeWins() throws Throwable {
+        final HedgingExecutor hedging = new HedgingExecutor("testHedgeWins",
+                HedgeConfig.builder().delay(10L).build());
+        final List<CompletableFuture<String>> attempts = new CopyOnWriteArrayList<>();
+        final CompletionStage<String> result = hedging.doExecuteAsync(attempt(attempts));
+
+        await().atMost(3L, TimeUnit.SECONDS).until(() -> attempts.size() == 2);
+        attempts.get(1).complete("DEF");
+        then(result.toCompletableFuture().get(3L, TimeUnit.SECONDS)).isEqualTo("DEF");
+        then(attempts.get(0).isCancelled()).isTrue();
+        then(hedging.hedgedTimes()).isEqualTo(1L);
+        then(hedging.hedgeWonTimes()).isEqualTo(1L);
+        then(hedging.hedgesInFlight()).isEqualTo(0);
+    }
+
+    @Test
+    void testFailsOnlyWhenAllAttemptsFailed() throws Throwable {
+        final HedgingExecutor hedging = new HedgingExecutor("testFailsOnlyWhenAllAttemptsFailed",
+                HedgeConfig.builder().delay(10L).build());
+        final List<CompletableFuture<String>> attempts = new CopyOnWriteArrayList<>();
+        final CompletionStage<String> result = hedging.doExecuteAsync(attempt(attempts));
+
+        await().atMost(3L, TimeUnit.SECONDS).until(() -> attempts.size() == 2);
+        attempts.get(1).completeExceptionally(new IllegalStateException());
+        then(result.toCompletableFuture().isDone()).isFalse();
+        attempts.get(0).completeExceptionally(new IllegalArgumentException());
+        final ExecutionException ex = assertThrows(ExecutionException.class,
+                () -> result.toCompletableFuture().get(3L, TimeUnit.SECONDS));
+        then(ex.getCause()).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testPrimaryFailsBeforeDelay() throws Throwable {
+        final HedgingExecutor hedging = new HedgingExecutor("testPrimaryFailsBeforeDelay",
+                HedgeConfig.builder().delay(100L).build());
+        final List<CompletableFuture<String>> attempts = new CopyOnWriteArrayList<>();
+        final CompletionStage<String> result = hedging.doExecuteAsync(attempt(attempts));
+        attempts.get(0).completeExceptionally(new IllegalStateException());
+
+        assertThrows(ExecutionException.class, () -> result.toCompletableFuture().get(3L, TimeUnit.SECONDS));
+        TimeUnit.MILLISECONDS.sleep(200L);
+        then(attempts.size()).isEqualTo(1);
+    }
+
+    @Test
+    void testMaxConcurrentHedges() throws Throwable {
+        final HedgingExecutor hedging = new HedgingExecutor("testMaxConcurrentHedges",
+                HedgeConfig.builder().delay(0L).maxConcurrentHedges(1).budgetConfig(null).build());
+        final List<CompletableFuture<String>> attempts = new CopyOnWriteArrayList<>();
+        hedging.doExecuteAsync(attempt(attempts));
+        await().atMost(3L, TimeUnit.SECONDS).until(() -> hedging.hedgesInFlight() == 1);
+
+        hedging.doExecuteAsync(attempt(attempts));
+        await().atMost(3L, TimeUnit.SECONDS).until(() -> hedging.hedgeRejectedTimes() == 1L);
+        then(attempts.size()).isEqualTo(3);
+
+        attempts.forEach(attempt -> attempt.complete("ABC"));
+        then(hedging.hedgesInFlight()).isEqualTo(0);
+    }
+
+    @Test
+    void testBudget() throws Throwable {
+        final HedgingExecutor hedging = new HedgingExecutor("testBudget",
+                HedgeConfig.builder().delay(0L).maxConcurrentHedges(100)
+                        .budgetConfig(RetryBudgetConfig.builder().ratio(0.0d).minRetriesPerSecond(0).build())
+                        .build());
+        final List<CompletableFuture<String>> attempts = new CopyOnWriteArrayList<>();
+        hedging.doExecuteAsync(attempt(attempts));
+        await().atMost(3L, TimeUnit.SECONDS).until(() -> hedging.hedgeRejectedTimes() == 1L);
+        then(attempts.size()).isEqualTo(1);
+        then(hedging.hedgedTimes()).isEqualTo(0L);
+    }
+
+    @Test
+    void testDelayByPercentile() throws Throwable {
+        final HedgingExecutor hedging = new HedgingExecutor("testDelayByPercentile",
+                HedgeConfig.builder().delay(500L).percentile(95.0d).build());
+        then(hedging.delayMillis()).isEqualTo(500L);
+
+        for (int i = 0; i < HedgingExecutor.MIN_SAMPLES; i++) {
+            hedging.doExecuteAsync(() -> CompletableFuture.completedFuture("ABC"));
+        }
+        // The completed attempts are all faster than 1ms.
+        then(hedging.delayMillis()).isLessThan(500L);
+    }
+
+    @Test
+    void testCancel() throws Throwable {
+        final HedgingExecutor hedging = new HedgingExecutor("testCancel",
+                HedgeConfig.builder().delay(10L).build());
+        final List<CompletableFuture<String>> attempts = new CopyOnWriteArrayList<>();
+        final CompletionStage<String> result = hedging.doExecuteAsync(attempt(attempts));
+        await().atMost(3L, TimeUnit.SECONDS).until(() -> attempts.size() == 2);
+
+        then(result.toCompletableFuture().cancel(false)).isTrue();
+        then(attempts.get(0).isCancelled()).isTrue();
+        then(attempts.get(1).isCancelled()).isTrue();
+    }
+
+    private static Executable<CompletionStage<String>> attempt(List<CompletableFuture<String>> attempts) {
+        return () -> {
+            final CompletableFuture<String> future = new CompletableFuture<>();
+            attempts.add(future);
+            return future;
+        };
+    }
+}
@@ -17,6 +17,7 @@ package io.esastack.servicekeeper.core.retry;
 
 import io.esastack.servicekeeper.core.common.OriginalInvocation;
 import io.esastack.servicekeeper.core.common.ResourceId;
+import io.esastack.servicekeeper.core.config.RetryBudgetConfig;
 import io.esastack.servicekeeper.core.config.RetryConfig;
 import io.esastack.servicekeeper.core.configsource.ExternalConfig;
 import io.esastack.servicekeeper.core.exception.ServiceRetryException;
@@ -27,10 +28,21 @@ import io.esastack.servicekeeper.core.retry.internal.impl.ExponentialBackOffPoli
 import io.esastack.servicekeeper.core.utils.RandomUtils;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.assertj.core.api.BDDAssertions.then;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
@@ -118,6 +130,241 @@ class RetryOperationsImplTest {
         then(metrics1.totalRetriedCount()).isEqualTo(3);
     }
 
+    @Test
+    void testExecuteAsync() throws Throwable {
+        final RetryOperations operations = new RetryOperationsImpl(ResourceId.from("testExecuteAsync"),
+                null,
+                new ExponentialBackOffPolicy(10L, 20L, 2.0d),
+                new ExceptionPredicate(3), RetryConfig.ofDefault(), null);
+
+        final AtomicInteger attempts0 = new AtomicInteger();
+        final Thread caller = Thread.currentThread();
+        final Set<Thread> threads = new CopyOnWriteArraySet<>();
+        final CompletionStage<String> stage0 = operations.executeAsync(buildContext(), () -> {
+            threads.add(Thread.currentThread());
+            final CompletableFuture<String> future = new CompletableFuture<>();
+            future.completeExceptionally(new RuntimeException("attempt-" + attempts0.incrementAndGet()));
+            return future;
+        });
+        final Throwable cause = catchThrowable(() -> stage0.toCompletableFuture().get(3L, TimeUnit.SECONDS));
+        then(cause).isInstanceOf(ExecutionException.class);
+        then(cause.getCause()).isInstanceOf(ServiceRetryException.class);
+        then(cause.getCause().getCause()).hasMessage("attempt-3");
+        then(attempts0.get()).isEqualTo(3);
+        // The backoff is scheduled on the timer rather than blocking the caller.
+        then(threads).hasSize(2).contains(caller);
+
+        final RetryMetrics metrics0 = operations.getMetrics();
+        then(metrics0.retriedTimes()).isEqualTo(1);
+        then(metrics0.totalRetriedCount()).isEqualTo(2);
+
+        // Synchronous exception is retried as well
+        final AtomicInteger attempts1 = new AtomicInteger();
+        final CompletionStage<String> stage1 = operations.executeAsync(buildContext(), () -> {
+            if (attempts1.incrementAndGet() < 2) {
+                throw new IllegalStateException();
+            }
+            return CompletableFuture.completedFuture("ABC");
+        });
+        then(stage1.toCompletableFuture().get(3L, TimeUnit.SECONDS)).isEqualTo("ABC");
+        then(attempts1.get()).isEqualTo(2);
+
+        final RetryMetrics metrics1 = operations.getMetrics();
+        then(metrics1.retriedTimes()).isEqualTo(2);
+        then(metrics1.totalRetriedCount()).isEqualTo(3);
+    }
+
+    @Test
+    void testExecuteAsyncWithoutRetry() throws Throwable {
+        final RetryOperations operations = new RetryOperationsImpl(ResourceId.from("testExecuteAsyncWithoutRetry"),
+                null,
+                new ExponentialBackOffPolicy(0, 0, 0),
+                new ExceptionPredicate(3), RetryConfig.builder().maxAttempts(1).build(), null);
+
+        final AtomicInteger attempts = new AtomicInteger();
+        final CompletableFuture<String> future = new CompletableFuture<>();
+        final CompletionStage<String> stage = operations.executeAsync(buildContext(), () -> {
+            attempts.incrementAndGet();
+            return future;
+        });
+        then(stage).isSameAs(future);
+        future.completeExceptionally(new RuntimeException());
+        then(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testExecuteAsyncCancelled() throws Throwable {
+        final RetryOperations operations = new RetryOperationsImpl(ResourceId.from("testExecuteAsyncCancelled"),
+                null,
+                new ExponentialBackOffPolicy(200L, 200L, 1.0d),
+                new ExceptionPredicate(3), RetryConfig.ofDefault(), null);
+
+        final AtomicInteger attempts = new AtomicInteger();
+        final CompletionStage<String> stage = operations.executeAsync(buildContext(), () -> {
+            attempts.incrementAndGet();
+            final CompletableFuture<String> future = new CompletableFuture<>();
+            future.completeExceptionally(new RuntimeException());
+            return future;
+        });
+        then(attempts.get()).isEqualTo(1);
+        then(stage.toCompletableFuture().cancel(false)).isTrue();
+
+        TimeUnit.MILLISECONDS.sleep(400L);
+        then(attempts.get()).isEqualTo(1);
+
+        // Cancels the in-flight attempt
+        final CompletableFuture<String> inflight = new CompletableFuture<>();
+        final CompletionStage<String> stage1 = operations.executeAsync(buildContext(), () -> inflight);
+        stage1.toCompletableFuture().cancel(false);
+        then(inflight.isCancelled()).isTrue();
+    }
+
+    @Test
+    void testRetryBudget() throws Throwable {
+        final RetryConfig config = RetryConfig.builder().maxAttempts(3)
+                .budgetConfig(RetryBudgetConfig.builder().ratio(0.5d).minRetriesPerSecond(0).build()).build();
+        final RetryOperations operations = new RetryOperationsImpl(ResourceId.from("testRetryBudget"),
+                null, new ExponentialBackOffPolicy(0, 0, 0),
+                new ExceptionPredicate(3), config, null);
+
+        // There is no token before any successful first attempt.
+        final FakeService service = new FakeService();
+        assertThrows(RuntimeException.class, () -> operations.execute(buildContext(), () -> {
+            service.doIncrement0();
+            return null;
+        }));
+        then(service.index0.get()).isEqualTo(1);
+        then(operations.getMetrics().budgetExhaustedTimes()).isEqualTo(1L);
+
+        for (int i = 0; i < 2; i++) {
+            operations.execute(buildContext(), () -> null);
+        }
+
+        // Only one retry is allowed by 2 successful first attempts.
+        service.index0.set(0);
+        final ServiceRetryException ex = assertThrows(ServiceRetryException.class,
+                () -> operations.execute(buildContext(), () -> {
+                    service.doIncrement0();
+                    return null;
+                }));
+        then(ex.getMessage()).contains("retry budget");
+        then(service.index0.get()).isEqualTo(2);
+        then(operations.getMetrics().budgetExhaustedTimes()).isEqualTo(2L);
+
+        // Async retry shares the same budget
+        final AtomicInteger attempts = new AtomicInteger();
+        final CompletionStage<Object> stage = operations.executeAsync(buildContext(), () -> {
+            attempts.incrementAndGet();
+            final CompletableFuture<Object> future = new CompletableFuture<>();
+            future.completeExceptionally(new IllegalStateException());
+            return future;
+        });
+        final Throwable cause = catchThrowable(() -> stage.toCompletableFuture().get(3L, TimeUnit.SECONDS));
+        then(cause.getCause()).isInstanceOf(IllegalStateException.class);
+        then(attempts.get()).isEqualTo(1);
+        then(operations.getMetrics().budgetExhaustedTimes()).isEqualTo(3L);
+    }
+
+    @Test
+    void testDeadline() throws Throwable {
+        final RetryOperations operations = new RetryOperationsImpl(ResourceId.from("testDeadline"),
+                null,
+                new ExponentialBackOffPolicy(100L, 100L, 1.0d),
+                new ExceptionPredicate(10), RetryConfig.builder().maxAttempts(10).deadline(250L).build(), null);
+
+        final AtomicInteger attempts = new AtomicInteger();
+        final RetryContext context = buildContext();
+        final Throwable cause = catchThrowable(() -> operations.execute(context, () -> {
+            attempts.incrementAndGet();
+            throw new RuntimeException();
+        }));
+        // The attempt whose back off would exceed the deadline isn't scheduled.
+        then(cause).isInstanceOf(ServiceRetryException.class).hasMessageContaining("deadline");
+        then(attempts.get()).isEqualTo(3);
+        then(context.getLastDelayMs()).isEqualTo(100L);
+
+        // The first retry is denied, just throw the original exception.
+        final RetryOperations operations1 = new RetryOperationsImpl(ResourceId.from("testDeadline"),
+                null,
+                new ExponentialBackOffPolicy(100L, 100L, 1.0d),
+                new ExceptionPredicate(10), RetryConfig.builder().maxAttempts(10).deadline(50L).build(), null);
+        then(catchThrowable(() -> operations1.execute(buildContext(), () -> {
+            throw new IllegalStateException();
+        }))).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testAsyncAttemptTimeout() throws Throwable {
+        final RetryOperations operations = new RetryOperationsImpl(ResourceId.from("testAsyncAttemptTimeout"),
+                null,
+                new ExponentialBackOffPolicy(0L, 0L, 1.0d),
+                new ExceptionPredicate(3), RetryConfig.builder().attemptTimeout(50L).build(), null);
+
+        final AtomicInteger attempts = new AtomicInteger();
+        final CompletableFuture<String> first = new CompletableFuture<>();
+        final RetryContext context = buildContext();
+        final CompletionStage<String> stage = operations.executeAsync(context, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                return first;
+            }
+            return CompletableFuture.completedFuture("ABC");
+        });
+        then(stage.toCompletableFuture().get(3L, TimeUnit.SECONDS)).isEqualTo("ABC");
+        then(attempts.get()).isEqualTo(2);
+        // The slow attempt is cancelled.
+        then(first.isCancelled()).isTrue();
+        then(context.getRetriedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testAsyncDeadline() throws Throwable {
+        final RetryOperations operations = new RetryOperationsImpl(ResourceId.from("testAsyncDeadline"),
+                null,
+                new ExponentialBackOffPolicy(10L, 10L, 1.0d),
+                new ExceptionPredicate(10),
+                RetryConfig.builder().maxAttempts(10).attemptTimeout(100L).deadline(150L).build(), null);
+
+        final AtomicInteger attempts = new AtomicInteger();
+        final RetryContext context = buildContext();
+        final CompletionStage<String> stage = operations.executeAsync(context, () -> {
+            attempts.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        final Throwable cause = catchThrowable(() -> stage.toCompletableFuture().get(3L, TimeUnit.SECONDS));
+        then(cause.getCause()).isInstanceOf(ServiceRetryException.class).hasMessageContaining("deadline");
+        then(cause.getCause().getCause()).isInstanceOf(TimeoutException.class);
+        // The second attempt is bounded by the remaining time of the deadline.
+        then(attempts.get()).isEqualTo(2);
+        then(context.getElapsedMs()).isLessThan(1000L);
+    }
+
+    @Test
+    void testEventsOfCustomProcessor() throws Throwable {
+        final List<RetryEvent.EventType> events = new CopyOnWriteArrayList<>();
+        final List<RetryEventProcessor> processors = new ArrayList<>();
+        processors.add((name, event) -> events.add(event.getType()));
+        final RetryOperations operations = new RetryOperationsImpl(ResourceId.from("testEventsOfCustomProcessor"),
+                processors, new ExponentialBackOffPolicy(0L, 0L, 1.0d),
+                new ExceptionPredicate(3), RetryConfig.ofDefault(), null);
+        final RetryOperations operations0 = new RetryOperationsImpl(ResourceId.from("testEventsOfCustomProcessor"),
+                null, new ExponentialBackOffPolicy(0L, 0L, 1.0d),
+                new ExceptionPredicate(3), RetryConfig.ofDefault(), null);
+
+        for (RetryOperations ops : new RetryOperations[]{operations, operations0}) {
+            final AtomicInteger attempts = new AtomicInteger();
+            then(ops.execute(buildContext(), () -> {
+                if (attempts.incrementAndGet() < 3) {
+                    throw new RuntimeException();
+                }
+                return "ABC";
+            })).isEqualTo("ABC");
+            // The statistics are same no matter whether the events are dispatched.
+            then(ops.getMetrics().retriedTimes()).isEqualTo(1L);
+            then(ops.getMetrics().totalRetriedCount()).isEqualTo(2L);
+        }
+        then(events).containsExactly(RetryEvent.EventType.START, RetryEvent.EventType.COMPLETE);
+    }
+
     @Test
     void testUpdate() {
         final RetryOperationsImpl operations = new RetryOperationsImpl(ResourceId.from("testUpdate"),
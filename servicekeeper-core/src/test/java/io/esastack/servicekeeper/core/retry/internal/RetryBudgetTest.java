@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.retry.internal;
+
+import io.esastack.servicekeeper.core.config.RetryBudgetConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RetryBudgetTest {
+
+    @Test
+    void testConstruct() {
+        assertThrows(NullPointerException.class, () -> new RetryBudget(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RetryBudget(RetryBudgetConfig.builder().ratio(-0.1d).build()));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RetryBudget(RetryBudgetConfig.builder().minRetriesPerSecond(-1).build()));
+    }
+
+    @Test
+    void testWithdrawByRatio() {
+        final AtomicLong now = new AtomicLong(100L);
+        final RetryBudget budget = new MockRetryBudget(RetryBudgetConfig.builder()
+                .ratio(0.1d).minRetriesPerSecond(0).build(), now);
+        then(budget.tryWithdraw()).isFalse();
+
+        for (int i = 0; i < 100; i++) {
+            budget.deposit();
+        }
+        for (int i = 0; i < 10; i++) {
+            then(budget.tryWithdraw()).isTrue();
+        }
+        then(budget.tryWithdraw()).isFalse();
+
+        // The tokens earned in the window are still available.
+        now.addAndGet(RetryBudget.WINDOW_SECONDS - 1);
+        for (int i = 0; i < 10; i++) {
+            budget.deposit();
+        }
+        then(budget.tryWithdraw()).isTrue();
+        then(budget.tryWithdraw()).isFalse();
+
+        // The tokens earned out of the window are expired.
+        now.addAndGet(1L);
+        then(budget.tryWithdraw()).isFalse();
+        for (int i = 0; i < 20; i++) {
+            budget.deposit();
+        }
+        then(budget.tryWithdraw()).isTrue();
+        then(budget.tryWithdraw()).isTrue();
+        then(budget.tryWithdraw()).isFalse();
+    }
+
+    @Test
+    void testMinRetriesPerSecond() {
+        final AtomicLong now = new AtomicLong(0L);
+        final RetryBudget budget = new MockRetryBudget(RetryBudgetConfig.builder()
+                .ratio(0.0d).minRetriesPerSecond(2).build(), now);
+        for (int i = 0; i < 2 * RetryBudget.WINDOW_SECONDS; i++) {
+            then(budget.tryWithdraw()).isTrue();
+        }
+        then(budget.tryWithdraw()).isFalse();
+
+        now.addAndGet(1L);
+        then(budget.tryWithdraw()).isFalse();
+
+        now.addAndGet(RetryBudget.WINDOW_SECONDS);
+        then(budget.tryWithdraw()).isTrue();
+    }
+
+    private static final class MockRetryBudget extends RetryBudget {
+
+        private final AtomicLong now;
+
+        private MockRetryBudget(RetryBudgetConfig config, AtomicLong now) {
+            super(config);
+            this.now = now;
+        }
+
+        @Override
+        long currentSecond() {
+            return now.get();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.retry.internal.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class ExceptionClassifierTest {
+
+    @Test
+    void testShared() {
+        final Map<Class<? extends Throwable>, Boolean> rules0 = new HashMap<>();
+        rules0.put(Exception.class, true);
+        rules0.put(IllegalStateException.class, false);
+        final Map<Class<? extends Throwable>, Boolean> rules1 = new HashMap<>(rules0);
+
+        then(ExceptionClassifier.of(rules0)).isSameAs(ExceptionClassifier.of(rules1));
+        then(ExceptionClassifier.of(Collections.singletonMap(Exception.class, true)))
+                .isNotSameAs(ExceptionClassifier.of(rules0));
+        then(ExceptionClassifier.of(null)).isSameAs(ExceptionClassifier.of(Collections.emptyMap()));
+    }
+
+    @Test
+    void testBoundedShared() {
+        final Class<?>[] classes = {Exception.class, RuntimeException.class, IOException.class,
+                IllegalStateException.class, IllegalArgumentException.class, NumberFormatException.class,
+                UnsupportedOperationException.class, ArithmeticException.class};
+        // Each class is absent, retryable or not retryable, so that all the rules are different.
+        for (int i = 0; i < ExceptionClassifier.MAX_SHARED_CLASSIFIERS * 2; i++) {
+            final Map<Class<? extends Throwable>, Boolean> rules = new HashMap<>();
+            for (int j = 0, n = i; j < classes.length; j++, n /= 3) {
+                if (n % 3 != 0) {
+                    rules.put(classes[j].asSubclass(Throwable.class), n % 3 == 1);
+                }
+            }
+            final ExceptionClassifier classifier = ExceptionClassifier.of(rules);
+            then(ExceptionClassifier.of(new HashMap<>(rules))).isSameAs(classifier);
+            then(ExceptionClassifier.sharedClassifiers())
+                    .isLessThanOrEqualTo(ExceptionClassifier.MAX_SHARED_CLASSIFIERS);
+        }
+    }
+
+    @Test
+    void testClassify() {
+        final Map<Class<? extends Throwable>, Boolean> rules = new HashMap<>();
+        rules.put(RuntimeException.class, true);
+        rules.put(IllegalArgumentException.class, false);
+        final ExceptionClassifier classifier = ExceptionClassifier.of(rules);
+
+        // Repeat to hit the cache
+        for (int i = 0; i < 2; i++) {
+            then(classifier.classify(RuntimeException.class)).isTrue();
+            then(classifier.classify(IllegalStateException.class)).isTrue();
+            then(classifier.classify(IllegalArgumentException.class)).isFalse();
+            then(classifier.classify(NumberFormatException.class)).isFalse();
+            then(classifier.classify(IOException.class)).isNull();
+            then(classifier.classify(Error.class)).isNull();
+        }
+    }
+
+    @Test
+    void testBoundedCache() {
+        final ExceptionClassifier classifier = ExceptionClassifier.of(Collections.singletonMap(
+                Sup.class, true));
+        final Class<?>[] classes = {Sub0.class, Sub1.class, Sub2.class, Sub3.class, IOException.class};
+
+        // More classes than slots may collide, but the results are always right.
+        for (int i = 0; i < ExceptionClassifier.CACHE_SIZE * 2; i++) {
+            final Class<?> cls = classes[i % classes.length];
+            then(classifier.classify(cls)).isEqualTo(cls == IOException.class ? null : Boolean.TRUE);
+        }
+    }
+
+    private static class Sup extends RuntimeException {
+    }
+
+    private static class Sub0 extends Sup {
+    }
+
+    private static class Sub1 extends Sup {
+    }
+
+    private static class Sub2 extends Sub1 {
+    }
+
+    private static class Sub3 extends Sub2 {
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.core.retry.internal.impl;
+
+import io.esastack.servicekeeper.core.config.BackoffConfig;
+import io.esastack.servicekeeper.core.retry.RetryContext;
+import io.esastack.servicekeeper.core.retry.internal.BackOffPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JitterBackOffPolicyTest {
+
+    @Test
+    void testFullJitter() {
+        final FullJitterBackOffPolicy backOff = new FullJitterBackOffPolicy(100L, 1_000L, 2.0d);
+        final RetryContext context = mock(RetryContext.class);
+        when(context.getRetriedCount()).thenReturn(2);
+
+        final Set<Long> delays = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            final long delay = backOff.computeDelay(context);
+            then(delay).isBetween(0L, 200L);
+            delays.add(delay);
+        }
+        then(delays.size()).isGreaterThan(1);
+    }
+
+    @Test
+    void testEqualJitter() {
+        final EqualJitterBackOffPolicy backOff = new EqualJitterBackOffPolicy(100L, 1_000L, 2.0d);
+        final RetryContext context = mock(RetryContext.class);
+        when(context.getRetriedCount()).thenReturn(2);
+
+        final Set<Long> delays = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            final long delay = backOff.computeDelay(context);
+            then(delay).isBetween(100L, 200L);
+            delays.add(delay);
+        }
+        then(delays.size()).isGreaterThan(1);
+    }
+
+    @Test
+    void testDecorrelatedJitter() {
+        final DecorrelatedJitterBackOffPolicy backOff = new DecorrelatedJitterBackOffPolicy(100L, 1_000L, 2.0d);
+        final RetryContext context = mock(RetryContext.class);
+
+        when(context.getLastDelayMs()).thenReturn(0L);
+        for (int i = 0; i < 100; i++) {
+            then(backOff.computeDelay(context)).isBetween(100L, 300L);
+        }
+
+        when(context.getLastDelayMs()).thenReturn(250L);
+        for (int i = 0; i < 100; i++) {
+            then(backOff.computeDelay(context)).isBetween(100L, 750L);
+        }
+
+        when(context.getLastDelayMs()).thenReturn(900L);
+        for (int i = 0; i < 100; i++) {
+            then(backOff.computeDelay(context)).isBetween(100L, 1_000L);
+        }
+    }
+
+    @Test
+    void testNoDelay() {
+        final RetryContext context = mock(RetryContext.class);
+        when(context.getRetriedCount()).thenReturn(1);
+
+        then(new FullJitterBackOffPolicy(0L, 0L, 1.0d).computeDelay(context)).isEqualTo(0L);
+        then(new EqualJitterBackOffPolicy(0L, 0L, 1.0d).computeDelay(context)).isEqualTo(0L);
+        then(new DecorrelatedJitterBackOffPolicy(0L, 0L, 1.0d).computeDelay(context)).isEqualTo(0L);
+    }
+
+    @Test
+    void testNewInstance() {
+        final BackoffConfig.Builder builder = BackoffConfig.builder().delay(100L).maxDelay(1_000L);
+        then(BackOffPolicy.newInstance(builder.build())).isExactlyInstanceOf(ExponentialBackOffPolicy.class);
+        then(BackOffPolicy.newInstance(builder.jitter(BackoffConfig.Jitter.FULL).build()))
+                .isInstanceOf(FullJitterBackOffPolicy.class);
+        then(BackOffPolicy.newInstance(builder.jitter(BackoffConfig.Jitter.EQUAL).build()))
+                .isInstanceOf(EqualJitterBackOffPolicy.class);
+        then(BackOffPolicy.newInstance(builder.jitter(BackoffConfig.Jitter.DECORRELATED).build()))
+                .isInstanceOf(DecorrelatedJitterBackOffPolicy.class);
+    }
+}
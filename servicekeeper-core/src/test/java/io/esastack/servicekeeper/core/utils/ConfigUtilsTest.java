@@ -18,6 +18,7 @@ package io.esastack.servicekeeper.core.utils;
 import io.esastack.servicekeeper.core.config.CircuitBreakerConfig;
 import io.esastack.servicekeeper.core.config.ConcurrentLimitConfig;
 import io.esastack.servicekeeper.core.config.FallbackConfig;
+import io.esastack.servicekeeper.core.config.HedgeConfig;
 import io.esastack.servicekeeper.core.config.RateLimitConfig;
 import io.esastack.servicekeeper.core.config.RetryConfig;
 import io.esastack.servicekeeper.core.config.ServiceKeeperConfig;
@@ -323,4 +324,22 @@ class ConfigUtilsTest {
         BDDAssertions.then(ConfigUtils.combine((RetryConfig) null, null)).isNull();
         then(ConfigUtils.combine(RetryConfig.ofDefault(), null)).isNotNull();
     }
+
+    @Test
+    void testCombineHedgeConfig() {
+        then(ConfigUtils.combine((HedgeConfig) null, null)).isNull();
+        then(ConfigUtils.combine(HedgeConfig.ofDefault(), null)).isEqualTo(HedgeConfig.ofDefault());
+
+        final ExternalConfig config = new ExternalConfig();
+        config.setHedgeDelay(20L);
+        config.setHedgePercentile(95.0d);
+        config.setMaxConcurrentHedges(5);
+        final HedgeConfig combined = ConfigUtils.combine(HedgeConfig.ofDefault(), config);
+        then(combined.getDelay()).isEqualTo(20L);
+        then(combined.getPercentile()).isEqualTo(95.0d);
+        then(combined.getMaxConcurrentHedges()).isEqualTo(5);
+
+        final ServiceKeeperConfig bootstrapped = ConfigUtils.combine((ServiceKeeperConfig) null, config);
+        then(bootstrapped.getHedgeConfig()).isEqualTo(combined);
+    }
 }
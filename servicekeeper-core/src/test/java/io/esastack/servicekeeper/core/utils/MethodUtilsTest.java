@@ -16,6 +16,7 @@
 package io.esastack.servicekeeper.core.utils;
 
 import io.esastack.servicekeeper.core.common.GroupResourceId;
+import io.esastack.servicekeeper.core.common.Priority;
 import io.esastack.servicekeeper.core.config.ServiceKeeperConfig;
 import io.esastack.servicekeeper.core.entry.CompositeServiceKeeperConfig;
 import io.esastack.servicekeeper.core.moats.circuitbreaker.predicate.PredicateByExceptionAndSpendTime;
@@ -418,4 +419,17 @@ class MethodUtilsTest {
         then(arg1Config.getValueToConfig().get("LiMing").getConcurrentLimitConfig()).isNull();
         then(arg1Config.getValueToConfig().get("LiMing").getFallbackConfig()).isNull();
     }
+
+    @Test
+    void testGetPriority() throws NoSuchMethodException {
+        then(MethodUtils.getPriority(mockClass.getDeclaredMethod("methodWithoutAnnotation"), new Object[0]))
+                .isNull();
+
+        final Method method = mockClass.getDeclaredMethod("methodWithPriority", String.class);
+        then(MethodUtils.getPriority(method, new Object[]{"critical"})).isEqualTo(Priority.LOW);
+
+        final Method method1 = mockClass.getDeclaredMethod("methodWithPriorityExtractor", String.class);
+        then(MethodUtils.getPriority(method1, new Object[]{"critical"})).isEqualTo(Priority.CRITICAL);
+        then(MethodUtils.getPriority(method1, new Object[]{"unknown"})).isEqualTo(Priority.LOW);
+    }
 }
@@ -18,13 +18,19 @@ package io.esastack.servicekeeper.ext.listenablefuture;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
 import esa.commons.Checks;
-import io.esastack.servicekeeper.core.asynchandle.AsyncResultHandler;
 import io.esastack.servicekeeper.core.asynchandle.RequestHandle;
+import io.esastack.servicekeeper.core.asynchandle.StageAdaptableHandler;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import static com.google.common.util.concurrent.Futures.getDone;
 import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 
-public class ListenableFutureHandler<M> implements AsyncResultHandler<ListenableFuture<M>> {
+public class ListenableFutureHandler<M> implements StageAdaptableHandler<ListenableFuture<M>> {
 
     @Override
     public boolean supports(Class<?> returnType) {
@@ -35,6 +41,12 @@ public class ListenableFutureHandler<M> implements AsyncResultHandler<Listenable
     @Override
     public ListenableFuture<M> handle0(ListenableFuture<M> returnValue, RequestHandle requestHandle) {
         SettableFuture<M> future = SettableFuture.create();
+        // Propagate the cancellation to the original future, which may be an asynchronous retry.
+        future.addListener(() -> {
+            if (future.isCancelled()) {
+                returnValue.cancel(false);
+            }
+        }, directExecutor());
         returnValue.addListener(
                 () -> {
                     M v = null;
@@ -45,7 +57,11 @@ public class ListenableFutureHandler<M> implements AsyncResultHandler<Listenable
                         t = th;
                     }
 
-                    if (t != null) {
+                    if (t != null && future.isCancelled()) {
+                        // The outcome is unknown since the call is cancelled by the caller, don't count it as a
+                        // failure.
+                        requestHandle.endWithCancellation();
+                    } else if (t != null) {
                         try {
                             processFallback(future, (ListenableFuture<M>) (requestHandle.fallback(t)));
                         } catch (Throwable th) {
@@ -60,6 +76,49 @@ public class ListenableFutureHandler<M> implements AsyncResultHandler<Listenable
         return future;
     }
 
+    @Override
+    public CompletionStage<?> toCompletionStage(ListenableFuture<M> returnValue) {
+        final CompletableFuture<M> stage = new CompletableFuture<>();
+        if (returnValue == null) {
+            stage.complete(null);
+            return stage;
+        }
+        stage.whenComplete((r, t) -> {
+            if (stage.isCancelled()) {
+                returnValue.cancel(false);
+            }
+        });
+        returnValue.addListener(() -> {
+            try {
+                stage.complete(getDone(returnValue));
+            } catch (ExecutionException ex) {
+                stage.completeExceptionally(ex.getCause() == null ? ex : ex.getCause());
+            } catch (Throwable th) {
+                stage.completeExceptionally(th);
+            }
+        }, directExecutor());
+        return stage;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ListenableFuture<M> fromCompletionStage(CompletionStage<?> stage) {
+        final SettableFuture<M> future = SettableFuture.create();
+        future.addListener(() -> {
+            if (future.isCancelled() && stage instanceof Future) {
+                ((Future<?>) stage).cancel(false);
+            }
+        }, directExecutor());
+        stage.whenComplete((r, t) -> {
+            if (t == null) {
+                future.set((M) r);
+            } else {
+                future.setException(t instanceof CompletionException && t.getCause() != null ? t.getCause() : t);
+            }
+        });
+        return future;
+    }
+
     @Override
     public String toString() {
         return "ListenableFutureHandler";
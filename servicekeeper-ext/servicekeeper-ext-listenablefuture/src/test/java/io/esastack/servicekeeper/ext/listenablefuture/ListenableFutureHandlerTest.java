@@ -19,12 +19,14 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
 import io.esastack.servicekeeper.core.asynchandle.CompletableStageHandler;
 import io.esastack.servicekeeper.core.common.ResourceId;
 import io.esastack.servicekeeper.core.config.CircuitBreakerConfig;
 import io.esastack.servicekeeper.core.config.ConcurrentLimitConfig;
 import io.esastack.servicekeeper.core.config.MoatConfig;
 import io.esastack.servicekeeper.core.config.RateLimitConfig;
+import io.esastack.servicekeeper.core.config.RetryConfig;
 import io.esastack.servicekeeper.core.exception.ServiceKeeperNotPermittedException;
 import io.esastack.servicekeeper.core.executionchain.AsyncContext;
 import io.esastack.servicekeeper.core.executionchain.AsyncExecutionChain;
@@ -38,9 +40,14 @@ import io.esastack.servicekeeper.core.moats.circuitbreaker.predicate.PredicateBy
 import io.esastack.servicekeeper.core.moats.circuitbreaker.predicate.PredicateBySpendTime;
 import io.esastack.servicekeeper.core.moats.concurrentlimit.ConcurrentLimitMoat;
 import io.esastack.servicekeeper.core.moats.ratelimit.RateLimitMoat;
+import io.esastack.servicekeeper.core.retry.RetryOperationsImpl;
+import io.esastack.servicekeeper.core.retry.RetryableExecutor;
+import io.esastack.servicekeeper.core.retry.internal.impl.ExceptionPredicate;
+import io.esastack.servicekeeper.core.retry.internal.impl.ExponentialBackOffPolicy;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -270,6 +277,63 @@ class ListenableFutureHandlerTest {
                 0, false);
     }
 
+    @Test
+    void testRetry() throws Throwable {
+        final String name = "testRetry";
+        final List<Moat<?>> moats = Collections.singletonList(new ConcurrentLimitMoat(
+                new MoatConfig(ResourceId.from(name)),
+                ConcurrentLimitConfig.builder().threshold(1).build(), null,
+                Collections.emptyList()));
+        final RetryableExecutor executor = new RetryableExecutor(new RetryOperationsImpl(ResourceId.from(name),
+                null, new ExponentialBackOffPolicy(10L, 10L, 1.0d), new ExceptionPredicate(3),
+                RetryConfig.ofDefault(), null));
+        final AsyncExecutionChain chain = new AsyncExecutionChainImpl(moats, null, executor);
+
+        final AtomicInteger attempts = new AtomicInteger();
+        final Executable<ListenableFuture<String>> executable = () -> executorService.submit(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException();
+            }
+            return "ABC";
+        });
+        final ListenableFuture<String> result = chain.asyncExecute(new AsyncContext(name), null,
+                executable, new ListenableFutureHandler<>());
+        then(result.get(3L, TimeUnit.SECONDS)).isEqualTo("ABC");
+        then(attempts.get()).isEqualTo(3);
+
+        // Cancelling the result cancels the in-flight attempt and releases the permit
+        final SettableFuture<String> inflight = SettableFuture.create();
+        final ListenableFuture<String> result1 = chain.asyncExecute(new AsyncContext(name), null,
+                () -> inflight, new ListenableFutureHandler<>());
+        then(result1.cancel(false)).isTrue();
+        then(inflight.isCancelled()).isTrue();
+        then(chain.asyncExecute(new AsyncContext(name), null, () -> Futures.immediateFuture("DEF"),
+                new ListenableFutureHandler<>()).get()).isEqualTo("DEF");
+    }
+
+    @Test
+    void testCancellationIsNotCountedAsFailure() throws Throwable {
+        final String name = "testCancellationIsNotCountedAsFailure";
+        final ConcurrentLimitMoat concurrentLimit = new ConcurrentLimitMoat(new MoatConfig(ResourceId.from(name)),
+                ConcurrentLimitConfig.builder().threshold(1).build(), null, Collections.emptyList());
+        final CircuitBreakerMoat circuitBreaker = new CircuitBreakerMoat(new MoatConfig(ResourceId.from(name)),
+                CircuitBreakerConfig.builder().ringBufferSizeInClosedState(1).build(),
+                CircuitBreakerConfig.ofDefault(), new PredicateByException());
+        final AsyncExecutionChain chain = new AsyncExecutionChainImpl(Arrays.asList(concurrentLimit,
+                circuitBreaker), null);
+
+        final SettableFuture<String> inflight = SettableFuture.create();
+        final ListenableFuture<String> result = chain.asyncExecute(new AsyncContext(name), null,
+                () -> inflight, new ListenableFutureHandler<>());
+        then(result.cancel(false)).isTrue();
+        then(inflight.isCancelled()).isTrue();
+
+        // The permit is released, but the cancelled call is counted as neither a success nor a failure.
+        then(concurrentLimit.getConcurrentLimiter().currentCallCount()).isEqualTo(0);
+        then(circuitBreaker.getCircuitBreaker().metrics().numberOfFailedCalls()).isEqualTo(0);
+        then(circuitBreaker.getCircuitBreaker().metrics().numberOfSuccessfulCalls()).isEqualTo(0);
+    }
+
     private void testAsyncExecute(Executable<ListenableFuture<String>> executable,
                                   Supplier<List<Moat<?>>> moatsSupplier,
                                   boolean useFallback,
@@ -16,14 +16,18 @@
 package io.esastack.servicekeeper.metrics.actuator.collector;
 
 import io.esastack.servicekeeper.core.common.ResourceId;
+import io.esastack.servicekeeper.core.fallback.FallbackHandler;
+import io.esastack.servicekeeper.core.fallback.FallbackToLastKnownGood;
 import io.esastack.servicekeeper.core.internal.InternalMoatCluster;
 import io.esastack.servicekeeper.core.metrics.Metrics;
+import io.esastack.servicekeeper.core.moats.FallbackMoatCluster;
 import io.esastack.servicekeeper.core.moats.Moat;
 import io.esastack.servicekeeper.core.moats.MoatCluster;
 import io.esastack.servicekeeper.core.moats.RetryableMoatCluster;
 import io.esastack.servicekeeper.core.moats.circuitbreaker.CircuitBreakerMoat;
 import io.esastack.servicekeeper.core.moats.concurrentlimit.ConcurrentLimitMoat;
 import io.esastack.servicekeeper.core.moats.ratelimit.RateLimitMoat;
+import io.esastack.servicekeeper.core.moats.singleflight.SingleFlightMoat;
 import io.esastack.servicekeeper.core.retry.RetryableExecutor;
 
 import java.util.LinkedHashMap;
@@ -104,6 +108,21 @@ public class MetricsCollector {
                     }
                 }
                 return null;
+            case SINGLE_FLIGHT:
+                for (Moat<?> moat : moats) {
+                    if (moat instanceof SingleFlightMoat) {
+                        return ((SingleFlightMoat) moat).metrics();
+                    }
+                }
+                return null;
+            case LAST_KNOWN_GOOD:
+                if (cluster instanceof FallbackMoatCluster) {
+                    final FallbackHandler<?> handler = ((FallbackMoatCluster) cluster).fallbackHandler();
+                    if (handler instanceof FallbackToLastKnownGood) {
+                        return ((FallbackToLastKnownGood) handler).metrics();
+                    }
+                }
+                return null;
             default:
                 return null;
         }
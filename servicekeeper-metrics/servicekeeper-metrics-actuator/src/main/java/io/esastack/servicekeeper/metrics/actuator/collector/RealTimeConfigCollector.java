@@ -24,9 +24,14 @@ import io.esastack.servicekeeper.core.internal.InternalMoatCluster;
 import io.esastack.servicekeeper.core.moats.Moat;
 import io.esastack.servicekeeper.core.moats.MoatCluster;
 import io.esastack.servicekeeper.core.moats.RetryableMoatCluster;
+import io.esastack.servicekeeper.core.moats.cache.CacheMoat;
 import io.esastack.servicekeeper.core.moats.circuitbreaker.CircuitBreakerMoat;
+import io.esastack.servicekeeper.core.moats.codel.CoDelMoat;
 import io.esastack.servicekeeper.core.moats.concurrentlimit.ConcurrentLimitMoat;
+import io.esastack.servicekeeper.core.moats.isolation.IsolationMoat;
 import io.esastack.servicekeeper.core.moats.ratelimit.RateLimitMoat;
+import io.esastack.servicekeeper.core.moats.singleflight.SingleFlightMoat;
+import io.esastack.servicekeeper.core.moats.timeout.TimeoutMoat;
 import io.esastack.servicekeeper.core.retry.RetryableExecutor;
 
 import java.util.LinkedHashMap;
@@ -104,6 +109,16 @@ public class RealTimeConfigCollector {
                         .build());
             } else if (moat instanceof CircuitBreakerMoat) {
                 builder.circuitBreakerConfig(((CircuitBreakerMoat) moat).getCircuitBreaker().config());
+            } else if (moat instanceof IsolationMoat) {
+                builder.isolationConfig(((IsolationMoat) moat).config());
+            } else if (moat instanceof TimeoutMoat) {
+                builder.timeoutConfig(((TimeoutMoat) moat).config());
+            } else if (moat instanceof CacheMoat) {
+                builder.cacheConfig(((CacheMoat) moat).config());
+            } else if (moat instanceof SingleFlightMoat) {
+                builder.singleFlightConfig(((SingleFlightMoat) moat).config());
+            } else if (moat instanceof CoDelMoat) {
+                builder.coDelConfig(((CoDelMoat) moat).config());
             }
         }
 
@@ -30,12 +30,16 @@ class CircuitBreakerConfigPojo {
     private final String waitDurationInOpenState;
     private final Class<? extends PredicateStrategy> predicateStrategy;
     private final String state;
+    private final float latencyPercentile;
+    private final long latencyThresholdMs;
+    private final String windowType;
 
     private CircuitBreakerConfigPojo(float failureRateThreshold, int ringBufferSizeInHalfOpenState,
                                      int ringBufferSizeInClosedState, long maxSpendTimeMs,
                                      Class<? extends Throwable>[] ignoreExceptions, String waitDurationInOpenState,
                                      Class<? extends PredicateStrategy> predicateStrategy,
-                                     CircuitBreaker.State state) {
+                                     CircuitBreaker.State state, float latencyPercentile,
+                                     long latencyThresholdMs, CircuitBreakerConfig.WindowType windowType) {
         this.failureRateThreshold = failureRateThreshold;
         this.ringBufferSizeInHalfOpenState = ringBufferSizeInHalfOpenState;
         this.ringBufferSizeInClosedState = ringBufferSizeInClosedState;
@@ -44,6 +48,9 @@ class CircuitBreakerConfigPojo {
         this.waitDurationInOpenState = waitDurationInOpenState;
         this.predicateStrategy = predicateStrategy;
         this.state = state.name();
+        this.latencyPercentile = latencyPercentile;
+        this.latencyThresholdMs = latencyThresholdMs;
+        this.windowType = windowType.name();
     }
 
     static CircuitBreakerConfigPojo from(CircuitBreakerConfig config) {
@@ -52,7 +59,8 @@ class CircuitBreakerConfigPojo {
                 config.getMaxSpendTimeMs(), config.getIgnoreExceptions(),
                 DurationUtils.toString(config.getWaitDurationInOpenState()),
                 config.getPredicateStrategy(),
-                config.getState());
+                config.getState(), config.getLatencyPercentile(), config.getLatencyThresholdMs(),
+                config.getWindowType());
     }
 
     public float getFailureRateThreshold() {
@@ -86,4 +94,16 @@ class CircuitBreakerConfigPojo {
     public String getState() {
         return state;
     }
+
+    public float getLatencyPercentile() {
+        return latencyPercentile;
+    }
+
+    public long getLatencyThresholdMs() {
+        return latencyThresholdMs;
+    }
+
+    public String getWindowType() {
+        return windowType;
+    }
 }
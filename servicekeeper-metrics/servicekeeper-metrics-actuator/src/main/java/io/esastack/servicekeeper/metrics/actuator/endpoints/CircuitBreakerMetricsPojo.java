@@ -27,11 +27,17 @@ class CircuitBreakerMetricsPojo {
     private final int numberOfFailedCalls;
     private final long numberOfNotPermittedCalls;
     private final String state;
+    private final long latencyP50;
+    private final long latencyP90;
+    private final long latencyP99;
+    private final long latencyP999;
+    private final long numberOfDroppedEvents;
 
     private CircuitBreakerMetricsPojo(float failureThreshold, int maxNumberOfBufferedCalls,
                                       int numberOfBufferedCalls, int numberOfSuccessfulCalls,
                                       int numberOfFailedCalls, long numberOfNotPermittedCalls,
-                                      CircuitBreaker.State state) {
+                                      CircuitBreaker.State state, long latencyP50, long latencyP90,
+                                      long latencyP99, long latencyP999, long numberOfDroppedEvents) {
         this.failureThreshold = failureThreshold;
         this.maxNumberOfBufferedCalls = maxNumberOfBufferedCalls;
         this.numberOfBufferedCalls = numberOfBufferedCalls;
@@ -39,13 +45,20 @@ class CircuitBreakerMetricsPojo {
         this.numberOfFailedCalls = numberOfFailedCalls;
         this.numberOfNotPermittedCalls = numberOfNotPermittedCalls;
         this.state = state.name();
+        this.latencyP50 = latencyP50;
+        this.latencyP90 = latencyP90;
+        this.latencyP99 = latencyP99;
+        this.latencyP999 = latencyP999;
+        this.numberOfDroppedEvents = numberOfDroppedEvents;
     }
 
     static CircuitBreakerMetricsPojo from(CircuitBreakerMetrics metrics) {
         return new CircuitBreakerMetricsPojo(metrics.failureRateThreshold(), metrics.maxNumberOfBufferedCalls(),
                 metrics.numberOfBufferedCalls(), metrics.numberOfSuccessfulCalls(),
                 metrics.numberOfFailedCalls(), metrics.numberOfNotPermittedCalls(),
-                metrics.state());
+                metrics.state(), metrics.latencyPercentile(50.0d), metrics.latencyPercentile(90.0d),
+                metrics.latencyPercentile(99.0d), metrics.latencyPercentile(99.9d),
+                metrics.numberOfDroppedEvents());
 
     }
 
@@ -76,4 +89,24 @@ class CircuitBreakerMetricsPojo {
     public String getState() {
         return state;
     }
+
+    public long getLatencyP50() {
+        return latencyP50;
+    }
+
+    public long getLatencyP90() {
+        return latencyP90;
+    }
+
+    public long getLatencyP99() {
+        return latencyP99;
+    }
+
+    public long getLatencyP999() {
+        return latencyP999;
+    }
+
+    public long getNumberOfDroppedEvents() {
+        return numberOfDroppedEvents;
+    }
 }
@@ -17,8 +17,10 @@ package io.esastack.servicekeeper.metrics.actuator.endpoints;
 
 import io.esastack.servicekeeper.core.metrics.CircuitBreakerMetrics;
 import io.esastack.servicekeeper.core.metrics.ConcurrentLimitMetrics;
+import io.esastack.servicekeeper.core.metrics.LastKnownGoodMetrics;
 import io.esastack.servicekeeper.core.metrics.RateLimitMetrics;
 import io.esastack.servicekeeper.core.metrics.RetryMetrics;
+import io.esastack.servicekeeper.core.metrics.SingleFlightMetrics;
 
 class CompositeMetricsPojo {
 
@@ -26,26 +28,36 @@ class CompositeMetricsPojo {
     private final RateLimitMetricsPojo rateLimitMetrics;
     private final CircuitBreakerMetricsPojo circuitBreakerMetrics;
     private final RetryMetricsPojo retryMetrics;
+    private final SingleFlightMetricsPojo singleFlightMetrics;
+    private final LastKnownGoodMetricsPojo lastKnownGoodMetrics;
 
     private CompositeMetricsPojo(ConcurrentLimitMetricsPojo concurrentLimitMetrics,
                                  RateLimitMetricsPojo rateLimitMetrics,
                                  CircuitBreakerMetricsPojo circuitBreakerMetrics,
-                                 RetryMetricsPojo retryMetrics) {
+                                 RetryMetricsPojo retryMetrics,
+                                 SingleFlightMetricsPojo singleFlightMetrics,
+                                 LastKnownGoodMetricsPojo lastKnownGoodMetrics) {
         this.concurrentLimitMetrics = concurrentLimitMetrics;
         this.rateLimitMetrics = rateLimitMetrics;
         this.circuitBreakerMetrics = circuitBreakerMetrics;
         this.retryMetrics = retryMetrics;
+        this.singleFlightMetrics = singleFlightMetrics;
+        this.lastKnownGoodMetrics = lastKnownGoodMetrics;
     }
 
     static CompositeMetricsPojo from(ConcurrentLimitMetrics concurrentLimitMetrics,
                                      RateLimitMetrics rateLimitMetrics,
                                      CircuitBreakerMetrics circuitBreakerMetrics,
-                                     RetryMetrics retryMetrics) {
+                                     RetryMetrics retryMetrics,
+                                     SingleFlightMetrics singleFlightMetrics,
+                                     LastKnownGoodMetrics lastKnownGoodMetrics) {
         return new CompositeMetricsPojo(concurrentLimitMetrics == null
                 ? null : ConcurrentLimitMetricsPojo.from(concurrentLimitMetrics),
                 rateLimitMetrics == null ? null : RateLimitMetricsPojo.from(rateLimitMetrics),
                 circuitBreakerMetrics == null ? null : CircuitBreakerMetricsPojo.from(circuitBreakerMetrics),
-                retryMetrics == null ? null : RetryMetricsPojo.from(retryMetrics));
+                retryMetrics == null ? null : RetryMetricsPojo.from(retryMetrics),
+                singleFlightMetrics == null ? null : SingleFlightMetricsPojo.from(singleFlightMetrics),
+                lastKnownGoodMetrics == null ? null : LastKnownGoodMetricsPojo.from(lastKnownGoodMetrics));
     }
 
     public ConcurrentLimitMetricsPojo getConcurrentLimitMetrics() {
@@ -63,4 +75,12 @@ class CompositeMetricsPojo {
     public RetryMetricsPojo getRetryMetrics() {
         return retryMetrics;
     }
+
+    public SingleFlightMetricsPojo getSingleFlightMetrics() {
+        return singleFlightMetrics;
+    }
+
+    public LastKnownGoodMetricsPojo getLastKnownGoodMetrics() {
+        return lastKnownGoodMetrics;
+    }
 }
@@ -21,14 +21,25 @@ class ConcurrentLimitMetricsPojo {
 
     private final int maxConcurrentLimit;
     private final int currentCallCounter;
+    private final int currentLimit;
+    private final int queueDepth;
+    private final long waitedCalls;
+    private final double averageWaitTimeMs;
 
-    private ConcurrentLimitMetricsPojo(int maxConcurrentLimit, int currentCallCounter) {
+    private ConcurrentLimitMetricsPojo(int maxConcurrentLimit, int currentCallCounter, int currentLimit,
+                                       int queueDepth, long waitedCalls, double averageWaitTimeMs) {
         this.maxConcurrentLimit = maxConcurrentLimit;
         this.currentCallCounter = currentCallCounter;
+        this.currentLimit = currentLimit;
+        this.queueDepth = queueDepth;
+        this.waitedCalls = waitedCalls;
+        this.averageWaitTimeMs = averageWaitTimeMs;
     }
 
     static ConcurrentLimitMetricsPojo from(ConcurrentLimitMetrics metrics) {
-        return new ConcurrentLimitMetricsPojo(metrics.threshold(), metrics.currentCallCount());
+        return new ConcurrentLimitMetricsPojo(metrics.threshold(), metrics.currentCallCount(),
+                metrics.currentLimit(), metrics.queueDepth(), metrics.numberOfWaitedCalls(),
+                metrics.averageWaitTimeMs());
     }
 
     public int getMaxConcurrentLimit() {
@@ -38,4 +49,20 @@ class ConcurrentLimitMetricsPojo {
     public int getCurrentCallCounter() {
         return currentCallCounter;
     }
+
+    public int getCurrentLimit() {
+        return currentLimit;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public long getWaitedCalls() {
+        return waitedCalls;
+    }
+
+    public double getAverageWaitTimeMs() {
+        return averageWaitTimeMs;
+    }
 }
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.metrics.actuator.endpoints;
+
+import io.esastack.servicekeeper.core.metrics.LastKnownGoodMetrics;
+
+class LastKnownGoodMetricsPojo {
+
+    private final long hitTimes;
+    private final long missTimes;
+    private final long size;
+
+    private LastKnownGoodMetricsPojo(long hitTimes, long missTimes, long size) {
+        this.hitTimes = hitTimes;
+        this.missTimes = missTimes;
+        this.size = size;
+    }
+
+    static LastKnownGoodMetricsPojo from(LastKnownGoodMetrics metrics) {
+        return new LastKnownGoodMetricsPojo(metrics.hitTimes(), metrics.missTimes(), metrics.size());
+    }
+
+    public long getHitTimes() {
+        return hitTimes;
+    }
+
+    public long getMissTimes() {
+        return missTimes;
+    }
+
+    public long getSize() {
+        return size;
+    }
+}
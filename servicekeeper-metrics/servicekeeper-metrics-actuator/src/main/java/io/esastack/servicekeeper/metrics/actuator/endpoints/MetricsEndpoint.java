@@ -18,16 +18,20 @@ package io.esastack.servicekeeper.metrics.actuator.endpoints;
 import io.esastack.servicekeeper.core.common.ResourceId;
 import io.esastack.servicekeeper.core.metrics.CircuitBreakerMetrics;
 import io.esastack.servicekeeper.core.metrics.ConcurrentLimitMetrics;
+import io.esastack.servicekeeper.core.metrics.LastKnownGoodMetrics;
 import io.esastack.servicekeeper.core.metrics.RateLimitMetrics;
 import io.esastack.servicekeeper.core.metrics.RetryMetrics;
+import io.esastack.servicekeeper.core.metrics.SingleFlightMetrics;
 import io.esastack.servicekeeper.metrics.actuator.collector.MetricsCollector;
 import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
 import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
 
 import static io.esastack.servicekeeper.core.metrics.Metrics.Type.CIRCUIT_BREAKER;
 import static io.esastack.servicekeeper.core.metrics.Metrics.Type.CONCURRENT_LIMIT;
+import static io.esastack.servicekeeper.core.metrics.Metrics.Type.LAST_KNOWN_GOOD;
 import static io.esastack.servicekeeper.core.metrics.Metrics.Type.RATE_LIMIT;
 import static io.esastack.servicekeeper.core.metrics.Metrics.Type.RETRY;
+import static io.esastack.servicekeeper.core.metrics.Metrics.Type.SINGLE_FLIGHT;
 
 @Endpoint(id = "skmetrics")
 public class MetricsEndpoint {
@@ -44,6 +48,8 @@ public class MetricsEndpoint {
         return CompositeMetricsPojo.from((ConcurrentLimitMetrics) collector.metrics(id, CONCURRENT_LIMIT),
                 (RateLimitMetrics) collector.metrics(id, RATE_LIMIT),
                 (CircuitBreakerMetrics) collector.metrics(id, CIRCUIT_BREAKER),
-                (RetryMetrics) collector.metrics(id, RETRY));
+                (RetryMetrics) collector.metrics(id, RETRY),
+                (SingleFlightMetrics) collector.metrics(id, SINGLE_FLIGHT),
+                (LastKnownGoodMetrics) collector.metrics(id, LAST_KNOWN_GOOD));
     }
 }
@@ -18,9 +18,11 @@ package io.esastack.servicekeeper.metrics.actuator.endpoints;
 import io.esastack.servicekeeper.core.common.ResourceId;
 import io.esastack.servicekeeper.core.metrics.CircuitBreakerMetrics;
 import io.esastack.servicekeeper.core.metrics.ConcurrentLimitMetrics;
+import io.esastack.servicekeeper.core.metrics.LastKnownGoodMetrics;
 import io.esastack.servicekeeper.core.metrics.Metrics;
 import io.esastack.servicekeeper.core.metrics.RateLimitMetrics;
 import io.esastack.servicekeeper.core.metrics.RetryMetrics;
+import io.esastack.servicekeeper.core.metrics.SingleFlightMetrics;
 import io.esastack.servicekeeper.metrics.actuator.collector.MetricsCollector;
 import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
 import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
@@ -31,8 +33,10 @@ import java.util.Map;
 
 import static io.esastack.servicekeeper.core.metrics.Metrics.Type.CIRCUIT_BREAKER;
 import static io.esastack.servicekeeper.core.metrics.Metrics.Type.CONCURRENT_LIMIT;
+import static io.esastack.servicekeeper.core.metrics.Metrics.Type.LAST_KNOWN_GOOD;
 import static io.esastack.servicekeeper.core.metrics.Metrics.Type.RATE_LIMIT;
 import static io.esastack.servicekeeper.core.metrics.Metrics.Type.RETRY;
+import static io.esastack.servicekeeper.core.metrics.Metrics.Type.SINGLE_FLIGHT;
 
 @Endpoint(id = "skmetricses")
 public class MetricsesEndpoint {
@@ -57,7 +61,9 @@ public class MetricsesEndpoint {
                     CompositeMetricsPojo.from((ConcurrentLimitMetrics) entry.getValue().get(CONCURRENT_LIMIT),
                             (RateLimitMetrics) entry.getValue().get(RATE_LIMIT),
                             (CircuitBreakerMetrics) entry.getValue().get(CIRCUIT_BREAKER),
-                            (RetryMetrics) entry.getValue().get(RETRY))
+                            (RetryMetrics) entry.getValue().get(RETRY),
+                            (SingleFlightMetrics) entry.getValue().get(SINGLE_FLIGHT),
+                            (LastKnownGoodMetrics) entry.getValue().get(LAST_KNOWN_GOOD))
             );
         }
 
@@ -16,6 +16,7 @@
 package io.esastack.servicekeeper.metrics.actuator.endpoints;
 
 import io.esastack.servicekeeper.core.config.BackoffConfig;
+import io.esastack.servicekeeper.core.config.RetryBudgetConfig;
 import io.esastack.servicekeeper.core.config.RetryConfig;
 
 class RetryConfigPojo {
@@ -24,19 +25,27 @@ class RetryConfigPojo {
     private final Class<? extends Throwable>[] excludeExceptions;
     private final Integer maxAttempts;
     private final BackoffConfig backoffConfig;
+    private final RetryBudgetConfig budgetConfig;
+    private final long attemptTimeout;
+    private final long deadline;
 
     private RetryConfigPojo(Class<? extends Throwable>[] includeExceptions,
                             Class<? extends Throwable>[] excludeExceptions,
-                            Integer maxAttempts, BackoffConfig backoffConfig) {
+                            Integer maxAttempts, BackoffConfig backoffConfig,
+                            RetryBudgetConfig budgetConfig, long attemptTimeout, long deadline) {
         this.includeExceptions = includeExceptions;
         this.excludeExceptions = excludeExceptions;
         this.maxAttempts = maxAttempts;
         this.backoffConfig = backoffConfig;
+        this.budgetConfig = budgetConfig;
+        this.attemptTimeout = attemptTimeout;
+        this.deadline = deadline;
     }
 
     static RetryConfigPojo from(RetryConfig config) {
         return new RetryConfigPojo(config.getIncludeExceptions(), config.getExcludeExceptions(),
-                config.getMaxAttempts(), config.getBackoffConfig());
+                config.getMaxAttempts(), config.getBackoffConfig(), config.getBudgetConfig(),
+                config.getAttemptTimeout(), config.getDeadline());
     }
 
     public Class<? extends Throwable>[] getIncludeExceptions() {
@@ -54,4 +63,16 @@ class RetryConfigPojo {
     public BackoffConfig getBackoffConfig() {
         return backoffConfig;
     }
+
+    public RetryBudgetConfig getBudgetConfig() {
+        return budgetConfig;
+    }
+
+    public long getAttemptTimeout() {
+        return attemptTimeout;
+    }
+
+    public long getDeadline() {
+        return deadline;
+    }
 }
@@ -21,14 +21,17 @@ class RetryMetricsPojo {
 
     private final long hasRetryTimes;
     private final long totalRetryCount;
+    private final long budgetExhaustedTimes;
 
-    private RetryMetricsPojo(long hasRetryTimes, long totalRetryCount) {
+    private RetryMetricsPojo(long hasRetryTimes, long totalRetryCount, long budgetExhaustedTimes) {
         this.hasRetryTimes = hasRetryTimes;
         this.totalRetryCount = totalRetryCount;
+        this.budgetExhaustedTimes = budgetExhaustedTimes;
     }
 
     static RetryMetricsPojo from(RetryMetrics metrics) {
-        return new RetryMetricsPojo(metrics.retriedTimes(), metrics.totalRetriedCount());
+        return new RetryMetricsPojo(metrics.retriedTimes(), metrics.totalRetriedCount(),
+                metrics.budgetExhaustedTimes());
     }
 
     public long getHasRetryTimes() {
@@ -38,4 +41,8 @@ class RetryMetricsPojo {
     public long getTotalRetryCount() {
         return totalRetryCount;
     }
+
+    public long getBudgetExhaustedTimes() {
+        return budgetExhaustedTimes;
+    }
 }
@@ -15,9 +15,14 @@
  */
 package io.esastack.servicekeeper.metrics.actuator.endpoints;
 
+import io.esastack.servicekeeper.core.config.CacheConfig;
+import io.esastack.servicekeeper.core.config.CoDelConfig;
 import io.esastack.servicekeeper.core.config.ConcurrentLimitConfig;
 import io.esastack.servicekeeper.core.config.FallbackConfig;
+import io.esastack.servicekeeper.core.config.IsolationConfig;
 import io.esastack.servicekeeper.core.config.ServiceKeeperConfig;
+import io.esastack.servicekeeper.core.config.SingleFlightConfig;
+import io.esastack.servicekeeper.core.config.TimeoutConfig;
 
 class ServiceKeeperConfigPojo {
 
@@ -26,17 +31,32 @@ class ServiceKeeperConfigPojo {
     private final RateLimitConfigPojo rateLimitConfig;
     private final FallbackConfig fallbackConfig;
     private final RetryConfigPojo retryConfig;
+    private final IsolationConfig isolationConfig;
+    private final TimeoutConfig timeoutConfig;
+    private final CacheConfig cacheConfig;
+    private final SingleFlightConfig singleFlightConfig;
+    private final CoDelConfig coDelConfig;
 
     private ServiceKeeperConfigPojo(CircuitBreakerConfigPojo circuitBreakerConfig,
                                     ConcurrentLimitConfig concurrentLimitConfig,
                                     RateLimitConfigPojo rateLimitConfig,
                                     FallbackConfig fallbackConfig,
-                                    RetryConfigPojo retryConfig) {
+                                    RetryConfigPojo retryConfig,
+                                    IsolationConfig isolationConfig,
+                                    TimeoutConfig timeoutConfig,
+                                    CacheConfig cacheConfig,
+                                    SingleFlightConfig singleFlightConfig,
+                                    CoDelConfig coDelConfig) {
         this.circuitBreakerConfig = circuitBreakerConfig;
         this.concurrentLimitConfig = concurrentLimitConfig;
         this.rateLimitConfig = rateLimitConfig;
         this.fallbackConfig = fallbackConfig;
         this.retryConfig = retryConfig;
+        this.isolationConfig = isolationConfig;
+        this.timeoutConfig = timeoutConfig;
+        this.cacheConfig = cacheConfig;
+        this.singleFlightConfig = singleFlightConfig;
+        this.coDelConfig = coDelConfig;
     }
 
     static ServiceKeeperConfigPojo from(ServiceKeeperConfig config, FallbackConfig fallbackConfig) {
@@ -45,7 +65,12 @@ class ServiceKeeperConfigPojo {
                 config.getConcurrentLimitConfig(),
                 config.getRateLimitConfig() == null ? null : RateLimitConfigPojo.from(config.getRateLimitConfig()),
                 fallbackConfig,
-                config.getRetryConfig() == null ? null : RetryConfigPojo.from(config.getRetryConfig()));
+                config.getRetryConfig() == null ? null : RetryConfigPojo.from(config.getRetryConfig()),
+                config.getIsolationConfig(),
+                config.getTimeoutConfig(),
+                config.getCacheConfig(),
+                config.getSingleFlightConfig(),
+                config.getCoDelConfig());
     }
 
     public CircuitBreakerConfigPojo getCircuitBreakerConfig() {
@@ -67,4 +92,24 @@ class ServiceKeeperConfigPojo {
     public RetryConfigPojo getRetryConfig() {
         return retryConfig;
     }
+
+    public IsolationConfig getIsolationConfig() {
+        return isolationConfig;
+    }
+
+    public TimeoutConfig getTimeoutConfig() {
+        return timeoutConfig;
+    }
+
+    public CacheConfig getCacheConfig() {
+        return cacheConfig;
+    }
+
+    public SingleFlightConfig getSingleFlightConfig() {
+        return singleFlightConfig;
+    }
+
+    public CoDelConfig getCoDelConfig() {
+        return coDelConfig;
+    }
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.metrics.actuator.endpoints;
+
+import io.esastack.servicekeeper.core.metrics.SingleFlightMetrics;
+
+class SingleFlightMetricsPojo {
+
+    private final long coalescedTimes;
+    private final int inflightCalls;
+
+    private SingleFlightMetricsPojo(long coalescedTimes, int inflightCalls) {
+        this.coalescedTimes = coalescedTimes;
+        this.inflightCalls = inflightCalls;
+    }
+
+    static SingleFlightMetricsPojo from(SingleFlightMetrics metrics) {
+        return new SingleFlightMetricsPojo(metrics.coalescedTimes(), metrics.inflightCalls());
+    }
+
+    public long getCoalescedTimes() {
+        return coalescedTimes;
+    }
+
+    public int getInflightCalls() {
+        return inflightCalls;
+    }
+}
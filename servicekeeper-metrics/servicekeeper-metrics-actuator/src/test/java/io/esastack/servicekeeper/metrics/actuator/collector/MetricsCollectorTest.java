@@ -21,6 +21,8 @@ import io.esastack.servicekeeper.core.config.ConcurrentLimitConfig;
 import io.esastack.servicekeeper.core.config.MoatConfig;
 import io.esastack.servicekeeper.core.config.RateLimitConfig;
 import io.esastack.servicekeeper.core.config.RetryConfig;
+import io.esastack.servicekeeper.core.config.SingleFlightConfig;
+import io.esastack.servicekeeper.core.fallback.FallbackToLastKnownGood;
 import io.esastack.servicekeeper.core.internal.InternalMoatCluster;
 import io.esastack.servicekeeper.core.metrics.Metrics;
 import io.esastack.servicekeeper.core.moats.Moat;
@@ -30,6 +32,7 @@ import io.esastack.servicekeeper.core.moats.circuitbreaker.CircuitBreakerMoat;
 import io.esastack.servicekeeper.core.moats.circuitbreaker.predicate.PredicateByException;
 import io.esastack.servicekeeper.core.moats.concurrentlimit.ConcurrentLimitMoat;
 import io.esastack.servicekeeper.core.moats.ratelimit.RateLimitMoat;
+import io.esastack.servicekeeper.core.moats.singleflight.SingleFlightMoat;
 import io.esastack.servicekeeper.core.retry.RetryOperationsImpl;
 import io.esastack.servicekeeper.core.retry.RetryableExecutor;
 import io.esastack.servicekeeper.core.retry.internal.impl.ExceptionPredicate;
@@ -72,6 +75,9 @@ class MetricsCollectorTest {
         moats0.add(new RateLimitMoat(config, RateLimitConfig.ofDefault(),
                 null,
                 Collections.emptyList()));
+        moats0.add(new SingleFlightMoat(config, SingleFlightConfig.ofDefault(),
+                null,
+                Collections.emptyList()));
 
         final MoatCluster cluster0 = new RetryableMoatCluster(moats0, Collections.emptyList(), null,
                 new RetryableExecutor(new RetryOperationsImpl(id,
@@ -86,6 +92,12 @@ class MetricsCollectorTest {
         then(collector.metrics(id, Metrics.Type.CIRCUIT_BREAKER)).isNotNull();
         then(collector.metrics(id, Metrics.Type.CONCURRENT_LIMIT)).isNotNull();
         then(collector.metrics(id, Metrics.Type.RATE_LIMIT)).isNotNull();
+        then(collector.metrics(id, Metrics.Type.SINGLE_FLIGHT)).isNotNull();
+        then(collector.metrics(id, Metrics.Type.LAST_KNOWN_GOOD)).isNull();
+
+        when(cluster.get(id)).thenReturn(new RetryableMoatCluster(moats0, Collections.emptyList(),
+                new FallbackToLastKnownGood(10L, 0L, false, null, false), null));
+        then(collector.metrics(id, Metrics.Type.LAST_KNOWN_GOOD)).isNotNull();
     }
 
     @Test
@@ -60,6 +60,16 @@ class CircuitBreakerMetricsPojoTest {
             public CircuitBreaker.State state() {
                 return CircuitBreaker.State.CLOSED;
             }
+
+            @Override
+            public long latencyPercentile(double percentile) {
+                return (long) (percentile * 10);
+            }
+
+            @Override
+            public long numberOfDroppedEvents() {
+                return 6L;
+            }
         };
 
         final CircuitBreakerMetricsPojo pojo = CircuitBreakerMetricsPojo.from(metrics);
@@ -70,6 +80,11 @@ class CircuitBreakerMetricsPojoTest {
         then(pojo.getMaxNumberOfBufferedCalls()).isEqualTo(4);
         then(pojo.getNumberOfSuccessfulCalls()).isEqualTo(5);
         then(pojo.getState()).isEqualTo(CircuitBreaker.State.CLOSED.toString());
+        then(pojo.getLatencyP50()).isEqualTo(500L);
+        then(pojo.getLatencyP90()).isEqualTo(900L);
+        then(pojo.getLatencyP99()).isEqualTo(990L);
+        then(pojo.getLatencyP999()).isEqualTo(999L);
+        then(pojo.getNumberOfDroppedEvents()).isEqualTo(6L);
     }
 
 }
@@ -24,10 +24,12 @@ class CompositeMetricsPojoTest {
     @Test
     void testBasic() {
         final CompositeMetricsPojo pojo = CompositeMetricsPojo.from(null, null,
-                null, null);
+                null, null, null, null);
         then(pojo.getCircuitBreakerMetrics()).isNull();
         then(pojo.getConcurrentLimitMetrics()).isNull();
         then(pojo.getRateLimitMetrics()).isNull();
         then(pojo.getRetryMetrics()).isNull();
+        then(pojo.getSingleFlightMetrics()).isNull();
+        then(pojo.getLastKnownGoodMetrics()).isNull();
     }
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2021 OPPO ESA Stack Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.esastack.servicekeeper.metrics.actuator.endpoints;
+
+import io.esastack.servicekeeper.core.metrics.LastKnownGoodMetrics;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class LastKnownGoodMetricsPojoTest {
+
+    @Test
+    void testBasic() {
+        final LastKnownGoodMetrics metrics = new LastKnownGoodMetrics() {
+            @Override
+            public long hitTimes() {
+                return 10L;
+            }
+
+            @Override
+            public long missTimes() {
+                return 20L;
+            }
+
+            @Override
+            public long size() {
+                return 30L;
+            }
+        };
+
+        final LastKnownGoodMetricsPojo pojo = LastKnownGoodMetricsPojo.from(metrics);
+        then(pojo.getHitTimes()).isEqualTo(10L);
+        then(pojo.getMissTimes()).isEqualTo(20L);
+        then(pojo.getSize()).isEqualTo(30L);
+    }
+
+}
@@ -39,11 +39,17 @@ class RetryMetricsPojoTest {
             public long totalRetriedCount() {
                 return 30L;
             }
+
+            @Override
+            public long budgetExhaustedTimes() {
+                return 40L;
+            }
         };
 
         final RetryMetricsPojo pojo = RetryMetricsPojo.from(metrics);
         then(pojo.getHasRetryTimes()).isEqualTo(20L);
         then(pojo.getTotalRetryCount()).isEqualTo(30L);
+        then(pojo.getBudgetExhaustedTimes()).isEqualTo(40L);
     }
 
 }